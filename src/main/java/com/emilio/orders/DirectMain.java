@@ -1,5 +1,6 @@
 package com.emilio.orders;
 
+import com.emilio.orders.dao.cache.CachingZonaEnvioDAO;
 import com.emilio.orders.dao.interfaces.ClienteDAO;
 import com.emilio.orders.dao.interfaces.PedidoDAO;
 import com.emilio.orders.dao.interfaces.ZonaEnvioDAO;
@@ -45,7 +46,7 @@ public class DirectMain {
             DirectDAOFactory daoFactory = DirectDAOFactory.getInstance();
             ClienteDAO clienteDAO = daoFactory.getClienteDAO();
             PedidoDAO pedidoDAO = daoFactory.getPedidoDAO();
-            ZonaEnvioDAO zonaEnvioDAO = daoFactory.getZonaEnvioDAO();
+            ZonaEnvioDAO zonaEnvioDAO = new CachingZonaEnvioDAO(daoFactory.getZonaEnvioDAO());
             
             // Seleccionar interfaz
             UI ui;
@@ -4,10 +4,19 @@ import com.emilio.orders.config.DatabaseConfig;
 import com.emilio.orders.config.DatabaseConfigFactory;
 import com.emilio.orders.config.DatabaseProperties;
 import com.emilio.orders.config.DatabaseType;
+import com.emilio.orders.dao.cache.CacheRegistry;
+import com.emilio.orders.dao.cache.CacheWarmer;
+import com.emilio.orders.dao.cache.CachingZonaEnvioDAO;
+import com.emilio.orders.dao.cache.DAOCaches;
+import com.emilio.orders.dao.cache.TableChangeMonitor;
 import com.emilio.orders.dao.interfaces.ClienteDAO;
 import com.emilio.orders.dao.interfaces.PedidoDAO;
 import com.emilio.orders.dao.interfaces.ZonaEnvioDAO;
+import com.emilio.orders.factory.CachingDAOFactory;
 import com.emilio.orders.factory.DAOFactory;
+import com.emilio.orders.hibernate.HibernateCacheInvalidator;
+import com.emilio.orders.hibernate.HibernateCacheRegions;
+import com.emilio.orders.hibernate.SessionManager;
 import com.emilio.orders.ui.ConsoleUI;
 import com.emilio.orders.ui.GraphicalUI;
 import com.emilio.orders.ui.UI;
@@ -16,6 +25,9 @@ import org.apache.commons.cli.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.sql.SQLException;
+import java.time.Duration;
+
 /**
  * Clase principal de la aplicación de gestión de pedidos.
  */
@@ -36,6 +48,11 @@ public class Main {
             Options options = new Options();
             options.addOption("i", "interfaz", true, "Interfaz a usar (consola/grafica)");
             options.addOption("db", "database", true, "Tipo de base de datos (sqlite/hibernate)");
+            options.addOption("rz", "recarga-zonas", true, "Segundos tras los que se recargan las zonas de envío en memoria");
+            options.addOption("c", "cache", true, "Segundos que se mantienen en caché clientes y pedidos");
+            options.addOption("ph", "pedidos-fuera-heap", true, "Número de pedidos que se cachean fuera del heap (con --cache)");
+            options.addOption("p", "precarga", true, "Número de clientes cuyas cachés se precargan al arrancar");
+            options.addOption("cm", "cambios", true, "Milisegundos entre comprobaciones de cambios hechos por otros procesos");
             
             CommandLineParser parser = new DefaultParser();
             CommandLine cmd = parser.parse(options, args);
@@ -68,9 +85,62 @@ public class Main {
             // Creación de DAOs
             logger.debug("Inicializando factories y DAOs");
             DAOFactory daoFactory = DAOFactory.getDAOFactory(databaseType, databaseConfig);
+            if (cmd.hasOption("c")) {
+                Duration ttl = Duration.ofSeconds(Long.parseLong(cmd.getOptionValue("c")));
+                logger.info("Caché de DAOs activada con caducidad de {} segundos", ttl.toSeconds());
+                int pedidosFueraHeap = Integer.parseInt(cmd.getOptionValue("ph", "0"));
+                daoFactory = new CachingDAOFactory(daoFactory, DAOCaches.DEFAULT_MAXIMUM_SIZE, ttl, pedidosFueraHeap);
+            }
             ClienteDAO clienteDAO = daoFactory.createClienteDAO();
             PedidoDAO pedidoDAO = daoFactory.createPedidoDAO();
+            // Las zonas de envío apenas cambian: se mantienen en memoria
+            Duration recargaZonas = cmd.hasOption("rz")
+                ? Duration.ofSeconds(Long.parseLong(cmd.getOptionValue("rz")))
+                : null;
             ZonaEnvioDAO zonaEnvioDAO = daoFactory.createZonaEnvioDAO();
+            CachingZonaEnvioDAO zonasEnMemoria = null;
+            if (!(zonaEnvioDAO instanceof CachingZonaEnvioDAO)) {
+                zonasEnMemoria = new CachingZonaEnvioDAO(zonaEnvioDAO, recargaZonas);
+                zonaEnvioDAO = zonasEnMemoria;
+            }
+
+            // Las cachés descartan lo que modifiquen otros procesos en la base de datos
+            if (cmd.hasOption("cm")) {
+                TableChangeMonitor monitor = new TableChangeMonitor(databaseConfig.getUrl(),
+                    Duration.ofMillis(Long.parseLong(cmd.getOptionValue("cm"))));
+                if (daoFactory instanceof CachingDAOFactory cachingDAOFactory) {
+                    monitor.addListener(cachingDAOFactory);
+                }
+                if (zonasEnMemoria != null) {
+                    monitor.addListener(zonasEnMemoria);
+                }
+                if (databaseType == DatabaseType.HIBERNATE) {
+                    monitor.addListener(new HibernateCacheInvalidator(SessionManager.getInstance()));
+                }
+                try {
+                    monitor.start();
+                } catch (SQLException e) {
+                    logger.warn("No se pudo activar la vigilancia de cambios: {}", e.getMessage());
+                }
+            }
+
+            // La precarga de cachés se hace en segundo plano mientras se inicia la interfaz
+            if (cmd.hasOption("p")) {
+                new CacheWarmer.Builder(clienteDAO, pedidoDAO, zonaEnvioDAO)
+                    .topClientes(Integer.parseInt(cmd.getOptionValue("p")))
+                    .build()
+                    .start();
+            }
+
+            // Las regiones de caché se pueden consultar y ajustar por JMX y desde la consola
+            CacheRegistry cacheRegistry = new CacheRegistry();
+            if (daoFactory instanceof CachingDAOFactory cachingDAOFactory) {
+                cacheRegistry.registerAll(cachingDAOFactory.getCaches().regions());
+            }
+            if (databaseType == DatabaseType.HIBERNATE) {
+                cacheRegistry.registerAll(HibernateCacheRegions.of(SessionManager.getInstance()));
+            }
+            cacheRegistry.registerMBeans();
 
             // Seleccionar interfaz
             UI ui;
@@ -79,7 +149,7 @@ public class Main {
                 ui = new GraphicalUI(clienteDAO, pedidoDAO, zonaEnvioDAO);
             } else {
                 logger.info("Iniciando interfaz de consola");
-                ui = new ConsoleUI(clienteDAO, pedidoDAO, zonaEnvioDAO);
+                ui = new ConsoleUI(clienteDAO, pedidoDAO, zonaEnvioDAO, cacheRegistry);
             }
 
             ui.iniciar();
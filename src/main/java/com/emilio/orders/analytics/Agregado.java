@@ -0,0 +1,57 @@
+package com.emilio.orders.analytics;
+
+/**
+ * Clase que representa el resultado de agregar un grupo de pedidos: número, suma, mínimo y máximo
+ * del importe. Los importes se acumulan en céntimos para que la suma no tenga errores de redondeo.
+ */
+public class Agregado {
+    private final long numPedidos;
+    private final long totalCents;
+    private final long minCents;
+    private final long maxCents;
+
+    /**
+     * Constructor de la clase Agregado.
+     *
+     * @param numPedidos Número de pedidos del grupo.
+     * @param totalCents Suma de sus importes en céntimos.
+     * @param minCents Importe mínimo en céntimos.
+     * @param maxCents Importe máximo en céntimos.
+     */
+    public Agregado(long numPedidos, long totalCents, long minCents, long maxCents) {
+        this.numPedidos = numPedidos;
+        this.totalCents = totalCents;
+        this.minCents = minCents;
+        this.maxCents = maxCents;
+    }
+
+    public long getNumPedidos() { return numPedidos; }
+
+    public double getTotal() { return totalCents / 100.0; }
+
+    // En céntimos y sin ajustar los grupos vacíos, para combinar agregados parciales
+    long getTotalCents() { return totalCents; }
+
+    long getMinCents() { return minCents; }
+
+    long getMaxCents() { return maxCents; }
+
+    public double getMinimo() { return numPedidos == 0 ? 0 : minCents / 100.0; }
+
+    public double getMaximo() { return numPedidos == 0 ? 0 : maxCents / 100.0; }
+
+    /**
+     * Obtiene el importe medio por pedido.
+     *
+     * @return El total entre el número de pedidos, o 0 si el grupo está vacío.
+     */
+    public double getMedia() {
+        return numPedidos == 0 ? 0 : totalCents / 100.0 / numPedidos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d pedidos, total %.2f€, media %.2f€, mínimo %.2f€, máximo %.2f€",
+                numPedidos, getTotal(), getMedia(), getMinimo(), getMaximo());
+    }
+}
\ No newline at end of file
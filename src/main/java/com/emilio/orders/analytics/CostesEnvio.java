@@ -0,0 +1,212 @@
+package com.emilio.orders.analytics;
+
+import com.emilio.orders.config.DatabaseConfig;
+import com.emilio.orders.model.Pedido;
+import com.emilio.orders.util.ParallelQueryExecutor;
+import com.emilio.orders.util.QueryUtils;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Motor de cálculo de costes de envío en bloque: el coste de un pedido es su importe más la tarifa
+ * de la zona de envío de su cliente.
+ * <p>
+ * Para un conjunto cualquiera de pedidos ya leídos, la tarifa se busca en un array indexado por ID
+ * de cliente que se carga con una sola consulta de clientes y zonas, en lugar de buscar el cliente y
+ * su zona por cada pedido. El array se carga en el primer cálculo y se vuelve a cargar con
+ * {@link #refresh()}; hasta entonces los clientes nuevos no tienen tarifa y los cambios de zona o de
+ * tarifa no se ven.
+ * <p>
+ * Para rangos de pedidos que no están en memoria, como una facturación de todos los pedidos, los
+ * pedidos se leen con su tarifa en una consulta que une las tres tablas, sin pasar por el array, y
+ * la tabla completa se reparte por rangos de ID con un {@link ParallelQueryExecutor}.
+ */
+public class CostesEnvio {
+    private static final Logger logger = LoggerFactory.getLogger(CostesEnvio.class);
+    private static final int FETCH_SIZE = 10_000;
+    private static final long SIN_TARIFA = -1;
+
+    private final DatabaseConfig databaseConfig;
+    private volatile long[] tarifaPorCliente; // En céntimos; null hasta la primera carga
+
+    /**
+     * Constructor de la clase CostesEnvio. Las tarifas no se cargan hasta el primer cálculo.
+     *
+     * @param databaseConfig Configuración de la base de datos.
+     */
+    public CostesEnvio(DatabaseConfig databaseConfig) {
+        this.databaseConfig = databaseConfig;
+    }
+
+    /**
+     * Vuelve a cargar la tarifa de cada cliente, para ver los clientes nuevos y los cambios de zona o tarifa.
+     *
+     * @throws SQLException Si ocurre un error en la carga; se conservan las tarifas anteriores.
+     */
+    public synchronized void refresh() throws SQLException {
+        long[] tarifas = new long[0];
+        int clientes = 0;
+        try (Connection conn = databaseConfig.getConnection();
+             Statement stmt = conn.createStatement()) {
+            stmt.setFetchSize(FETCH_SIZE);
+            try (ResultSet rs = stmt.executeQuery(QueryUtils.SELECT_TARIFAS_CLIENTES)) {
+                while (rs.next()) {
+                    int idCliente = rs.getInt("id_cliente");
+                    if (idCliente >= tarifas.length) {
+                        int length = tarifas.length;
+                        tarifas = Arrays.copyOf(tarifas, Math.max(idCliente + 1, length * 2));
+                        Arrays.fill(tarifas, length, tarifas.length, SIN_TARIFA);
+                    }
+                    tarifas[idCliente] = Math.round(rs.getDouble("tarifa_envio") * 100);
+                    clientes++;
+                }
+            }
+        }
+        tarifaPorCliente = tarifas;
+        logger.debug("Costes de envío: tarifas de {} clientes cargadas", clientes);
+    }
+
+    /**
+     * Obtiene la tarifa de envío de un cliente según la última carga.
+     *
+     * @param idCliente ID del cliente.
+     * @return La tarifa de su zona, o NaN si el cliente no existía al cargar.
+     * @throws SQLException Si ocurre un error al cargar las tarifas por primera vez.
+     */
+    public double getTarifa(int idCliente) throws SQLException {
+        long tarifa = tarifaCents(tarifas(), idCliente);
+        return tarifa == SIN_TARIFA ? Double.NaN : tarifa / 100.0;
+    }
+
+    /**
+     * Calcula el coste de envío de unos pedidos con las tarifas cargadas en memoria.
+     *
+     * @param pedidos Pedidos a calcular, en el orden en que se quieren los costes.
+     * @return El coste de cada pedido y los totales.
+     * @throws SQLException Si ocurre un error al cargar las tarifas por primera vez.
+     */
+    public CostesPedidos calcular(Collection<Pedido> pedidos) throws SQLException {
+        long[] tarifas = tarifas();
+        int[] ids = new int[pedidos.size()];
+        long[] importes = new long[pedidos.size()];
+        long[] envios = new long[pedidos.size()];
+        int size = 0;
+        long sinTarifa = 0;
+        for (Pedido pedido : pedidos) {
+            long tarifa = tarifaCents(tarifas, pedido.getIdCliente());
+            if (tarifa == SIN_TARIFA) {
+                sinTarifa++;
+                continue;
+            }
+            ids[size] = pedido.getIdPedido();
+            importes[size] = Math.round(pedido.getImporteTotal() * 100);
+            envios[size] = tarifa;
+            size++;
+        }
+        return new CostesPedidos(ids, importes, envios, size, sinTarifa);
+    }
+
+    /**
+     * Calcula el coste de envío de los pedidos de un rango de IDs, leyéndolos con la tarifa actual
+     * de la zona de su cliente en una sola consulta.
+     *
+     * @param desde Primer ID, incluido.
+     * @param hasta Último ID, incluido.
+     * @return El coste de cada pedido del rango, en orden de ID, y los totales.
+     * @throws SQLException Si ocurre un error durante la consulta.
+     */
+    public CostesPedidos calcular(long desde, long hasta) throws SQLException {
+        try (Connection conn = databaseConfig.getConnection()) {
+            return calcular(conn, desde, hasta);
+        }
+    }
+
+    /**
+     * Calcula el coste de envío de todos los pedidos, repartiendo el recorrido por rangos de ID. Los
+     * resultados de las particiones se juntan en una lista y se copian una sola vez al final.
+     *
+     * @param executor Ejecutor que reparte el recorrido de los pedidos.
+     * @return El coste de cada pedido, en orden de ID, y los totales.
+     * @throws SQLException Si ocurre un error durante la consulta.
+     */
+    public CostesPedidos calcularTodos(ParallelQueryExecutor executor) throws SQLException {
+        long start = System.nanoTime();
+        List<CostesPedidos> partes = executor.execute("Pedidos",
+                (conn, desde, hasta) -> List.of(calcular(conn, desde, hasta)), CostesEnvio::unir);
+        CostesPedidos costes = CostesPedidos.concat(partes);
+        logger.info("Costes de envío de {} pedidos calculados en {} ms", costes.size(),
+                (System.nanoTime() - start) / 1_000_000);
+        return costes;
+    }
+
+    private static List<CostesPedidos> unir(List<CostesPedidos> a, List<CostesPedidos> b) {
+        List<CostesPedidos> partes = new ArrayList<>(a.size() + b.size());
+        partes.addAll(a);
+        partes.addAll(b);
+        return partes;
+    }
+
+    private static CostesPedidos calcular(Connection conn, long desde, long hasta) throws SQLException {
+        int capacidad = (int) Math.min(Math.max(hasta - desde + 1, 1), FETCH_SIZE);
+        int[] ids = new int[capacidad];
+        long[] importes = new long[capacidad];
+        long[] envios = new long[capacidad];
+        int size = 0;
+        long sinTarifa = 0;
+        try (PreparedStatement stmt = conn.prepareStatement(QueryUtils.SELECT_COSTES_ENVIO_RANGO)) {
+            stmt.setFetchSize(FETCH_SIZE);
+            stmt.setLong(1, desde);
+            stmt.setLong(2, hasta);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    double tarifa = rs.getDouble("tarifa_envio");
+                    if (rs.wasNull()) {
+                        sinTarifa++;
+                        continue;
+                    }
+                    if (size == ids.length) {
+                        ids = Arrays.copyOf(ids, size * 2);
+                        importes = Arrays.copyOf(importes, size * 2);
+                        envios = Arrays.copyOf(envios, size * 2);
+                    }
+                    ids[size] = rs.getInt("id_pedido");
+                    importes[size] = Math.round(rs.getDouble("importe_total") * 100);
+                    envios[size] = Math.round(tarifa * 100);
+                    size++;
+                }
+            }
+        }
+        return new CostesPedidos(ids, importes, envios, size, sinTarifa);
+    }
+
+    /**
+     * Devuelve las tarifas cargadas, cargándolas si es la primera vez.
+     */
+    private long[] tarifas() throws SQLException {
+        long[] tarifas = tarifaPorCliente;
+        if (tarifas == null) {
+            synchronized (this) {
+                if (tarifaPorCliente == null) {
+                    refresh();
+                }
+                tarifas = tarifaPorCliente;
+            }
+        }
+        return tarifas;
+    }
+
+    private static long tarifaCents(long[] tarifas, int idCliente) {
+        return idCliente >= 0 && idCliente < tarifas.length ? tarifas[idCliente] : SIN_TARIFA;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,136 @@
+package com.emilio.orders.analytics;
+
+import java.util.List;
+
+/**
+ * Clase que representa el coste de envío de un conjunto de pedidos: por cada pedido, su importe más
+ * la tarifa de la zona de envío de su cliente, y los totales. Los costes se guardan en céntimos en
+ * arrays de tipo primitivo, en el orden en que se calcularon, para que las sumas no tengan errores
+ * de redondeo y millones de pedidos no ocupen millones de objetos.
+ * <p>
+ * Los pedidos cuyo cliente o zona ya no existe no tienen tarifa: no se incluyen y solo se cuentan.
+ */
+public class CostesPedidos {
+    private final int[] idPedido;
+    private final long[] importeCents;
+    private final long[] envioCents;
+    private final int size;
+    private final long totalImporteCents;
+    private final long totalEnvioCents;
+    private final long sinTarifa;
+
+    /**
+     * Constructor de la clase CostesPedidos. Los arrays pueden ser más largos que el número de pedidos.
+     *
+     * @param idPedido ID de cada pedido.
+     * @param importeCents Importe de cada pedido en céntimos.
+     * @param envioCents Tarifa de envío de cada pedido en céntimos.
+     * @param size Número de pedidos.
+     * @param sinTarifa Número de pedidos que no se han podido calcular.
+     */
+    CostesPedidos(int[] idPedido, long[] importeCents, long[] envioCents, int size, long sinTarifa) {
+        this(idPedido, importeCents, envioCents, size, suma(importeCents, size), suma(envioCents, size), sinTarifa);
+    }
+
+    /**
+     * Constructor de la clase CostesPedidos con los totales ya calculados.
+     */
+    private CostesPedidos(int[] idPedido, long[] importeCents, long[] envioCents, int size,
+                          long totalImporteCents, long totalEnvioCents, long sinTarifa) {
+        this.idPedido = idPedido;
+        this.importeCents = importeCents;
+        this.envioCents = envioCents;
+        this.size = size;
+        this.totalImporteCents = totalImporteCents;
+        this.totalEnvioCents = totalEnvioCents;
+        this.sinTarifa = sinTarifa;
+    }
+
+    /**
+     * Devuelve el número de pedidos con coste calculado.
+     *
+     * @return El número de pedidos.
+     */
+    public int size() { return size; }
+
+    public int getIdPedido(int i) { return idPedido[checkIndex(i)]; }
+
+    public double getImporte(int i) { return importeCents[checkIndex(i)] / 100.0; }
+
+    public double getEnvio(int i) { return envioCents[checkIndex(i)] / 100.0; }
+
+    /**
+     * Obtiene el coste de un pedido.
+     *
+     * @param i Posición del pedido, de 0 a {@link #size()} - 1.
+     * @return Su importe más la tarifa de envío.
+     */
+    public double getCoste(int i) {
+        checkIndex(i);
+        return (importeCents[i] + envioCents[i]) / 100.0;
+    }
+
+    public double getTotalImporte() { return totalImporteCents / 100.0; }
+
+    public double getTotalEnvio() { return totalEnvioCents / 100.0; }
+
+    public double getTotal() { return (totalImporteCents + totalEnvioCents) / 100.0; }
+
+    public long getPedidosSinTarifa() { return sinTarifa; }
+
+    /**
+     * Une los costes de varios conjuntos de pedidos, en el orden de la lista. Los pedidos se copian
+     * una sola vez y los totales se suman sin volver a recorrerlos.
+     *
+     * @param partes Los costes de cada conjunto.
+     * @return Los costes de todos los pedidos.
+     */
+    static CostesPedidos concat(List<CostesPedidos> partes) {
+        if (partes.size() == 1) {
+            return partes.get(0);
+        }
+        long total = 0;
+        for (CostesPedidos parte : partes) {
+            total += parte.size;
+        }
+        int size = Math.toIntExact(total);
+        int[] ids = new int[size];
+        long[] importes = new long[size];
+        long[] envios = new long[size];
+        long totalImporte = 0;
+        long totalEnvio = 0;
+        long sinTarifa = 0;
+        int pos = 0;
+        for (CostesPedidos parte : partes) {
+            System.arraycopy(parte.idPedido, 0, ids, pos, parte.size);
+            System.arraycopy(parte.importeCents, 0, importes, pos, parte.size);
+            System.arraycopy(parte.envioCents, 0, envios, pos, parte.size);
+            pos += parte.size;
+            totalImporte += parte.totalImporteCents;
+            totalEnvio += parte.totalEnvioCents;
+            sinTarifa += parte.sinTarifa;
+        }
+        return new CostesPedidos(ids, importes, envios, size, totalImporte, totalEnvio, sinTarifa);
+    }
+
+    private static long suma(long[] cents, int size) {
+        long suma = 0;
+        for (int i = 0; i < size; i++) {
+            suma += cents[i];
+        }
+        return suma;
+    }
+
+    private int checkIndex(int i) {
+        if (i < 0 || i >= size) {
+            throw new IndexOutOfBoundsException("Posición " + i + " fuera de los " + size + " pedidos");
+        }
+        return i;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d pedidos, importe %.2f€, envío %.2f€, total %.2f€, %d sin tarifa",
+                size, getTotalImporte(), getTotalEnvio(), getTotal(), sinTarifa);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,151 @@
+package com.emilio.orders.analytics;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Clase utils con las operaciones de agregación sobre columnas de importes en céntimos (sumas,
+ * mínimos y máximos, filtros por rango e histogramas), como las de {@link PedidoColumns}.
+ * <p>
+ * Si la JVM arranca con {@code --add-modules jdk.incubator.vector}, las operaciones usan
+ * instrucciones SIMD a través de la API de vectores; si no, o con la propiedad
+ * {@code orders.kernels.escalares=true}, usan bucles escalares con el mismo resultado.
+ */
+public final class ImporteKernels {
+    private static final Logger logger = LoggerFactory.getLogger(ImporteKernels.class);
+    private static final String MODULO_VECTORES = "jdk.incubator.vector";
+
+    private static final Kernels KERNELS = cargar();
+
+    private ImporteKernels() {
+    }
+
+    /**
+     * Indica si las operaciones usan la API de vectores.
+     *
+     * @return true si se usan instrucciones SIMD, false si se usan bucles escalares.
+     */
+    public static boolean isVectorial() {
+        return !(KERNELS instanceof ScalarKernels);
+    }
+
+    /**
+     * Suma los importes de un tramo de una columna.
+     *
+     * @param importes Columna de importes en céntimos.
+     * @param desde Primera posición del tramo, incluida.
+     * @param hasta Última posición del tramo, excluida.
+     * @return La suma en céntimos.
+     */
+    public static long suma(long[] importes, int desde, int hasta) {
+        checkTramo(importes, desde, hasta);
+        return KERNELS.suma(importes, desde, hasta);
+    }
+
+    /**
+     * Agrega los importes de un tramo de una columna.
+     *
+     * @param importes Columna de importes en céntimos.
+     * @param desde Primera posición del tramo, incluida.
+     * @param hasta Última posición del tramo, excluida.
+     * @return El número, total, mínimo y máximo de los importes.
+     */
+    public static Agregado agregar(long[] importes, int desde, int hasta) {
+        return agregar(importes, desde, hasta, Long.MIN_VALUE, Long.MAX_VALUE);
+    }
+
+    /**
+     * Agrega los importes de un tramo de una columna que están en un rango.
+     *
+     * @param importes Columna de importes en céntimos.
+     * @param desde Primera posición del tramo, incluida.
+     * @param hasta Última posición del tramo, excluida.
+     * @param min Importe mínimo en céntimos, incluido.
+     * @param max Importe máximo en céntimos, incluido.
+     * @return El número, total, mínimo y máximo de los importes del rango.
+     * @throws IllegalArgumentException Si el mínimo es mayor que el máximo.
+     */
+    public static Agregado agregar(long[] importes, int desde, int hasta, long min, long max) {
+        checkTramo(importes, desde, hasta);
+        checkRango(min, max);
+        return KERNELS.agregar(importes, desde, hasta, min, max);
+    }
+
+    /**
+     * Obtiene las posiciones de los importes de un tramo de una columna que están en un rango.
+     *
+     * @param importes Columna de importes en céntimos.
+     * @param desde Primera posición del tramo, incluida.
+     * @param hasta Última posición del tramo, excluida.
+     * @param min Importe mínimo en céntimos, incluido.
+     * @param max Importe máximo en céntimos, incluido.
+     * @param sel Array donde se escriben las posiciones, en orden; debe tener sitio para todo el tramo.
+     * @return El número de posiciones escritas.
+     * @throws IllegalArgumentException Si el mínimo es mayor que el máximo.
+     */
+    public static int seleccionar(long[] importes, int desde, int hasta, long min, long max, int[] sel) {
+        checkTramo(importes, desde, hasta);
+        checkRango(min, max);
+        if (sel.length < hasta - desde) {
+            throw new IllegalArgumentException("El array de posiciones es más corto que el tramo");
+        }
+        return KERNELS.seleccionar(importes, desde, hasta, min, max, sel);
+    }
+
+    /**
+     * Cuenta los importes de un tramo de una columna que están en un rango por cubetas del mismo
+     * ancho. La cubeta i recoge los importes de i*ancho a (i+1)*ancho; los negativos cuentan en la
+     * primera y los mayores, en la última.
+     *
+     * @param importes Columna de importes en céntimos, de menos de 2^52 céntimos.
+     * @param desde Primera posición del tramo, incluida.
+     * @param hasta Última posición del tramo, excluida.
+     * @param min Importe mínimo en céntimos, incluido.
+     * @param max Importe máximo en céntimos, incluido.
+     * @param ancho Ancho de cada cubeta en céntimos.
+     * @param cubetas Contadores de cada cubeta, a los que se suman los importes del tramo.
+     * @throws IllegalArgumentException Si el mínimo es mayor que el máximo o no hay cubetas.
+     */
+    public static void histograma(long[] importes, int desde, int hasta, long min, long max, long ancho,
+                                  long[] cubetas) {
+        checkTramo(importes, desde, hasta);
+        checkRango(min, max);
+        if (ancho <= 0 || cubetas.length == 0) {
+            throw new IllegalArgumentException("El ancho y el número de cubetas deben ser positivos");
+        }
+        KERNELS.histograma(importes, desde, hasta, min, max, ancho, cubetas);
+    }
+
+    /**
+     * Elige la versión vectorial si el módulo está cargado y no se ha desactivado.
+     */
+    private static Kernels cargar() {
+        if (Boolean.getBoolean("orders.kernels.escalares")
+                || ModuleLayer.boot().findModule(MODULO_VECTORES).isEmpty()) {
+            logger.debug("Operaciones sobre importes escalares");
+            return new ScalarKernels();
+        }
+        try {
+            Kernels kernels = new VectorKernels();
+            logger.debug("Operaciones sobre importes con la API de vectores");
+            return kernels;
+        } catch (LinkageError e) {
+            logger.warn("No se pudo usar la API de vectores: {}", e.getMessage());
+            return new ScalarKernels();
+        }
+    }
+
+    private static void checkTramo(long[] importes, int desde, int hasta) {
+        if (desde < 0 || hasta > importes.length || desde > hasta) {
+            throw new IndexOutOfBoundsException("Tramo [" + desde + ", " + hasta + ") fuera de la columna de "
+                    + importes.length + " importes");
+        }
+    }
+
+    // Las versiones calculan el rango como max - min sin signo, que con un rango invertido da la vuelta
+    private static void checkRango(long min, long max) {
+        if (min > max) {
+            throw new IllegalArgumentException("El importe mínimo " + min + " es mayor que el máximo " + max);
+        }
+    }
+}
\ No newline at end of file
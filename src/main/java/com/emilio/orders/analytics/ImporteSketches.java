@@ -0,0 +1,375 @@
+package com.emilio.orders.analytics;
+
+import com.emilio.orders.config.DatabaseConfig;
+import com.emilio.orders.util.KllSketch;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Distribución aproximada de los importes de los pedidos, global, por zona de envío y por cliente,
+ * para responder percentiles sin recorrer los pedidos.
+ * <p>
+ * Cada ámbito tiene un {@link KllSketch}. {@link #refresh()} añade a los resúmenes los pedidos con
+ * un ID mayor que el último añadido, con la zona que tiene su cliente en ese momento, y guarda en
+ * Sketches_Importes los resúmenes que han cambiado junto con el nuevo último pedido, en una sola
+ * transacción que toma el bloqueo de escritura antes de leer lo guardado. Al empezar, o si otro
+ * proceso ha avanzado los resúmenes guardados, se parte de lo guardado en lugar de volver a leer
+ * todos los pedidos. Las tablas las crea {@code SchemaMigrations}.
+ * <p>
+ * Cada actualización trabaja sobre copias de los resúmenes que cambia y solo las publica cuando se
+ * ha confirmado la transacción, así que las consultas nunca ven un resumen a medio calcular.
+ * <p>
+ * Un resumen no permite quitar valores: los pedidos modificados o eliminados y los cambios de zona
+ * de un cliente siguen contando como eran al añadirlos hasta que se llama a {@link #rebuild()}.
+ */
+public class ImporteSketches {
+    private static final Logger logger = LoggerFactory.getLogger(ImporteSketches.class);
+    private static final int FETCH_SIZE = 10_000;
+    private static final String GLOBAL = "global";
+    private static final String ZONA = "zona:";
+    private static final String CLIENTE = "cliente:";
+
+    private static final String SELECT_ESTADO = "SELECT ultimo_pedido FROM Sketches_Estado WHERE id = 1";
+    private static final String SELECT_MAX_PEDIDO = "SELECT COALESCE(MAX(id_pedido), 0) FROM Pedidos";
+    private static final String SELECT_SKETCHES = "SELECT ambito, sketch FROM Sketches_Importes";
+    private static final String SELECT_PEDIDOS =
+        "SELECT p.id_pedido, p.id_cliente, c.id_zona, p.importe_total "
+        + "FROM Pedidos p JOIN Clientes c ON c.id_cliente = p.id_cliente "
+        + "WHERE p.id_pedido > ? ORDER BY p.id_pedido";
+    private static final String UPSERT_SKETCH =
+        "INSERT OR REPLACE INTO Sketches_Importes (ambito, sketch) VALUES (?, ?)";
+    private static final String DELETE_SKETCHES = "DELETE FROM Sketches_Importes";
+    private static final String UPDATE_ESTADO = "UPDATE Sketches_Estado SET ultimo_pedido = ? WHERE id = 1";
+
+    private final DatabaseConfig databaseConfig;
+    private final int k;
+    private volatile Resumenes resumenes;
+    private long ultimoPedido = -1; // -1 si hay que partir de lo guardado
+
+    /**
+     * Constructor de la clase ImporteSketches con el k por defecto de {@link KllSketch}. Los
+     * resúmenes no se cargan hasta llamar a {@link #refresh()}.
+     *
+     * @param databaseConfig Configuración de la base de datos.
+     */
+    public ImporteSketches(DatabaseConfig databaseConfig) {
+        this(databaseConfig, KllSketch.DEFAULT_K);
+    }
+
+    /**
+     * Constructor de la clase ImporteSketches.
+     *
+     * @param databaseConfig Configuración de la base de datos.
+     * @param k Parámetro de precisión de los resúmenes nuevos.
+     */
+    public ImporteSketches(DatabaseConfig databaseConfig, int k) {
+        this.databaseConfig = databaseConfig;
+        this.k = k;
+        this.resumenes = new Resumenes(new KllSketch(k), new HashMap<>(), new HashMap<>());
+    }
+
+    /**
+     * Añade a los resúmenes los pedidos nuevos y los guarda.
+     *
+     * @return El número de pedidos añadidos.
+     * @throws SQLException Si ocurre un error; los resúmenes guardados y los publicados quedan como estaban.
+     */
+    public synchronized int refresh() throws SQLException {
+        return update(false);
+    }
+
+    /**
+     * Vuelve a calcular todos los resúmenes a partir de los pedidos actuales y los guarda, para
+     * reflejar las modificaciones, eliminaciones y cambios de zona.
+     *
+     * @throws SQLException Si ocurre un error; los resúmenes guardados y los publicados quedan como estaban.
+     */
+    public synchronized void rebuild() throws SQLException {
+        long start = System.nanoTime();
+        int added = update(true);
+        logger.info("Resúmenes de importes recalculados con {} pedidos en {} ms", added,
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Devuelve una copia del resumen de todos los pedidos.
+     *
+     * @return El resumen global.
+     */
+    public KllSketch getGlobal() {
+        return resumenes.global.copy();
+    }
+
+    /**
+     * Devuelve una copia del resumen de los pedidos de una zona.
+     *
+     * @param idZona ID de la zona de envío.
+     * @return El resumen, vacío si la zona no tiene pedidos.
+     */
+    public KllSketch getZona(int idZona) {
+        KllSketch sketch = resumenes.zonas.get(idZona);
+        return sketch != null ? sketch.copy() : new KllSketch(k);
+    }
+
+    /**
+     * Devuelve un resumen de los pedidos de varias zonas, fusionando los de cada una.
+     *
+     * @param idsZona IDs de las zonas de envío.
+     * @return El resumen conjunto.
+     */
+    public KllSketch getZonas(Collection<Integer> idsZona) {
+        KllSketch merged = new KllSketch(k);
+        Map<Integer, KllSketch> zonas = resumenes.zonas;
+        for (int idZona : idsZona) {
+            KllSketch sketch = zonas.get(idZona);
+            if (sketch != null) {
+                merged.merge(sketch);
+            }
+        }
+        return merged;
+    }
+
+    /**
+     * Devuelve una copia del resumen de los pedidos de un cliente.
+     *
+     * @param idCliente ID del cliente.
+     * @return El resumen, vacío si el cliente no tiene pedidos.
+     */
+    public KllSketch getCliente(int idCliente) {
+        KllSketch sketch = resumenes.clientes.get(idCliente);
+        return sketch != null ? sketch.copy() : new KllSketch(k);
+    }
+
+    /**
+     * Estima un percentil del importe de todos los pedidos.
+     *
+     * @param fraccion Fracción entre 0 y 1 (0,99 para el percentil 99).
+     * @return El importe estimado, o NaN si no hay pedidos.
+     */
+    public double getPercentil(double fraccion) {
+        return resumenes.global.getQuantile(fraccion);
+    }
+
+    /**
+     * Estima un percentil del importe de los pedidos de una zona.
+     *
+     * @param idZona ID de la zona de envío.
+     * @param fraccion Fracción entre 0 y 1.
+     * @return El importe estimado, o NaN si la zona no tiene pedidos.
+     */
+    public double getPercentilZona(int idZona, double fraccion) {
+        KllSketch sketch = resumenes.zonas.get(idZona);
+        return sketch != null ? sketch.getQuantile(fraccion) : Double.NaN;
+    }
+
+    /**
+     * Estima un percentil del importe de los pedidos de un cliente.
+     *
+     * @param idCliente ID del cliente.
+     * @param fraccion Fracción entre 0 y 1.
+     * @return El importe estimado, o NaN si el cliente no tiene pedidos.
+     */
+    public double getPercentilCliente(int idCliente, double fraccion) {
+        KllSketch sketch = resumenes.clientes.get(idCliente);
+        return sketch != null ? sketch.getQuantile(fraccion) : Double.NaN;
+    }
+
+    /**
+     * Añade los pedidos posteriores al último añadido, partiendo de cero o de lo guardado si hace
+     * falta, guarda los resúmenes que cambian en una transacción y los publica tras confirmarla.
+     */
+    private int update(boolean desdeCero) throws SQLException {
+        try (Connection conn = databaseConfig.getConnection()) {
+            if (!desdeCero && !pendiente(conn)) {
+                return 0;
+            }
+            boolean autoCommit = conn.getAutoCommit();
+            conn.setAutoCommit(true); // La transacción se controla con BEGIN IMMEDIATE y COMMIT
+            try (Statement stmt = conn.createStatement()) {
+                stmt.execute("BEGIN IMMEDIATE");
+                try {
+                    long guardado = readEstado(conn); // Otro proceso puede haberse adelantado
+                    Resumenes base = resumenes;
+                    long desde = ultimoPedido;
+                    boolean copiar = true; // Los resúmenes publicados no se modifican
+                    if (desdeCero) {
+                        base = new Resumenes(new KllSketch(k), new HashMap<>(), new HashMap<>());
+                        desde = 0;
+                        copiar = false;
+                        execute(conn, DELETE_SKETCHES);
+                    } else if (ultimoPedido != guardado) {
+                        base = loadGuardados(conn, guardado);
+                        desde = guardado;
+                        copiar = false;
+                    }
+
+                    KllSketch global = copiar ? base.global.copy() : base.global;
+                    Map<Integer, KllSketch> zonas = copiar ? new HashMap<>(base.zonas) : base.zonas;
+                    Map<Integer, KllSketch> clientes = copiar ? new HashMap<>(base.clientes) : base.clientes;
+                    Set<String> cambiados = new HashSet<>();
+                    long hasta = desde;
+                    int added = 0;
+                    try (PreparedStatement select = conn.prepareStatement(SELECT_PEDIDOS)) {
+                        select.setFetchSize(FETCH_SIZE);
+                        select.setLong(1, desde);
+                        try (ResultSet rs = select.executeQuery()) {
+                            while (rs.next()) {
+                                int idCliente = rs.getInt("id_cliente");
+                                int idZona = rs.getInt("id_zona");
+                                double importe = rs.getDouble("importe_total");
+                                global.update(importe);
+                                sketch(zonas, idZona, cambiados.add(ZONA + idZona) && copiar).update(importe);
+                                sketch(clientes, idCliente, cambiados.add(CLIENTE + idCliente) && copiar).update(importe);
+                                hasta = rs.getLong("id_pedido");
+                                added++;
+                            }
+                        }
+                    }
+                    Resumenes nuevos = new Resumenes(global, zonas, clientes);
+                    if (added > 0 || desdeCero) {
+                        cambiados.add(GLOBAL);
+                        save(conn, nuevos, cambiados);
+                        execute(conn, UPDATE_ESTADO, hasta);
+                    }
+                    stmt.execute("COMMIT");
+                    resumenes = nuevos;
+                    ultimoPedido = hasta;
+                    if (added > 0) {
+                        logger.debug("Resúmenes de importes actualizados hasta el pedido {}", hasta);
+                    }
+                    return added;
+                } catch (SQLException e) {
+                    try {
+                        stmt.execute("ROLLBACK");
+                    } catch (SQLException rollback) {
+                        e.addSuppressed(rollback);
+                    }
+                    throw e;
+                }
+            } finally {
+                conn.setAutoCommit(autoCommit);
+            }
+        }
+    }
+
+    /**
+     * Comprueba sin bloquear si hay pedidos nuevos o si otro proceso ha avanzado lo guardado.
+     */
+    private boolean pendiente(Connection conn) throws SQLException {
+        if (readEstado(conn) != ultimoPedido) {
+            return true;
+        }
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(SELECT_MAX_PEDIDO)) {
+            return rs.next() && rs.getLong(1) > ultimoPedido;
+        }
+    }
+
+    private static long readEstado(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(SELECT_ESTADO)) {
+            if (!rs.next()) {
+                throw new SQLException("Falta la migración de Sketches_Importes");
+            }
+            return rs.getLong(1);
+        }
+    }
+
+    /**
+     * Lee los resúmenes guardados, sin publicarlos.
+     */
+    private Resumenes loadGuardados(Connection conn, long guardado) throws SQLException {
+        KllSketch global = new KllSketch(k);
+        Map<Integer, KllSketch> zonas = new HashMap<>();
+        Map<Integer, KllSketch> clientes = new HashMap<>();
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(SELECT_SKETCHES)) {
+            while (rs.next()) {
+                String ambito = rs.getString("ambito");
+                KllSketch sketch = KllSketch.fromByteArray(rs.getBytes("sketch"));
+                if (ambito.equals(GLOBAL)) {
+                    global = sketch;
+                } else if (ambito.startsWith(ZONA)) {
+                    zonas.put(Integer.parseInt(ambito.substring(ZONA.length())), sketch);
+                } else if (ambito.startsWith(CLIENTE)) {
+                    clientes.put(Integer.parseInt(ambito.substring(CLIENTE.length())), sketch);
+                }
+            }
+        }
+        logger.debug("Resúmenes de importes cargados hasta el pedido {}", guardado);
+        return new Resumenes(global, zonas, clientes);
+    }
+
+    /**
+     * Devuelve el resumen de un ámbito para añadirle valores, copiando el publicado la primera vez
+     * que se modifica en la actualización.
+     */
+    private KllSketch sketch(Map<Integer, KllSketch> sketches, int id, boolean copiar) {
+        KllSketch sketch = sketches.get(id);
+        if (sketch == null) {
+            sketch = new KllSketch(k);
+            sketches.put(id, sketch);
+        } else if (copiar) {
+            sketch = sketch.copy();
+            sketches.put(id, sketch);
+        }
+        return sketch;
+    }
+
+    private static void save(Connection conn, Resumenes resumenes, Set<String> ambitos) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(UPSERT_SKETCH)) {
+            for (String ambito : ambitos) {
+                stmt.setString(1, ambito);
+                stmt.setBytes(2, resumenes.of(ambito).toByteArray());
+                stmt.addBatch();
+            }
+            stmt.executeBatch();
+        }
+    }
+
+    private static void execute(Connection conn, String sql, Object... params) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            for (int i = 0; i < params.length; i++) {
+                stmt.setObject(i + 1, params[i]);
+            }
+            stmt.executeUpdate();
+        }
+    }
+
+    /**
+     * Resúmenes de todos los ámbitos, que se publican juntos. Una vez publicados no se modifican.
+     */
+    private static final class Resumenes {
+        final KllSketch global;
+        final Map<Integer, KllSketch> zonas;
+        final Map<Integer, KllSketch> clientes;
+
+        Resumenes(KllSketch global, Map<Integer, KllSketch> zonas, Map<Integer, KllSketch> clientes) {
+            this.global = global;
+            this.zonas = zonas;
+            this.clientes = clientes;
+        }
+
+        KllSketch of(String ambito) {
+            if (ambito.startsWith(ZONA)) {
+                return zonas.get(Integer.parseInt(ambito.substring(ZONA.length())));
+            }
+            if (ambito.startsWith(CLIENTE)) {
+                return clientes.get(Integer.parseInt(ambito.substring(CLIENTE.length())));
+            }
+            return global;
+        }
+    }
+}
\ No newline at end of file
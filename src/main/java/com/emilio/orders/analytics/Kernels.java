@@ -0,0 +1,37 @@
+package com.emilio.orders.analytics;
+
+/**
+ * Operaciones de agregación sobre un tramo de una columna de importes en céntimos. Hay una versión
+ * escalar y otra con instrucciones SIMD; {@link ImporteKernels} elige cuál usar.
+ * <p>
+ * Los rangos de importes incluyen ambos extremos, con {@code min <= max}, y los tramos de filas van
+ * de {@code desde} (incluido) a {@code hasta} (excluido). {@link ImporteKernels} comprueba los
+ * argumentos antes de llamar a las operaciones.
+ */
+interface Kernels {
+
+    /**
+     * Suma los importes del tramo.
+     */
+    long suma(long[] importes, int desde, int hasta);
+
+    /**
+     * Cuenta, suma y calcula el mínimo y el máximo de los importes del tramo que están en el rango.
+     */
+    Agregado agregar(long[] importes, int desde, int hasta, long min, long max);
+
+    /**
+     * Escribe en {@code sel}, en orden, las posiciones de los importes del tramo que están en el rango.
+     * {@code sel} debe tener sitio para todo el tramo.
+     *
+     * @return El número de posiciones escritas.
+     */
+    int seleccionar(long[] importes, int desde, int hasta, long min, long max, int[] sel);
+
+    /**
+     * Suma a cada cubeta los importes del tramo que están en el rango y caen en ella. La cubeta i
+     * recoge los importes de i*ancho a (i+1)*ancho; los negativos van a la primera y los que pasan
+     * de la última, a la última.
+     */
+    void histograma(long[] importes, int desde, int hasta, long min, long max, long ancho, long[] cubetas);
+}
\ No newline at end of file
@@ -0,0 +1,214 @@
+package com.emilio.orders.analytics;
+
+import com.emilio.orders.config.DatabaseConfig;
+import com.emilio.orders.dao.search.PedidoSearch;
+import com.emilio.orders.util.QueryUtils;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Arrays;
+import java.util.SortedMap;
+
+/**
+ * Motor de análisis en memoria sobre todos los pedidos.
+ * <p>
+ * Carga los pedidos en una {@link PedidoColumns}, con una columna de tipo primitivo por campo, y
+ * responde consultas de agregación (totales, series por día o mes, estadísticas por zona o cliente
+ * e histogramas de importes) recorriendo esas columnas, sin pasar por los DAOs ni crear un
+ * {@code Pedido} por fila. Los filtros son los mismos criterios de {@link PedidoSearch} que usan
+ * los DAOs, salvo el nombre del cliente.
+ * <p>
+ * {@link #refresh()} añade los pedidos con un ID mayor que el último cargado y vuelve a leer la
+ * zona de cada cliente; las modificaciones y eliminaciones de pedidos ya cargados solo se ven
+ * tras {@link #reload()}. Las consultas usan la última foto publicada y no esperan a las cargas.
+ */
+public class PedidoAnalytics {
+    private static final Logger logger = LoggerFactory.getLogger(PedidoAnalytics.class);
+    private static final int FETCH_SIZE = 10_000;
+    private static final PedidoSearch SIN_FILTROS = new PedidoSearch.Builder().build();
+
+    private final DatabaseConfig databaseConfig;
+    private volatile PedidoColumns columns = PedidoColumns.empty();
+
+    /**
+     * Constructor de la clase PedidoAnalytics. Los pedidos no se cargan hasta llamar a
+     * {@link #refresh()}.
+     *
+     * @param databaseConfig Configuración de la base de datos.
+     */
+    public PedidoAnalytics(DatabaseConfig databaseConfig) {
+        this.databaseConfig = databaseConfig;
+    }
+
+    /**
+     * Añade los pedidos nuevos desde la última carga y actualiza la zona de cada cliente.
+     *
+     * @return El número de pedidos añadidos.
+     * @throws SQLException Si ocurre un error en la carga; se conservan los datos anteriores.
+     */
+    public synchronized int refresh() throws SQLException {
+        PedidoColumns actual = columns;
+        long start = System.nanoTime();
+        PedidoColumns nuevas = load(actual);
+        columns = nuevas;
+        int added = nuevas.size() - actual.size();
+        logger.debug("Análisis: {} pedidos añadidos en {} ms, {} en total", added,
+                (System.nanoTime() - start) / 1_000_000, nuevas.size());
+        return added;
+    }
+
+    /**
+     * Vuelve a cargar todos los pedidos, para ver también las modificaciones y eliminaciones.
+     *
+     * @throws SQLException Si ocurre un error en la carga; se conservan los datos anteriores.
+     */
+    public synchronized void reload() throws SQLException {
+        long start = System.nanoTime();
+        columns = load(PedidoColumns.empty());
+        logger.info("Análisis: {} pedidos cargados en {} ms", columns.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Devuelve la foto de los pedidos con la que se responden las consultas.
+     *
+     * @return La última foto cargada.
+     */
+    public PedidoColumns getColumns() {
+        return columns;
+    }
+
+    /**
+     * Agrega todos los pedidos que cumplen los filtros.
+     *
+     * @param filtros Criterios de los pedidos a agregar; no se admite el nombre del cliente.
+     * @return El número, total, media, mínimo y máximo de sus importes.
+     */
+    public Agregado total(PedidoSearch filtros) {
+        return ColumnQueries.total(columns, filtros);
+    }
+
+    /**
+     * Agrega todos los pedidos.
+     *
+     * @return El número, total, media, mínimo y máximo de sus importes.
+     */
+    public Agregado total() {
+        return total(SIN_FILTROS);
+    }
+
+    /**
+     * Agrega por día los pedidos que cumplen los filtros.
+     *
+     * @param filtros Criterios de los pedidos a agregar; no se admite el nombre del cliente.
+     * @return Los días con algún pedido, en orden, con su agregado.
+     */
+    public SortedMap<LocalDate, Agregado> porDia(PedidoSearch filtros) {
+        return ColumnQueries.porDia(columns, filtros);
+    }
+
+    /**
+     * Agrega por mes los pedidos que cumplen los filtros.
+     *
+     * @param filtros Criterios de los pedidos a agregar; no se admite el nombre del cliente.
+     * @return Los meses con algún pedido, en orden, con su agregado.
+     */
+    public SortedMap<YearMonth, Agregado> porMes(PedidoSearch filtros) {
+        return ColumnQueries.porMes(columns, filtros);
+    }
+
+    /**
+     * Agrega por zona de envío del cliente los pedidos que cumplen los filtros. Los pedidos de
+     * clientes que ya no existían al cargar no cuentan.
+     *
+     * @param filtros Criterios de los pedidos a agregar; no se admite el nombre del cliente.
+     * @return Las zonas con algún pedido, por ID, con su agregado.
+     */
+    public SortedMap<Integer, Agregado> porZona(PedidoSearch filtros) {
+        return ColumnQueries.porZona(columns, filtros);
+    }
+
+    /**
+     * Agrega por cliente los pedidos que cumplen los filtros.
+     *
+     * @param filtros Criterios de los pedidos a agregar; no se admite el nombre del cliente.
+     * @return Los clientes con algún pedido, por ID, con su agregado.
+     */
+    public SortedMap<Integer, Agregado> porCliente(PedidoSearch filtros) {
+        return ColumnQueries.porCliente(columns, filtros);
+    }
+
+    /**
+     * Cuenta los pedidos que cumplen los filtros por tramos de importe del mismo ancho.
+     *
+     * @param filtros Criterios de los pedidos a contar; no se admite el nombre del cliente.
+     * @param ancho Ancho de cada tramo en euros; el tramo i va de i*ancho hasta (i+1)*ancho.
+     * @param cubetas Número de tramos; el último incluye también los importes mayores.
+     * @return El número de pedidos de cada tramo.
+     */
+    public long[] histograma(PedidoSearch filtros, double ancho, int cubetas) {
+        return ColumnQueries.histograma(columns, filtros, ancho, cubetas);
+    }
+
+    /**
+     * Lee los pedidos posteriores al último de la foto y las zonas de los clientes, y los añade a
+     * la foto. Las columnas se leen en orden de ID en arrays temporales que crecen al doble.
+     */
+    private PedidoColumns load(PedidoColumns actual) throws SQLException {
+        try (Connection conn = databaseConfig.getConnection()) {
+            int[] zonas = loadZonas(conn);
+
+            int[] clientes = new int[FETCH_SIZE];
+            int[] dias = new int[FETCH_SIZE];
+            long[] importes = new long[FETCH_SIZE];
+            int count = 0;
+            int lastId = actual.getLastIdPedido();
+            try (PreparedStatement stmt = conn.prepareStatement(QueryUtils.SELECT_COLUMNAS_PEDIDOS_AFTER_ID)) {
+                stmt.setFetchSize(FETCH_SIZE);
+                stmt.setInt(1, lastId);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        if (count == clientes.length) {
+                            clientes = Arrays.copyOf(clientes, count * 2);
+                            dias = Arrays.copyOf(dias, count * 2);
+                            importes = Arrays.copyOf(importes, count * 2);
+                        }
+                        lastId = rs.getInt("id_pedido");
+                        clientes[count] = rs.getInt("id_cliente");
+                        dias[count] = (int) rs.getDate("fecha").toLocalDate().toEpochDay();
+                        importes[count] = Math.round(rs.getDouble("importe_total") * 100);
+                        count++;
+                    }
+                }
+            }
+            return actual.append(clientes, dias, importes, count, zonas, lastId);
+        }
+    }
+
+    /**
+     * Lee la zona de cada cliente en un array indexado por ID de cliente.
+     */
+    private static int[] loadZonas(Connection conn) throws SQLException {
+        int[] zonas = new int[0];
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(QueryUtils.SELECT_ZONAS_CLIENTES)) {
+            while (rs.next()) {
+                int idCliente = rs.getInt("id_cliente");
+                if (idCliente >= zonas.length) {
+                    int length = zonas.length;
+                    zonas = Arrays.copyOf(zonas, Math.max(idCliente + 1, length * 2));
+                    Arrays.fill(zonas, length, zonas.length, PedidoColumns.SIN_ZONA);
+                }
+                zonas[idCliente] = rs.getInt("id_zona");
+            }
+        }
+        return zonas;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,141 @@
+package com.emilio.orders.analytics;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+
+/**
+ * Copia en memoria de los pedidos organizada por columnas: un array de tipo primitivo por campo
+ * (cliente, día e importe en céntimos), en lugar de un objeto {@code Pedido} por fila. Recorrer
+ * una columna lee memoria contigua y no crea objetos, así que las consultas sobre todos los pedidos
+ * se reducen a bucles sobre arrays.
+ * <p>
+ * Cada instancia es una foto inmutable de un momento dado: las filas añadidas después se escriben
+ * en los arrays más allá de su tamaño, donde esta foto no mira, o en arrays nuevos si no caben.
+ * Incluye también la zona de cada cliente en ese momento, indexada por ID de cliente.
+ */
+public final class PedidoColumns {
+    static final int SIN_ZONA = -1;
+
+    final int[] idCliente;
+    final int[] epochDay; // Días desde 1970-01-01
+    final long[] cents; // Importe en céntimos
+    final int size;
+    final int[] zonaPorCliente; // SIN_ZONA si el cliente no existe
+    final int lastIdPedido; // ID del último pedido cargado
+    final int minDay;
+    final int maxDay;
+    final int minMonth; // Meses desde el año 0 del primer día
+    final int[] mesPorDia; // Mes de cada día desde minDay, relativo a minMonth
+
+    PedidoColumns(int[] idCliente, int[] epochDay, long[] cents, int size, int[] zonaPorCliente,
+                  int lastIdPedido, int minDay, int maxDay) {
+        this.idCliente = idCliente;
+        this.epochDay = epochDay;
+        this.cents = cents;
+        this.size = size;
+        this.zonaPorCliente = zonaPorCliente;
+        this.lastIdPedido = lastIdPedido;
+        this.minDay = minDay;
+        this.maxDay = maxDay;
+        if (size == 0) {
+            this.minMonth = 0;
+            this.mesPorDia = new int[0];
+        } else {
+            this.minMonth = monthOf(minDay);
+            this.mesPorDia = new int[maxDay - minDay + 1];
+            for (int day = minDay; day <= maxDay; day++) {
+                mesPorDia[day - minDay] = monthOf(day) - minMonth;
+            }
+        }
+    }
+
+    /**
+     * Crea una foto vacía.
+     *
+     * @return Una foto sin pedidos ni clientes.
+     */
+    static PedidoColumns empty() {
+        return new PedidoColumns(new int[0], new int[0], new long[0], 0, new int[0], 0, 0, 0);
+    }
+
+    /**
+     * Devuelve el número de pedidos de la foto.
+     *
+     * @return El número de filas.
+     */
+    public int size() { return size; }
+
+    /**
+     * Devuelve el ID del último pedido cargado, a partir del cual se añaden los nuevos.
+     *
+     * @return El ID, o 0 si no hay pedidos.
+     */
+    public int getLastIdPedido() { return lastIdPedido; }
+
+    /**
+     * Devuelve la fecha del pedido más antiguo.
+     *
+     * @return La fecha, o null si no hay pedidos.
+     */
+    public LocalDate getPrimeraFecha() {
+        return size == 0 ? null : LocalDate.ofEpochDay(minDay);
+    }
+
+    /**
+     * Devuelve la fecha del pedido más reciente.
+     *
+     * @return La fecha, o null si no hay pedidos.
+     */
+    public LocalDate getUltimaFecha() {
+        return size == 0 ? null : LocalDate.ofEpochDay(maxDay);
+    }
+
+    /**
+     * Devuelve la zona de un cliente.
+     *
+     * @param idCliente ID del cliente.
+     * @return La zona, o {@link #SIN_ZONA} si el cliente no existía al cargar la foto.
+     */
+    int zonaOf(int idCliente) {
+        return idCliente >= 0 && idCliente < zonaPorCliente.length ? zonaPorCliente[idCliente] : SIN_ZONA;
+    }
+
+    /**
+     * Crea una foto con más filas añadidas a continuación de las de esta. Si caben, se escriben en
+     * los mismos arrays, fuera del tamaño de esta foto; si no, se copian a arrays con el doble de
+     * capacidad. En ambos casos esta foto sigue viendo exactamente las mismas filas.
+     */
+    PedidoColumns append(int[] nuevosClientes, int[] nuevosDias, long[] nuevosCents, int count,
+                         int[] zonas, int lastId) {
+        int[] clientes = idCliente;
+        int[] dias = epochDay;
+        long[] importes = cents;
+        int needed = size + count;
+        if (needed > clientes.length) {
+            int capacity = Math.max(needed, clientes.length * 2);
+            clientes = Arrays.copyOf(clientes, capacity);
+            dias = Arrays.copyOf(dias, capacity);
+            importes = Arrays.copyOf(importes, capacity);
+        }
+        System.arraycopy(nuevosClientes, 0, clientes, size, count);
+        System.arraycopy(nuevosDias, 0, dias, size, count);
+        System.arraycopy(nuevosCents, 0, importes, size, count);
+
+        int min = size == 0 ? Integer.MAX_VALUE : minDay;
+        int max = size == 0 ? Integer.MIN_VALUE : maxDay;
+        for (int i = 0; i < count; i++) {
+            min = Math.min(min, nuevosDias[i]);
+            max = Math.max(max, nuevosDias[i]);
+        }
+        if (needed == 0) {
+            min = 0;
+            max = 0;
+        }
+        return new PedidoColumns(clientes, dias, importes, needed, zonas, Math.max(lastIdPedido, lastId), min, max);
+    }
+
+    private static int monthOf(int epochDay) {
+        LocalDate fecha = LocalDate.ofEpochDay(epochDay);
+        return fecha.getYear() * 12 + fecha.getMonthValue() - 1;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,75 @@
+package com.emilio.orders.analytics;
+
+/**
+ * Clase que representa las métricas RFM de un cliente y sus puntuaciones por quintiles: recencia
+ * (días desde su último pedido), frecuencia (número de pedidos) e importe (total gastado). Cada
+ * puntuación va de 1 a 5, y 5 es el mejor quintil (el pedido más reciente, más pedidos o más gasto).
+ */
+public class PuntuacionRFM {
+    private final int idCliente;
+    private final int recenciaDias;
+    private final int frecuencia;
+    private final long importeCents;
+    private final int r;
+    private final int f;
+    private final int m;
+
+    /**
+     * Constructor de la clase PuntuacionRFM.
+     *
+     * @param idCliente ID del cliente.
+     * @param recenciaDias Días entre su último pedido y la fecha de cálculo.
+     * @param frecuencia Número de pedidos.
+     * @param importeCents Total gastado en céntimos.
+     * @param r Puntuación de recencia, de 1 a 5.
+     * @param f Puntuación de frecuencia, de 1 a 5.
+     * @param m Puntuación de importe, de 1 a 5.
+     */
+    public PuntuacionRFM(int idCliente, int recenciaDias, int frecuencia, long importeCents, int r, int f, int m) {
+        this.idCliente = idCliente;
+        this.recenciaDias = recenciaDias;
+        this.frecuencia = frecuencia;
+        this.importeCents = importeCents;
+        this.r = r;
+        this.f = f;
+        this.m = m;
+    }
+
+    public int getIdCliente() { return idCliente; }
+
+    public int getRecenciaDias() { return recenciaDias; }
+
+    public int getFrecuencia() { return frecuencia; }
+
+    public double getImporte() { return importeCents / 100.0; }
+
+    public int getR() { return r; }
+
+    public int getF() { return f; }
+
+    public int getM() { return m; }
+
+    /**
+     * Obtiene las tres puntuaciones juntas, en la forma habitual de marketing (por ejemplo, "545").
+     *
+     * @return Las puntuaciones de recencia, frecuencia e importe seguidas.
+     */
+    public String getCodigo() {
+        return "" + r + f + m;
+    }
+
+    /**
+     * Obtiene el segmento del cliente según sus puntuaciones.
+     *
+     * @return El segmento de {@link SegmentoRFM#of(int, int, int)}.
+     */
+    public SegmentoRFM getSegmento() {
+        return SegmentoRFM.of(r, f, m);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Cliente %d: %s (%s), %d días, %d pedidos, %.2f€",
+                idCliente, getCodigo(), getSegmento(), recenciaDias, frecuencia, getImporte());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,57 @@
+package com.emilio.orders.analytics;
+
+/**
+ * Versión escalar de las operaciones sobre importes, sin saltos que dependan de los datos. Es la
+ * que se usa cuando el módulo {@code jdk.incubator.vector} no está disponible.
+ */
+final class ScalarKernels implements Kernels {
+
+    @Override
+    public long suma(long[] importes, int desde, int hasta) {
+        long suma = 0;
+        for (int i = desde; i < hasta; i++) {
+            suma += importes[i];
+        }
+        return suma;
+    }
+
+    @Override
+    public Agregado agregar(long[] importes, int desde, int hasta, long min, long max) {
+        long rango = max - min; // Sin signo: una sola comparación por importe
+        long count = 0;
+        long suma = 0;
+        long minimo = Long.MAX_VALUE;
+        long maximo = Long.MIN_VALUE;
+        for (int i = desde; i < hasta; i++) {
+            long cents = importes[i];
+            boolean dentro = Long.compareUnsigned(cents - min, rango) <= 0;
+            count += dentro ? 1 : 0;
+            suma += dentro ? cents : 0;
+            minimo = Math.min(minimo, dentro ? cents : Long.MAX_VALUE);
+            maximo = Math.max(maximo, dentro ? cents : Long.MIN_VALUE);
+        }
+        return new Agregado(count, suma, minimo, maximo);
+    }
+
+    @Override
+    public int seleccionar(long[] importes, int desde, int hasta, long min, long max, int[] sel) {
+        long rango = max - min;
+        int n = 0;
+        for (int i = desde; i < hasta; i++) {
+            sel[n] = i;
+            n += Long.compareUnsigned(importes[i] - min, rango) <= 0 ? 1 : 0;
+        }
+        return n;
+    }
+
+    @Override
+    public void histograma(long[] importes, int desde, int hasta, long min, long max, long ancho, long[] cubetas) {
+        long rango = max - min;
+        int ultima = cubetas.length - 1;
+        for (int i = desde; i < hasta; i++) {
+            long cents = importes[i];
+            int cubeta = (int) Math.max(0, Math.min(cents / ancho, ultima));
+            cubetas[cubeta] += Long.compareUnsigned(cents - min, rango) <= 0 ? 1 : 0;
+        }
+    }
+}
\ No newline at end of file
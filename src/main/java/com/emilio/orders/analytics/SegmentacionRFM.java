@@ -0,0 +1,258 @@
+package com.emilio.orders.analytics;
+
+import com.emilio.orders.config.DatabaseConfig;
+import com.emilio.orders.util.QueryUtils;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Segmentación RFM (recencia, frecuencia e importe) de todos los clientes con pedidos.
+ * <p>
+ * Las métricas se acumulan en una sola pasada por los pedidos, leídos en orden de ID de la base de
+ * datos o tomados de una {@link PedidoColumns} ya cargada, en arrays de tipo primitivo indexados por
+ * ID de cliente: último día con pedido, número de pedidos y total en céntimos. Después cada métrica
+ * se puntúa de 1 a 5 por quintiles entre todos los clientes; los clientes con el mismo valor tienen
+ * la misma puntuación, la de la posición media de su grupo.
+ * <p>
+ * {@link #guardar(List, LocalDate)} sustituye el contenido de Segmentos_RFM por las puntuaciones
+ * calculadas, en lotes y en una sola transacción. La tabla la crea {@code SchemaMigrations}.
+ */
+public class SegmentacionRFM {
+    private static final Logger logger = LoggerFactory.getLogger(SegmentacionRFM.class);
+    private static final int FETCH_SIZE = 10_000;
+    private static final int BATCH_SIZE = 10_000;
+    private static final int QUINTILES = 5;
+
+    private static final String DELETE_SEGMENTOS = "DELETE FROM Segmentos_RFM";
+    private static final String INSERT_SEGMENTO =
+        "INSERT INTO Segmentos_RFM (id_cliente, recencia_dias, frecuencia, importe, r, f, m, segmento, fecha_calculo) "
+        + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final DatabaseConfig databaseConfig;
+
+    /**
+     * Constructor de la clase SegmentacionRFM.
+     *
+     * @param databaseConfig Configuración de la base de datos.
+     */
+    public SegmentacionRFM(DatabaseConfig databaseConfig) {
+        this.databaseConfig = databaseConfig;
+    }
+
+    /**
+     * Calcula las puntuaciones leyendo todos los pedidos de la base de datos en una pasada.
+     *
+     * @param referencia Fecha desde la que se cuentan los días de recencia.
+     * @return Las puntuaciones de los clientes con algún pedido, por ID de cliente.
+     * @throws SQLException Si ocurre un error al leer los pedidos.
+     */
+    public List<PuntuacionRFM> calcular(LocalDate referencia) throws SQLException {
+        long start = System.nanoTime();
+        Acumulador acumulador = new Acumulador(FETCH_SIZE);
+        try (Connection conn = databaseConfig.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(QueryUtils.SELECT_COLUMNAS_PEDIDOS_AFTER_ID)) {
+            stmt.setFetchSize(FETCH_SIZE);
+            stmt.setInt(1, 0);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    acumulador.add(rs.getInt("id_cliente"),
+                            (int) rs.getDate("fecha").toLocalDate().toEpochDay(),
+                            Math.round(rs.getDouble("importe_total") * 100));
+                }
+            }
+        }
+        List<PuntuacionRFM> puntuaciones = acumulador.puntuar(referencia);
+        logger.debug("RFM: {} clientes puntuados en {} ms", puntuaciones.size(),
+                (System.nanoTime() - start) / 1_000_000);
+        return puntuaciones;
+    }
+
+    /**
+     * Calcula las puntuaciones a partir de los pedidos ya cargados en memoria, sin ir a la base de datos.
+     *
+     * @param columns Foto de los pedidos, por ejemplo la de {@link PedidoAnalytics#getColumns()}.
+     * @param referencia Fecha desde la que se cuentan los días de recencia.
+     * @return Las puntuaciones de los clientes con algún pedido en la foto, por ID de cliente.
+     */
+    public static List<PuntuacionRFM> calcular(PedidoColumns columns, LocalDate referencia) {
+        Acumulador acumulador = new Acumulador(Math.max(columns.zonaPorCliente.length, 1));
+        for (int i = 0; i < columns.size; i++) {
+            acumulador.add(columns.idCliente[i], columns.epochDay[i], columns.cents[i]);
+        }
+        return acumulador.puntuar(referencia);
+    }
+
+    /**
+     * Sustituye las puntuaciones guardadas en Segmentos_RFM por las indicadas.
+     *
+     * @param puntuaciones Puntuaciones a guardar, como las devuelve {@link #calcular(LocalDate)}.
+     * @param referencia Fecha con la que se calcularon.
+     * @return El número de clientes guardados.
+     * @throws SQLException Si ocurre un error al guardarlas; no se cambia nada.
+     */
+    public int guardar(List<PuntuacionRFM> puntuaciones, LocalDate referencia) throws SQLException {
+        try (Connection conn = databaseConfig.getConnection()) {
+            boolean autoCommit = conn.getAutoCommit();
+            conn.setAutoCommit(false);
+            try {
+                try (Statement stmt = conn.createStatement()) {
+                    stmt.executeUpdate(DELETE_SEGMENTOS);
+                }
+                try (PreparedStatement stmt = conn.prepareStatement(INSERT_SEGMENTO)) {
+                    Date fecha = Date.valueOf(referencia);
+                    int pendientes = 0;
+                    for (PuntuacionRFM puntuacion : puntuaciones) {
+                        stmt.setInt(1, puntuacion.getIdCliente());
+                        stmt.setInt(2, puntuacion.getRecenciaDias());
+                        stmt.setInt(3, puntuacion.getFrecuencia());
+                        stmt.setDouble(4, puntuacion.getImporte());
+                        stmt.setInt(5, puntuacion.getR());
+                        stmt.setInt(6, puntuacion.getF());
+                        stmt.setInt(7, puntuacion.getM());
+                        stmt.setString(8, puntuacion.getSegmento().name());
+                        stmt.setDate(9, fecha);
+                        stmt.addBatch();
+                        if (++pendientes == BATCH_SIZE) {
+                            stmt.executeBatch();
+                            pendientes = 0;
+                        }
+                    }
+                    if (pendientes > 0) {
+                        stmt.executeBatch();
+                    }
+                }
+                conn.commit();
+                logger.info("Segmentos RFM guardados para {} clientes a fecha {}", puntuaciones.size(), referencia);
+                return puntuaciones.size();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(autoCommit);
+            }
+        }
+    }
+
+    /**
+     * Calcula las puntuaciones leyendo los pedidos de la base de datos y las guarda.
+     *
+     * @param referencia Fecha desde la que se cuentan los días de recencia.
+     * @return El número de clientes guardados.
+     * @throws SQLException Si ocurre un error al leer los pedidos o al guardar.
+     */
+    public int actualizar(LocalDate referencia) throws SQLException {
+        return guardar(calcular(referencia), referencia);
+    }
+
+    /**
+     * Puntúa cada valor de 1 a QUINTILES según su posición entre todos. Los valores repetidos toman la
+     * posición media de su grupo, de modo que caen en el mismo quintil sin irse al extremo (por
+     * ejemplo, muchos clientes con pedido el último día). Las posiciones se buscan en una copia ordenada.
+     */
+    static int[] quintiles(long[] valores) {
+        long[] ordenados = valores.clone();
+        Arrays.sort(ordenados);
+        int[] puntuaciones = new int[valores.length];
+        for (int i = 0; i < valores.length; i++) {
+            int primera = lowerBound(ordenados, valores[i]);
+            int ultima = lowerBound(ordenados, valores[i] + 1) - 1;
+            long posicion = ((long) primera + ultima) / 2;
+            puntuaciones[i] = 1 + (int) (posicion * QUINTILES / valores.length);
+        }
+        return puntuaciones;
+    }
+
+    /**
+     * Devuelve la posición del primer elemento no menor que el valor en un array ordenado.
+     */
+    private static int lowerBound(long[] ordenados, long valor) {
+        int low = 0;
+        int high = ordenados.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (ordenados[mid] < valor) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Métricas por cliente en arrays indexados por ID que crecen al doble cuando aparece un ID mayor.
+     */
+    private static final class Acumulador {
+        private int[] ultimoDia;
+        private int[] frecuencia; // 0 si el cliente no tiene pedidos
+        private long[] cents;
+
+        Acumulador(int capacidad) {
+            ultimoDia = new int[capacidad];
+            frecuencia = new int[capacidad];
+            cents = new long[capacidad];
+        }
+
+        void add(int idCliente, int epochDay, long importeCents) {
+            if (idCliente >= frecuencia.length) {
+                int length = Math.max(idCliente + 1, frecuencia.length * 2);
+                ultimoDia = Arrays.copyOf(ultimoDia, length);
+                frecuencia = Arrays.copyOf(frecuencia, length);
+                cents = Arrays.copyOf(cents, length);
+            }
+            if (frecuencia[idCliente]++ == 0 || epochDay > ultimoDia[idCliente]) {
+                ultimoDia[idCliente] = epochDay;
+            }
+            cents[idCliente] += importeCents;
+        }
+
+        /**
+         * Puntúa por quintiles a los clientes con algún pedido. La recencia se puntúa por el último día
+         * con pedido, así que el más reciente tiene la puntuación más alta.
+         */
+        List<PuntuacionRFM> puntuar(LocalDate referencia) {
+            int clientes = 0;
+            for (int numPedidos : frecuencia) {
+                if (numPedidos > 0) {
+                    clientes++;
+                }
+            }
+            int[] ids = new int[clientes];
+            long[] dias = new long[clientes];
+            long[] pedidos = new long[clientes];
+            long[] importes = new long[clientes];
+            for (int id = 0, n = 0; id < frecuencia.length; id++) {
+                if (frecuencia[id] > 0) {
+                    ids[n] = id;
+                    dias[n] = ultimoDia[id];
+                    pedidos[n] = frecuencia[id];
+                    importes[n] = cents[id];
+                    n++;
+                }
+            }
+            int[] r = quintiles(dias);
+            int[] f = quintiles(pedidos);
+            int[] m = quintiles(importes);
+
+            long hoy = referencia.toEpochDay();
+            List<PuntuacionRFM> puntuaciones = new ArrayList<>(clientes);
+            for (int i = 0; i < clientes; i++) {
+                puntuaciones.add(new PuntuacionRFM(ids[i], (int) (hoy - dias[i]), (int) pedidos[i], importes[i],
+                        r[i], f[i], m[i]));
+            }
+            return puntuaciones;
+        }
+    }
+}
\ No newline at end of file
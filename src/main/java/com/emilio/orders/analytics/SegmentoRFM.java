@@ -0,0 +1,41 @@
+package com.emilio.orders.analytics;
+
+/**
+ * Enumeración que representa el segmento de marketing de un cliente según sus puntuaciones RFM.
+ * Las reglas se comprueban en el orden de las constantes y se queda la primera que se cumple.
+ */
+public enum SegmentoRFM {
+    CAMPEONES, // Compran a menudo, hace poco y mucho
+    EN_RIESGO, // Compraban a menudo pero hace tiempo que no
+    LEALES, // Compran a menudo
+    NUEVOS, // Han comprado hace poco por primera o segunda vez
+    PROMETEDORES, // Han comprado no hace mucho
+    PERDIDOS; // Compraron poco y hace tiempo
+
+    /**
+     * Obtiene el segmento que corresponde a unas puntuaciones.
+     *
+     * @param r Puntuación de recencia, de 1 a 5 (5 es la compra más reciente).
+     * @param f Puntuación de frecuencia, de 1 a 5.
+     * @param m Puntuación de importe, de 1 a 5.
+     * @return El segmento del cliente.
+     */
+    public static SegmentoRFM of(int r, int f, int m) {
+        if (r >= 4 && f >= 4 && m >= 4) {
+            return CAMPEONES;
+        }
+        if (r <= 2 && f >= 3) {
+            return EN_RIESGO;
+        }
+        if (f >= 4) {
+            return LEALES;
+        }
+        if (r >= 4 && f <= 2) {
+            return NUEVOS;
+        }
+        if (r >= 3) {
+            return PROMETEDORES;
+        }
+        return PERDIDOS;
+    }
+}
\ No newline at end of file
@@ -57,12 +57,6 @@ public class DatabaseConfigFactory {
      * @return Una instancia de {@link DatabaseConfig} configurada para Hibernate.
      */
     private static DatabaseConfig createHibernateConfig(DatabaseProperties properties) {
-        return new HibernateConfig(
-            properties.getUrl(),
-            properties.getUsername(),
-            properties.getPassword(),
-            properties.getMaxPoolSize(),
-            properties.getMinPoolSize()
-        );
+        return new HibernateConfig(properties);
     }
 }
\ No newline at end of file
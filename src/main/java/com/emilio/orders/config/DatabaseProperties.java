@@ -9,6 +9,9 @@ public class DatabaseProperties {
     private final String password; // Contraseña para la conexión
     private final int maxPoolSize; // Tamaño máximo del pool de conexiones
     private final int minPoolSize; // Tamaño mínimo del pool de conexiones
+    private final boolean secondLevelCache; // Caché de segundo nivel de Hibernate activada
+    private final boolean queryCache; // Caché de resultados de consultas de Hibernate activada
+    private final boolean cacheStatistics; // Estadísticas de Hibernate (aciertos/fallos de caché) activadas
 
     /**
      * Constructor privado que utiliza el patrón Builder.
@@ -21,6 +24,9 @@ public class DatabaseProperties {
         this.password = builder.password;
         this.maxPoolSize = builder.maxPoolSize;
         this.minPoolSize = builder.minPoolSize;
+        this.secondLevelCache = builder.secondLevelCache;
+        this.queryCache = builder.queryCache;
+        this.cacheStatistics = builder.cacheStatistics;
     }
 
     /**
@@ -58,6 +64,27 @@ public class DatabaseProperties {
      */
     public int getMinPoolSize() { return minPoolSize; }
 
+    /**
+     * Indica si se usa la caché de segundo nivel de Hibernate.
+     *
+     * @return true si la caché de segundo nivel está activada.
+     */
+    public boolean isSecondLevelCacheEnabled() { return secondLevelCache; }
+
+    /**
+     * Indica si se usa la caché de resultados de consultas de Hibernate.
+     *
+     * @return true si la caché de consultas está activada.
+     */
+    public boolean isQueryCacheEnabled() { return queryCache; }
+
+    /**
+     * Indica si Hibernate recoge estadísticas, entre ellas los aciertos y fallos de caché.
+     *
+     * @return true si las estadísticas están activadas.
+     */
+    public boolean isCacheStatisticsEnabled() { return cacheStatistics; }
+
     /**
      * Clase interna que implementa el patrón Builder para crear instancias de DatabaseProperties.
      */
@@ -67,6 +94,9 @@ public class DatabaseProperties {
         private String password = ""; // Contraseña (opcional)
         private int maxPoolSize = 10; // Tamaño máximo del pool (opcional)
         private int minPoolSize = 1; // Tamaño mínimo del pool (opcional)
+        private boolean secondLevelCache = true; // Caché de segundo nivel (opcional, solo Hibernate)
+        private boolean queryCache = true; // Caché de consultas (opcional, solo Hibernate)
+        private boolean cacheStatistics = true; // Estadísticas de caché (opcional, solo Hibernate)
 
         /**
          * Establece la URL de la base de datos.
@@ -123,6 +153,40 @@ public class DatabaseProperties {
             return this;
         }
 
+        /**
+         * Activa o desactiva la caché de segundo nivel de Hibernate.
+         *
+         * @param secondLevelCache true para activar la caché.
+         * @return El objeto Builder para encadenamiento.
+         */
+        public Builder secondLevelCache(boolean secondLevelCache) {
+            this.secondLevelCache = secondLevelCache;
+            return this;
+        }
+
+        /**
+         * Activa o desactiva la caché de resultados de consultas de Hibernate.
+         * Requiere la caché de segundo nivel.
+         *
+         * @param queryCache true para activar la caché de consultas.
+         * @return El objeto Builder para encadenamiento.
+         */
+        public Builder queryCache(boolean queryCache) {
+            this.queryCache = queryCache;
+            return this;
+        }
+
+        /**
+         * Activa o desactiva las estadísticas de Hibernate.
+         *
+         * @param cacheStatistics true para recoger estadísticas.
+         * @return El objeto Builder para encadenamiento.
+         */
+        public Builder cacheStatistics(boolean cacheStatistics) {
+            this.cacheStatistics = cacheStatistics;
+            return this;
+        }
+
         /**
          * Construye una instancia de DatabaseProperties con las propiedades configuradas.
          *
@@ -4,12 +4,14 @@ import com.emilio.orders.hibernate.SessionManager;
 
 import org.hibernate.Session;
 import org.hibernate.SessionFactory;
+import org.hibernate.cfg.AvailableSettings;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.sql.DataSource;
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.Map;
 
 /**
  * Configuración de base de datos para Hibernate.
@@ -34,6 +36,25 @@ public class HibernateConfig implements DatabaseConfig {
      * @param minPoolSize Tamaño mínimo del pool (no aplica directamente en Hibernate)
      */
     public HibernateConfig(String url, String username, String password, int maxPoolSize, int minPoolSize) {
+        this(url, username, password, maxPoolSize, minPoolSize, Map.of());
+    }
+
+    /**
+     * Constructor que inicializa la configuración de Hibernate a partir de las propiedades de conexión,
+     * incluidas las opciones de caché de segundo nivel, de caché de consultas y de estadísticas.
+     *
+     * @param properties Propiedades de la base de datos
+     */
+    public HibernateConfig(DatabaseProperties properties) {
+        this(properties.getUrl(), properties.getUsername(), properties.getPassword(),
+                properties.getMaxPoolSize(), properties.getMinPoolSize(), Map.of(
+                        AvailableSettings.USE_SECOND_LEVEL_CACHE, String.valueOf(properties.isSecondLevelCacheEnabled()),
+                        AvailableSettings.USE_QUERY_CACHE, String.valueOf(properties.isQueryCacheEnabled()),
+                        AvailableSettings.GENERATE_STATISTICS, String.valueOf(properties.isCacheStatisticsEnabled())));
+    }
+
+    private HibernateConfig(String url, String username, String password, int maxPoolSize, int minPoolSize,
+            Map<String, String> settings) {
         this.url = url;
         this.username = username;
         this.password = password;
@@ -41,7 +62,7 @@ public class HibernateConfig implements DatabaseConfig {
         this.minPoolSize = minPoolSize;
         
         // Inicializar la SessionFactory de Hibernate
-        this.sessionFactory = SessionManager.getInstance().getSessionFactory();
+        this.sessionFactory = SessionManager.getInstance(settings).getSessionFactory();
         logger.info("Configuración de Hibernate inicializada");
     }
 
@@ -87,6 +87,7 @@ public class SQLiteConfig implements DatabaseConfig {
                     }
                 }
             }
+            SchemaMigrations.migrate(conn); // Cambios de esquema que el script no puede contener
             logger.info("Base de datos inicializada correctamente");
         } catch (SQLException | IOException e) {
             logger.error("Error fatal al inicializar base de datos", e); // Registra errores fatales
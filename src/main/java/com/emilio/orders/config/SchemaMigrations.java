@@ -0,0 +1,233 @@
+package com.emilio.orders.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Clase utils que aplica los cambios de esquema que no caben en pedidos.sql ni en el mapeo de
+ * Hibernate, como los triggers (el script se divide por ";" y hbm2ddl no los crea).
+ * <p>
+ * La versión del esquema se guarda en {@code PRAGMA user_version}. Cada migración se aplica una sola
+ * vez, en una transacción junto con el cambio de versión, y sus sentencias son idempotentes por si
+ * otro proceso la aplica a la vez.
+ */
+public final class SchemaMigrations {
+    private static final Logger logger = LoggerFactory.getLogger(SchemaMigrations.class);
+
+    // Cada elemento es una migración; su posición más uno es la versión a la que lleva el esquema
+    private static final List<List<String>> MIGRATIONS = List.of(
+            // 1: contadores de versión por tabla que lee TableChangeMonitor para detectar cambios de otros procesos
+            cambiosTabla("Zonas_Envio", "Clientes", "Pedidos"),
+            // 2: totales por cliente precalculados y mantenidos por triggers sobre Pedidos
+            List.of(
+                    "CREATE TABLE IF NOT EXISTS Cliente_Totales ("
+                            + "id_cliente INTEGER PRIMARY KEY, "
+                            + "total REAL NOT NULL DEFAULT 0, "
+                            + "num_pedidos INTEGER NOT NULL DEFAULT 0, "
+                            + "primer_pedido DATE, "
+                            + "ultimo_pedido DATE)",
+                    "INSERT OR REPLACE INTO Cliente_Totales (id_cliente, total, num_pedidos, primer_pedido, ultimo_pedido) "
+                            + "SELECT id_cliente, ROUND(SUM(importe_total), 2), COUNT(*), MIN(fecha), MAX(fecha) "
+                            + "FROM Pedidos GROUP BY id_cliente",
+                    "CREATE TRIGGER IF NOT EXISTS trg_totales_pedidos_insert AFTER INSERT ON Pedidos BEGIN "
+                            + addPedido("NEW") + " END",
+                    "CREATE TRIGGER IF NOT EXISTS trg_totales_pedidos_delete AFTER DELETE ON Pedidos BEGIN "
+                            + removePedido("OLD") + " END",
+                    "CREATE TRIGGER IF NOT EXISTS trg_totales_pedidos_update "
+                            + "AFTER UPDATE OF fecha, importe_total, id_cliente ON Pedidos BEGIN "
+                            + removePedido("OLD") + " " + addPedido("NEW") + " END",
+                    "CREATE TRIGGER IF NOT EXISTS trg_totales_clientes_delete AFTER DELETE ON Clientes BEGIN "
+                            + "DELETE FROM Cliente_Totales WHERE id_cliente = OLD.id_cliente; END"),
+            // 3: ventas por día y zona, actualizadas a partir del último pedido agregado y de un registro de
+            // cambios que los triggers rellenan para los pedidos ya agregados
+            List.of(
+                    "CREATE TABLE IF NOT EXISTS Ventas_Diarias ("
+                            + "fecha DATE NOT NULL, "
+                            + "id_zona INTEGER NOT NULL, "
+                            + "ingresos REAL NOT NULL DEFAULT 0, "
+                            + "num_pedidos INTEGER NOT NULL DEFAULT 0, "
+                            + "PRIMARY KEY (fecha, id_zona))",
+                    "CREATE TABLE IF NOT EXISTS Ventas_Diarias_Estado ("
+                            + "id INTEGER PRIMARY KEY CHECK (id = 1), "
+                            + "ultimo_pedido INTEGER NOT NULL)",
+                    "CREATE TABLE IF NOT EXISTS Ventas_Diarias_Cambios ("
+                            + "id INTEGER PRIMARY KEY AUTOINCREMENT, "
+                            + "fecha DATE NOT NULL, "
+                            + "id_zona INTEGER NOT NULL, "
+                            + "ingresos REAL NOT NULL, "
+                            + "num_pedidos INTEGER NOT NULL)",
+                    "INSERT OR REPLACE INTO Ventas_Diarias (fecha, id_zona, ingresos, num_pedidos) "
+                            + "SELECT p.fecha, c.id_zona, ROUND(SUM(p.importe_total), 2), COUNT(*) "
+                            + "FROM Pedidos p JOIN Clientes c ON c.id_cliente = p.id_cliente "
+                            + "GROUP BY p.fecha, c.id_zona",
+                    "INSERT OR REPLACE INTO Ventas_Diarias_Estado (id, ultimo_pedido) "
+                            + "SELECT 1, COALESCE(MAX(id_pedido), 0) FROM Pedidos",
+                    "CREATE TRIGGER IF NOT EXISTS trg_ventas_pedidos_insert AFTER INSERT ON Pedidos BEGIN "
+                            + logPedido("NEW", "") + " END",
+                    "CREATE TRIGGER IF NOT EXISTS trg_ventas_pedidos_delete AFTER DELETE ON Pedidos BEGIN "
+                            + logPedido("OLD", "-") + " END",
+                    "CREATE TRIGGER IF NOT EXISTS trg_ventas_pedidos_update "
+                            + "AFTER UPDATE OF id_pedido, fecha, importe_total, id_cliente ON Pedidos BEGIN "
+                            + logPedido("OLD", "-") + " " + logPedido("NEW", "") + " END",
+                    // Al borrar un cliente sus pedidos se eliminan en cascada cuando ya no se sabe su zona
+                    "CREATE TRIGGER IF NOT EXISTS trg_ventas_clientes_delete BEFORE DELETE ON Clientes BEGIN "
+                            + logCliente("OLD.id_zona", "-") + " END",
+                    "CREATE TRIGGER IF NOT EXISTS trg_ventas_clientes_zona "
+                            + "AFTER UPDATE OF id_zona ON Clientes WHEN OLD.id_zona <> NEW.id_zona BEGIN "
+                            + logCliente("OLD.id_zona", "-") + " " + logCliente("NEW.id_zona", "") + " END"),
+            // 4: resúmenes de la distribución de importes por ámbito (global, zona o cliente), serializados;
+            // se calculan desde la aplicación a partir del último pedido añadido
+            List.of(
+                    "CREATE TABLE IF NOT EXISTS Sketches_Importes ("
+                            + "ambito VARCHAR(30) PRIMARY KEY, "
+                            + "sketch BLOB NOT NULL)",
+                    "CREATE TABLE IF NOT EXISTS Sketches_Estado ("
+                            + "id INTEGER PRIMARY KEY CHECK (id = 1), "
+                            + "ultimo_pedido INTEGER NOT NULL)",
+                    "INSERT OR IGNORE INTO Sketches_Estado (id, ultimo_pedido) VALUES (1, 0)"),
+            // 5: puntuaciones RFM (recencia, frecuencia e importe) de cada cliente con pedidos; las
+            // calcula la aplicación de una vez y los clientes eliminados se quitan con un trigger
+            List.of(
+                    "CREATE TABLE IF NOT EXISTS Segmentos_RFM ("
+                            + "id_cliente INTEGER PRIMARY KEY, "
+                            + "recencia_dias INTEGER NOT NULL, "
+                            + "frecuencia INTEGER NOT NULL, "
+                            + "importe REAL NOT NULL, "
+                            + "r INTEGER NOT NULL, "
+                            + "f INTEGER NOT NULL, "
+                            + "m INTEGER NOT NULL, "
+                            + "segmento VARCHAR(20) NOT NULL, "
+                            + "fecha_calculo DATE NOT NULL)",
+                    "CREATE INDEX IF NOT EXISTS idx_segmentos_rfm_segmento ON Segmentos_RFM (segmento)",
+                    "CREATE TRIGGER IF NOT EXISTS trg_rfm_clientes_delete AFTER DELETE ON Clientes BEGIN "
+                            + "DELETE FROM Segmentos_RFM WHERE id_cliente = OLD.id_cliente; END"));
+
+    private SchemaMigrations() {
+    }
+
+    /**
+     * Aplica las migraciones pendientes.
+     *
+     * @param connection Conexión a la base de datos; se restaura su modo de autocommit al terminar.
+     * @return La versión del esquema tras aplicarlas.
+     * @throws SQLException Si falla alguna migración; la que falla no deja cambios.
+     */
+    public static int migrate(Connection connection) throws SQLException {
+        int version = getVersion(connection);
+        if (version >= MIGRATIONS.size()) {
+            return version;
+        }
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+        try (Statement stmt = connection.createStatement()) {
+            for (; version < MIGRATIONS.size(); version++) {
+                logger.info("Aplicando migración de esquema {}", version + 1);
+                try {
+                    for (String sql : MIGRATIONS.get(version)) {
+                        stmt.execute(sql);
+                    }
+                    stmt.execute("PRAGMA user_version = " + (version + 1));
+                    connection.commit();
+                } catch (SQLException e) {
+                    connection.rollback();
+                    throw e;
+                }
+            }
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+        logger.info("Esquema de la base de datos en la versión {}", version);
+        return version;
+    }
+
+    /**
+     * Obtiene la versión actual del esquema.
+     *
+     * @param connection Conexión a la base de datos.
+     * @return La versión, 0 si no se ha aplicado ninguna migración.
+     * @throws SQLException Si ocurre un error al consultarla.
+     */
+    public static int getVersion(Connection connection) throws SQLException {
+        try (Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery("PRAGMA user_version")) {
+            return rs.next() ? rs.getInt(1) : 0;
+        }
+    }
+
+    /**
+     * Crea la tabla de contadores y un trigger por tabla y operación que suma uno al contador de la
+     * tabla por cada fila insertada, actualizada o eliminada.
+     */
+    private static List<String> cambiosTabla(String... tablas) {
+        List<String> sentencias = new ArrayList<>();
+        sentencias.add("CREATE TABLE IF NOT EXISTS Cambios_Tabla ("
+                + "tabla VARCHAR(30) PRIMARY KEY, version INTEGER NOT NULL DEFAULT 0)");
+        for (String tabla : tablas) {
+            sentencias.add("INSERT OR IGNORE INTO Cambios_Tabla (tabla, version) VALUES ('" + tabla + "', 0)");
+            for (String operacion : List.of("INSERT", "UPDATE", "DELETE")) {
+                sentencias.add("CREATE TRIGGER IF NOT EXISTS trg_cambios_" + tabla.toLowerCase() + "_"
+                        + operacion.toLowerCase() + " AFTER " + operacion + " ON " + tabla
+                        + " BEGIN UPDATE Cambios_Tabla SET version = version + 1 WHERE tabla = '"
+                        + tabla + "'; END");
+            }
+        }
+        return sentencias;
+    }
+
+    /**
+     * Suma un pedido a los totales de su cliente, creando la fila si es el primero.
+     */
+    private static String addPedido(String row) {
+        return "INSERT INTO Cliente_Totales (id_cliente, total, num_pedidos, primer_pedido, ultimo_pedido) "
+                + "VALUES (" + row + ".id_cliente, " + row + ".importe_total, 1, " + row + ".fecha, " + row + ".fecha) "
+                + "ON CONFLICT (id_cliente) DO UPDATE SET "
+                + "total = ROUND(total + excluded.total, 2), "
+                + "num_pedidos = num_pedidos + 1, "
+                + "primer_pedido = MIN(COALESCE(primer_pedido, excluded.primer_pedido), excluded.primer_pedido), "
+                + "ultimo_pedido = MAX(COALESCE(ultimo_pedido, excluded.ultimo_pedido), excluded.ultimo_pedido);";
+    }
+
+    /**
+     * Registra la venta de un pedido ya agregado en Ventas_Diarias, con signo negativo si hay que
+     * restarla. Los pedidos posteriores al último agregado se suman al actualizar, con sus valores de
+     * ese momento, y los de clientes que ya no existen los registra el trigger de borrado de clientes.
+     */
+    private static String logPedido(String row, String signo) {
+        return "INSERT INTO Ventas_Diarias_Cambios (fecha, id_zona, ingresos, num_pedidos) "
+                + "SELECT " + row + ".fecha, c.id_zona, " + signo + row + ".importe_total, " + signo + "1 "
+                + "FROM Clientes c WHERE c.id_cliente = " + row + ".id_cliente "
+                + "AND " + row + ".id_pedido <= (SELECT ultimo_pedido FROM Ventas_Diarias_Estado);";
+    }
+
+    /**
+     * Registra, por día, las ventas de los pedidos ya agregados de un cliente en la zona indicada.
+     */
+    private static String logCliente(String zona, String signo) {
+        return "INSERT INTO Ventas_Diarias_Cambios (fecha, id_zona, ingresos, num_pedidos) "
+                + "SELECT fecha, " + zona + ", " + signo + "SUM(importe_total), " + signo + "COUNT(*) "
+                + "FROM Pedidos WHERE id_cliente = OLD.id_cliente "
+                + "AND id_pedido <= (SELECT ultimo_pedido FROM Ventas_Diarias_Estado) GROUP BY fecha;";
+    }
+
+    /**
+     * Resta un pedido de los totales de su cliente. Si era el primero o el último, la fecha se vuelve a
+     * calcular con el índice por cliente y fecha.
+     */
+    private static String removePedido(String row) {
+        return "UPDATE Cliente_Totales SET "
+                + "total = ROUND(total - " + row + ".importe_total, 2), "
+                + "num_pedidos = num_pedidos - 1, "
+                + "primer_pedido = CASE WHEN primer_pedido = " + row + ".fecha THEN "
+                + "(SELECT MIN(fecha) FROM Pedidos WHERE id_cliente = " + row + ".id_cliente) ELSE primer_pedido END, "
+                + "ultimo_pedido = CASE WHEN ultimo_pedido = " + row + ".fecha THEN "
+                + "(SELECT MAX(fecha) FROM Pedidos WHERE id_cliente = " + row + ".id_cliente) ELSE ultimo_pedido END "
+                + "WHERE id_cliente = " + row + ".id_cliente;";
+    }
+}
\ No newline at end of file
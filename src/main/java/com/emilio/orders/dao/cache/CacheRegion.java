@@ -0,0 +1,45 @@
+package com.emilio.orders.dao.cache;
+
+/**
+ * Región de caché que se puede observar y ajustar en tiempo de ejecución, ya sea una caché de los
+ * DAOs o una región de la caché de segundo nivel de Hibernate.
+ */
+public interface CacheRegion {
+
+    /**
+     * Obtiene el nombre de la región.
+     *
+     * @return Nombre único de la región.
+     */
+    String getName();
+
+    /**
+     * Obtiene las estadísticas acumuladas desde que se creó la región.
+     *
+     * @return Aciertos, fallos, expulsiones, latencia de carga y tamaño de la región.
+     */
+    CacheRegionStats getStats();
+
+    /**
+     * Indica si la región admite {@link #resize(long)}. La consola y JMX solo ofrecen redimensionar
+     * las regiones que lo admiten.
+     *
+     * @return true si se puede cambiar el número máximo de entradas.
+     */
+    default boolean isResizable() {
+        return true;
+    }
+
+    /**
+     * Cambia el número máximo de entradas. Si la región ya tiene más, se expulsan las sobrantes.
+     *
+     * @param maximumSize Nuevo número máximo de entradas.
+     * @throws UnsupportedOperationException Si la región no se puede redimensionar.
+     */
+    void resize(long maximumSize);
+
+    /**
+     * Vacía la región.
+     */
+    void clear();
+}
\ No newline at end of file
@@ -0,0 +1,32 @@
+package com.emilio.orders.dao.cache;
+
+/**
+ * Interfaz de gestión por JMX de una región de caché. Se registra una por región con el nombre
+ * {@code com.emilio.orders:type=CacheRegion,name=<región>}. El tamaño máximo es de solo lectura;
+ * las regiones que se pueden redimensionar se registran con {@link ResizableCacheRegionMXBean}.
+ */
+public interface CacheRegionMXBean {
+
+    double getHitRate();
+
+    double getMissRate();
+
+    long getHitCount();
+
+    long getMissCount();
+
+    long getEvictionCount();
+
+    double getAverageLoadMillis();
+
+    long getSize();
+
+    long getEstimatedMemoryBytes();
+
+    long getMaximumSize();
+
+    /**
+     * Vacía la región.
+     */
+    void clear();
+}
\ No newline at end of file
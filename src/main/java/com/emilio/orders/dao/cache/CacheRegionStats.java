@@ -0,0 +1,82 @@
+package com.emilio.orders.dao.cache;
+
+/**
+ * Clase que representa las estadísticas de una región de caché en un momento dado.
+ */
+public class CacheRegionStats {
+    private final String name;
+    private final long hitCount;
+    private final long missCount;
+    private final long evictionCount; // Incluye las entradas caducadas
+    private final long averageLoadNanos; // 0 si la región no mide las cargas
+    private final long size;
+    private final long maximumSize; // -1 si no tiene límite
+    private final long memoryBytes; // Estimación
+
+    /**
+     * Constructor de la clase CacheRegionStats.
+     *
+     * @param name Nombre de la región.
+     * @param hitCount Número de lecturas que encontraron la entrada.
+     * @param missCount Número de lecturas que no la encontraron.
+     * @param evictionCount Número de entradas expulsadas o caducadas.
+     * @param averageLoadNanos Tiempo medio de carga de una entrada ausente, en nanosegundos.
+     * @param size Número de entradas actual.
+     * @param maximumSize Número máximo de entradas, o -1 si no tiene límite.
+     * @param memoryBytes Memoria ocupada estimada, en bytes.
+     */
+    public CacheRegionStats(String name, long hitCount, long missCount, long evictionCount,
+                            long averageLoadNanos, long size, long maximumSize, long memoryBytes) {
+        this.name = name;
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.evictionCount = evictionCount;
+        this.averageLoadNanos = averageLoadNanos;
+        this.size = size;
+        this.maximumSize = maximumSize;
+        this.memoryBytes = memoryBytes;
+    }
+
+    public String getName() { return name; }
+
+    public long getHitCount() { return hitCount; }
+
+    public long getMissCount() { return missCount; }
+
+    public long getEvictionCount() { return evictionCount; }
+
+    public long getAverageLoadNanos() { return averageLoadNanos; }
+
+    public long getSize() { return size; }
+
+    public long getMaximumSize() { return maximumSize; }
+
+    public long getMemoryBytes() { return memoryBytes; }
+
+    /**
+     * Obtiene la proporción de lecturas que encontraron la entrada.
+     *
+     * @return Un valor entre 0 y 1, o 0 si no ha habido lecturas.
+     */
+    public double getHitRate() {
+        long requests = hitCount + missCount;
+        return requests == 0 ? 0 : (double) hitCount / requests;
+    }
+
+    /**
+     * Obtiene la proporción de lecturas que no encontraron la entrada.
+     *
+     * @return Un valor entre 0 y 1, o 0 si no ha habido lecturas.
+     */
+    public double getMissRate() {
+        long requests = hitCount + missCount;
+        return requests == 0 ? 0 : (double) missCount / requests;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: %.1f%% aciertos, %d expulsiones, %d/%s entradas, ~%d KB",
+                name, getHitRate() * 100, evictionCount, size,
+                maximumSize < 0 ? "-" : String.valueOf(maximumSize), memoryBytes / 1024);
+    }
+}
\ No newline at end of file
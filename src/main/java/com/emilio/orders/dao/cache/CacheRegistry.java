@@ -0,0 +1,189 @@
+package com.emilio.orders.dao.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.StandardMBean;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Registro de las regiones de caché de la aplicación, para consultar sus estadísticas y ajustarlas
+ * en tiempo de ejecución desde la consola de diagnóstico o por JMX.
+ */
+public class CacheRegistry {
+    private static final Logger logger = LoggerFactory.getLogger(CacheRegistry.class);
+    public static final String JMX_DOMAIN = "com.emilio.orders";
+
+    private final Map<String, CacheRegion> regions = new LinkedHashMap<>();
+
+    /**
+     * Registra una región. Si ya había otra con el mismo nombre, la sustituye.
+     *
+     * @param region La región a registrar.
+     */
+    public synchronized void register(CacheRegion region) {
+        regions.put(region.getName(), region);
+    }
+
+    /**
+     * Registra varias regiones.
+     *
+     * @param regions Las regiones a registrar.
+     */
+    public synchronized void registerAll(Collection<? extends CacheRegion> regions) {
+        regions.forEach(this::register);
+    }
+
+    /**
+     * Obtiene las regiones registradas, en orden de registro.
+     *
+     * @return Una copia de la lista de regiones.
+     */
+    public synchronized List<CacheRegion> getRegions() {
+        return new ArrayList<>(regions.values());
+    }
+
+    /**
+     * Obtiene una región por su nombre.
+     *
+     * @param name Nombre de la región.
+     * @return La región.
+     * @throws IllegalArgumentException Si no hay ninguna región con ese nombre.
+     */
+    public synchronized CacheRegion getRegion(String name) {
+        CacheRegion region = regions.get(name);
+        if (region == null) {
+            throw new IllegalArgumentException("Región de caché desconocida: " + name);
+        }
+        return region;
+    }
+
+    /**
+     * Obtiene las estadísticas de todas las regiones.
+     *
+     * @return Las estadísticas, en orden de registro.
+     */
+    public List<CacheRegionStats> getStats() {
+        List<CacheRegionStats> stats = new ArrayList<>();
+        for (CacheRegion region : getRegions()) {
+            stats.add(region.getStats());
+        }
+        return stats;
+    }
+
+    /**
+     * Cambia el número máximo de entradas de una región.
+     *
+     * @param name Nombre de la región.
+     * @param maximumSize Nuevo número máximo de entradas.
+     * @throws UnsupportedOperationException Si la región tiene un tamaño fijo.
+     */
+    public void resize(String name, long maximumSize) {
+        CacheRegion region = getRegion(name);
+        if (!region.isResizable()) {
+            throw new UnsupportedOperationException("La región de caché '" + name + "' tiene un tamaño fijo");
+        }
+        region.resize(maximumSize);
+        logger.info("Región de caché '{}' redimensionada a {} entradas", name, maximumSize);
+    }
+
+    /**
+     * Vacía una región.
+     *
+     * @param name Nombre de la región.
+     */
+    public void clear(String name) {
+        getRegion(name).clear();
+        logger.info("Región de caché '{}' vaciada", name);
+    }
+
+    /**
+     * Vacía todas las regiones.
+     */
+    public void clearAll() {
+        getRegions().forEach(CacheRegion::clear);
+        logger.info("Todas las regiones de caché vaciadas");
+    }
+
+    /**
+     * Registra cada región como MXBean en el servidor de plataforma, para poder consultarla y
+     * ajustarla con JConsole o VisualVM. Las regiones que ya estaban registradas se sustituyen. El
+     * tamaño máximo solo se puede modificar en las regiones redimensionables.
+     */
+    public void registerMBeans() {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        for (CacheRegion region : getRegions()) {
+            try {
+                ObjectName name = new ObjectName(JMX_DOMAIN + ":type=CacheRegion,name="
+                        + ObjectName.quote(region.getName()));
+                if (server.isRegistered(name)) {
+                    server.unregisterMBean(name);
+                }
+                Management management = new Management(region);
+                server.registerMBean(region.isResizable()
+                        ? new StandardMBean(management, ResizableCacheRegionMXBean.class, true)
+                        : new StandardMBean(management, CacheRegionMXBean.class, true), name);
+            } catch (JMException e) {
+                logger.warn("No se pudo registrar la región de caché '{}' en JMX: {}", region.getName(), e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Adaptador de una región a su interfaz JMX.
+     */
+    private static final class Management implements ResizableCacheRegionMXBean {
+        private final CacheRegion region;
+
+        Management(CacheRegion region) {
+            this.region = region;
+        }
+
+        @Override
+        public double getHitRate() { return region.getStats().getHitRate(); }
+
+        @Override
+        public double getMissRate() { return region.getStats().getMissRate(); }
+
+        @Override
+        public long getHitCount() { return region.getStats().getHitCount(); }
+
+        @Override
+        public long getMissCount() { return region.getStats().getMissCount(); }
+
+        @Override
+        public long getEvictionCount() { return region.getStats().getEvictionCount(); }
+
+        @Override
+        public double getAverageLoadMillis() { return region.getStats().getAverageLoadNanos() / 1_000_000.0; }
+
+        @Override
+        public long getSize() { return region.getStats().getSize(); }
+
+        @Override
+        public long getEstimatedMemoryBytes() { return region.getStats().getMemoryBytes(); }
+
+        @Override
+        public long getMaximumSize() { return region.getStats().getMaximumSize(); }
+
+        @Override
+        public void setMaximumSize(long maximumSize) {
+            region.resize(maximumSize);
+            logger.info("Región de caché '{}' redimensionada por JMX a {} entradas", region.getName(), maximumSize);
+        }
+
+        @Override
+        public void clear() {
+            region.clear();
+            logger.info("Región de caché '{}' vaciada por JMX", region.getName());
+        }
+    }
+}
\ No newline at end of file
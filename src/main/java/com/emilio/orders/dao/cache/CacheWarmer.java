@@ -0,0 +1,225 @@
+package com.emilio.orders.dao.cache;
+
+import com.emilio.orders.dao.interfaces.ClienteDAO;
+import com.emilio.orders.dao.interfaces.PedidoDAO;
+import com.emilio.orders.dao.interfaces.ZonaEnvioDAO;
+import com.emilio.orders.model.Pedido;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Precarga las cachés al arrancar la aplicación para que los primeros usuarios no las encuentren vacías.
+ * <p>
+ * Lee las zonas de envío y, para los clientes con mayor importe total de pedidos, el cliente, sus
+ * pedidos, sus pedidos más recientes uno a uno y su total gastado. Solo usa la interfaz de los
+ * DAOs, así que llena la caché que haya detrás: la de {@link com.emilio.orders.factory.CachingDAOFactory} o la de segundo
+ * nivel y de consultas de Hibernate.
+ * <p>
+ * La precarga se ejecuta en unos pocos hilos de fondo, cada uno con su conexión del pool, y
+ * {@link #start()} vuelve enseguida. Los errores se registran y no interrumpen el resto de la
+ * precarga ni el arranque.
+ */
+public class CacheWarmer {
+    private static final Logger logger = LoggerFactory.getLogger(CacheWarmer.class);
+
+    /**
+     * Parte de la precarga que se ejecuta en un hilo de fondo.
+     */
+    @FunctionalInterface
+    private interface Task {
+        void run() throws SQLException;
+    }
+
+    private final ClienteDAO clienteDAO;
+    private final PedidoDAO pedidoDAO;
+    private final ZonaEnvioDAO zonaEnvioDAO;
+    private final int topClientes; // Clientes que se precargan
+    private final int pedidosRecientes; // Pedidos recientes que se precargan de cada cliente
+    private final int threads; // Hilos (y conexiones) dedicados a la precarga
+
+    /**
+     * Constructor privado que utiliza el patrón Builder.
+     *
+     * @param builder El objeto Builder que contiene la configuración.
+     */
+    private CacheWarmer(Builder builder) {
+        this.clienteDAO = builder.clienteDAO;
+        this.pedidoDAO = builder.pedidoDAO;
+        this.zonaEnvioDAO = builder.zonaEnvioDAO;
+        this.topClientes = builder.topClientes;
+        this.pedidosRecientes = builder.pedidosRecientes;
+        this.threads = builder.threads;
+    }
+
+    /**
+     * Inicia la precarga en segundo plano.
+     *
+     * @return Un futuro que se completa con la duración de la precarga cuando termina, haya
+     *         fallado o no alguna de sus partes. Nunca se completa con una excepción.
+     */
+    public CompletableFuture<Duration> start() {
+        long start = System.nanoTime();
+        AtomicInteger errores = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(threads, daemonThreads());
+
+        CompletableFuture<Void> zonas = run("zonas de envío", errores, executor, () -> zonaEnvioDAO.getAll());
+        CompletableFuture<Void> clientes = CompletableFuture
+                .supplyAsync(() -> topClientes(errores), executor)
+                .thenCompose(ids -> CompletableFuture.allOf(ids.stream()
+                        .map(id -> run("cliente " + id, errores, executor, () -> warmCliente(id)))
+                        .toArray(CompletableFuture[]::new)));
+
+        return CompletableFuture.allOf(zonas, clientes).handle((ignored, e) -> {
+            executor.shutdown();
+            Duration duracion = Duration.ofNanos(System.nanoTime() - start);
+            if (errores.get() == 0) {
+                logger.info("Precarga de cachés completada en {} ms", duracion.toMillis());
+            } else {
+                logger.warn("Precarga de cachés completada en {} ms con {} errores", duracion.toMillis(), errores.get());
+            }
+            return duracion;
+        });
+    }
+
+    /**
+     * Devuelve los IDs de los clientes con mayor importe total de pedidos.
+     */
+    private List<Integer> topClientes(AtomicInteger errores) {
+        if (topClientes == 0) {
+            return List.of();
+        }
+        try {
+            return pedidoDAO.getTotalesPorCliente().entrySet().stream()
+                    .sorted(Map.Entry.<Integer, Double>comparingByValue().reversed())
+                    .limit(topClientes)
+                    .map(Map.Entry::getKey)
+                    .toList();
+        } catch (SQLException e) {
+            errores.incrementAndGet();
+            logger.warn("No se pudieron obtener los clientes a precargar: {}", e.getMessage());
+            return List.of();
+        }
+    }
+
+    private void warmCliente(int idCliente) throws SQLException {
+        clienteDAO.getById(idCliente);
+        pedidoDAO.getPedidosByCliente(idCliente);
+        if (pedidosRecientes > 0) {
+            for (Pedido pedido : pedidoDAO.getLatestPedidos(pedidosRecientes, idCliente)) {
+                pedidoDAO.getById(pedido.getIdPedido());
+            }
+        }
+        clienteDAO.getTotalGastadoPorCliente(idCliente);
+    }
+
+    /**
+     * Ejecuta una parte de la precarga registrando, sin propagarlo, cualquier error.
+     */
+    private static CompletableFuture<Void> run(String descripcion, AtomicInteger errores,
+                                               ExecutorService executor, Task task) {
+        return CompletableFuture.runAsync(() -> {
+            try {
+                task.run();
+            } catch (Exception e) {
+                errores.incrementAndGet();
+                logger.warn("Error al precargar {}: {}", descripcion, e.getMessage());
+            }
+        }, executor);
+    }
+
+    private static ThreadFactory daemonThreads() {
+        AtomicInteger count = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "precarga-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * Clase interna que implementa el patrón Builder para crear instancias de CacheWarmer.
+     */
+    public static class Builder {
+        private final ClienteDAO clienteDAO;
+        private final PedidoDAO pedidoDAO;
+        private final ZonaEnvioDAO zonaEnvioDAO;
+        private int topClientes = 50; // Clientes que se precargan (opcional)
+        private int pedidosRecientes = 10; // Pedidos recientes por cliente (opcional)
+        private int threads = 3; // Hilos de precarga (opcional)
+
+        /**
+         * Constructor del Builder con los DAOs cuyas cachés se precargan.
+         *
+         * @param clienteDAO DAO de clientes.
+         * @param pedidoDAO DAO de pedidos.
+         * @param zonaEnvioDAO DAO de zonas de envío.
+         */
+        public Builder(ClienteDAO clienteDAO, PedidoDAO pedidoDAO, ZonaEnvioDAO zonaEnvioDAO) {
+            this.clienteDAO = clienteDAO;
+            this.pedidoDAO = pedidoDAO;
+            this.zonaEnvioDAO = zonaEnvioDAO;
+        }
+
+        /**
+         * Establece cuántos clientes, los de mayor importe total, se precargan.
+         *
+         * @param topClientes Número de clientes; 0 para precargar solo las zonas.
+         * @return El objeto Builder para encadenamiento.
+         */
+        public Builder topClientes(int topClientes) {
+            if (topClientes < 0) {
+                throw new IllegalArgumentException("El número de clientes no puede ser negativo");
+            }
+            this.topClientes = topClientes;
+            return this;
+        }
+
+        /**
+         * Establece cuántos pedidos recientes de cada cliente se precargan uno a uno.
+         *
+         * @param pedidosRecientes Número de pedidos por cliente; 0 para no precargar pedidos sueltos.
+         * @return El objeto Builder para encadenamiento.
+         */
+        public Builder pedidosRecientes(int pedidosRecientes) {
+            if (pedidosRecientes < 0) {
+                throw new IllegalArgumentException("El número de pedidos no puede ser negativo");
+            }
+            this.pedidosRecientes = pedidosRecientes;
+            return this;
+        }
+
+        /**
+         * Establece el número de hilos de la precarga, que debe dejar conexiones libres en el pool.
+         *
+         * @param threads Número de hilos.
+         * @return El objeto Builder para encadenamiento.
+         */
+        public Builder threads(int threads) {
+            if (threads <= 0) {
+                throw new IllegalArgumentException("El número de hilos debe ser positivo");
+            }
+            this.threads = threads;
+            return this;
+        }
+
+        /**
+         * Construye una instancia de CacheWarmer.
+         *
+         * @return La instancia de CacheWarmer construida.
+         */
+        public CacheWarmer build() {
+            return new CacheWarmer(this);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,243 @@
+package com.emilio.orders.dao.cache;
+
+import com.emilio.orders.dao.interfaces.ClienteDAO;
+import com.emilio.orders.model.Cliente;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Implementación de {@link ClienteDAO} que cachea en memoria las consultas por ID y por zona,
+ * así como el total gastado por cada cliente, y delega el resto en otro ClienteDAO.
+ * <p>
+ * Las escrituras hechas a través de este DAO invalidan las entradas afectadas, incluidas las de
+ * pedidos del cliente cuando se elimina (el borrado se propaga en cascada a sus pedidos).
+ * Los cambios hechos por fuera se ven cuando caducan las entradas. Las filas escritas se anotan en
+ * {@link DAOCaches#getOwnWrites()}; los pedidos borrados en cascada no, porque no se sabe cuántos son.
+ * <p>
+ * Si se le da un {@link PedidoTotalsIndex}, el total gastado por cada cliente se lee de él, y las
+ * altas y cambios de zona se le comunican para su ranking por zona.
+ * <p>
+ * Las búsquedas de IDs que no existen se responden sin ir a la base de datos cuando el
+ * {@link IdFilter} descarta el ID o cuando ya se buscó hace poco y no se encontró.
+ */
+public class CachingClienteDAO implements ClienteDAO {
+    private final ClienteDAO delegate;
+    private final DAOCaches caches;
+    private final PedidoTotalsIndex totals; // null si los totales se cachean como el resto
+    private final IdFilter ids; // null si no se filtran los IDs
+
+    /**
+     * Constructor de la clase CachingClienteDAO.
+     *
+     * @param delegate DAO que accede a la base de datos.
+     * @param caches Cachés compartidas con el resto de DAOs de la factoría.
+     */
+    public CachingClienteDAO(ClienteDAO delegate, DAOCaches caches) {
+        this(delegate, caches, null, null);
+    }
+
+    /**
+     * Constructor de la clase CachingClienteDAO con índice de totales por cliente.
+     *
+     * @param delegate DAO que accede a la base de datos.
+     * @param caches Cachés compartidas con el resto de DAOs de la factoría.
+     * @param totals Índice de totales compartido con el resto de DAOs de la factoría.
+     */
+    public CachingClienteDAO(ClienteDAO delegate, DAOCaches caches, PedidoTotalsIndex totals) {
+        this(delegate, caches, totals, null);
+    }
+
+    /**
+     * Constructor de la clase CachingClienteDAO con índice de totales y filtro de IDs.
+     *
+     * @param delegate DAO que accede a la base de datos.
+     * @param caches Cachés compartidas con el resto de DAOs de la factoría.
+     * @param totals Índice de totales compartido con el resto de DAOs de la factoría, o null.
+     * @param ids Filtro con los IDs de clientes existentes, o null.
+     */
+    public CachingClienteDAO(ClienteDAO delegate, DAOCaches caches, PedidoTotalsIndex totals, IdFilter ids) {
+        this.delegate = delegate;
+        this.caches = caches;
+        this.totals = totals;
+        this.ids = ids;
+    }
+
+    @Override
+    public void insert(Cliente cliente) throws SQLException {
+        caches.writes.write("Clientes", () -> {
+            write(() -> {
+                delegate.insert(cliente);
+                if (totals != null) {
+                    totals.setZona(cliente.getIdCliente(), cliente.getIdZona());
+                }
+            });
+            return 1;
+        });
+        if (ids != null) {
+            ids.add(cliente.getIdCliente());
+        }
+        caches.missingClientes.invalidate(cliente.getIdCliente());
+        caches.invalidateClientesOf(cliente.getIdZona());
+    }
+
+    @Override
+    public Cliente getById(int id) throws SQLException {
+        if (isMissing(id)) {
+            return null;
+        }
+        Cliente cliente = copyOf(DAOCaches.get(caches.clientesById, id, () -> copyOf(delegate.getById(id))));
+        if (cliente == null) {
+            caches.missingClientes.put(id, Boolean.TRUE);
+        }
+        return cliente;
+    }
+
+    @Override
+    public List<Cliente> getAll() throws SQLException {
+        return delegate.getAll();
+    }
+
+    @Override
+    public void update(Cliente cliente) throws SQLException {
+        Cliente anterior = previous(cliente.getIdCliente());
+        caches.writes.write("Clientes", () -> {
+            write(() -> {
+                delegate.update(cliente);
+                if (totals != null) {
+                    totals.setZona(cliente.getIdCliente(), cliente.getIdZona());
+                }
+            });
+            // Hibernate no emite el UPDATE si los datos no cambian
+            return anterior != null && changed(anterior, cliente) ? 1 : 0;
+        });
+        caches.clientesById.invalidate(cliente.getIdCliente());
+        caches.invalidateClientesOf(cliente.getIdZona());
+        if (anterior != null && anterior.getIdZona() != cliente.getIdZona()) {
+            caches.invalidateClientesOf(anterior.getIdZona());
+        }
+    }
+
+    @Override
+    public void delete(int id) throws SQLException {
+        Cliente anterior = previous(id);
+        caches.writes.write("Clientes", () -> {
+            write(() -> {
+                delegate.delete(id);
+                if (totals != null) {
+                    totals.removeCliente(id);
+                }
+            });
+            return anterior != null ? 1 : 0;
+        });
+        caches.clientesById.invalidate(id);
+        caches.missingClientes.put(id, Boolean.TRUE);
+        if (anterior != null) {
+            caches.invalidateClientesOf(anterior.getIdZona());
+        }
+        // Los pedidos del cliente se eliminan en cascada
+        caches.invalidatePedidosOf(id);
+        caches.invalidatePedidosById(id);
+    }
+
+    @Override
+    public List<Cliente> getClientesByZona(int idZona) throws SQLException {
+        return copyOf(DAOCaches.get(caches.clientesByZona, idZona,
+                () -> List.copyOf(copyOf(delegate.getClientesByZona(idZona)))));
+    }
+
+    @Override
+    public double getTotalGastadoPorCliente(int idCliente) throws SQLException {
+        if (totals != null) {
+            return totals.get(idCliente);
+        }
+        return DAOCaches.get(caches.totalGastadoByCliente, idCliente,
+                () -> delegate.getTotalGastadoPorCliente(idCliente));
+    }
+
+    @Override
+    public long countAll() throws SQLException {
+        return delegate.countAll();
+    }
+
+    @Override
+    public long countByZona(int idZona) throws SQLException {
+        return DAOCaches.get(caches.countClientesByZona, idZona, () -> delegate.countByZona(idZona));
+    }
+
+    @Override
+    public boolean exists(int id) throws SQLException {
+        if (caches.clientesById.getIfPresent(id) != null) {
+            return true;
+        }
+        if (isMissing(id)) {
+            return false;
+        }
+        boolean exists = delegate.exists(id);
+        if (!exists) {
+            caches.missingClientes.put(id, Boolean.TRUE);
+        }
+        return exists;
+    }
+
+    @Override
+    public List<Cliente> getClientesAfterId(int lastId, int limit) throws SQLException {
+        return delegate.getClientesAfterId(lastId, limit);
+    }
+
+    @Override
+    public List<Integer> getAllIds() throws SQLException {
+        return delegate.getAllIds();
+    }
+
+    /**
+     * Ejecuta una escritura de forma que no coincida con una recarga del índice de totales.
+     */
+    private void write(PedidoTotalsIndex.Write write) throws SQLException {
+        if (totals == null) {
+            write.run();
+        } else {
+            totals.write(write);
+        }
+    }
+
+    /**
+     * Indica si se sabe, sin ir a la base de datos, que el cliente no existe.
+     */
+    private boolean isMissing(int id) {
+        return (ids != null && ids.isAbsent(id)) || caches.missingClientes.getIfPresent(id) != null;
+    }
+
+    /**
+     * Devuelve el estado anterior de un cliente, de la caché si está, para saber qué zona invalidar.
+     */
+    private Cliente previous(int id) throws SQLException {
+        Cliente cached = caches.clientesById.getIfPresent(id);
+        return cached != null ? cached : delegate.getById(id);
+    }
+
+    private static boolean changed(Cliente anterior, Cliente cliente) {
+        return !Objects.equals(anterior.getNombre(), cliente.getNombre())
+                || !Objects.equals(anterior.getEmail(), cliente.getEmail())
+                || !Objects.equals(anterior.getTelefono(), cliente.getTelefono())
+                || anterior.getIdZona() != cliente.getIdZona();
+    }
+
+    private static Cliente copyOf(Cliente cliente) {
+        if (cliente == null) {
+            return null;
+        }
+        return new Cliente(cliente.getIdCliente(), cliente.getNombre(), cliente.getEmail(),
+                cliente.getTelefono(), cliente.getIdZona());
+    }
+
+    private static List<Cliente> copyOf(List<Cliente> clientes) {
+        List<Cliente> copia = new ArrayList<>(clientes.size());
+        for (Cliente cliente : clientes) {
+            copia.add(copyOf(cliente));
+        }
+        return copia;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,296 @@
+package com.emilio.orders.dao.cache;
+
+import com.emilio.orders.dao.interfaces.PedidoDAO;
+import com.emilio.orders.dao.search.Page;
+import com.emilio.orders.dao.search.PedidoSearch;
+import com.emilio.orders.model.Pedido;
+
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Flow;
+
+/**
+ * Implementación de {@link PedidoDAO} que cachea en memoria las consultas por ID y por cliente
+ * (lista, número y total de pedidos) y delega el resto en otro PedidoDAO.
+ * <p>
+ * Las escrituras hechas a través de este DAO invalidan las entradas del pedido y de su cliente,
+ * también el total gastado que cachea {@link CachingClienteDAO}. Los cambios hechos por fuera se
+ * ven cuando caducan las entradas. Las filas escritas se anotan en {@link DAOCaches#getOwnWrites()}.
+ * <p>
+ * Si se le da un {@link PedidoTotalsIndex}, los totales por cliente se leen de él y cada
+ * escritura le aplica su diferencia en lugar de invalidarlos.
+ * <p>
+ * Las búsquedas de IDs que no existen se responden sin ir a la base de datos cuando el
+ * {@link IdFilter} descarta el ID o cuando ya se buscó hace poco y no se encontró.
+ */
+public class CachingPedidoDAO implements PedidoDAO {
+    private final PedidoDAO delegate;
+    private final DAOCaches caches;
+    private final PedidoTotalsIndex totals; // null si los totales se cachean como el resto
+    private final IdFilter ids; // null si no se filtran los IDs
+
+    /**
+     * Constructor de la clase CachingPedidoDAO.
+     *
+     * @param delegate DAO que accede a la base de datos.
+     * @param caches Cachés compartidas con el resto de DAOs de la factoría.
+     */
+    public CachingPedidoDAO(PedidoDAO delegate, DAOCaches caches) {
+        this(delegate, caches, null, null);
+    }
+
+    /**
+     * Constructor de la clase CachingPedidoDAO con índice de totales por cliente.
+     *
+     * @param delegate DAO que accede a la base de datos.
+     * @param caches Cachés compartidas con el resto de DAOs de la factoría.
+     * @param totals Índice de totales compartido con el resto de DAOs de la factoría.
+     */
+    public CachingPedidoDAO(PedidoDAO delegate, DAOCaches caches, PedidoTotalsIndex totals) {
+        this(delegate, caches, totals, null);
+    }
+
+    /**
+     * Constructor de la clase CachingPedidoDAO con índice de totales y filtro de IDs.
+     *
+     * @param delegate DAO que accede a la base de datos.
+     * @param caches Cachés compartidas con el resto de DAOs de la factoría.
+     * @param totals Índice de totales compartido con el resto de DAOs de la factoría, o null.
+     * @param ids Filtro con los IDs de pedidos existentes, o null.
+     */
+    public CachingPedidoDAO(PedidoDAO delegate, DAOCaches caches, PedidoTotalsIndex totals, IdFilter ids) {
+        this.delegate = delegate;
+        this.caches = caches;
+        this.totals = totals;
+        this.ids = ids;
+    }
+
+    @Override
+    public void insert(Pedido pedido) throws SQLException {
+        write(() -> {
+            delegate.insert(pedido);
+            if (totals != null) {
+                totals.add(pedido.getIdCliente(), pedido.getImporteTotal());
+            }
+            return 1;
+        });
+        if (ids != null) {
+            ids.add(pedido.getIdPedido());
+        }
+        caches.missingPedidos.invalidate(pedido.getIdPedido());
+        caches.invalidatePedidosOf(pedido.getIdCliente());
+    }
+
+    @Override
+    public Pedido getById(int id) throws SQLException {
+        if (isMissing(id)) {
+            return null;
+        }
+        Pedido pedido = caches.pedidosOffHeap != null
+                ? getOffHeap(id)
+                : copyOf(DAOCaches.get(caches.pedidosById, id, () -> copyOf(delegate.getById(id))));
+        if (pedido == null) {
+            caches.missingPedidos.put(id, Boolean.TRUE);
+        }
+        return pedido;
+    }
+
+    @Override
+    public List<Pedido> getAll() throws SQLException {
+        return delegate.getAll();
+    }
+
+    @Override
+    public void update(Pedido pedido) throws SQLException {
+        write(() -> {
+            Pedido anterior = previous(pedido.getIdPedido());
+            delegate.update(pedido);
+            if (totals != null && anterior != null) {
+                totals.remove(anterior.getIdCliente(), anterior.getImporteTotal());
+                totals.add(pedido.getIdCliente(), pedido.getImporteTotal());
+            }
+            caches.invalidatePedido(pedido.getIdPedido());
+            caches.invalidatePedidosOf(pedido.getIdCliente());
+            if (anterior != null && anterior.getIdCliente() != pedido.getIdCliente()) {
+                caches.invalidatePedidosOf(anterior.getIdCliente());
+            }
+            // Hibernate no emite el UPDATE si los datos no cambian
+            return anterior != null && changed(anterior, pedido) ? 1 : 0;
+        });
+    }
+
+    @Override
+    public void delete(int id) throws SQLException {
+        write(() -> {
+            Pedido anterior = previous(id);
+            delegate.delete(id);
+            caches.invalidatePedido(id);
+            caches.missingPedidos.put(id, Boolean.TRUE);
+            if (anterior != null) {
+                if (totals != null) {
+                    totals.remove(anterior.getIdCliente(), anterior.getImporteTotal());
+                }
+                caches.invalidatePedidosOf(anterior.getIdCliente());
+            }
+            return anterior != null ? 1 : 0;
+        });
+    }
+
+    @Override
+    public List<Pedido> getPedidosByCliente(int idCliente) throws SQLException {
+        return copyOf(DAOCaches.get(caches.pedidosByCliente, idCliente,
+                () -> List.copyOf(copyOf(delegate.getPedidosByCliente(idCliente)))));
+    }
+
+    @Override
+    public List<Pedido> getPedidosByFecha(LocalDate fecha) throws SQLException {
+        return delegate.getPedidosByFecha(fecha);
+    }
+
+    @Override
+    public double getTotalPedidosByCliente(int idCliente) throws SQLException {
+        if (totals != null) {
+            return totals.get(idCliente);
+        }
+        return DAOCaches.get(caches.totalPedidosByCliente, idCliente,
+                () -> delegate.getTotalPedidosByCliente(idCliente));
+    }
+
+    @Override
+    public long countAll() throws SQLException {
+        return delegate.countAll();
+    }
+
+    @Override
+    public long countByCliente(int idCliente) throws SQLException {
+        return DAOCaches.get(caches.countPedidosByCliente, idCliente, () -> delegate.countByCliente(idCliente));
+    }
+
+    @Override
+    public boolean exists(int id) throws SQLException {
+        if (caches.pedidoIfPresent(id) != null) {
+            return true;
+        }
+        if (isMissing(id)) {
+            return false;
+        }
+        boolean exists = delegate.exists(id);
+        if (!exists) {
+            caches.missingPedidos.put(id, Boolean.TRUE);
+        }
+        return exists;
+    }
+
+    @Override
+    public Flow.Publisher<Pedido> publishAll() {
+        return delegate.publishAll();
+    }
+
+    @Override
+    public Flow.Publisher<Pedido> publishByCliente(int idCliente) {
+        return delegate.publishByCliente(idCliente);
+    }
+
+    @Override
+    public List<Pedido> search(PedidoSearch criteria, Page page) throws SQLException {
+        return delegate.search(criteria, page);
+    }
+
+    @Override
+    public List<Pedido> getTopPedidosByImporte(int n, PedidoSearch filtros) throws SQLException {
+        return delegate.getTopPedidosByImporte(n, filtros);
+    }
+
+    @Override
+    public List<Pedido> getLatestPedidos(int n, int idCliente) throws SQLException {
+        return delegate.getLatestPedidos(n, idCliente);
+    }
+
+    @Override
+    public List<Pedido> getPedidosAfterId(int lastId, int limit) throws SQLException {
+        return delegate.getPedidosAfterId(lastId, limit);
+    }
+
+    @Override
+    public Map<Integer, Double> getTotalesPorCliente() throws SQLException {
+        return delegate.getTotalesPorCliente();
+    }
+
+    @Override
+    public List<Integer> getAllIds() throws SQLException {
+        return delegate.getAllIds();
+    }
+
+    /**
+     * Obtiene un pedido de la caché fuera del heap o, si no está, de la base de datos. Los pedidos
+     * se crean al leerlos de la caché, así que no hace falta copiarlos.
+     */
+    private Pedido getOffHeap(int id) throws SQLException {
+        Pedido pedido = caches.pedidosOffHeap.get(id);
+        if (pedido == null) {
+            long version = caches.pedidosOffHeap.version();
+            long start = System.nanoTime();
+            pedido = delegate.getById(id);
+            caches.pedidosOffHeap.recordLoad(System.nanoTime() - start);
+            if (pedido != null) {
+                caches.pedidosOffHeap.put(pedido, version);
+            }
+        }
+        return pedido;
+    }
+
+    /**
+     * Indica si se sabe, sin ir a la base de datos, que el pedido no existe.
+     */
+    private boolean isMissing(int id) {
+        return (ids != null && ids.isAbsent(id)) || caches.missingPedidos.getIfPresent(id) != null;
+    }
+
+    /**
+     * Ejecuta una escritura de forma que no coincida con una recarga del índice de totales
+     * y anota las filas de pedidos que ha modificado.
+     */
+    private void write(OwnWriteTracker.Write write) throws SQLException {
+        caches.writes.write("Pedidos", () -> {
+            if (totals == null) {
+                return write.run();
+            }
+            long[] filas = new long[1];
+            totals.write(() -> filas[0] = write.run());
+            return filas[0];
+        });
+    }
+
+    /**
+     * Devuelve el estado anterior de un pedido, de la caché si está, para saber qué cliente invalidar.
+     */
+    private Pedido previous(int id) throws SQLException {
+        Pedido cached = caches.pedidoIfPresent(id);
+        return cached != null ? cached : delegate.getById(id);
+    }
+
+    private static boolean changed(Pedido anterior, Pedido pedido) {
+        return !Objects.equals(anterior.getFecha(), pedido.getFecha())
+                || anterior.getImporteTotal() != pedido.getImporteTotal()
+                || anterior.getIdCliente() != pedido.getIdCliente();
+    }
+
+    private static Pedido copyOf(Pedido pedido) {
+        if (pedido == null) {
+            return null;
+        }
+        return new Pedido(pedido.getIdPedido(), pedido.getFecha(), pedido.getImporteTotal(), pedido.getIdCliente());
+    }
+
+    private static List<Pedido> copyOf(List<Pedido> pedidos) {
+        List<Pedido> copia = new ArrayList<>(pedidos.size());
+        for (Pedido pedido : pedidos) {
+            copia.add(copyOf(pedido));
+        }
+        return copia;
+    }
+}
\ No newline at end of file
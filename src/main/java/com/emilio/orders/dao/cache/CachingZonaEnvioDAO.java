@@ -0,0 +1,302 @@
+package com.emilio.orders.dao.cache;
+
+import com.emilio.orders.dao.interfaces.ZonaEnvioDAO;
+import com.emilio.orders.model.ZonaEnvio;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Implementación de {@link ZonaEnvioDAO} que mantiene todas las zonas de envío en memoria.
+ * <p>
+ * Las zonas se cargan una sola vez en una instantánea inmutable indexada por ID. Las lecturas
+ * consultan la instantánea actual sin bloqueos ni acceso a la base de datos; las escrituras se
+ * delegan en el DAO subyacente y después sustituyen la instantánea por otra que incluye el cambio.
+ * Las escrituras y las recargas se serializan entre sí para que una recarga no pise un cambio.
+ * <p>
+ * Los cambios hechos por otros procesos o DAOs solo se ven tras {@link #reload()} o, si se indica
+ * un intervalo de recarga, cuando la instantánea supera esa antigüedad, o al recibir un aviso de
+ * {@link TableChangeMonitor}. Las escrituras propias se anotan en un {@link OwnWriteTracker} para que
+ * esos avisos no provoquen recargas; al eliminar una zona, los clientes que quedan sin zona cuentan como
+ * cambio ajeno en la tabla de clientes. Como {@link ZonaEnvio} es mutable, se devuelven siempre copias.
+ */
+public class CachingZonaEnvioDAO implements ZonaEnvioDAO, TableChangeListener {
+    private static final Logger logger = LoggerFactory.getLogger(CachingZonaEnvioDAO.class);
+
+    private final ZonaEnvioDAO delegate;
+    private final long reloadIntervalNanos; // 0 si no hay recarga periódica
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>();
+    private final AtomicBoolean reloading = new AtomicBoolean();
+    private final Object writeLock = new Object();
+    private final OwnWriteTracker writes;
+
+    /**
+     * Instantánea inmutable de todas las zonas de envío.
+     */
+    private static final class Snapshot {
+        final Map<Integer, ZonaEnvio> byId; // En el orden devuelto por el DAO subyacente
+        final long loadedAt;
+
+        Snapshot(Map<Integer, ZonaEnvio> byId, long loadedAt) {
+            this.byId = Collections.unmodifiableMap(byId);
+            this.loadedAt = loadedAt;
+        }
+
+        Snapshot with(ZonaEnvio zona) {
+            Map<Integer, ZonaEnvio> copy = new LinkedHashMap<>(byId);
+            copy.put(zona.getIdZona(), copyOf(zona));
+            return new Snapshot(copy, loadedAt);
+        }
+
+        Snapshot without(int id) {
+            Map<Integer, ZonaEnvio> copy = new LinkedHashMap<>(byId);
+            copy.remove(id);
+            return new Snapshot(copy, loadedAt);
+        }
+    }
+
+    /**
+     * Constructor de la clase CachingZonaEnvioDAO sin recarga periódica.
+     *
+     * @param delegate DAO que accede a la base de datos.
+     */
+    public CachingZonaEnvioDAO(ZonaEnvioDAO delegate) {
+        this(delegate, null);
+    }
+
+    /**
+     * Constructor de la clase CachingZonaEnvioDAO.
+     *
+     * @param delegate DAO que accede a la base de datos.
+     * @param reloadInterval Antigüedad a partir de la cual se recargan las zonas, o null para no recargarlas.
+     */
+    public CachingZonaEnvioDAO(ZonaEnvioDAO delegate, Duration reloadInterval) {
+        this(delegate, reloadInterval, new OwnWriteTracker());
+    }
+
+    /**
+     * Constructor de la clase CachingZonaEnvioDAO que anota sus escrituras en un registro compartido.
+     *
+     * @param delegate DAO que accede a la base de datos.
+     * @param reloadInterval Antigüedad a partir de la cual se recargan las zonas, o null para no recargarlas.
+     * @param writes Registro de escrituras propias compartido con el resto de DAOs de la factoría.
+     */
+    public CachingZonaEnvioDAO(ZonaEnvioDAO delegate, Duration reloadInterval, OwnWriteTracker writes) {
+        if (reloadInterval != null && (reloadInterval.isNegative() || reloadInterval.isZero())) {
+            throw new IllegalArgumentException("El intervalo de recarga debe ser positivo");
+        }
+        this.delegate = delegate;
+        this.reloadIntervalNanos = reloadInterval == null ? 0 : reloadInterval.toNanos();
+        this.writes = writes;
+    }
+
+    /**
+     * Inserta una zona y la añade a la instantánea.
+     *
+     * @param zonaEnvio Zona a insertar.
+     * @throws SQLException Si ocurre un error en la inserción.
+     */
+    @Override
+    public void insert(ZonaEnvio zonaEnvio) throws SQLException {
+        synchronized (writeLock) {
+            Snapshot current = current();
+            writes.write("Zonas_Envio", () -> {
+                delegate.insert(zonaEnvio);
+                snapshot.set(current.with(zonaEnvio));
+                return 1;
+            });
+        }
+    }
+
+    /**
+     * Obtiene una zona de la instantánea.
+     *
+     * @param id ID de la zona.
+     * @return Una copia de la zona, o null si no existe.
+     * @throws SQLException Si ocurre un error en la carga inicial.
+     */
+    @Override
+    public ZonaEnvio getById(int id) throws SQLException {
+        ZonaEnvio zona = current().byId.get(id);
+        return zona == null ? null : copyOf(zona);
+    }
+
+    /**
+     * Obtiene todas las zonas de la instantánea.
+     *
+     * @return Una lista modificable con copias de las zonas.
+     * @throws SQLException Si ocurre un error en la carga inicial.
+     */
+    @Override
+    public List<ZonaEnvio> getAll() throws SQLException {
+        Map<Integer, ZonaEnvio> byId = current().byId;
+        List<ZonaEnvio> zonas = new ArrayList<>(byId.size());
+        for (ZonaEnvio zona : byId.values()) {
+            zonas.add(copyOf(zona));
+        }
+        return zonas;
+    }
+
+    /**
+     * Actualiza una zona y la sustituye en la instantánea.
+     *
+     * @param zonaEnvio Zona con los nuevos datos.
+     * @throws SQLException Si ocurre un error en la actualización.
+     */
+    @Override
+    public void update(ZonaEnvio zonaEnvio) throws SQLException {
+        synchronized (writeLock) {
+            Snapshot current = current();
+            ZonaEnvio anterior = current.byId.get(zonaEnvio.getIdZona());
+            writes.write("Zonas_Envio", () -> {
+                delegate.update(zonaEnvio);
+                snapshot.set(current.with(zonaEnvio));
+                // Hibernate no emite el UPDATE si los datos no cambian
+                return anterior != null && changed(anterior, zonaEnvio) ? 1 : 0;
+            });
+        }
+    }
+
+    /**
+     * Elimina una zona y la quita de la instantánea.
+     *
+     * @param id ID de la zona.
+     * @throws SQLException Si ocurre un error en la eliminación.
+     */
+    @Override
+    public void delete(int id) throws SQLException {
+        synchronized (writeLock) {
+            Snapshot current = current();
+            writes.write("Zonas_Envio", () -> {
+                delegate.delete(id);
+                snapshot.set(current.without(id));
+                return current.byId.containsKey(id) ? 1 : 0;
+            });
+        }
+    }
+
+    /**
+     * Cuenta las zonas de la instantánea.
+     *
+     * @return Número de zonas.
+     * @throws SQLException Si ocurre un error en la carga inicial.
+     */
+    @Override
+    public long countAll() throws SQLException {
+        return current().byId.size();
+    }
+
+    /**
+     * Comprueba si una zona está en la instantánea.
+     *
+     * @param id ID de la zona.
+     * @return true si la zona existe.
+     * @throws SQLException Si ocurre un error en la carga inicial.
+     */
+    @Override
+    public boolean exists(int id) throws SQLException {
+        return current().byId.containsKey(id);
+    }
+
+    /**
+     * Vuelve a cargar todas las zonas desde la base de datos y sustituye la instantánea.
+     *
+     * @throws SQLException Si ocurre un error en la carga; se conserva la instantánea anterior.
+     */
+    public void reload() throws SQLException {
+        synchronized (writeLock) {
+            List<ZonaEnvio> zonas = delegate.getAll();
+            Map<Integer, ZonaEnvio> byId = new LinkedHashMap<>();
+            for (ZonaEnvio zona : zonas) {
+                byId.put(zona.getIdZona(), copyOf(zona));
+            }
+            snapshot.set(new Snapshot(byId, System.nanoTime()));
+            logger.debug("Zonas de envío cargadas en memoria: {}", byId.size());
+        }
+    }
+
+    /**
+     * Recarga las zonas si otro proceso ha modificado la tabla de zonas de envío.
+     *
+     * @param tablas Nombres de las tablas modificadas.
+     */
+    @Override
+    public void tablesChanged(Set<String> tablas) {
+        if (tablas.contains("Zonas_Envio")) {
+            try {
+                reload();
+            } catch (SQLException e) {
+                logger.warn("No se pudieron recargar las zonas de envío: {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Descuenta las escrituras propias y recarga las zonas solo si otro proceso ha modificado la tabla.
+     *
+     * @param filas Filas modificadas en cada tabla.
+     */
+    @Override
+    public void rowsChanged(Map<String, Long> filas) {
+        Set<String> ajenas = writes.foreignTables(filas);
+        if (!ajenas.isEmpty()) {
+            tablesChanged(ajenas);
+        }
+    }
+
+    @Override
+    public void monitorStarted() {
+        writes.reset();
+    }
+
+    /**
+     * Devuelve la instantánea actual, cargándola la primera vez. Si ha caducado, un único hilo
+     * la recarga mientras los demás siguen usando la anterior.
+     */
+    private Snapshot current() throws SQLException {
+        Snapshot current = snapshot.get();
+        if (current == null) {
+            synchronized (writeLock) {
+                if (snapshot.get() == null) {
+                    reload();
+                }
+            }
+            return snapshot.get();
+        }
+        if (reloadIntervalNanos > 0 && System.nanoTime() - current.loadedAt > reloadIntervalNanos
+                && reloading.compareAndSet(false, true)) {
+            try {
+                reload();
+                return snapshot.get();
+            } catch (SQLException e) {
+                logger.warn("No se pudieron recargar las zonas de envío; se mantienen las anteriores", e);
+                // Se reintenta cuando vuelva a transcurrir el intervalo
+                snapshot.compareAndSet(current, new Snapshot(current.byId, System.nanoTime()));
+            } finally {
+                reloading.set(false);
+            }
+        }
+        return current;
+    }
+
+    private static boolean changed(ZonaEnvio anterior, ZonaEnvio zona) {
+        return !Objects.equals(anterior.getNombreZona(), zona.getNombreZona())
+                || anterior.getTarifaEnvio() != zona.getTarifaEnvio();
+    }
+
+    private static ZonaEnvio copyOf(ZonaEnvio zona) {
+        return new ZonaEnvio(zona.getIdZona(), zona.getNombreZona(), zona.getTarifaEnvio());
+    }
+}
\ No newline at end of file
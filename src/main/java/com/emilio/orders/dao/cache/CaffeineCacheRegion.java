@@ -0,0 +1,82 @@
+package com.emilio.orders.dao.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Policy;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+import java.util.Iterator;
+import java.util.function.ToLongFunction;
+
+/**
+ * Región de caché respaldada por una caché de Caffeine. Las estadísticas solo se recogen si la caché
+ * se creó con {@code recordStats()}.
+ * <p>
+ * La memoria se estima multiplicando el número de entradas por el tamaño medio de una muestra de
+ * ellas, calculado con la función indicada más el coste fijo de cada entrada en Caffeine.
+ */
+public class CaffeineCacheRegion<V> implements CacheRegion {
+    static final long ENTRY_OVERHEAD = 64; // Nodo de Caffeine y clave Integer
+    private static final int MEMORY_SAMPLE = 64; // Entradas que se miden para estimar la memoria
+
+    private final String name;
+    private final Cache<?, V> cache;
+    private final ToLongFunction<? super V> sizeOf;
+
+    /**
+     * Constructor de la clase CaffeineCacheRegion.
+     *
+     * @param name Nombre de la región.
+     * @param cache Caché de Caffeine.
+     * @param sizeOf Función que estima los bytes que ocupa un valor.
+     */
+    public CaffeineCacheRegion(String name, Cache<?, V> cache, ToLongFunction<? super V> sizeOf) {
+        this.name = name;
+        this.cache = cache;
+        this.sizeOf = sizeOf;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public CacheRegionStats getStats() {
+        CacheStats stats = cache.stats();
+        long size = cache.estimatedSize();
+        long maximumSize = cache.policy().eviction().map(Policy.Eviction::getMaximum).orElse(-1L);
+        return new CacheRegionStats(name, stats.hitCount(), stats.missCount(), stats.evictionCount(),
+                (long) stats.averageLoadPenalty(), size, maximumSize, estimateMemory(size));
+    }
+
+    @Override
+    public void resize(long maximumSize) {
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("El tamaño máximo de la caché debe ser positivo");
+        }
+        cache.policy().eviction()
+                .orElseThrow(() -> new UnsupportedOperationException("La región " + name + " no tiene tamaño máximo"))
+                .setMaximum(maximumSize);
+        cache.cleanUp(); // Expulsa ya las entradas sobrantes
+    }
+
+    @Override
+    public void clear() {
+        cache.invalidateAll();
+    }
+
+    private long estimateMemory(long size) {
+        if (size == 0) {
+            return 0;
+        }
+        long sampled = 0;
+        long bytes = 0;
+        Iterator<V> values = cache.asMap().values().iterator();
+        while (sampled < MEMORY_SAMPLE && values.hasNext()) {
+            bytes += sizeOf.applyAsLong(values.next());
+            sampled++;
+        }
+        long averageValue = sampled == 0 ? 0 : bytes / sampled;
+        return size * (ENTRY_OVERHEAD + averageValue);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,30 @@
+package com.emilio.orders.dao.cache;
+
+/**
+ * Clase que representa el importe total gastado por un cliente, como entrada de un ranking.
+ * Es inmutable.
+ */
+public class ClienteGasto {
+    private final int idCliente;
+    private final double total;
+
+    /**
+     * Constructor de la clase ClienteGasto.
+     *
+     * @param idCliente ID del cliente.
+     * @param total Importe total de sus pedidos.
+     */
+    public ClienteGasto(int idCliente, double total) {
+        this.idCliente = idCliente;
+        this.total = total;
+    }
+
+    public int getIdCliente() { return idCliente; }
+
+    public double getTotal() { return total; }
+
+    @Override
+    public String toString() {
+        return String.format("Cliente %d: %.2f€", idCliente, total);
+    }
+}
\ No newline at end of file
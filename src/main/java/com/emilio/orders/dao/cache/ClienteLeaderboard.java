@@ -0,0 +1,198 @@
+package com.emilio.orders.dao.cache;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Ranking de clientes por importe total gastado, ordenado en todo momento.
+ * <p>
+ * Cada cliente tiene una entrada (total, ID) en un {@link ConcurrentSkipListSet} ordenado de mayor a
+ * menor total, y opcionalmente otra en el de su zona. Leer los N primeros es recorrer el principio
+ * del conjunto, sin ordenar ni consultar la base de datos; cada cambio en el total de un cliente
+ * mueve su entrada con un coste logarítmico en el número de clientes.
+ * <p>
+ * Los cambios de un mismo cliente se serializan en su entrada del mapa de totales. Para que el
+ * cliente no desaparezca del ranking mientras se mueve, la entrada nueva se añade antes de quitar
+ * la anterior; las lecturas descartan la segunda aparición de un cliente.
+ */
+public class ClienteLeaderboard {
+    /**
+     * Entrada del ranking: de mayor a menor total y, a igual total, por ID de cliente.
+     */
+    private static final class Entrada implements Comparable<Entrada> {
+        final long cents;
+        final int idCliente;
+
+        Entrada(long cents, int idCliente) {
+            this.cents = cents;
+            this.idCliente = idCliente;
+        }
+
+        @Override
+        public int compareTo(Entrada other) {
+            int cmp = Long.compare(other.cents, cents);
+            return cmp != 0 ? cmp : Integer.compare(idCliente, other.idCliente);
+        }
+    }
+
+    /**
+     * Contenido del ranking; se sustituye entero al reconstruirlo.
+     */
+    private static final class Estado {
+        final Map<Integer, Long> cents = new ConcurrentHashMap<>();
+        final Map<Integer, Integer> zonas = new ConcurrentHashMap<>();
+        final ConcurrentSkipListSet<Entrada> global = new ConcurrentSkipListSet<>();
+        final Map<Integer, ConcurrentSkipListSet<Entrada>> porZona = new ConcurrentHashMap<>();
+    }
+
+    private final boolean porZona;
+    private volatile Estado estado = new Estado();
+
+    /**
+     * Constructor de la clase ClienteLeaderboard.
+     *
+     * @param porZona Si se mantiene además un ranking por cada zona de envío.
+     */
+    public ClienteLeaderboard(boolean porZona) {
+        this.porZona = porZona;
+    }
+
+    /**
+     * Indica si se mantiene un ranking por zona.
+     *
+     * @return true si se pueden consultar los rankings por zona.
+     */
+    public boolean isPorZona() { return porZona; }
+
+    /**
+     * Obtiene los clientes que más han gastado.
+     *
+     * @param n Número máximo de clientes.
+     * @return Los clientes de mayor a menor total.
+     */
+    public List<ClienteGasto> top(int n) {
+        return top(estado.global, n);
+    }
+
+    /**
+     * Obtiene los clientes de una zona que más han gastado.
+     *
+     * @param idZona ID de la zona.
+     * @param n Número máximo de clientes.
+     * @return Los clientes de la zona de mayor a menor total.
+     * @throws IllegalStateException Si no se mantienen rankings por zona.
+     */
+    public List<ClienteGasto> top(int idZona, int n) {
+        if (!porZona) {
+            throw new IllegalStateException("El ranking de clientes no se mantiene por zona");
+        }
+        ConcurrentSkipListSet<Entrada> zona = estado.porZona.get(idZona);
+        return zona == null ? List.of() : top(zona, n);
+    }
+
+    /**
+     * Sustituye el ranking por uno construido con los totales y las zonas indicados.
+     *
+     * @param cents Total en céntimos de cada cliente con pedidos.
+     * @param zonas Zona de cada cliente; se ignora si no se mantienen rankings por zona.
+     */
+    void rebuild(Map<Integer, Long> cents, Map<Integer, Integer> zonas) {
+        Estado nuevo = new Estado();
+        if (porZona) {
+            nuevo.zonas.putAll(zonas);
+        }
+        cents.forEach((idCliente, total) -> {
+            nuevo.cents.put(idCliente, total);
+            insert(nuevo, new Entrada(total, idCliente), nuevo.zonas.get(idCliente));
+        });
+        estado = nuevo;
+    }
+
+    /**
+     * Suma una cantidad al total de un cliente y lo recoloca.
+     */
+    void add(int idCliente, long deltaCents) {
+        Estado actual = estado;
+        actual.cents.compute(idCliente, (id, total) -> {
+            if (total != null && deltaCents == 0) {
+                // La entrada nueva sería igual a la anterior y borrarla dejaría al cliente fuera
+                return total;
+            }
+            long nuevo = (total == null ? 0 : total) + deltaCents;
+            Integer zona = actual.zonas.get(id);
+            insert(actual, new Entrada(nuevo, id), zona);
+            if (total != null) {
+                delete(actual, new Entrada(total, id), zona);
+            }
+            return nuevo;
+        });
+    }
+
+    /**
+     * Cambia la zona de un cliente, moviendo su entrada al ranking de la nueva zona si tiene pedidos.
+     */
+    void setZona(int idCliente, int idZona) {
+        if (!porZona) {
+            return;
+        }
+        Estado actual = estado;
+        actual.cents.compute(idCliente, (id, total) -> {
+            Integer anterior = actual.zonas.put(id, idZona);
+            if (total != null && (anterior == null || anterior != idZona)) {
+                Entrada entrada = new Entrada(total, id);
+                actual.porZona.computeIfAbsent(idZona, zona -> new ConcurrentSkipListSet<>()).add(entrada);
+                if (anterior != null) {
+                    actual.porZona.get(anterior).remove(entrada);
+                }
+            }
+            return total;
+        });
+    }
+
+    /**
+     * Quita a un cliente eliminado del ranking.
+     */
+    void removeCliente(int idCliente) {
+        Estado actual = estado;
+        actual.cents.compute(idCliente, (id, total) -> {
+            Integer zona = actual.zonas.remove(id);
+            if (total != null) {
+                delete(actual, new Entrada(total, id), zona);
+            }
+            return null;
+        });
+    }
+
+    private void insert(Estado actual, Entrada entrada, Integer zona) {
+        actual.global.add(entrada);
+        if (zona != null) {
+            actual.porZona.computeIfAbsent(zona, id -> new ConcurrentSkipListSet<>()).add(entrada);
+        }
+    }
+
+    private void delete(Estado actual, Entrada entrada, Integer zona) {
+        actual.global.remove(entrada);
+        if (zona != null) {
+            actual.porZona.get(zona).remove(entrada);
+        }
+    }
+
+    private static List<ClienteGasto> top(ConcurrentSkipListSet<Entrada> ranking, int n) {
+        List<ClienteGasto> top = new ArrayList<>(n);
+        Set<Integer> vistos = new HashSet<>();
+        for (Entrada entrada : ranking) {
+            if (top.size() >= n) {
+                break;
+            }
+            if (vistos.add(entrada.idCliente)) {
+                top.add(new ClienteGasto(entrada.idCliente, entrada.cents / 100.0));
+            }
+        }
+        return top;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,303 @@
+package com.emilio.orders.dao.cache;
+
+import com.emilio.orders.model.Cliente;
+import com.emilio.orders.model.Pedido;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.ToLongFunction;
+
+/**
+ * Conjunto de cachés compartidas por los DAOs con caché de una misma factoría.
+ * <p>
+ * Cada caché está acotada en tamaño, caduca sus entradas tras un tiempo desde que se escribieron
+ * y usa la política W-TinyLFU de Caffeine, que tiene en cuenta la frecuencia de uso además de la
+ * antigüedad al elegir qué expulsar. Están agrupadas porque un cambio en un DAO puede invalidar
+ * datos cacheados por otro (por ejemplo, un pedido nuevo cambia el total gastado por su cliente).
+ * <p>
+ * Las cachés guardan objetos que nunca salen de esta capa; los DAOs devuelven copias.
+ * <p>
+ * Los pedidos por ID pueden guardarse en cambio en una {@link OffHeapPedidoCache}, fuera del heap,
+ * cuando se quiere cachear un número de pedidos mucho mayor.
+ * <p>
+ * Las escrituras de los DAOs se anotan en un {@link OwnWriteTracker} común, para que los avisos de
+ * {@link TableChangeMonitor} solo invaliden por los cambios de otros procesos.
+ * <p>
+ * Cada caché es además una {@link CacheRegion}, con una estimación aproximada de la memoria que ocupa
+ * según el tamaño de los objetos de una JVM de 64 bits con referencias comprimidas.
+ */
+public class DAOCaches {
+    public static final long DEFAULT_MAXIMUM_SIZE = 10_000; // Entradas por caché
+    public static final Duration DEFAULT_TTL = Duration.ofMinutes(10); // Vida de cada entrada
+    public static final long MISSING_MAXIMUM_SIZE = 1_000; // IDs inexistentes recordados por tabla
+    private static final long BOXED_SIZE = 16; // Bytes de un Long o Double
+    private static final long PEDIDO_SIZE = 56; // Bytes de un Pedido con su LocalDate
+
+    /**
+     * Interfaz funcional para cargar un valor que no está en la caché.
+     */
+    @FunctionalInterface
+    public interface Loader<V> {
+        V load() throws SQLException;
+    }
+
+    /**
+     * Transporta una SQLException a través de la función de carga de Caffeine.
+     */
+    private static final class LoadException extends RuntimeException {
+        LoadException(SQLException cause) {
+            super(cause);
+        }
+    }
+
+    private final Duration ttl;
+    private final Map<String, Cache<?, ?>> caches = new LinkedHashMap<>();
+    private final List<CacheRegion> regions = new ArrayList<>();
+
+    // Clientes
+    final Cache<Integer, Cliente> clientesById;
+    final Cache<Integer, List<Cliente>> clientesByZona;
+    final Cache<Integer, Long> countClientesByZona;
+    final Cache<Integer, Double> totalGastadoByCliente;
+    final Cache<Integer, Boolean> missingClientes; // IDs buscados que no existen
+
+    // Pedidos
+    final Cache<Integer, Pedido> pedidosById;
+    final Cache<Integer, List<Pedido>> pedidosByCliente;
+    final Cache<Integer, Long> countPedidosByCliente;
+    final Cache<Integer, Double> totalPedidosByCliente;
+    final Cache<Integer, Boolean> missingPedidos; // IDs buscados que no existen
+    final OffHeapPedidoCache pedidosOffHeap; // Sustituye a pedidosById si no es null
+
+    final OwnWriteTracker writes = new OwnWriteTracker(); // Filas escritas por los DAOs de estas cachés
+
+    /**
+     * Constructor de la clase DAOCaches con el tamaño y la caducidad por defecto.
+     */
+    public DAOCaches() {
+        this(DEFAULT_MAXIMUM_SIZE, DEFAULT_TTL);
+    }
+
+    /**
+     * Constructor de la clase DAOCaches.
+     *
+     * @param maximumSize Número máximo de entradas de cada caché.
+     * @param ttl Tiempo que permanece válida una entrada desde que se escribe.
+     */
+    public DAOCaches(long maximumSize, Duration ttl) {
+        this(maximumSize, ttl, 0);
+    }
+
+    /**
+     * Constructor de la clase DAOCaches con los pedidos por ID guardados fuera del heap.
+     *
+     * @param maximumSize Número máximo de entradas de cada caché.
+     * @param ttl Tiempo que permanece válida una entrada desde que se escribe.
+     * @param offHeapPedidos Número máximo de pedidos guardados fuera del heap; 0 para guardarlos en el heap.
+     */
+    public DAOCaches(long maximumSize, Duration ttl, int offHeapPedidos) {
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("El tamaño máximo de la caché debe ser positivo");
+        }
+        if (ttl.isNegative() || ttl.isZero()) {
+            throw new IllegalArgumentException("La caducidad de la caché debe ser positiva");
+        }
+        this.ttl = ttl;
+        clientesById = create("clientesById", maximumSize, DAOCaches::sizeOf);
+        clientesByZona = create("clientesByZona", maximumSize, clientes -> sizeOf(clientes, DAOCaches::sizeOf));
+        countClientesByZona = create("countClientesByZona", maximumSize, count -> BOXED_SIZE);
+        totalGastadoByCliente = create("totalGastadoByCliente", maximumSize, total -> BOXED_SIZE);
+        missingClientes = create("missingClientes", Math.min(maximumSize, MISSING_MAXIMUM_SIZE), missing -> 0);
+        pedidosById = create("pedidosById", maximumSize, pedido -> PEDIDO_SIZE);
+        pedidosByCliente = create("pedidosByCliente", maximumSize, pedidos -> sizeOf(pedidos, pedido -> PEDIDO_SIZE));
+        countPedidosByCliente = create("countPedidosByCliente", maximumSize, count -> BOXED_SIZE);
+        totalPedidosByCliente = create("totalPedidosByCliente", maximumSize, total -> BOXED_SIZE);
+        missingPedidos = create("missingPedidos", Math.min(maximumSize, MISSING_MAXIMUM_SIZE), missing -> 0);
+        pedidosOffHeap = offHeapPedidos > 0 ? new OffHeapPedidoCache(offHeapPedidos, ttl) : null;
+        if (pedidosOffHeap != null) {
+            regions.add(pedidosOffHeap);
+        }
+    }
+
+    /**
+     * Devuelve el tiempo de vida de las entradas.
+     *
+     * @return La caducidad configurada.
+     */
+    public Duration getTtl() { return ttl; }
+
+    /**
+     * Devuelve el registro de las escrituras hechas por los DAOs que usan estas cachés.
+     *
+     * @return El registro de escrituras propias.
+     */
+    public OwnWriteTracker getOwnWrites() { return writes; }
+
+    /**
+     * Devuelve las estadísticas (aciertos, fallos, expulsiones) de cada caché.
+     *
+     * @return Un mapa con las estadísticas por nombre de caché.
+     */
+    public Map<String, CacheStats> stats() {
+        Map<String, CacheStats> stats = new LinkedHashMap<>();
+        caches.forEach((name, cache) -> stats.put(name, cache.stats()));
+        return stats;
+    }
+
+    /**
+     * Devuelve las cachés como regiones, para consultarlas y ajustarlas en tiempo de ejecución.
+     *
+     * @return Las regiones, incluida la caché fuera del heap si la hay.
+     */
+    public List<CacheRegion> regions() {
+        return List.copyOf(regions);
+    }
+
+    /**
+     * Vacía todas las cachés.
+     */
+    public void invalidateAll() {
+        caches.values().forEach(Cache::invalidateAll);
+        if (pedidosOffHeap != null) {
+            pedidosOffHeap.clear();
+        }
+    }
+
+    /**
+     * Vacía las cachés que dependen de las tablas indicadas, tras un cambio hecho desde otro proceso.
+     *
+     * @param tablas Nombres de las tablas modificadas.
+     */
+    public void invalidateTables(Set<String> tablas) {
+        if (tablas.contains("Clientes")) {
+            clientesById.invalidateAll();
+            clientesByZona.invalidateAll();
+            countClientesByZona.invalidateAll();
+            missingClientes.invalidateAll();
+        }
+        if (tablas.contains("Pedidos")) {
+            pedidosById.invalidateAll();
+            pedidosByCliente.invalidateAll();
+            countPedidosByCliente.invalidateAll();
+            totalPedidosByCliente.invalidateAll();
+            totalGastadoByCliente.invalidateAll();
+            missingPedidos.invalidateAll();
+            if (pedidosOffHeap != null) {
+                pedidosOffHeap.clear();
+            }
+        }
+    }
+
+    /**
+     * Devuelve un pedido cacheado sin cargarlo ni contar la consulta en las estadísticas.
+     *
+     * @param id ID del pedido.
+     * @return El pedido cacheado, o null si no está en la caché.
+     */
+    Pedido pedidoIfPresent(int id) {
+        return pedidosOffHeap != null ? pedidosOffHeap.peek(id) : pedidosById.policy().getIfPresentQuietly(id);
+    }
+
+    /**
+     * Invalida un pedido cacheado por ID.
+     *
+     * @param id ID del pedido.
+     */
+    void invalidatePedido(int id) {
+        if (pedidosOffHeap != null) {
+            pedidosOffHeap.remove(id);
+        } else {
+            pedidosById.invalidate(id);
+        }
+    }
+
+    /**
+     * Invalida todos los pedidos de un cliente cacheados por ID.
+     *
+     * @param idCliente ID del cliente.
+     */
+    void invalidatePedidosById(int idCliente) {
+        if (pedidosOffHeap != null) {
+            pedidosOffHeap.removeByCliente(idCliente);
+        } else {
+            pedidosById.asMap().values().removeIf(pedido -> pedido.getIdCliente() == idCliente);
+        }
+    }
+
+    /**
+     * Invalida todo lo cacheado que depende de los pedidos de un cliente.
+     *
+     * @param idCliente ID del cliente.
+     */
+    void invalidatePedidosOf(int idCliente) {
+        pedidosByCliente.invalidate(idCliente);
+        countPedidosByCliente.invalidate(idCliente);
+        totalPedidosByCliente.invalidate(idCliente);
+        totalGastadoByCliente.invalidate(idCliente);
+    }
+
+    /**
+     * Invalida todo lo cacheado que depende de los clientes de una zona.
+     *
+     * @param idZona ID de la zona.
+     */
+    void invalidateClientesOf(int idZona) {
+        clientesByZona.invalidate(idZona);
+        countClientesByZona.invalidate(idZona);
+    }
+
+    /**
+     * Devuelve el valor cacheado o lo carga. Mientras se carga una clave, su invalidación espera
+     * a que termine la carga, de modo que un valor leído antes de una escritura no sobrevive a ella.
+     * Los valores null no se cachean.
+     */
+    static <K, V> V get(Cache<K, V> cache, K key, Loader<V> loader) throws SQLException {
+        try {
+            return cache.get(key, k -> {
+                try {
+                    return loader.load();
+                } catch (SQLException e) {
+                    throw new LoadException(e);
+                }
+            });
+        } catch (LoadException e) {
+            throw (SQLException) e.getCause();
+        }
+    }
+
+    private <K, V> Cache<K, V> create(String name, long maximumSize, ToLongFunction<? super V> sizeOf) {
+        Cache<K, V> cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        caches.put(name, cache);
+        regions.add(new CaffeineCacheRegion<>(name, cache, sizeOf));
+        return cache;
+    }
+
+    private static long sizeOf(Cliente cliente) {
+        return 32 + sizeOf(cliente.getNombre()) + sizeOf(cliente.getEmail()) + sizeOf(cliente.getTelefono());
+    }
+
+    private static long sizeOf(String text) {
+        return text == null ? 0 : 40 + text.length(); // String y su byte[] en Latin-1
+    }
+
+    private static <E> long sizeOf(List<E> list, ToLongFunction<? super E> sizeOf) {
+        long bytes = 40;
+        for (E element : list) {
+            bytes += 4 + sizeOf.applyAsLong(element);
+        }
+        return bytes;
+    }
+}
\ No newline at end of file
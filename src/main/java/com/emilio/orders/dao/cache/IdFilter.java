@@ -0,0 +1,135 @@
+package com.emilio.orders.dao.cache;
+
+import com.emilio.orders.util.BloomFilter;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Filtro de Bloom con los IDs existentes de una tabla, para responder sin ir a la base de datos
+ * a las búsquedas de IDs que no existen.
+ * <p>
+ * Se construye leyendo todos los IDs y se le añaden los que se insertan a través de los DAOs con
+ * caché. Como los IDs se generan crecientes, los mayores que el máximo conocido pueden haberlos
+ * insertado otros procesos y no se descartan nunca. El filtro se reconstruye al superar el
+ * intervalo de recarga, lo que además elimina los IDs borrados. Si no se puede construir, no
+ * descarta ningún ID.
+ */
+public class IdFilter {
+    private static final Logger logger = LoggerFactory.getLogger(IdFilter.class);
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+    private static final int MIN_EXPECTED_IDS = 1_024;
+
+    private final String table;
+    private final DAOCaches.Loader<List<Integer>> loader;
+    private final long reloadIntervalNanos;
+    private final AtomicBoolean reloading = new AtomicBoolean();
+    private volatile Snapshot snapshot; // null hasta la primera carga correcta
+    private volatile long loadedAt;
+
+    /**
+     * Filtro y mayor ID conocido, que se sustituyen juntos al reconstruir.
+     */
+    private static final class Snapshot {
+        final BloomFilter filter;
+        final AtomicInteger maxId;
+
+        Snapshot(BloomFilter filter, int maxId) {
+            this.filter = filter;
+            this.maxId = new AtomicInteger(maxId);
+        }
+    }
+
+    /**
+     * Constructor de la clase IdFilter.
+     *
+     * @param table Nombre de la tabla, para los mensajes de log.
+     * @param loader Consulta que devuelve todos los IDs de la tabla.
+     * @param reloadInterval Antigüedad a partir de la cual se reconstruye el filtro.
+     */
+    public IdFilter(String table, DAOCaches.Loader<List<Integer>> loader, Duration reloadInterval) {
+        if (reloadInterval.isNegative() || reloadInterval.isZero()) {
+            throw new IllegalArgumentException("El intervalo de recarga debe ser positivo");
+        }
+        this.table = table;
+        this.loader = loader;
+        this.reloadIntervalNanos = reloadInterval.toNanos();
+    }
+
+    /**
+     * Indica si el ID seguro que no existe en la tabla.
+     *
+     * @param id ID a consultar.
+     * @return true si el ID no existe; false si puede existir.
+     */
+    public boolean isAbsent(int id) {
+        Snapshot current = current();
+        return current != null && id <= current.maxId.get() && !current.filter.mightContain(id);
+    }
+
+    /**
+     * Añade al filtro un ID recién insertado.
+     *
+     * @param id ID insertado.
+     */
+    public void add(int id) {
+        Snapshot current = snapshot;
+        if (current != null) {
+            current.filter.put(id);
+            current.maxId.accumulateAndGet(id, Math::max);
+        }
+    }
+
+    /**
+     * Descarta el filtro para que se reconstruya en la siguiente consulta.
+     */
+    public void invalidate() {
+        snapshot = null;
+    }
+
+    /**
+     * Reconstruye el filtro con los IDs actuales de la tabla.
+     *
+     * @throws SQLException Si ocurre un error al leer los IDs; se conserva el filtro anterior.
+     */
+    public void reload() throws SQLException {
+        List<Integer> ids = loader.load();
+        // Se deja margen para las inserciones hasta la próxima reconstrucción
+        BloomFilter filter = new BloomFilter(Math.max(MIN_EXPECTED_IDS, ids.size() * 2), FALSE_POSITIVE_RATE);
+        int maxId = 0;
+        for (int id : ids) {
+            filter.put(id);
+            maxId = Math.max(maxId, id);
+        }
+        snapshot = new Snapshot(filter, maxId);
+        loadedAt = System.nanoTime();
+        logger.debug("Filtro de IDs de {} construido con {} IDs ({} bits)", table, ids.size(), filter.bitSize());
+    }
+
+    /**
+     * Devuelve el filtro actual, construyéndolo si no existe o ha caducado. Solo un hilo lo
+     * construye; mientras tanto el resto usa el anterior o, si no lo hay, no descarta nada.
+     */
+    private Snapshot current() {
+        Snapshot current = snapshot;
+        if ((current == null || System.nanoTime() - loadedAt >= reloadIntervalNanos)
+                && reloading.compareAndSet(false, true)) {
+            try {
+                reload();
+            } catch (SQLException e) {
+                logger.warn("No se pudo construir el filtro de IDs de {}: {}", table, e.getMessage());
+                loadedAt = System.nanoTime();
+            } finally {
+                reloading.set(false);
+            }
+            return snapshot;
+        }
+        return current;
+    }
+}
\ No newline at end of file
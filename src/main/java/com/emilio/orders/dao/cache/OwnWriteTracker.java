@@ -0,0 +1,94 @@
+package com.emilio.orders.dao.cache;
+
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Cuenta las filas que modifica este proceso a través de los DAOs con caché, para separar en los
+ * avisos de {@link TableChangeMonitor} los cambios propios, que las cachés ya han aplicado, de los
+ * hechos por otros procesos.
+ * <p>
+ * Los triggers de Cambios_Tabla suman una versión por fila modificada. Cada escritura propia se
+ * ejecuta con {@link #write} e indica cuántas filas de su tabla ha modificado; {@link #foreignTables}
+ * descuenta esas filas de los incrementos vistos por el monitor y devuelve solo las tablas que han
+ * cambiado de más. La escritura y su anotación se hacen bajo el mismo bloqueo que el descuento, así
+ * que nunca se descuenta el incremento de una escritura propia antes de que esté anotada.
+ * <p>
+ * Si una escritura no sabe cuántas filas ha modificado (por ejemplo, los pedidos borrados en cascada
+ * con su cliente) debe anotar de menos: la tabla se trata entonces como modificada por otro proceso,
+ * lo que solo cuesta una recarga. Anotar de más ocultaría cambios ajenos.
+ */
+public class OwnWriteTracker {
+
+    /**
+     * Interfaz funcional para una escritura que devuelve cuántas filas ha modificado con seguridad.
+     */
+    @FunctionalInterface
+    public interface Write {
+        long run() throws SQLException;
+    }
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock(); // Lectura: escrituras; escritura: descuento
+    private final Map<String, Long> pending = new ConcurrentHashMap<>(); // Filas propias aún no vistas por el monitor
+
+    /**
+     * Ejecuta una escritura propia y anota las filas que ha modificado. Si falla no se anota nada.
+     *
+     * @param tabla Tabla en la que escribe.
+     * @param write La escritura.
+     * @throws SQLException Si la escritura falla.
+     */
+    public void write(String tabla, Write write) throws SQLException {
+        lock.readLock().lock();
+        try {
+            long filas = write.run();
+            if (filas > 0) {
+                pending.merge(tabla, filas, Long::sum);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Descuenta las filas propias de los incrementos de versión de cada tabla.
+     *
+     * @param filas Filas modificadas en cada tabla desde el aviso anterior.
+     * @return Las tablas con cambios que no ha hecho este proceso.
+     */
+    public Set<String> foreignTables(Map<String, Long> filas) {
+        lock.writeLock().lock();
+        try {
+            Set<String> ajenas = new TreeSet<>();
+            filas.forEach((tabla, cambios) -> {
+                long propias = Math.min(cambios, pending.getOrDefault(tabla, 0L));
+                if (propias > 0) {
+                    pending.merge(tabla, -propias, Long::sum);
+                }
+                if (cambios > propias) {
+                    ajenas.add(tabla);
+                }
+            });
+            return ajenas;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Olvida las filas anotadas, cuando el monitor toma las versiones actuales como punto de partida.
+     */
+    public void reset() {
+        lock.writeLock().lock();
+        try {
+            pending.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+}
\ No newline at end of file
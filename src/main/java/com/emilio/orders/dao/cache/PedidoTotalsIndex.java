@@ -0,0 +1,256 @@
+package com.emilio.orders.dao.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Índice en memoria con el importe total de los pedidos de cada cliente.
+ * <p>
+ * Se inicializa con una única consulta agrupada y después se mantiene aplicando la diferencia
+ * de cada inserción, actualización o eliminación hecha a través de los DAOs con caché, de modo
+ * que leer un total no depende del número de pedidos del cliente. Los importes se acumulan en
+ * céntimos en un {@link LongAdder} por cliente para que las escrituras concurrentes no compitan
+ * por un mismo contador ni acumulen errores de redondeo.
+ * <p>
+ * Las escrituras (base de datos más diferencia) comparten un bloqueo de lectura entre sí y
+ * excluyen la recarga, que toma el de escritura; así una recarga nunca cuenta dos veces un cambio.
+ * Los cambios hechos por otros procesos se ven cuando el índice supera el intervalo de recarga.
+ * <p>
+ * El índice mantiene también un {@link ClienteLeaderboard} con los clientes ordenados por total,
+ * que se reconstruye en cada recarga y al que se aplica la misma diferencia de cada escritura.
+ * Si se le da una consulta de la zona de cada cliente, mantiene además un ranking por zona.
+ */
+public class PedidoTotalsIndex {
+    private static final Logger logger = LoggerFactory.getLogger(PedidoTotalsIndex.class);
+
+    /**
+     * Operación de escritura sobre la base de datos que modifica los totales.
+     */
+    @FunctionalInterface
+    interface Write {
+        void run() throws SQLException;
+    }
+
+    private final DAOCaches.Loader<Map<Integer, Double>> loader;
+    private final DAOCaches.Loader<Map<Integer, Integer>> zonasLoader; // null si no hay ranking por zona
+    private final ClienteLeaderboard leaderboard;
+    private final long reloadIntervalNanos;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile Map<Integer, LongAdder> centsByCliente; // null hasta la primera carga
+    private volatile long loadedAt;
+
+    /**
+     * Constructor de la clase PedidoTotalsIndex.
+     *
+     * @param loader Consulta que devuelve el total de pedidos por cliente.
+     * @param reloadInterval Antigüedad a partir de la cual se vuelve a cargar el índice.
+     */
+    public PedidoTotalsIndex(DAOCaches.Loader<Map<Integer, Double>> loader, Duration reloadInterval) {
+        this(loader, null, reloadInterval);
+    }
+
+    /**
+     * Constructor de la clase PedidoTotalsIndex con ranking de clientes por zona.
+     *
+     * @param loader Consulta que devuelve el total de pedidos por cliente.
+     * @param zonasLoader Consulta que devuelve la zona de cada cliente, o null para no mantener
+     *                    rankings por zona.
+     * @param reloadInterval Antigüedad a partir de la cual se vuelve a cargar el índice.
+     */
+    public PedidoTotalsIndex(DAOCaches.Loader<Map<Integer, Double>> loader,
+                             DAOCaches.Loader<Map<Integer, Integer>> zonasLoader, Duration reloadInterval) {
+        if (reloadInterval.isNegative() || reloadInterval.isZero()) {
+            throw new IllegalArgumentException("El intervalo de recarga debe ser positivo");
+        }
+        this.loader = loader;
+        this.zonasLoader = zonasLoader;
+        this.leaderboard = new ClienteLeaderboard(zonasLoader != null);
+        this.reloadIntervalNanos = reloadInterval.toNanos();
+    }
+
+    /**
+     * Devuelve el importe total de los pedidos de un cliente.
+     *
+     * @param idCliente ID del cliente.
+     * @return El total, o 0 si el cliente no tiene pedidos.
+     * @throws SQLException Si ocurre un error en la carga inicial.
+     */
+    public double get(int idCliente) throws SQLException {
+        LongAdder cents = current().get(idCliente);
+        return cents == null ? 0.0 : cents.sum() / 100.0;
+    }
+
+    /**
+     * Obtiene los clientes que más han gastado, sin consultar la base de datos salvo para cargar
+     * o recargar el índice.
+     *
+     * @param n Número máximo de clientes.
+     * @return Los clientes de mayor a menor total.
+     * @throws SQLException Si ocurre un error en la carga inicial.
+     */
+    public List<ClienteGasto> getTopClientes(int n) throws SQLException {
+        current();
+        return leaderboard.top(n);
+    }
+
+    /**
+     * Obtiene los clientes de una zona que más han gastado.
+     *
+     * @param idZona ID de la zona.
+     * @param n Número máximo de clientes.
+     * @return Los clientes de la zona de mayor a menor total.
+     * @throws SQLException Si ocurre un error en la carga inicial.
+     * @throws IllegalStateException Si el índice no mantiene rankings por zona.
+     */
+    public List<ClienteGasto> getTopClientes(int idZona, int n) throws SQLException {
+        current();
+        return leaderboard.top(idZona, n);
+    }
+
+    /**
+     * Vuelve a cargar todos los totales desde la base de datos.
+     *
+     * @throws SQLException Si ocurre un error en la carga; se conserva el índice anterior.
+     */
+    public void reload() throws SQLException {
+        lock.writeLock().lock();
+        try {
+            Map<Integer, LongAdder> totals = new ConcurrentHashMap<>();
+            loader.load().forEach((idCliente, total) -> adder(totals, idCliente).add(toCents(total)));
+            Map<Integer, Integer> zonas = zonasLoader != null ? zonasLoader.load() : Map.of();
+            Map<Integer, Long> cents = new HashMap<>();
+            totals.forEach((idCliente, total) -> cents.put(idCliente, total.sum()));
+            leaderboard.rebuild(cents, zonas);
+            centsByCliente = totals;
+            loadedAt = System.nanoTime();
+            logger.debug("Totales de pedidos cargados en memoria para {} clientes", totals.size());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Descarta el índice para que se vuelva a cargar en la siguiente lectura.
+     */
+    public void invalidate() {
+        lock.writeLock().lock();
+        try {
+            centsByCliente = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Ejecuta una escritura excluyendo las recargas. Las llamadas a {@link #add} y {@link #remove}
+     * que reflejan la escritura deben hacerse dentro de ella.
+     */
+    void write(Write write) throws SQLException {
+        lock.readLock().lock();
+        try {
+            write.run();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Suma un importe al total de un cliente. No hace nada si el índice aún no se ha cargado.
+     */
+    void add(int idCliente, double importe) {
+        Map<Integer, LongAdder> totals = centsByCliente;
+        if (totals != null) {
+            long cents = toCents(importe);
+            adder(totals, idCliente).add(cents);
+            leaderboard.add(idCliente, cents);
+        }
+    }
+
+    /**
+     * Resta un importe del total de un cliente. No hace nada si el índice aún no se ha cargado.
+     */
+    void remove(int idCliente, double importe) {
+        add(idCliente, -importe);
+    }
+
+    /**
+     * Olvida el total de un cliente eliminado.
+     */
+    void removeCliente(int idCliente) {
+        Map<Integer, LongAdder> totals = centsByCliente;
+        if (totals != null) {
+            totals.remove(idCliente);
+            leaderboard.removeCliente(idCliente);
+        }
+    }
+
+    /**
+     * Anota la zona de un cliente nuevo o modificado, para el ranking por zona.
+     */
+    void setZona(int idCliente, int idZona) {
+        if (centsByCliente != null) {
+            leaderboard.setZona(idCliente, idZona);
+        }
+    }
+
+    private Map<Integer, LongAdder> current() throws SQLException {
+        Map<Integer, LongAdder> totals = centsByCliente;
+        if (totals == null) {
+            lock.writeLock().lock();
+            try {
+                reloadIfNeeded(true);
+            } finally {
+                lock.writeLock().unlock();
+            }
+            return centsByCliente;
+        }
+        // Solo un hilo recarga un índice caducado; el resto sigue leyendo el actual
+        if (System.nanoTime() - loadedAt >= reloadIntervalNanos && lock.writeLock().tryLock()) {
+            try {
+                reloadIfNeeded(false);
+            } finally {
+                lock.writeLock().unlock();
+            }
+            return centsByCliente;
+        }
+        return totals;
+    }
+
+    /**
+     * Recarga el índice si nadie lo ha hecho mientras se esperaba el bloqueo, que debe tenerse.
+     * Si el índice ya estaba cargado, un fallo no se propaga: se sigue usando el anterior durante
+     * otro intervalo.
+     */
+    private void reloadIfNeeded(boolean initial) throws SQLException {
+        if (centsByCliente != null && System.nanoTime() - loadedAt < reloadIntervalNanos) {
+            return;
+        }
+        try {
+            reload();
+        } catch (SQLException e) {
+            if (initial) {
+                throw e;
+            }
+            logger.warn("No se pudieron recargar los totales de pedidos: {}", e.getMessage());
+            loadedAt = System.nanoTime();
+        }
+    }
+
+    private static LongAdder adder(Map<Integer, LongAdder> totals, int idCliente) {
+        return totals.computeIfAbsent(idCliente, id -> new LongAdder());
+    }
+
+    private static long toCents(double importe) {
+        return Math.round(importe * 100);
+    }
+}
\ No newline at end of file
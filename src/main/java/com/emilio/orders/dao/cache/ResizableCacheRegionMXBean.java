@@ -0,0 +1,14 @@
+package com.emilio.orders.dao.cache;
+
+/**
+ * Interfaz de gestión por JMX de una región de caché que se puede redimensionar.
+ */
+public interface ResizableCacheRegionMXBean extends CacheRegionMXBean {
+
+    /**
+     * Redimensiona la región.
+     *
+     * @param maximumSize Nuevo número máximo de entradas.
+     */
+    void setMaximumSize(long maximumSize);
+}
\ No newline at end of file
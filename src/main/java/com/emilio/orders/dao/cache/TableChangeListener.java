@@ -0,0 +1,38 @@
+package com.emilio.orders.dao.cache;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Interfaz para las cachés que deben descartar datos cuando otro proceso modifica la base de datos.
+ *
+ * @see TableChangeMonitor
+ */
+@FunctionalInterface
+public interface TableChangeListener {
+
+    /**
+     * Notifica que han cambiado las tablas indicadas.
+     *
+     * @param tablas Nombres de las tablas modificadas (Zonas_Envio, Clientes o Pedidos).
+     */
+    void tablesChanged(Set<String> tablas);
+
+    /**
+     * Notifica cuántas filas han cambiado en cada tabla según sus contadores de versión.
+     * Por defecto avisa de esas tablas con {@link #tablesChanged(Set)}; las cachés que distinguen
+     * sus propias escrituras lo redefinen para descontarlas.
+     *
+     * @param filas Filas insertadas, actualizadas o eliminadas en cada tabla modificada.
+     */
+    default void rowsChanged(Map<String, Long> filas) {
+        tablesChanged(filas.keySet());
+    }
+
+    /**
+     * Notifica que el monitor ha tomado las versiones actuales como punto de partida; los cambios
+     * anteriores ya no se avisarán.
+     */
+    default void monitorStarted() {
+    }
+}
\ No newline at end of file
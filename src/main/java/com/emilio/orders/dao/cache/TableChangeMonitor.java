@@ -0,0 +1,175 @@
+package com.emilio.orders.dao.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Detecta los cambios que hacen otros procesos (u otras conexiones) en el fichero SQLite y avisa a
+ * las cachés registradas de qué tablas han cambiado, para que descarten solo esos datos.
+ * <p>
+ * Cada tabla tiene un contador de versión en Cambios_Tabla que incrementan unos triggers en cada
+ * inserción, actualización o eliminación, se hagan desde donde se hagan. La tabla y los triggers los
+ * crea {@link com.emilio.orders.config.SchemaMigrations} al abrir la base de datos. El monitor consulta
+ * periódicamente {@code PRAGMA data_version} en una conexión propia, fuera del pool: es una lectura
+ * en memoria que solo cambia cuando otra conexión confirma una transacción. Solo entonces lee los
+ * contadores y avisa de las tablas cuyo contador ha cambiado.
+ * <p>
+ * Los cambios hechos por la propia aplicación también incrementan los contadores, porque llegan por
+ * otras conexiones del pool. Por eso se avisa de cuántas filas han cambiado en cada tabla: las cachés
+ * que anotan sus propias escrituras con un {@link OwnWriteTracker} las descuentan y solo descartan
+ * datos por los cambios de otros procesos.
+ */
+public class TableChangeMonitor implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(TableChangeMonitor.class);
+
+    private final String url;
+    private final Duration pollInterval;
+    private final List<TableChangeListener> listeners = new CopyOnWriteArrayList<>();
+    private final Map<String, Long> versions = new HashMap<>();
+    private ScheduledExecutorService scheduler;
+    private Connection connection;
+    private long dataVersion = -1;
+
+    /**
+     * Constructor de la clase TableChangeMonitor.
+     *
+     * @param url Ruta del fichero de la base de datos SQLite.
+     * @param pollInterval Tiempo entre comprobaciones.
+     */
+    public TableChangeMonitor(String url, Duration pollInterval) {
+        if (pollInterval.isNegative() || pollInterval.isZero()) {
+            throw new IllegalArgumentException("El intervalo de comprobación debe ser positivo");
+        }
+        this.url = url;
+        this.pollInterval = pollInterval;
+    }
+
+    /**
+     * Registra una caché que debe recibir los avisos de cambios.
+     *
+     * @param listener La caché a avisar.
+     */
+    public void addListener(TableChangeListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Toma las versiones actuales como punto de partida y empieza a comprobar cambios en un hilo de fondo.
+     *
+     * @throws SQLException Si no se puede abrir la conexión o leer los contadores.
+     */
+    public synchronized void start() throws SQLException {
+        if (scheduler != null) {
+            return;
+        }
+        connection = DriverManager.getConnection("jdbc:sqlite:" + url);
+        try {
+            poll();
+        } catch (SQLException e) {
+            connection.close();
+            throw e;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "cambios-tablas");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long millis = pollInterval.toMillis();
+        scheduler.scheduleWithFixedDelay(this::pollSafely, millis, millis, TimeUnit.MILLISECONDS);
+        logger.info("Vigilancia de cambios en la base de datos cada {} ms", millis);
+    }
+
+    /**
+     * Comprueba si ha habido cambios y avisa de ellos. Se llama periódicamente tras {@link #start()}.
+     *
+     * @return Las tablas que han cambiado desde la comprobación anterior.
+     * @throws SQLException Si ocurre un error al consultar la base de datos.
+     */
+    synchronized Set<String> poll() throws SQLException {
+        try (Statement stmt = connection.createStatement()) {
+            long current;
+            try (ResultSet rs = stmt.executeQuery("PRAGMA data_version")) {
+                rs.next();
+                current = rs.getLong(1);
+            }
+            if (current == dataVersion) {
+                return Set.of();
+            }
+            boolean first = dataVersion == -1;
+            dataVersion = current;
+
+            Map<String, Long> changed = new TreeMap<>(); // Filas modificadas por tabla
+            try (ResultSet rs = stmt.executeQuery("SELECT tabla, version FROM Cambios_Tabla")) {
+                while (rs.next()) {
+                    long version = rs.getLong("version");
+                    Long previous = versions.put(rs.getString("tabla"), version);
+                    if (!first && (previous == null || previous != version)) {
+                        changed.put(rs.getString("tabla"), previous == null ? version : version - previous);
+                    }
+                }
+            }
+            if (first) {
+                listeners.forEach(TableChangeListener::monitorStarted);
+            }
+            if (!changed.isEmpty()) {
+                logger.debug("Filas modificadas por otra conexión: {}", changed);
+                notifyListeners(changed);
+            }
+            return changed.keySet();
+        }
+    }
+
+    /**
+     * Deja de comprobar cambios y cierra la conexión.
+     */
+    @Override
+    public synchronized void close() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+        if (connection != null) {
+            try {
+                connection.close();
+            } catch (SQLException e) {
+                logger.warn("Error al cerrar la conexión de vigilancia de cambios: {}", e.getMessage());
+            }
+            connection = null;
+        }
+    }
+
+    private void pollSafely() {
+        try {
+            poll();
+        } catch (Exception e) {
+            logger.warn("Error al comprobar cambios en la base de datos: {}", e.getMessage());
+        }
+    }
+
+    private void notifyListeners(Map<String, Long> changed) {
+        Map<String, Long> filas = Map.copyOf(changed);
+        for (TableChangeListener listener : listeners) {
+            try {
+                listener.rowsChanged(filas);
+            } catch (RuntimeException e) {
+                logger.warn("Error al invalidar una caché tras cambios en {}: {}", filas.keySet(), e.getMessage());
+            }
+        }
+    }
+}
\ No newline at end of file
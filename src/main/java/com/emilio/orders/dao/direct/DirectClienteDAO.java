@@ -1,6 +1,8 @@
 package com.emilio.orders.dao.direct;
 
 import com.emilio.orders.dao.interfaces.ClienteDAO;
+import com.emilio.orders.hibernate.CacheRegions;
+import com.emilio.orders.hibernate.ClienteTotalesQueries;
 import com.emilio.orders.hibernate.SessionManager;
 import com.emilio.orders.model.Cliente;
 import org.hibernate.query.Query;
@@ -153,6 +155,8 @@ public class DirectClienteDAO implements ClienteDAO {
                 logger.debug("Buscando clientes en zona con ID: {}", idZona);
                 Query<Cliente> query = session.createQuery(
                         "FROM Cliente WHERE idZona = :idZona", Cliente.class);
+                query.setCacheable(true);
+                query.setCacheRegion(CacheRegions.CONSULTAS_CLIENTES);
                 query.setParameter("idZona", idZona);
                 List<Cliente> clientes = query.getResultList();
                 logger.debug("Se encontraron {} clientes en la zona {}", clientes.size(), idZona);
@@ -165,7 +169,7 @@ public class DirectClienteDAO implements ClienteDAO {
     }
 
     /**
-     * Obtiene el total gastado por un cliente.
+     * Obtiene el total gastado por un cliente de la tabla Cliente_Totales, por clave primaria.
      *
      * @param idCliente ID del cliente
      * @return Total gastado por el cliente
@@ -176,11 +180,7 @@ public class DirectClienteDAO implements ClienteDAO {
         try {
             return sessionManager.executeWithResult(session -> {
                 logger.debug("Calculando total gastado por cliente con ID: {}", idCliente);
-                Query<Double> query = session.createQuery(
-                        "SELECT SUM(p.importeTotal) FROM Pedido p WHERE p.idCliente = :idCliente", Double.class);
-                query.setParameter("idCliente", idCliente);
-                Double total = query.uniqueResult();
-                double result = (total != null) ? total : 0.0;
+                double result = ClienteTotalesQueries.getTotal(session, idCliente);
                 logger.debug("Total gastado por cliente {}: {}", idCliente, result);
                 return result;
             });
@@ -189,4 +189,109 @@ public class DirectClienteDAO implements ClienteDAO {
             throw new SQLException("Error al calcular total gastado: " + e.getMessage(), e);
         }
     }
+
+    /**
+     * Cuenta el número total de clientes sin cargar las entidades.
+     *
+     * @return Número de clientes
+     * @throws SQLException Si ocurre algún error al ejecutar el SQL
+     */
+    @Override
+    public long countAll() throws SQLException {
+        try {
+            return sessionManager.executeWithResult(session -> {
+                Long total = session.createQuery("SELECT COUNT(c) FROM Cliente c", Long.class).uniqueResult();
+                return (total != null) ? total : 0L;
+            });
+        } catch (Exception e) {
+            logger.error("Error al contar clientes", e);
+            throw new SQLException("Error al contar clientes: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Cuenta los clientes de una zona sin cargar las entidades.
+     *
+     * @param idZona ID de la zona
+     * @return Número de clientes en la zona
+     * @throws SQLException Si ocurre algún error al ejecutar el SQL
+     */
+    @Override
+    public long countByZona(int idZona) throws SQLException {
+        try {
+            return sessionManager.executeWithResult(session -> {
+                Query<Long> query = session.createQuery(
+                        "SELECT COUNT(c) FROM Cliente c WHERE c.idZona = :idZona", Long.class);
+                query.setParameter("idZona", idZona);
+                Long total = query.uniqueResult();
+                return (total != null) ? total : 0L;
+            });
+        } catch (Exception e) {
+            logger.error("Error al contar clientes por zona", e);
+            throw new SQLException("Error al contar clientes por zona: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Comprueba si existe un cliente consultando solo la clave primaria.
+     *
+     * @param id ID del cliente
+     * @return true si el cliente existe
+     * @throws SQLException Si ocurre algún error al ejecutar el SQL
+     */
+    @Override
+    public boolean exists(int id) throws SQLException {
+        try {
+            return sessionManager.executeWithResult(session -> {
+                Query<Integer> query = session.createQuery(
+                        "SELECT 1 FROM Cliente c WHERE c.idCliente = :id", Integer.class);
+                query.setParameter("id", id);
+                query.setMaxResults(1);
+                return query.uniqueResult() != null;
+            });
+        } catch (Exception e) {
+            logger.error("Error al comprobar la existencia del cliente", e);
+            throw new SQLException("Error al comprobar cliente: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Obtiene un bloque de clientes con ID mayor que el indicado, ordenados por ID.
+     *
+     * @param lastId ID a partir del cual se leen los clientes (exclusive)
+     * @param limit Número máximo de clientes
+     * @return Lista de clientes del bloque
+     * @throws SQLException Si ocurre algún error al ejecutar el SQL
+     */
+    @Override
+    public List<Cliente> getClientesAfterId(int lastId, int limit) throws SQLException {
+        try {
+            return sessionManager.executeWithResult(session -> {
+                Query<Cliente> query = session.createQuery("FROM Cliente WHERE idCliente > :lastId ORDER BY idCliente", Cliente.class);
+                query.setParameter("lastId", lastId);
+                query.setMaxResults(limit);
+                return query.getResultList();
+            });
+        } catch (Exception e) {
+            logger.error("Error al obtener el bloque de clientes tras el ID: {}", lastId, e);
+            throw new SQLException("Error al obtener clientes: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Obtiene los IDs de todos los clientes sin cargar las entidades.
+     *
+     * @return Lista con los IDs de los clientes.
+     * @throws SQLException Si ocurre un error durante la consulta.
+     */
+    @Override
+    public List<Integer> getAllIds() throws SQLException {
+        try {
+            return sessionManager.executeWithResult(session ->
+                    session.createQuery("SELECT c.idCliente FROM Cliente c", Integer.class).getResultList());
+        } catch (Exception e) {
+            logger.error("Error al obtener los IDs de los clientes", e);
+            throw new SQLException("Error al obtener IDs de clientes: " + e.getMessage(), e);
+        }
+    }
 }
\ No newline at end of file
@@ -1,8 +1,16 @@
 package com.emilio.orders.dao.direct;
 
 import com.emilio.orders.dao.interfaces.PedidoDAO;
+import com.emilio.orders.dao.search.Orden;
+import com.emilio.orders.dao.search.Page;
+import com.emilio.orders.dao.search.PedidoSearch;
+import com.emilio.orders.dao.search.PedidoSearchQueries;
+import com.emilio.orders.hibernate.CacheRegions;
+import com.emilio.orders.hibernate.ClienteTotalesQueries;
+import com.emilio.orders.hibernate.ScrollableRowCursor;
 import com.emilio.orders.hibernate.SessionManager;
 import com.emilio.orders.model.Pedido;
+import com.emilio.orders.util.CursorPublisher;
 import org.hibernate.query.Query;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -10,11 +18,14 @@ import org.slf4j.LoggerFactory;
 import java.sql.SQLException;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Flow;
 
 /**
  * Implementación de PedidoDAO que utiliza directamente la API de Hibernate.
  */
 public class DirectPedidoDAO implements PedidoDAO {
+    private static final int STREAM_FETCH_SIZE = 256;
     private static final Logger logger = LoggerFactory.getLogger(DirectPedidoDAO.class);
     private final SessionManager sessionManager;
 
@@ -154,6 +165,8 @@ public class DirectPedidoDAO implements PedidoDAO {
                 logger.debug("Buscando pedidos para cliente con ID: {}", idCliente);
                 Query<Pedido> query = session.createQuery(
                         "FROM Pedido WHERE idCliente = :idCliente", Pedido.class);
+                query.setCacheable(true);
+                query.setCacheRegion(CacheRegions.CONSULTAS_PEDIDOS);
                 query.setParameter("idCliente", idCliente);
                 List<Pedido> pedidos = query.getResultList();
                 logger.debug("Se encontraron {} pedidos para el cliente {}", pedidos.size(), idCliente);
@@ -191,7 +204,8 @@ public class DirectPedidoDAO implements PedidoDAO {
     }
 
     /**
-     * Obtiene el total de importe de los pedidos realizados por un cliente específico.
+     * Obtiene el total de importe de los pedidos realizados por un cliente específico de la tabla
+     * Cliente_Totales, por clave primaria.
      *
      * @param idCliente Identificador del cliente cuyos pedidos se quieren sumar.
      * @return Total de importe de los pedidos del cliente especificado.
@@ -202,11 +216,7 @@ public class DirectPedidoDAO implements PedidoDAO {
         try {
             return sessionManager.executeWithResult(session -> {
                 logger.debug("Calculando total de pedidos para cliente con ID: {}", idCliente);
-                Query<Double> query = session.createQuery(
-                        "SELECT SUM(p.importeTotal) FROM Pedido p WHERE p.idCliente = :idCliente", Double.class);
-                query.setParameter("idCliente", idCliente);
-                Double total = query.uniqueResult();
-                double result = (total != null) ? total : 0.0;
+                double result = ClienteTotalesQueries.getTotal(session, idCliente);
                 logger.debug("Total de pedidos para cliente {}: {}", idCliente, result);
                 return result;
             });
@@ -215,4 +225,212 @@ public class DirectPedidoDAO implements PedidoDAO {
             throw new SQLException("Error al calcular total de pedidos: " + e.getMessage(), e);
         }
     }
+
+    /**
+     * Cuenta el número total de pedidos sin cargar las entidades.
+     *
+     * @return Número de pedidos.
+     * @throws SQLException Si ocurre un error durante la consulta.
+     */
+    @Override
+    public long countAll() throws SQLException {
+        try {
+            return sessionManager.executeWithResult(session -> {
+                Long total = session.createQuery("SELECT COUNT(p) FROM Pedido p", Long.class).uniqueResult();
+                return (total != null) ? total : 0L;
+            });
+        } catch (Exception e) {
+            logger.error("Error al contar pedidos", e);
+            throw new SQLException("Error al contar pedidos: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Cuenta los pedidos de un cliente sin cargar las entidades.
+     *
+     * @param idCliente Identificador del cliente.
+     * @return Número de pedidos del cliente.
+     * @throws SQLException Si ocurre un error durante la consulta.
+     */
+    @Override
+    public long countByCliente(int idCliente) throws SQLException {
+        try {
+            return sessionManager.executeWithResult(session -> {
+                Query<Long> query = session.createQuery(
+                        "SELECT COUNT(p) FROM Pedido p WHERE p.idCliente = :idCliente", Long.class);
+                query.setParameter("idCliente", idCliente);
+                Long total = query.uniqueResult();
+                return (total != null) ? total : 0L;
+            });
+        } catch (Exception e) {
+            logger.error("Error al contar pedidos por cliente", e);
+            throw new SQLException("Error al contar pedidos por cliente: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Comprueba si existe un pedido consultando solo la clave primaria.
+     *
+     * @param id Identificador del pedido.
+     * @return true si el pedido existe.
+     * @throws SQLException Si ocurre un error durante la consulta.
+     */
+    @Override
+    public boolean exists(int id) throws SQLException {
+        try {
+            return sessionManager.executeWithResult(session -> {
+                Query<Integer> query = session.createQuery(
+                        "SELECT 1 FROM Pedido p WHERE p.idPedido = :id", Integer.class);
+                query.setParameter("id", id);
+                query.setMaxResults(1);
+                return query.uniqueResult() != null;
+            });
+        } catch (Exception e) {
+            logger.error("Error al comprobar la existencia del pedido", e);
+            throw new SQLException("Error al comprobar pedido: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Publica todos los pedidos recorriendo un cursor de Hibernate según la demanda del suscriptor.
+     *
+     * @return Publicador de pedidos.
+     */
+    @Override
+    public Flow.Publisher<Pedido> publishAll() {
+        return new CursorPublisher<>(() -> ScrollableRowCursor.open(sessionManager.getSessionFactory(),
+                session -> session.createQuery("FROM Pedido", Pedido.class), STREAM_FETCH_SIZE));
+    }
+
+    /**
+     * Publica los pedidos de un cliente recorriendo un cursor de Hibernate según la demanda del suscriptor.
+     *
+     * @param idCliente Identificador del cliente.
+     * @return Publicador de pedidos.
+     */
+    @Override
+    public Flow.Publisher<Pedido> publishByCliente(int idCliente) {
+        return new CursorPublisher<>(() -> ScrollableRowCursor.open(sessionManager.getSessionFactory(),
+                session -> session.createQuery("FROM Pedido WHERE idCliente = :idCliente", Pedido.class)
+                        .setParameter("idCliente", idCliente),
+                STREAM_FETCH_SIZE));
+    }
+
+    /**
+     * Busca pedidos según los criterios indicados usando la consulta HQL generada para esa combinación de filtros.
+     *
+     * @param criteria Criterios de búsqueda.
+     * @param page Página de resultados solicitada.
+     * @return Lista de pedidos de la página.
+     * @throws SQLException Si ocurre un error durante la búsqueda.
+     */
+    @Override
+    public List<Pedido> search(PedidoSearch criteria, Page page) throws SQLException {
+        return search(criteria, Orden.ID, page);
+    }
+
+    /**
+     * Obtiene los pedidos de mayor importe; el orden y el límite se aplican en la consulta.
+     *
+     * @param n Número máximo de pedidos.
+     * @param filtros Criterios de búsqueda.
+     * @return Lista de pedidos de mayor a menor importe.
+     * @throws SQLException Si ocurre un error durante la consulta.
+     */
+    @Override
+    public List<Pedido> getTopPedidosByImporte(int n, PedidoSearch filtros) throws SQLException {
+        return search(filtros, Orden.IMPORTE_DESC, Page.first(n));
+    }
+
+    /**
+     * Obtiene los pedidos más recientes de un cliente; el orden y el límite se aplican en la consulta.
+     *
+     * @param n Número máximo de pedidos.
+     * @param idCliente ID del cliente.
+     * @return Lista de pedidos del más reciente al más antiguo.
+     * @throws SQLException Si ocurre un error durante la consulta.
+     */
+    @Override
+    public List<Pedido> getLatestPedidos(int n, int idCliente) throws SQLException {
+        return search(new PedidoSearch.Builder().idCliente(idCliente).build(), Orden.FECHA_DESC, Page.first(n));
+    }
+
+    /**
+     * Ejecuta la consulta de búsqueda para los criterios, el orden y la página indicados.
+     */
+    private List<Pedido> search(PedidoSearch criteria, Orden orden, Page page) throws SQLException {
+        try {
+            return sessionManager.executeWithResult(session -> {
+                Query<Pedido> query = session.createQuery(PedidoSearchQueries.hql(criteria, orden), Pedido.class);
+                List<Object> params = PedidoSearchQueries.parameters(criteria);
+                for (int i = 0; i < params.size(); i++) {
+                    query.setParameter(i + 1, params.get(i));
+                }
+                query.setFirstResult(page.getOffset());
+                query.setMaxResults(page.getSize());
+                List<Pedido> pedidos = query.getResultList();
+                logger.debug("La búsqueda devolvió {} pedidos", pedidos.size());
+                return pedidos;
+            });
+        } catch (Exception e) {
+            logger.error("Error al buscar pedidos", e);
+            throw new SQLException("Error al buscar pedidos: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Obtiene un bloque de pedidos con ID mayor que el indicado, ordenados por ID.
+     *
+     * @param lastId ID a partir del cual se leen los pedidos (exclusive)
+     * @param limit Número máximo de pedidos
+     * @return Lista de pedidos del bloque
+     * @throws SQLException Si ocurre algún error al ejecutar el SQL
+     */
+    @Override
+    public List<Pedido> getPedidosAfterId(int lastId, int limit) throws SQLException {
+        try {
+            return sessionManager.executeWithResult(session -> {
+                Query<Pedido> query = session.createQuery("FROM Pedido WHERE idPedido > :lastId ORDER BY idPedido", Pedido.class);
+                query.setParameter("lastId", lastId);
+                query.setMaxResults(limit);
+                return query.getResultList();
+            });
+        } catch (Exception e) {
+            logger.error("Error al obtener el bloque de pedidos tras el ID: {}", lastId, e);
+            throw new SQLException("Error al obtener pedidos: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Obtiene el importe total de los pedidos de cada cliente de la tabla Cliente_Totales.
+     *
+     * @return Un mapa con el total de pedidos por ID de cliente.
+     * @throws SQLException Si ocurre un error durante la consulta.
+     */
+    @Override
+    public Map<Integer, Double> getTotalesPorCliente() throws SQLException {
+        try {
+            return sessionManager.executeWithResult(ClienteTotalesQueries::getTotales);
+        } catch (Exception e) {
+            logger.error("Error al calcular los totales de pedidos por cliente", e);
+            throw new SQLException("Error al calcular totales de pedidos: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Obtiene los IDs de todos los pedidos sin cargar las entidades.
+     *
+     * @return Lista con los IDs de los pedidos.
+     * @throws SQLException Si ocurre un error durante la consulta.
+     */
+    @Override
+    public List<Integer> getAllIds() throws SQLException {
+        try {
+            return sessionManager.executeWithResult(session ->
+                    session.createQuery("SELECT p.idPedido FROM Pedido p", Integer.class).getResultList());
+        } catch (Exception e) {
+            logger.error("Error al obtener los IDs de los pedidos", e);
+            throw new SQLException("Error al obtener IDs de pedidos: " + e.getMessage(), e);
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,128 @@
+package com.emilio.orders.dao.impl.hibernate;
+
+import com.emilio.orders.config.DatabaseConfig;
+import com.emilio.orders.dao.interfaces.ReportDAO;
+import com.emilio.orders.dao.report.VentasDiarias;
+import com.emilio.orders.dao.report.VentasPeriodo;
+import com.emilio.orders.dao.report.VentasPorZona;
+import com.emilio.orders.dao.report.VentasZona;
+import com.emilio.orders.hibernate.SessionManager;
+import com.emilio.orders.util.ParallelQueryExecutor;
+import com.emilio.orders.util.QueryUtils;
+
+import org.hibernate.Session;
+import org.hibernate.type.StandardBasicTypes;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Implementación de ReportDAO utilizando Hibernate.
+ * <p>
+ * Los informes leen tablas que no son entidades (Cliente_Totales, Ventas_Diarias), así que se
+ * consultan con SQL nativo o sobre la conexión JDBC de la sesión, y los resultados se convierten
+ * directamente en objetos del informe, sin cargar entidades.
+ */
+public class HibernateReportDAO implements ReportDAO {
+    private static final Logger logger = LoggerFactory.getLogger(HibernateReportDAO.class);
+
+    private final DatabaseConfig databaseConfig;
+    private final ParallelQueryExecutor executor;
+
+    /**
+     * Constructor de la clase HibernateReportDAO.
+     *
+     * @param databaseConfig Configuración de la base de datos, cuyas conexiones usan los informes
+     *                       que recorren los pedidos en paralelo, fuera de las sesiones.
+     * @param executor Ejecutor de consultas por particiones, normalmente el de la factoría, que lo cierra
+     */
+    public HibernateReportDAO(DatabaseConfig databaseConfig, ParallelQueryExecutor executor) {
+        this.databaseConfig = databaseConfig;
+        this.executor = executor;
+    }
+
+    /**
+     * Obtiene las ventas de cada zona con una sola consulta agrupada.
+     *
+     * @return Las ventas por zona, de mayor a menor ingreso.
+     * @throws SQLException Si ocurre un error durante la consulta.
+     */
+    @Override
+    public List<VentasZona> getVentasPorZona() throws SQLException {
+        try (Session session = SessionManager.getInstance().openSession()) {
+            logger.debug("Calculando ventas por zona de envío");
+            List<Object[]> filas = session.createNativeQuery(QueryUtils.SELECT_VENTAS_POR_ZONA, Object[].class)
+                    .addScalar("id_zona", StandardBasicTypes.INTEGER)
+                    .addScalar("nombre_zona", StandardBasicTypes.STRING)
+                    .addScalar("num_clientes", StandardBasicTypes.LONG)
+                    .addScalar("num_pedidos", StandardBasicTypes.LONG)
+                    .addScalar("ingresos", StandardBasicTypes.DOUBLE)
+                    .getResultList();
+            List<VentasZona> ventas = new ArrayList<>(filas.size());
+            for (Object[] fila : filas) {
+                ventas.add(new VentasZona((Integer) fila[0], (String) fila[1], (Double) fila[4],
+                        (Long) fila[3], (Long) fila[2]));
+            }
+            return ventas;
+        } catch (Exception e) {
+            logger.error("Error al calcular las ventas por zona", e);
+            throw new SQLException("Error al calcular ventas por zona: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Obtiene las ventas de cada zona en un periodo recorriendo los pedidos en paralelo, por
+     * rangos de ID. Una sesión solo tiene una conexión, así que cada partición usa una conexión
+     * propia de la configuración.
+     *
+     * @param desde Primer día, incluido.
+     * @param hasta Último día, incluido.
+     * @return Las ventas por zona, de mayor a menor ingreso.
+     * @throws SQLException Si ocurre un error durante la consulta.
+     */
+    @Override
+    public List<VentasZona> getVentasPorZona(LocalDate desde, LocalDate hasta) throws SQLException {
+        logger.debug("Calculando ventas por zona de envío entre {} y {}", desde, hasta);
+        return VentasPorZona.calcular(databaseConfig, executor, desde, hasta);
+    }
+
+    /**
+     * Obtiene las ventas diarias de Ventas_Diarias, tras agregar los pedidos y cambios pendientes.
+     *
+     * @param desde Primer día, incluido.
+     * @param hasta Último día, incluido.
+     * @return Las ventas por día y zona.
+     * @throws SQLException Si ocurre un error durante la actualización o la consulta.
+     */
+    @Override
+    public List<VentasPeriodo> getVentasDiarias(LocalDate desde, LocalDate hasta) throws SQLException {
+        try (Session session = SessionManager.getInstance().openSession()) {
+            logger.debug("Obteniendo ventas diarias entre {} y {}", desde, hasta);
+            return session.doReturningWork(conn -> {
+                VentasDiarias.refresh(conn);
+                return VentasDiarias.getSerie(conn, desde, hasta);
+            });
+        } catch (Exception e) {
+            logger.error("Error al obtener las ventas diarias", e);
+            throw new SQLException("Error al obtener ventas diarias: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Obtiene las ventas mensuales sumando las diarias de cada mes.
+     *
+     * @param desde Primer mes, incluido.
+     * @param hasta Último mes, incluido.
+     * @return Las ventas por mes y zona.
+     * @throws SQLException Si ocurre un error durante la actualización o la consulta.
+     */
+    @Override
+    public List<VentasPeriodo> getVentasMensuales(YearMonth desde, YearMonth hasta) throws SQLException {
+        return VentasDiarias.porMes(getVentasDiarias(desde.atDay(1), hasta.atEndOfMonth()));
+    }
+}
\ No newline at end of file
@@ -145,4 +145,42 @@ public class HibernateZonaEnvioDAO implements ZonaEnvioDAO {
             throw new SQLException("Error al eliminar zona de envío: " + e.getMessage(), e);
         }
     }
+
+    /**
+     * Cuenta el número total de zonas de envío.
+     *
+     * @return El número de zonas
+     * @throws SQLException Si ocurre un error durante la operación
+     */
+    @Override
+    public long countAll() throws SQLException {
+        try (Session session = SessionManager.getInstance().openSession()) {
+            Long total = session.createQuery("SELECT COUNT(z) FROM ZonaEnvio z", Long.class).uniqueResult();
+            return (total != null) ? total : 0L;
+        } catch (Exception e) {
+            logger.error("Error al contar zonas de envío", e);
+            throw new SQLException("Error al contar zonas de envío: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Comprueba si existe una zona de envío consultando solo la clave primaria.
+     *
+     * @param id El identificador de la zona
+     * @return true si la zona existe
+     * @throws SQLException Si ocurre un error durante la operación
+     */
+    @Override
+    public boolean exists(int id) throws SQLException {
+        try (Session session = SessionManager.getInstance().openSession()) {
+            Query<Integer> query = session.createQuery(
+                    "SELECT 1 FROM ZonaEnvio z WHERE z.idZona = :id", Integer.class);
+            query.setParameter("id", id);
+            query.setMaxResults(1);
+            return query.uniqueResult() != null;
+        } catch (Exception e) {
+            logger.error("Error al comprobar la existencia de la zona de envío", e);
+            throw new SQLException("Error al comprobar zona de envío: " + e.getMessage(), e);
+        }
+    }
 }
\ No newline at end of file
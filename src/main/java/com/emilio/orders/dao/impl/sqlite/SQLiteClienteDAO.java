@@ -194,7 +194,7 @@ public class SQLiteClienteDAO implements ClienteDAO {
     }
 
     /**
-     * Obtiene el total gastado por un cliente.
+     * Obtiene el total gastado por un cliente de la tabla Cliente_Totales, por clave primaria.
      *
      * @param idCliente ID del cliente
      * @return Total gastado por el cliente
@@ -216,6 +216,62 @@ public class SQLiteClienteDAO implements ClienteDAO {
         return 0.0;
     }
 
+    /**
+     * Cuenta el número total de clientes mediante un COUNT(*).
+     *
+     * @return Número de clientes
+     * @throws SQLException Si ocurre algún error al ejecutar el SQL
+     */
+    @Override
+    public long countAll() throws SQLException {
+        try (Connection conn = databaseConfig.getConnection();
+                Statement stmt = conn.createStatement();
+                ResultSet rs = stmt.executeQuery(QueryUtils.COUNT_CLIENTES)) {
+
+            return rs.next() ? rs.getLong(1) : 0L;
+        }
+    }
+
+    /**
+     * Cuenta los clientes de una zona mediante un COUNT(*) sobre el índice de zona.
+     *
+     * @param idZona ID de la zona
+     * @return Número de clientes en la zona
+     * @throws SQLException Si ocurre algún error al ejecutar el SQL
+     */
+    @Override
+    public long countByZona(int idZona) throws SQLException {
+        try (Connection conn = databaseConfig.getConnection();
+                PreparedStatement stmt = conn.prepareStatement(QueryUtils.COUNT_CLIENTES_BY_ZONA)) {
+
+            stmt.setInt(1, idZona);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() ? rs.getLong(1) : 0L;
+            }
+        }
+    }
+
+    /**
+     * Comprueba si existe un cliente mediante una consulta EXISTS sobre la clave primaria.
+     *
+     * @param id ID del cliente
+     * @return true si el cliente existe
+     * @throws SQLException Si ocurre algún error al ejecutar el SQL
+     */
+    @Override
+    public boolean exists(int id) throws SQLException {
+        try (Connection conn = databaseConfig.getConnection();
+                PreparedStatement stmt = conn.prepareStatement(QueryUtils.EXISTS_CLIENTE)) {
+
+            stmt.setInt(1, id);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() && rs.getInt(1) == 1;
+            }
+        }
+    }
+
     /**
      * Método auxiliar para extraer un cliente de un ResultSet.
      *
@@ -232,4 +288,54 @@ public class SQLiteClienteDAO implements ClienteDAO {
         cliente.setIdZona(rs.getInt("id_zona"));
         return cliente;
     }
+
+    /**
+     * Obtiene un bloque de clientes con ID mayor que el indicado, ordenados por ID.
+     *
+     * @param lastId ID a partir del cual se leen los clientes (exclusive)
+     * @param limit Número máximo de clientes
+     * @return Lista de clientes del bloque
+     * @throws SQLException Si ocurre algún error al ejecutar el SQL
+     */
+    @Override
+    public List<Cliente> getClientesAfterId(int lastId, int limit) throws SQLException {
+        List<Cliente> clientes = new ArrayList<>();
+
+        try (Connection conn = databaseConfig.getConnection();
+                PreparedStatement stmt = conn.prepareStatement(QueryUtils.SELECT_CLIENTES_AFTER_ID)) {
+
+            stmt.setInt(1, lastId);
+            stmt.setInt(2, limit);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    clientes.add(extractClienteFromResultSet(rs));
+                }
+            }
+        }
+
+        return clientes;
+    }
+
+    /**
+     * Obtiene los IDs de todos los clientes recorriendo solo la clave primaria.
+     *
+     * @return Lista con los IDs de los clientes.
+     * @throws SQLException Si ocurre un error durante la consulta.
+     */
+    @Override
+    public List<Integer> getAllIds() throws SQLException {
+        List<Integer> ids = new ArrayList<>();
+
+        try (Connection conn = databaseConfig.getConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(QueryUtils.SELECT_CLIENTE_IDS)) {
+
+            while (rs.next()) {
+                ids.add(rs.getInt(1));
+            }
+        }
+
+        return ids;
+    }
 }
\ No newline at end of file
@@ -2,19 +2,29 @@ package com.emilio.orders.dao.impl.sqlite;
 
 import com.emilio.orders.config.DatabaseConfig;
 import com.emilio.orders.dao.interfaces.PedidoDAO;
+import com.emilio.orders.dao.search.Orden;
+import com.emilio.orders.dao.search.Page;
+import com.emilio.orders.dao.search.PedidoSearch;
+import com.emilio.orders.dao.search.PedidoSearchQueries;
 import com.emilio.orders.model.Pedido;
+import com.emilio.orders.util.CursorPublisher;
 import com.emilio.orders.util.DatabaseException;
+import com.emilio.orders.util.JdbcRowCursor;
 import com.emilio.orders.util.QueryUtils;
 
 import java.sql.*;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Flow;
 
 /**
  * Clase que implementa la interfaz {@link PedidoDAO} para interactuar con la base de datos SQLite.
  */
 public class SQLitePedidoDAO implements PedidoDAO {
+    private static final int STREAM_FETCH_SIZE = 256; // Filas solicitadas al driver en cada lectura del cursor
     private final DatabaseConfig databaseConfig;
 
     /**
@@ -198,7 +208,8 @@ public class SQLitePedidoDAO implements PedidoDAO {
     }
 
     /**
-     * Obtiene el total de importe de los pedidos realizados por un cliente específico.
+     * Obtiene el total de importe de los pedidos realizados por un cliente específico de la tabla
+     * Cliente_Totales, por clave primaria.
      *
      * @param idCliente Identificador del cliente cuyos pedidos se quieren sumar.
      * @return Total de importe de los pedidos del cliente especificado.
@@ -207,8 +218,7 @@ public class SQLitePedidoDAO implements PedidoDAO {
     @Override
     public double getTotalPedidosByCliente(int idCliente) throws SQLException {
         try (Connection conn = databaseConfig.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(
-                 "SELECT SUM(importe_total) as total FROM Pedidos WHERE id_cliente = ?")) {
+             PreparedStatement stmt = conn.prepareStatement(QueryUtils.SELECT_TOTAL_CLIENTE)) {
 
             stmt.setInt(1, idCliente);
 
@@ -221,6 +231,147 @@ public class SQLitePedidoDAO implements PedidoDAO {
         return 0.0;
     }
 
+    /**
+     * Cuenta el número total de pedidos mediante un COUNT(*).
+     *
+     * @return Número de pedidos.
+     * @throws SQLException Si ocurre un error durante la consulta.
+     */
+    @Override
+    public long countAll() throws SQLException {
+        try (Connection conn = databaseConfig.getConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(QueryUtils.COUNT_PEDIDOS)) {
+
+            return rs.next() ? rs.getLong(1) : 0L;
+        }
+    }
+
+    /**
+     * Cuenta los pedidos de un cliente mediante un COUNT(*) sobre el índice de cliente.
+     *
+     * @param idCliente Identificador del cliente.
+     * @return Número de pedidos del cliente.
+     * @throws SQLException Si ocurre un error durante la consulta.
+     */
+    @Override
+    public long countByCliente(int idCliente) throws SQLException {
+        try (Connection conn = databaseConfig.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(QueryUtils.COUNT_PEDIDOS_BY_CLIENTE)) {
+
+            stmt.setInt(1, idCliente);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() ? rs.getLong(1) : 0L;
+            }
+        }
+    }
+
+    /**
+     * Comprueba si existe un pedido mediante una consulta EXISTS sobre la clave primaria.
+     *
+     * @param id Identificador del pedido.
+     * @return true si el pedido existe.
+     * @throws SQLException Si ocurre un error durante la consulta.
+     */
+    @Override
+    public boolean exists(int id) throws SQLException {
+        try (Connection conn = databaseConfig.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(QueryUtils.EXISTS_PEDIDO)) {
+
+            stmt.setInt(1, id);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() && rs.getInt(1) == 1;
+            }
+        }
+    }
+
+    /**
+     * Publica todos los pedidos leyéndolos del cursor según la demanda del suscriptor.
+     *
+     * @return Publicador de pedidos.
+     */
+    @Override
+    public Flow.Publisher<Pedido> publishAll() {
+        return new CursorPublisher<>(() -> JdbcRowCursor.open(databaseConfig.getConnection(),
+                QueryUtils.SELECT_ALL_PEDIDOS, STREAM_FETCH_SIZE, stmt -> { },
+                this::extractPedidoFromResultSet));
+    }
+
+    /**
+     * Publica los pedidos de un cliente leyéndolos del cursor según la demanda del suscriptor.
+     *
+     * @param idCliente Identificador del cliente.
+     * @return Publicador de pedidos.
+     */
+    @Override
+    public Flow.Publisher<Pedido> publishByCliente(int idCliente) {
+        return new CursorPublisher<>(() -> JdbcRowCursor.open(databaseConfig.getConnection(),
+                QueryUtils.SELECT_PEDIDOS_BY_CLIENTE, STREAM_FETCH_SIZE, stmt -> stmt.setInt(1, idCliente),
+                this::extractPedidoFromResultSet));
+    }
+
+    /**
+     * Busca pedidos según los criterios indicados usando la consulta generada para esa combinación de filtros.
+     *
+     * @param criteria Criterios de búsqueda.
+     * @param page Página de resultados solicitada.
+     * @return Lista de pedidos de la página.
+     * @throws SQLException Si ocurre un error durante la búsqueda.
+     */
+    @Override
+    public List<Pedido> search(PedidoSearch criteria, Page page) throws SQLException {
+        return search(criteria, Orden.ID, page);
+    }
+
+    /**
+     * Obtiene los pedidos de mayor importe; el orden y el límite se aplican en la consulta.
+     *
+     * @param n Número máximo de pedidos.
+     * @param filtros Criterios de búsqueda.
+     * @return Lista de pedidos de mayor a menor importe.
+     * @throws SQLException Si ocurre un error durante la consulta.
+     */
+    @Override
+    public List<Pedido> getTopPedidosByImporte(int n, PedidoSearch filtros) throws SQLException {
+        return search(filtros, Orden.IMPORTE_DESC, Page.first(n));
+    }
+
+    /**
+     * Obtiene los pedidos más recientes de un cliente; el orden y el límite se aplican en la consulta.
+     *
+     * @param n Número máximo de pedidos.
+     * @param idCliente ID del cliente.
+     * @return Lista de pedidos del más reciente al más antiguo.
+     * @throws SQLException Si ocurre un error durante la consulta.
+     */
+    @Override
+    public List<Pedido> getLatestPedidos(int n, int idCliente) throws SQLException {
+        return search(new PedidoSearch.Builder().idCliente(idCliente).build(), Orden.FECHA_DESC, Page.first(n));
+    }
+
+    /**
+     * Ejecuta la consulta de búsqueda para los criterios, el orden y la página indicados.
+     */
+    private List<Pedido> search(PedidoSearch criteria, Orden orden, Page page) throws SQLException {
+        List<Pedido> pedidos = new ArrayList<>();
+
+        try (Connection conn = databaseConfig.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(PedidoSearchQueries.sql(criteria, orden))) {
+
+            PedidoSearchQueries.bind(stmt, criteria, page);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    pedidos.add(extractPedidoFromResultSet(rs));
+                }
+            }
+        }
+
+        return pedidos;
+    }
+
     /**
      * Extrae un pedido de un ResultSet.
      *
@@ -236,4 +387,77 @@ public class SQLitePedidoDAO implements PedidoDAO {
         pedido.setIdCliente(rs.getInt("id_cliente"));
         return pedido;
     }
+
+    /**
+     * Obtiene un bloque de pedidos con ID mayor que el indicado, ordenados por ID.
+     *
+     * @param lastId ID a partir del cual se leen los pedidos (exclusive)
+     * @param limit Número máximo de pedidos
+     * @return Lista de pedidos del bloque
+     * @throws SQLException Si ocurre algún error al ejecutar el SQL
+     */
+    @Override
+    public List<Pedido> getPedidosAfterId(int lastId, int limit) throws SQLException {
+        List<Pedido> pedidos = new ArrayList<>();
+
+        try (Connection conn = databaseConfig.getConnection();
+                PreparedStatement stmt = conn.prepareStatement(QueryUtils.SELECT_PEDIDOS_AFTER_ID)) {
+
+            stmt.setInt(1, lastId);
+            stmt.setInt(2, limit);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    pedidos.add(extractPedidoFromResultSet(rs));
+                }
+            }
+        }
+
+        return pedidos;
+    }
+
+    /**
+     * Obtiene el importe total de los pedidos de cada cliente de la tabla Cliente_Totales, con una
+     * fila por cliente en lugar de recorrer los pedidos.
+     *
+     * @return Un mapa con el total de pedidos por ID de cliente.
+     * @throws SQLException Si ocurre un error durante la consulta.
+     */
+    @Override
+    public Map<Integer, Double> getTotalesPorCliente() throws SQLException {
+        Map<Integer, Double> totales = new HashMap<>();
+
+        try (Connection conn = databaseConfig.getConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(QueryUtils.SELECT_TOTALES_POR_CLIENTE)) {
+
+            while (rs.next()) {
+                totales.put(rs.getInt("id_cliente"), rs.getDouble("total"));
+            }
+        }
+
+        return totales;
+    }
+
+    /**
+     * Obtiene los IDs de todos los pedidos recorriendo solo la clave primaria.
+     *
+     * @return Lista con los IDs de los pedidos.
+     * @throws SQLException Si ocurre un error durante la consulta.
+     */
+    @Override
+    public List<Integer> getAllIds() throws SQLException {
+        List<Integer> ids = new ArrayList<>();
+
+        try (Connection conn = databaseConfig.getConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(QueryUtils.SELECT_PEDIDO_IDS)) {
+
+            while (rs.next()) {
+                ids.add(rs.getInt(1));
+            }
+        }
+
+        return ids;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,109 @@
+package com.emilio.orders.dao.impl.sqlite;
+
+import com.emilio.orders.config.DatabaseConfig;
+import com.emilio.orders.dao.interfaces.ReportDAO;
+import com.emilio.orders.dao.report.VentasDiarias;
+import com.emilio.orders.dao.report.VentasPeriodo;
+import com.emilio.orders.dao.report.VentasPorZona;
+import com.emilio.orders.dao.report.VentasZona;
+import com.emilio.orders.util.ParallelQueryExecutor;
+import com.emilio.orders.util.QueryUtils;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Clase que implementa la interfaz ReportDAO para una base de datos SQLite.
+ */
+public class SQLiteReportDAO implements ReportDAO {
+    private final DatabaseConfig databaseConfig;
+    private final ParallelQueryExecutor executor;
+
+    /**
+     * Constructor con el ejecutor que reparte los informes que recorren todos los pedidos.
+     *
+     * @param databaseConfig Configuración de la base de datos
+     * @param executor Ejecutor de consultas por particiones, normalmente el de la factoría, que lo cierra
+     */
+    public SQLiteReportDAO(DatabaseConfig databaseConfig, ParallelQueryExecutor executor) {
+        this.databaseConfig = databaseConfig;
+        this.executor = executor;
+    }
+
+    /**
+     * Obtiene las ventas de cada zona con una consulta que agrupa los clientes de cada zona y sus
+     * totales precalculados en Cliente_Totales, sin recorrer los pedidos.
+     *
+     * @return Las ventas por zona, de mayor a menor ingreso.
+     * @throws SQLException Si ocurre un error durante la consulta.
+     */
+    @Override
+    public List<VentasZona> getVentasPorZona() throws SQLException {
+        List<VentasZona> ventas = new ArrayList<>();
+
+        try (Connection conn = databaseConfig.getConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(QueryUtils.SELECT_VENTAS_POR_ZONA)) {
+
+            while (rs.next()) {
+                ventas.add(new VentasZona(
+                        rs.getInt("id_zona"),
+                        rs.getString("nombre_zona"),
+                        rs.getDouble("ingresos"),
+                        rs.getLong("num_pedidos"),
+                        rs.getLong("num_clientes")));
+            }
+        }
+
+        return ventas;
+    }
+
+    /**
+     * Obtiene las ventas de cada zona en un periodo recorriendo los pedidos en paralelo, por
+     * rangos de ID, con varias conexiones.
+     *
+     * @param desde Primer día, incluido.
+     * @param hasta Último día, incluido.
+     * @return Las ventas por zona, de mayor a menor ingreso.
+     * @throws SQLException Si ocurre un error durante la consulta.
+     */
+    @Override
+    public List<VentasZona> getVentasPorZona(LocalDate desde, LocalDate hasta) throws SQLException {
+        return VentasPorZona.calcular(databaseConfig, executor, desde, hasta);
+    }
+
+    /**
+     * Obtiene las ventas diarias de Ventas_Diarias, tras agregar los pedidos y cambios pendientes.
+     *
+     * @param desde Primer día, incluido.
+     * @param hasta Último día, incluido.
+     * @return Las ventas por día y zona.
+     * @throws SQLException Si ocurre un error durante la actualización o la consulta.
+     */
+    @Override
+    public List<VentasPeriodo> getVentasDiarias(LocalDate desde, LocalDate hasta) throws SQLException {
+        try (Connection conn = databaseConfig.getConnection()) {
+            VentasDiarias.refresh(conn);
+            return VentasDiarias.getSerie(conn, desde, hasta);
+        }
+    }
+
+    /**
+     * Obtiene las ventas mensuales sumando las diarias de cada mes.
+     *
+     * @param desde Primer mes, incluido.
+     * @param hasta Último mes, incluido.
+     * @return Las ventas por mes y zona.
+     * @throws SQLException Si ocurre un error durante la actualización o la consulta.
+     */
+    @Override
+    public List<VentasPeriodo> getVentasMensuales(YearMonth desde, YearMonth hasta) throws SQLException {
+        return VentasDiarias.porMes(getVentasDiarias(desde.atDay(1), hasta.atEndOfMonth()));
+    }
+}
\ No newline at end of file
@@ -142,6 +142,42 @@ public class SQLiteZonaEnvioDAO implements ZonaEnvioDAO {
         }
     }
 
+    /**
+     * Cuenta el número total de zonas mediante un COUNT(*).
+     *
+     * @return El número de zonas
+     * @throws SQLException Si ocurre un error durante la consulta
+     */
+    @Override
+    public long countAll() throws SQLException {
+        try (Connection conn = databaseConfig.getConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(QueryUtils.COUNT_ZONAS)) {
+
+            return rs.next() ? rs.getLong(1) : 0L;
+        }
+    }
+
+    /**
+     * Comprueba si existe una zona mediante una consulta EXISTS sobre la clave primaria.
+     *
+     * @param id El identificador de la zona
+     * @return true si la zona existe
+     * @throws SQLException Si ocurre un error durante la consulta
+     */
+    @Override
+    public boolean exists(int id) throws SQLException {
+        try (Connection conn = databaseConfig.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(QueryUtils.EXISTS_ZONA)) {
+
+            stmt.setInt(1, id);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() && rs.getInt(1) == 1;
+            }
+        }
+    }
+
     /**
      * Extrae una zona desde un ResultSet.
      *
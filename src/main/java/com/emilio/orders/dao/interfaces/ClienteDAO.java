@@ -4,6 +4,7 @@
 package com.emilio.orders.dao.interfaces;
 
 import com.emilio.orders.model.Cliente;
+import com.emilio.orders.util.ChunkedList;
 import java.sql.SQLException;
 import java.util.List;
 
@@ -66,4 +67,63 @@ public interface ClienteDAO {
      * @throws SQLException Si ocurre un error al ejecutar la consulta SQL
      */
     double getTotalGastadoPorCliente(int idCliente) throws SQLException;
+
+    /**
+     * Cuenta el número total de clientes registrados sin cargar sus filas.
+     *
+     * @return El número de clientes
+     * @throws SQLException Si ocurre un error al ejecutar la consulta SQL
+     */
+    long countAll() throws SQLException;
+
+    /**
+     * Cuenta los clientes que pertenecen a una zona específica.
+     *
+     * @param idZona El ID de la zona
+     * @return El número de clientes en la zona especificada
+     * @throws SQLException Si ocurre un error al ejecutar la consulta SQL
+     */
+    long countByZona(int idZona) throws SQLException;
+
+    /**
+     * Comprueba si existe un cliente con el ID indicado sin cargar la entidad.
+     *
+     * @param id El ID del cliente
+     * @return true si el cliente existe, false en caso contrario
+     * @throws SQLException Si ocurre un error al ejecutar la consulta SQL
+     */
+    boolean exists(int id) throws SQLException;
+
+    /**
+     * Obtiene un bloque de clientes con ID mayor que el indicado, ordenados por ID.
+     * Permite recorrer la tabla por bloques sin desplazamientos (OFFSET) crecientes.
+     *
+     * @param lastId El ID a partir del cual se leen los clientes (exclusive)
+     * @param limit El número máximo de clientes a devolver
+     * @return Una lista con como mucho limit clientes
+     * @throws SQLException Si ocurre un error al ejecutar la consulta SQL
+     */
+    List<Cliente> getClientesAfterId(int lastId, int limit) throws SQLException;
+
+    /**
+     * Obtiene los IDs de todos los clientes sin cargar el resto de columnas.
+     *
+     * @return Una lista con los IDs de los clientes
+     * @throws SQLException Si ocurre un error al ejecutar la consulta SQL
+     */
+    List<Integer> getAllIds() throws SQLException;
+
+    /**
+     * Devuelve una lista con todos los clientes que se carga por bloques a medida que se recorre,
+     * manteniendo en memoria solo los últimos bloques usados. Alternativa a {@link #getAll()}
+     * para tablas grandes.
+     *
+     * @param chunkSize El número de clientes de cada bloque
+     * @return Una lista de solo lectura con todos los clientes, ordenados por ID
+     * @throws SQLException Si ocurre un error al contar los clientes
+     */
+    default List<Cliente> getAllLazy(int chunkSize) throws SQLException {
+        return new ChunkedList<>(Math.toIntExact(countAll()), chunkSize, ChunkedList.DEFAULT_MAX_CHUNKS,
+                this::getClientesAfterId, Cliente::getIdCliente);
+    }
 }
\ No newline at end of file
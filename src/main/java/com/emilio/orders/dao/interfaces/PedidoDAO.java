@@ -1,9 +1,14 @@
 package com.emilio.orders.dao.interfaces;
 
+import com.emilio.orders.dao.search.Page;
+import com.emilio.orders.dao.search.PedidoSearch;
 import com.emilio.orders.model.Pedido;
+import com.emilio.orders.util.ChunkedList;
 import java.sql.SQLException;
 import java.util.List;
+import java.util.Map;
 import java.time.LocalDate;
+import java.util.concurrent.Flow;
 
 /**
  * Interfaz que define las operaciones de acceso a datos para la entidad {@link Pedido}.
@@ -77,4 +82,118 @@ public interface PedidoDAO {
      * @throws SQLException Si ocurre un error al ejecutar la consulta SQL.
      */
     double getTotalPedidosByCliente(int idCliente) throws SQLException;
+
+    /**
+     * Cuenta el número total de pedidos sin cargar sus filas.
+     *
+     * @return El número de pedidos.
+     * @throws SQLException Si ocurre un error al ejecutar la consulta SQL.
+     */
+    long countAll() throws SQLException;
+
+    /**
+     * Cuenta los pedidos asociados a un cliente específico.
+     *
+     * @param idCliente El identificador del cliente.
+     * @return El número de pedidos del cliente.
+     * @throws SQLException Si ocurre un error al ejecutar la consulta SQL.
+     */
+    long countByCliente(int idCliente) throws SQLException;
+
+    /**
+     * Comprueba si existe un pedido con el identificador indicado sin cargar la entidad.
+     *
+     * @param id El identificador del pedido.
+     * @return true si el pedido existe, false en caso contrario.
+     * @throws SQLException Si ocurre un error al ejecutar la consulta SQL.
+     */
+    boolean exists(int id) throws SQLException;
+
+    /**
+     * Publica todos los pedidos leyéndolos del cursor a medida que el suscriptor los solicita.
+     * Cancelar la suscripción cierra la sentencia y libera la conexión.
+     *
+     * @return Un {@link Flow.Publisher} de objetos {@link Pedido}.
+     */
+    Flow.Publisher<Pedido> publishAll();
+
+    /**
+     * Publica los pedidos de un cliente leyéndolos del cursor a medida que el suscriptor los solicita.
+     *
+     * @param idCliente El identificador del cliente.
+     * @return Un {@link Flow.Publisher} de objetos {@link Pedido}.
+     */
+    Flow.Publisher<Pedido> publishByCliente(int idCliente);
+
+    /**
+     * Busca pedidos que cumplan todos los criterios indicados, ordenados por identificador.
+     *
+     * @param criteria Los criterios de búsqueda; los filtros no establecidos se ignoran.
+     * @param page La página de resultados solicitada.
+     * @return Una lista con los pedidos de la página solicitada.
+     * @throws SQLException Si ocurre un error al ejecutar la consulta SQL.
+     */
+    List<Pedido> search(PedidoSearch criteria, Page page) throws SQLException;
+
+    /**
+     * Obtiene los pedidos de mayor importe que cumplan los criterios indicados.
+     *
+     * @param n Número máximo de pedidos a devolver.
+     * @param filtros Los criterios de búsqueda; los filtros no establecidos se ignoran.
+     * @return Una lista con como mucho n pedidos, de mayor a menor importe.
+     * @throws SQLException Si ocurre un error al ejecutar la consulta SQL.
+     */
+    List<Pedido> getTopPedidosByImporte(int n, PedidoSearch filtros) throws SQLException;
+
+    /**
+     * Obtiene los pedidos más recientes de un cliente.
+     *
+     * @param n Número máximo de pedidos a devolver.
+     * @param idCliente El ID del cliente.
+     * @return Una lista con como mucho n pedidos, del más reciente al más antiguo.
+     * @throws SQLException Si ocurre un error al ejecutar la consulta SQL.
+     */
+    List<Pedido> getLatestPedidos(int n, int idCliente) throws SQLException;
+
+    /**
+     * Obtiene un bloque de pedidos con ID mayor que el indicado, ordenados por ID.
+     * Permite recorrer la tabla por bloques sin desplazamientos (OFFSET) crecientes.
+     *
+     * @param lastId El ID a partir del cual se leen los pedidos (exclusive)
+     * @param limit El número máximo de pedidos a devolver
+     * @return Una lista con como mucho limit pedidos
+     * @throws SQLException Si ocurre un error al ejecutar la consulta SQL
+     */
+    List<Pedido> getPedidosAfterId(int lastId, int limit) throws SQLException;
+
+    /**
+     * Obtiene los IDs de todos los pedidos sin cargar el resto de columnas.
+     *
+     * @return Una lista con los IDs de los pedidos
+     * @throws SQLException Si ocurre un error al ejecutar la consulta SQL
+     */
+    List<Integer> getAllIds() throws SQLException;
+
+    /**
+     * Obtiene el importe total de los pedidos de cada cliente en una sola consulta agrupada.
+     * Los clientes sin pedidos no aparecen en el resultado.
+     *
+     * @return Un mapa con el total de pedidos por ID de cliente
+     * @throws SQLException Si ocurre un error al ejecutar la consulta SQL
+     */
+    Map<Integer, Double> getTotalesPorCliente() throws SQLException;
+
+    /**
+     * Devuelve una lista con todos los pedidos que se carga por bloques a medida que se recorre,
+     * manteniendo en memoria solo los últimos bloques usados. Alternativa a {@link #getAll()}
+     * para tablas grandes.
+     *
+     * @param chunkSize El número de pedidos de cada bloque
+     * @return Una lista de solo lectura con todos los pedidos, ordenados por ID
+     * @throws SQLException Si ocurre un error al contar los pedidos
+     */
+    default List<Pedido> getAllLazy(int chunkSize) throws SQLException {
+        return new ChunkedList<>(Math.toIntExact(countAll()), chunkSize, ChunkedList.DEFAULT_MAX_CHUNKS,
+                this::getPedidosAfterId, Pedido::getIdPedido);
+    }
 }
\ No newline at end of file
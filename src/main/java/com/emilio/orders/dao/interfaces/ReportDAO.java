@@ -0,0 +1,58 @@
+package com.emilio.orders.dao.interfaces;
+
+import com.emilio.orders.dao.report.VentasPeriodo;
+import com.emilio.orders.dao.report.VentasZona;
+
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+
+/**
+ * Interfaz DAO (Data Access Object) para los informes agregados.
+ * Cada informe se calcula en la base de datos, con una sola consulta o, si tiene que recorrer
+ * todos los pedidos, con una consulta por partición en paralelo.
+ */
+public interface ReportDAO {
+    /**
+     * Obtiene los ingresos, el número de pedidos y el de clientes de cada zona de envío.
+     *
+     * @return Una lista con una entrada por zona, incluidas las que no tienen ventas,
+     *         ordenada de mayor a menor ingreso.
+     * @throws SQLException Si ocurre un error en la operación de consulta.
+     */
+    List<VentasZona> getVentasPorZona() throws SQLException;
+
+    /**
+     * Obtiene los ingresos y el número de pedidos de cada zona de envío entre dos fechas, y el
+     * número de clientes de cada zona.
+     *
+     * @param desde Primer día, incluido.
+     * @param hasta Último día, incluido.
+     * @return Una lista con una entrada por zona, incluidas las que no tienen ventas en el periodo,
+     *         ordenada de mayor a menor ingreso.
+     * @throws SQLException Si ocurre un error en la operación de consulta.
+     */
+    List<VentasZona> getVentasPorZona(LocalDate desde, LocalDate hasta) throws SQLException;
+
+    /**
+     * Obtiene los ingresos y el número de pedidos de cada día y zona entre dos fechas.
+     *
+     * @param desde Primer día, incluido.
+     * @param hasta Último día, incluido.
+     * @return Las ventas ordenadas por día y zona; solo aparecen los días y zonas con algún pedido.
+     * @throws SQLException Si ocurre un error en la operación de consulta.
+     */
+    List<VentasPeriodo> getVentasDiarias(LocalDate desde, LocalDate hasta) throws SQLException;
+
+    /**
+     * Obtiene los ingresos y el número de pedidos de cada mes y zona entre dos meses.
+     *
+     * @param desde Primer mes, incluido.
+     * @param hasta Último mes, incluido.
+     * @return Las ventas ordenadas por mes y zona, con el día 1 del mes como inicio; solo aparecen
+     *         los meses y zonas con algún pedido.
+     * @throws SQLException Si ocurre un error en la operación de consulta.
+     */
+    List<VentasPeriodo> getVentasMensuales(YearMonth desde, YearMonth hasta) throws SQLException;
+}
\ No newline at end of file
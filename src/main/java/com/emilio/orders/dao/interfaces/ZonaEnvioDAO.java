@@ -49,4 +49,21 @@ public interface ZonaEnvioDAO {
      * @throws SQLException Si ocurre un error en la operación de eliminación.
      */
     void delete(int id) throws SQLException;
+
+    /**
+     * Cuenta el número total de zonas de envío.
+     *
+     * @return El número de zonas de envío.
+     * @throws SQLException Si ocurre un error en la operación de consulta.
+     */
+    long countAll() throws SQLException;
+
+    /**
+     * Comprueba si existe una zona de envío con el ID indicado.
+     *
+     * @param id El ID de la zona de envío.
+     * @return true si la zona existe, false en caso contrario.
+     * @throws SQLException Si ocurre un error en la operación de consulta.
+     */
+    boolean exists(int id) throws SQLException;
 }
\ No newline at end of file
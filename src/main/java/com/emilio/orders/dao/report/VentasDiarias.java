@@ -0,0 +1,202 @@
+package com.emilio.orders.dao.report;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Clase utils que mantiene y consulta la tabla Ventas_Diarias, con las ventas por día y zona de envío.
+ * <p>
+ * La tabla se actualiza de forma incremental: Ventas_Diarias_Estado guarda el ID del último pedido
+ * agregado y al actualizar solo se agregan los pedidos posteriores. Las inserciones, modificaciones y
+ * eliminaciones que afectan a pedidos ya agregados (incluidos los cambios de zona y los borrados de
+ * clientes) las anotan unos triggers en Ventas_Diarias_Cambios como sumas y restas, que se aplican
+ * también al actualizar. Ambas partes se aplican en una transacción, así que la tabla nunca refleja
+ * una actualización a medias. Las tablas y los triggers los crea {@code SchemaMigrations}.
+ * <p>
+ * La transacción empieza con {@code BEGIN IMMEDIATE}, que reserva la escritura antes de leer el estado:
+ * en una transacción diferida que lee y luego escribe, SQLite responde SQLITE_BUSY sin esperar si otra
+ * conexión ha escrito entre medias. Así, las actualizaciones simultáneas se esperan unas a otras.
+ */
+public final class VentasDiarias {
+    private static final Logger logger = LoggerFactory.getLogger(VentasDiarias.class);
+
+    private static final String SELECT_ESTADO =
+        "SELECT ultimo_pedido, (SELECT MAX(id_pedido) FROM Pedidos), (SELECT MAX(id) FROM Ventas_Diarias_Cambios) "
+        + "FROM Ventas_Diarias_Estado";
+    private static final String UPSERT_PEDIDOS =
+        "INSERT INTO Ventas_Diarias (fecha, id_zona, ingresos, num_pedidos) "
+        + "SELECT p.fecha, c.id_zona, ROUND(SUM(p.importe_total), 2), COUNT(*) "
+        + "FROM Pedidos p JOIN Clientes c ON c.id_cliente = p.id_cliente "
+        + "WHERE p.id_pedido > ? AND p.id_pedido <= ? "
+        + "GROUP BY p.fecha, c.id_zona " + sumar();
+    private static final String UPSERT_CAMBIOS =
+        "INSERT INTO Ventas_Diarias (fecha, id_zona, ingresos, num_pedidos) "
+        + "SELECT fecha, id_zona, ROUND(SUM(ingresos), 2), SUM(num_pedidos) FROM Ventas_Diarias_Cambios WHERE id <= ? "
+        + "GROUP BY fecha, id_zona " + sumar();
+    private static final String UPDATE_ESTADO = "UPDATE Ventas_Diarias_Estado SET ultimo_pedido = ?";
+    private static final String DELETE_CAMBIOS = "DELETE FROM Ventas_Diarias_Cambios WHERE id <= ?";
+    private static final String DELETE_VACIAS = "DELETE FROM Ventas_Diarias WHERE num_pedidos <= 0";
+    private static final String SELECT_SERIE =
+        "SELECT fecha, id_zona, ingresos, num_pedidos FROM Ventas_Diarias "
+        + "WHERE fecha >= ? AND fecha <= ? ORDER BY fecha, id_zona";
+
+    private VentasDiarias() {
+    }
+
+    /**
+     * Agrega los pedidos nuevos y aplica los cambios anotados desde la última actualización.
+     * Si ya está al día no abre ninguna transacción de escritura.
+     *
+     * @param connection Conexión a la base de datos, sin una transacción en curso; se restaura su modo
+     *                   de autocommit al terminar.
+     * @return El número de filas de Ventas_Diarias actualizadas; 0 si ya estaba al día.
+     * @throws SQLException Si ocurre un error; en ese caso la tabla queda como estaba.
+     */
+    public static int refresh(Connection connection) throws SQLException {
+        if (!pendiente(estado(connection))) {
+            return 0;
+        }
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(true); // La transacción se controla con BEGIN IMMEDIATE y COMMIT
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute("BEGIN IMMEDIATE");
+            try {
+                int aplicados = aplicar(connection, estado(connection)); // Otra conexión puede haberse adelantado
+                stmt.execute("COMMIT");
+                if (aplicados > 0) {
+                    logger.debug("Ventas diarias actualizadas: {} filas", aplicados);
+                }
+                return aplicados;
+            } catch (SQLException e) {
+                try {
+                    stmt.execute("ROLLBACK");
+                } catch (SQLException rollback) {
+                    e.addSuppressed(rollback);
+                }
+                throw e;
+            }
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+    }
+
+    /**
+     * Lee el último pedido agregado, el último pedido existente y el último cambio anotado.
+     */
+    private static long[] estado(Connection connection) throws SQLException {
+        try (Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery(SELECT_ESTADO)) {
+            if (!rs.next()) {
+                throw new SQLException("Falta la migración de Ventas_Diarias");
+            }
+            return new long[] {rs.getLong(1), rs.getLong(2), rs.getLong(3)};
+        }
+    }
+
+    private static boolean pendiente(long[] estado) {
+        return estado[1] > estado[0] || estado[2] > 0;
+    }
+
+    /**
+     * Aplica los pedidos nuevos y los cambios anotados dentro de la transacción en curso.
+     */
+    private static int aplicar(Connection connection, long[] estado) throws SQLException {
+        long ultimoPedido = estado[0];
+        long maxPedido = estado[1];
+        long maxCambio = estado[2];
+
+        int aplicados = 0;
+        if (maxPedido > ultimoPedido) {
+            aplicados += execute(connection, UPSERT_PEDIDOS, ultimoPedido, maxPedido);
+            execute(connection, UPDATE_ESTADO, maxPedido);
+        }
+        if (maxCambio > 0) {
+            aplicados += execute(connection, UPSERT_CAMBIOS, maxCambio);
+            execute(connection, DELETE_CAMBIOS, maxCambio);
+        }
+        if (aplicados > 0) {
+            execute(connection, DELETE_VACIAS);
+        }
+        return aplicados;
+    }
+
+    /**
+     * Obtiene las ventas de cada día y zona entre dos fechas, ambas incluidas. Solo aparecen los días
+     * y zonas con algún pedido.
+     *
+     * @param connection Conexión a la base de datos.
+     * @param desde Primer día.
+     * @param hasta Último día.
+     * @return Las ventas ordenadas por día y zona.
+     * @throws SQLException Si ocurre un error durante la consulta.
+     */
+    public static List<VentasPeriodo> getSerie(Connection connection, LocalDate desde, LocalDate hasta)
+            throws SQLException {
+        List<VentasPeriodo> serie = new ArrayList<>();
+        try (PreparedStatement stmt = connection.prepareStatement(SELECT_SERIE)) {
+            stmt.setDate(1, Date.valueOf(desde));
+            stmt.setDate(2, Date.valueOf(hasta));
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    serie.add(new VentasPeriodo(
+                            rs.getDate("fecha").toLocalDate(),
+                            rs.getInt("id_zona"),
+                            rs.getDouble("ingresos"),
+                            rs.getLong("num_pedidos")));
+                }
+            }
+        }
+        return serie;
+    }
+
+    /**
+     * Suma por meses una serie diaria.
+     *
+     * @param diarias Ventas por día y zona, ordenadas por día.
+     * @return Las ventas de cada mes y zona, ordenadas por mes y zona; el inicio es el día 1 del mes.
+     */
+    public static List<VentasPeriodo> porMes(List<VentasPeriodo> diarias) {
+        Map<LocalDate, Map<Integer, double[]>> meses = new LinkedHashMap<>();
+        for (VentasPeriodo dia : diarias) {
+            double[] suma = meses.computeIfAbsent(dia.getInicio().withDayOfMonth(1), mes -> new TreeMap<>())
+                    .computeIfAbsent(dia.getIdZona(), zona -> new double[2]);
+            suma[0] += dia.getIngresos();
+            suma[1] += dia.getNumPedidos();
+        }
+        List<VentasPeriodo> serie = new ArrayList<>();
+        meses.forEach((mes, zonas) -> zonas.forEach((zona, suma) ->
+                serie.add(new VentasPeriodo(mes, zona, Math.round(suma[0] * 100) / 100.0, (long) suma[1]))));
+        return serie;
+    }
+
+    /**
+     * Cláusula que suma a la fila existente en lugar de reemplazarla.
+     */
+    private static String sumar() {
+        return "ON CONFLICT (fecha, id_zona) DO UPDATE SET "
+                + "ingresos = ROUND(ingresos + excluded.ingresos, 2), "
+                + "num_pedidos = num_pedidos + excluded.num_pedidos";
+    }
+
+    private static int execute(Connection connection, String sql, long... params) throws SQLException {
+        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+            for (int i = 0; i < params.length; i++) {
+                stmt.setLong(i + 1, params[i]);
+            }
+            return stmt.executeUpdate();
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,42 @@
+package com.emilio.orders.dao.report;
+
+import java.time.LocalDate;
+
+/**
+ * Clase que representa las ventas de una zona de envío en un periodo (un día o un mes).
+ * Es inmutable; se crea a partir de una fila de Ventas_Diarias o de la suma de varias.
+ */
+public class VentasPeriodo {
+    private final LocalDate inicio;
+    private final int idZona;
+    private final double ingresos;
+    private final long numPedidos;
+
+    /**
+     * Constructor de la clase VentasPeriodo.
+     *
+     * @param inicio Primer día del periodo.
+     * @param idZona ID de la zona.
+     * @param ingresos Suma del importe de los pedidos del periodo.
+     * @param numPedidos Número de pedidos del periodo.
+     */
+    public VentasPeriodo(LocalDate inicio, int idZona, double ingresos, long numPedidos) {
+        this.inicio = inicio;
+        this.idZona = idZona;
+        this.ingresos = ingresos;
+        this.numPedidos = numPedidos;
+    }
+
+    public LocalDate getInicio() { return inicio; }
+
+    public int getIdZona() { return idZona; }
+
+    public double getIngresos() { return ingresos; }
+
+    public long getNumPedidos() { return numPedidos; }
+
+    @Override
+    public String toString() {
+        return String.format("%s zona %d: %.2f€ en %d pedidos", inicio, idZona, ingresos, numPedidos);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,91 @@
+package com.emilio.orders.dao.report;
+
+import com.emilio.orders.config.DatabaseConfig;
+import com.emilio.orders.util.ParallelQueryExecutor;
+import com.emilio.orders.util.QueryUtils;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Clase utils que calcula las ventas de cada zona de envío en un periodo recorriendo los pedidos.
+ * <p>
+ * A diferencia del informe sin fechas, que suma los totales precalculados de cada cliente, aquí hay
+ * que leer todos los pedidos, así que el recorrido se reparte por rangos de ID entre varias
+ * conexiones con un {@link ParallelQueryExecutor} y se suman los resultados de cada rango.
+ */
+public final class VentasPorZona {
+
+    private VentasPorZona() {
+    }
+
+    /**
+     * Calcula los ingresos y el número de pedidos de cada zona entre dos fechas.
+     *
+     * @param databaseConfig Configuración de la base de datos, para leer las zonas.
+     * @param executor Ejecutor que reparte el recorrido de los pedidos.
+     * @param desde Primer día, incluido.
+     * @param hasta Último día, incluido.
+     * @return Una entrada por zona, incluidas las que no tienen ventas, de mayor a menor ingreso.
+     * @throws SQLException Si ocurre un error durante la consulta.
+     */
+    public static List<VentasZona> calcular(DatabaseConfig databaseConfig, ParallelQueryExecutor executor,
+                                            LocalDate desde, LocalDate hasta) throws SQLException {
+        Map<Integer, double[]> ventas = executor.execute("Pedidos",
+                (conn, primero, ultimo) -> particion(conn, primero, ultimo, desde, hasta),
+                VentasPorZona::sumar);
+
+        List<VentasZona> zonas = new ArrayList<>();
+        try (Connection conn = databaseConfig.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(QueryUtils.SELECT_CLIENTES_POR_ZONA);
+             ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) {
+                double[] zona = ventas.getOrDefault(rs.getInt("id_zona"), new double[2]);
+                zonas.add(new VentasZona(
+                        rs.getInt("id_zona"),
+                        rs.getString("nombre_zona"),
+                        Math.round(zona[0] * 100) / 100.0,
+                        (long) zona[1],
+                        rs.getLong("num_clientes")));
+            }
+        }
+        zonas.sort(Comparator.comparingDouble(VentasZona::getIngresos).reversed());
+        return zonas;
+    }
+
+    /**
+     * Suma por zona los pedidos de un rango de IDs: ingresos y número de pedidos.
+     */
+    private static Map<Integer, double[]> particion(Connection conn, long primero, long ultimo,
+                                                    LocalDate desde, LocalDate hasta) throws SQLException {
+        Map<Integer, double[]> ventas = new HashMap<>();
+        try (PreparedStatement stmt = conn.prepareStatement(QueryUtils.SELECT_VENTAS_ZONA_PARTICION)) {
+            stmt.setLong(1, primero);
+            stmt.setLong(2, ultimo);
+            stmt.setDate(3, Date.valueOf(desde));
+            stmt.setDate(4, Date.valueOf(hasta));
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    ventas.put(rs.getInt("id_zona"),
+                            new double[] {rs.getDouble("ingresos"), rs.getLong("num_pedidos")});
+                }
+            }
+        }
+        return ventas;
+    }
+
+    private static Map<Integer, double[]> sumar(Map<Integer, double[]> a, Map<Integer, double[]> b) {
+        b.forEach((zona, ventas) -> a.merge(zona, ventas,
+                (x, y) -> new double[] {x[0] + y[0], x[1] + y[1]}));
+        return a;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,54 @@
+package com.emilio.orders.dao.report;
+
+/**
+ * Clase que representa las ventas acumuladas de una zona de envío: ingresos, pedidos y clientes.
+ * Es inmutable; se crea a partir de una fila del informe agregado.
+ */
+public class VentasZona {
+    private final int idZona;
+    private final String nombreZona;
+    private final double ingresos;
+    private final long numPedidos;
+    private final long numClientes;
+
+    /**
+     * Constructor de la clase VentasZona.
+     *
+     * @param idZona ID de la zona.
+     * @param nombreZona Nombre de la zona.
+     * @param ingresos Suma del importe de los pedidos de los clientes de la zona.
+     * @param numPedidos Número de pedidos de los clientes de la zona.
+     * @param numClientes Número de clientes de la zona, tengan pedidos o no.
+     */
+    public VentasZona(int idZona, String nombreZona, double ingresos, long numPedidos, long numClientes) {
+        this.idZona = idZona;
+        this.nombreZona = nombreZona;
+        this.ingresos = ingresos;
+        this.numPedidos = numPedidos;
+        this.numClientes = numClientes;
+    }
+
+    public int getIdZona() { return idZona; }
+
+    public String getNombreZona() { return nombreZona; }
+
+    public double getIngresos() { return ingresos; }
+
+    public long getNumPedidos() { return numPedidos; }
+
+    public long getNumClientes() { return numClientes; }
+
+    /**
+     * Obtiene el importe medio por pedido.
+     *
+     * @return Los ingresos entre el número de pedidos, o 0 si la zona no tiene pedidos.
+     */
+    public double getTicketMedio() {
+        return numPedidos == 0 ? 0 : ingresos / numPedidos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: %.2f€ en %d pedidos de %d clientes", nombreZona, ingresos, numPedidos, numClientes);
+    }
+}
\ No newline at end of file
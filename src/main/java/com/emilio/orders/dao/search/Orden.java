@@ -0,0 +1,33 @@
+package com.emilio.orders.dao.search;
+
+/**
+ * Enumeración que representa el orden en que se devuelven los pedidos de una búsqueda.
+ * Cada orden incluye el identificador como desempate para que la paginación sea estable.
+ */
+public enum Orden {
+    ID("p.id_pedido", "p.idPedido"),
+    IMPORTE_DESC("p.importe_total DESC, p.id_pedido DESC", "p.importeTotal DESC, p.idPedido DESC"),
+    FECHA_DESC("p.fecha DESC, p.id_pedido DESC", "p.fecha DESC, p.idPedido DESC");
+
+    private final String sql; // Cláusula ORDER BY en SQL
+    private final String hql; // Cláusula ORDER BY en HQL
+
+    Orden(String sql, String hql) {
+        this.sql = sql;
+        this.hql = hql;
+    }
+
+    /**
+     * Devuelve las columnas de ordenación en SQL.
+     *
+     * @return La cláusula ORDER BY sin la palabra clave.
+     */
+    public String getSql() { return sql; }
+
+    /**
+     * Devuelve las propiedades de ordenación en HQL.
+     *
+     * @return La cláusula ORDER BY sin la palabra clave.
+     */
+    public String getHql() { return hql; }
+}
\ No newline at end of file
@@ -0,0 +1,85 @@
+package com.emilio.orders.dao.search;
+
+/**
+ * Clase que representa una página de resultados (número de página y tamaño).
+ */
+public class Page {
+    private final int number; // Número de página, empezando en 0
+    private final int size; // Número máximo de elementos por página
+
+    /**
+     * Constructor privado; se utiliza {@link #of(int, int)}.
+     *
+     * @param number Número de página.
+     * @param size Tamaño de página.
+     */
+    private Page(int number, int size) {
+        this.number = number;
+        this.size = size;
+    }
+
+    /**
+     * Crea una página validando sus valores.
+     *
+     * @param number Número de página, empezando en 0.
+     * @param size Número máximo de elementos por página.
+     * @return La página solicitada.
+     * @throws IllegalArgumentException Si algún valor es inválido o el desplazamiento no cabe en un int.
+     */
+    public static Page of(int number, int size) {
+        if (number < 0) {
+            throw new IllegalArgumentException("El número de página no puede ser negativo");
+        }
+        if (size <= 0) {
+            throw new IllegalArgumentException("El tamaño de página debe ser positivo");
+        }
+        try {
+            Math.multiplyExact(number, size); // El desplazamiento se pasa como int a JDBC e Hibernate
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("La página " + number + " de tamaño " + size
+                    + " queda fuera del rango de resultados admitido", e);
+        }
+        return new Page(number, size);
+    }
+
+    /**
+     * Crea la primera página con el tamaño indicado.
+     *
+     * @param size Número máximo de elementos.
+     * @return La primera página.
+     */
+    public static Page first(int size) {
+        return of(0, size);
+    }
+
+    /**
+     * Devuelve el número de página.
+     *
+     * @return El número de página.
+     */
+    public int getNumber() { return number; }
+
+    /**
+     * Devuelve el tamaño de página.
+     *
+     * @return El tamaño de página.
+     */
+    public int getSize() { return size; }
+
+    /**
+     * Devuelve la posición del primer elemento de la página.
+     *
+     * @return El desplazamiento dentro del resultado completo.
+     */
+    public int getOffset() { return number * size; }
+
+    /**
+     * Devuelve la página siguiente con el mismo tamaño.
+     *
+     * @return La página siguiente.
+     * @throws IllegalArgumentException Si el desplazamiento de la página siguiente no cabe en un int.
+     */
+    public Page next() {
+        return of(number + 1, size);
+    }
+}
@@ -0,0 +1,186 @@
+package com.emilio.orders.dao.search;
+
+import java.time.LocalDate;
+
+/**
+ * Clase que representa los criterios de búsqueda de pedidos.
+ * Todos los filtros son opcionales; un criterio sin filtros equivale a listar todos los pedidos.
+ */
+public class PedidoSearch {
+    private final Double importeMin; // Importe mínimo (inclusive)
+    private final Double importeMax; // Importe máximo (inclusive)
+    private final LocalDate fechaDesde; // Fecha inicial (inclusive)
+    private final LocalDate fechaHasta; // Fecha final (inclusive)
+    private final Integer idCliente; // Cliente que realizó el pedido
+    private final Integer idZona; // Zona de envío del cliente
+    private final String nombreCliente; // Texto contenido en el nombre del cliente
+
+    /**
+     * Constructor privado que utiliza el patrón Builder.
+     *
+     * @param builder El objeto Builder que contiene los criterios.
+     */
+    private PedidoSearch(Builder builder) {
+        this.importeMin = builder.importeMin;
+        this.importeMax = builder.importeMax;
+        this.fechaDesde = builder.fechaDesde;
+        this.fechaHasta = builder.fechaHasta;
+        this.idCliente = builder.idCliente;
+        this.idZona = builder.idZona;
+        this.nombreCliente = builder.nombreCliente;
+    }
+
+    /**
+     * Devuelve el importe mínimo, o null si no se filtra por él.
+     *
+     * @return El importe mínimo.
+     */
+    public Double getImporteMin() { return importeMin; }
+
+    /**
+     * Devuelve el importe máximo, o null si no se filtra por él.
+     *
+     * @return El importe máximo.
+     */
+    public Double getImporteMax() { return importeMax; }
+
+    /**
+     * Devuelve la fecha inicial del rango, o null si no se filtra por ella.
+     *
+     * @return La fecha inicial.
+     */
+    public LocalDate getFechaDesde() { return fechaDesde; }
+
+    /**
+     * Devuelve la fecha final del rango, o null si no se filtra por ella.
+     *
+     * @return La fecha final.
+     */
+    public LocalDate getFechaHasta() { return fechaHasta; }
+
+    /**
+     * Devuelve el ID del cliente, o null si no se filtra por él.
+     *
+     * @return El ID del cliente.
+     */
+    public Integer getIdCliente() { return idCliente; }
+
+    /**
+     * Devuelve el ID de la zona de envío, o null si no se filtra por ella.
+     *
+     * @return El ID de la zona.
+     */
+    public Integer getIdZona() { return idZona; }
+
+    /**
+     * Devuelve el texto a buscar en el nombre del cliente, o null si no se filtra por él.
+     *
+     * @return El texto a buscar.
+     */
+    public String getNombreCliente() { return nombreCliente; }
+
+    /**
+     * Clase interna que implementa el patrón Builder para crear instancias de PedidoSearch.
+     */
+    public static class Builder {
+        private Double importeMin;
+        private Double importeMax;
+        private LocalDate fechaDesde;
+        private LocalDate fechaHasta;
+        private Integer idCliente;
+        private Integer idZona;
+        private String nombreCliente;
+
+        /**
+         * Establece el importe mínimo (inclusive).
+         *
+         * @param importeMin El importe mínimo.
+         * @return El objeto Builder para encadenamiento.
+         */
+        public Builder importeMin(double importeMin) {
+            this.importeMin = importeMin;
+            return this;
+        }
+
+        /**
+         * Establece el importe máximo (inclusive).
+         *
+         * @param importeMax El importe máximo.
+         * @return El objeto Builder para encadenamiento.
+         */
+        public Builder importeMax(double importeMax) {
+            this.importeMax = importeMax;
+            return this;
+        }
+
+        /**
+         * Establece la fecha inicial del rango (inclusive).
+         *
+         * @param fechaDesde La fecha inicial.
+         * @return El objeto Builder para encadenamiento.
+         */
+        public Builder fechaDesde(LocalDate fechaDesde) {
+            this.fechaDesde = fechaDesde;
+            return this;
+        }
+
+        /**
+         * Establece la fecha final del rango (inclusive).
+         *
+         * @param fechaHasta La fecha final.
+         * @return El objeto Builder para encadenamiento.
+         */
+        public Builder fechaHasta(LocalDate fechaHasta) {
+            this.fechaHasta = fechaHasta;
+            return this;
+        }
+
+        /**
+         * Filtra por el cliente que realizó el pedido.
+         *
+         * @param idCliente El ID del cliente.
+         * @return El objeto Builder para encadenamiento.
+         */
+        public Builder idCliente(int idCliente) {
+            this.idCliente = idCliente;
+            return this;
+        }
+
+        /**
+         * Filtra por la zona de envío del cliente.
+         *
+         * @param idZona El ID de la zona.
+         * @return El objeto Builder para encadenamiento.
+         */
+        public Builder idZona(int idZona) {
+            this.idZona = idZona;
+            return this;
+        }
+
+        /**
+         * Filtra por un texto contenido en el nombre del cliente. Un texto vacío no filtra.
+         *
+         * @param nombreCliente El texto a buscar.
+         * @return El objeto Builder para encadenamiento.
+         */
+        public Builder nombreCliente(String nombreCliente) {
+            this.nombreCliente = (nombreCliente == null || nombreCliente.isBlank()) ? null : nombreCliente.trim();
+            return this;
+        }
+
+        /**
+         * Construye una instancia de PedidoSearch validando la coherencia de los rangos.
+         *
+         * @return Una nueva instancia de PedidoSearch.
+         */
+        public PedidoSearch build() {
+            if (importeMin != null && importeMax != null && importeMin > importeMax) {
+                throw new IllegalStateException("El importe mínimo no puede superar al máximo");
+            }
+            if (fechaDesde != null && fechaHasta != null && fechaDesde.isAfter(fechaHasta)) {
+                throw new IllegalStateException("La fecha inicial no puede ser posterior a la final");
+            }
+            return new PedidoSearch(this);
+        }
+    }
+}
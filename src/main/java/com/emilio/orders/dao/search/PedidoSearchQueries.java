@@ -0,0 +1,208 @@
+package com.emilio.orders.dao.search;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Clase utils que genera las consultas de búsqueda de pedidos a partir de un {@link PedidoSearch}.
+ * <p>
+ * Cada combinación de filtros activos (la "forma" de la búsqueda) produce siempre el mismo texto
+ * SQL/HQL con solo las condiciones necesarias, y el JOIN con Clientes únicamente cuando se filtra por
+ * zona o por nombre. Los textos se generan una vez por forma y se reutilizan, de modo que el driver
+ * y Hibernate ven un número pequeño y fijo de sentencias distintas.
+ * <p>
+ * Índices que dan soporte a las formas admitidas (ver pedidos.sql y las anotaciones de las entidades):
+ * <ul>
+ *     <li>Pedidos(id_cliente, fecha): cliente, cliente + rango de fechas y zona/nombre tras el JOIN;
+ *     también los pedidos más recientes de un cliente.</li>
+ *     <li>Pedidos(id_cliente, importe_total): pedidos de mayor importe de un cliente.</li>
+ *     <li>Pedidos(fecha, importe_total): rango de fechas, con o sin rango de importes.</li>
+ *     <li>Pedidos(importe_total): rango de importes y pedidos de mayor importe.</li>
+ *     <li>Clientes(id_zona): zona.</li>
+ * </ul>
+ * Cuando el índice ya entrega las filas en el {@link Orden} pedido, SQLite se detiene tras leer
+ * las filas de la página, de modo que una consulta "top N" solo recorre N entradas del índice.
+ * El filtro por texto en el nombre no puede usar índices (LIKE con comodín inicial), pero se evalúa
+ * sobre Clientes y no sobre Pedidos.
+ */
+public class PedidoSearchQueries {
+    // Bits que identifican cada filtro dentro de la forma de la búsqueda
+    static final int CLIENTE = 1;
+    static final int ZONA = 1 << 1;
+    static final int FECHA_DESDE = 1 << 2;
+    static final int FECHA_HASTA = 1 << 3;
+    static final int IMPORTE_MIN = 1 << 4;
+    static final int IMPORTE_MAX = 1 << 5;
+    static final int NOMBRE = 1 << 6;
+    // Desplazamiento del orden dentro de la clave de la caché de consultas
+    private static final int ORDEN_SHIFT = 7;
+
+    private static final ConcurrentMap<Integer, String> SQL_CACHE = new ConcurrentHashMap<>();
+    private static final ConcurrentMap<Integer, String> HQL_CACHE = new ConcurrentHashMap<>();
+
+    private PedidoSearchQueries() {
+    }
+
+    /**
+     * Calcula la forma de la búsqueda, es decir, el conjunto de filtros activos.
+     *
+     * @param criteria Criterios de búsqueda.
+     * @return Máscara de bits con los filtros activos.
+     */
+    public static int shape(PedidoSearch criteria) {
+        int shape = 0;
+        if (criteria.getIdCliente() != null) shape |= CLIENTE;
+        if (criteria.getIdZona() != null) shape |= ZONA;
+        if (criteria.getFechaDesde() != null) shape |= FECHA_DESDE;
+        if (criteria.getFechaHasta() != null) shape |= FECHA_HASTA;
+        if (criteria.getImporteMin() != null) shape |= IMPORTE_MIN;
+        if (criteria.getImporteMax() != null) shape |= IMPORTE_MAX;
+        if (criteria.getNombreCliente() != null) shape |= NOMBRE;
+        return shape;
+    }
+
+    /**
+     * Devuelve la consulta SQL para los criterios indicados, con LIMIT y OFFSET como últimos parámetros.
+     *
+     * @param criteria Criterios de búsqueda.
+     * @return Consulta SQL parametrizada.
+     */
+    public static String sql(PedidoSearch criteria) {
+        return sql(criteria, Orden.ID);
+    }
+
+    /**
+     * Devuelve la consulta SQL para los criterios y el orden indicados.
+     *
+     * @param criteria Criterios de búsqueda.
+     * @param orden Orden de los resultados.
+     * @return Consulta SQL parametrizada.
+     */
+    public static String sql(PedidoSearch criteria, Orden orden) {
+        return SQL_CACHE.computeIfAbsent(key(criteria, orden), PedidoSearchQueries::buildSql);
+    }
+
+    /**
+     * Devuelve la consulta HQL para los criterios indicados, con parámetros posicionales ?1, ?2...
+     * La paginación se aplica con setFirstResult/setMaxResults.
+     *
+     * @param criteria Criterios de búsqueda.
+     * @return Consulta HQL parametrizada.
+     */
+    public static String hql(PedidoSearch criteria) {
+        return hql(criteria, Orden.ID);
+    }
+
+    /**
+     * Devuelve la consulta HQL para los criterios y el orden indicados.
+     *
+     * @param criteria Criterios de búsqueda.
+     * @param orden Orden de los resultados.
+     * @return Consulta HQL parametrizada.
+     */
+    public static String hql(PedidoSearch criteria, Orden orden) {
+        return HQL_CACHE.computeIfAbsent(key(criteria, orden), PedidoSearchQueries::buildHql);
+    }
+
+    /**
+     * Devuelve los valores de los parámetros en el mismo orden en que aparecen en la consulta.
+     *
+     * @param criteria Criterios de búsqueda.
+     * @return Lista de valores de los parámetros.
+     */
+    public static List<Object> parameters(PedidoSearch criteria) {
+        List<Object> params = new ArrayList<>();
+        if (criteria.getIdCliente() != null) params.add(criteria.getIdCliente());
+        if (criteria.getIdZona() != null) params.add(criteria.getIdZona());
+        if (criteria.getFechaDesde() != null) params.add(criteria.getFechaDesde());
+        if (criteria.getFechaHasta() != null) params.add(criteria.getFechaHasta());
+        if (criteria.getImporteMin() != null) params.add(criteria.getImporteMin());
+        if (criteria.getImporteMax() != null) params.add(criteria.getImporteMax());
+        if (criteria.getNombreCliente() != null) params.add(likePattern(criteria.getNombreCliente()));
+        return params;
+    }
+
+    /**
+     * Asigna los parámetros de búsqueda y de paginación a una sentencia creada con {@link #sql}.
+     *
+     * @param stmt Sentencia preparada.
+     * @param criteria Criterios de búsqueda.
+     * @param page Página solicitada.
+     * @throws SQLException Si ocurre un error al asignar los parámetros.
+     */
+    public static void bind(PreparedStatement stmt, PedidoSearch criteria, Page page) throws SQLException {
+        int index = 1;
+        for (Object param : parameters(criteria)) {
+            if (param instanceof LocalDate fecha) {
+                stmt.setDate(index++, Date.valueOf(fecha));
+            } else {
+                stmt.setObject(index++, param);
+            }
+        }
+        stmt.setInt(index++, page.getSize());
+        stmt.setInt(index, page.getOffset());
+    }
+
+    private static int key(PedidoSearch criteria, Orden orden) {
+        return shape(criteria) | orden.ordinal() << ORDEN_SHIFT;
+    }
+
+    private static Orden orden(int key) {
+        return Orden.values()[key >>> ORDEN_SHIFT];
+    }
+
+    private static String buildSql(int shape) {
+        StringBuilder sql = new StringBuilder("SELECT p.* FROM Pedidos p");
+        if ((shape & (ZONA | NOMBRE)) != 0) {
+            sql.append(" JOIN Clientes c ON c.id_cliente = p.id_cliente");
+        }
+        List<String> conditions = new ArrayList<>();
+        if ((shape & CLIENTE) != 0) conditions.add("p.id_cliente = ?");
+        if ((shape & ZONA) != 0) conditions.add("c.id_zona = ?");
+        if ((shape & FECHA_DESDE) != 0) conditions.add("p.fecha >= ?");
+        if ((shape & FECHA_HASTA) != 0) conditions.add("p.fecha <= ?");
+        if ((shape & IMPORTE_MIN) != 0) conditions.add("p.importe_total >= ?");
+        if ((shape & IMPORTE_MAX) != 0) conditions.add("p.importe_total <= ?");
+        if ((shape & NOMBRE) != 0) conditions.add("c.nombre LIKE ? ESCAPE '\\'");
+        if (!conditions.isEmpty()) {
+            sql.append(" WHERE ").append(String.join(" AND ", conditions));
+        }
+        sql.append(" ORDER BY ").append(orden(shape).getSql()).append(" LIMIT ? OFFSET ?");
+        return sql.toString();
+    }
+
+    private static String buildHql(int shape) {
+        StringBuilder hql = new StringBuilder("SELECT p FROM Pedido p");
+        if ((shape & (ZONA | NOMBRE)) != 0) {
+            hql.append(" JOIN Cliente c ON c.idCliente = p.idCliente");
+        }
+        List<String> conditions = new ArrayList<>();
+        int position = 1;
+        if ((shape & CLIENTE) != 0) conditions.add("p.idCliente = ?" + position++);
+        if ((shape & ZONA) != 0) conditions.add("c.idZona = ?" + position++);
+        if ((shape & FECHA_DESDE) != 0) conditions.add("p.fecha >= ?" + position++);
+        if ((shape & FECHA_HASTA) != 0) conditions.add("p.fecha <= ?" + position++);
+        if ((shape & IMPORTE_MIN) != 0) conditions.add("p.importeTotal >= ?" + position++);
+        if ((shape & IMPORTE_MAX) != 0) conditions.add("p.importeTotal <= ?" + position++);
+        if ((shape & NOMBRE) != 0) conditions.add("c.nombre LIKE ?" + position + " ESCAPE '\\'");
+        if (!conditions.isEmpty()) {
+            hql.append(" WHERE ").append(String.join(" AND ", conditions));
+        }
+        hql.append(" ORDER BY ").append(orden(shape).getHql());
+        return hql.toString();
+    }
+
+    /**
+     * Construye el patrón LIKE para buscar un texto en cualquier posición, escapando los comodines.
+     */
+    private static String likePattern(String text) {
+        String escaped = text.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+        return "%" + escaped + "%";
+    }
+}
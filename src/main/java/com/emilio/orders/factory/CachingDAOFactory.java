@@ -0,0 +1,205 @@
+package com.emilio.orders.factory;
+
+import com.emilio.orders.dao.cache.CachingClienteDAO;
+import com.emilio.orders.dao.cache.CachingPedidoDAO;
+import com.emilio.orders.dao.cache.CachingZonaEnvioDAO;
+import com.emilio.orders.dao.cache.ClienteGasto;
+import com.emilio.orders.dao.cache.DAOCaches;
+import com.emilio.orders.dao.cache.IdFilter;
+import com.emilio.orders.dao.cache.PedidoTotalsIndex;
+import com.emilio.orders.dao.cache.TableChangeListener;
+import com.emilio.orders.dao.interfaces.ClienteDAO;
+import com.emilio.orders.dao.interfaces.PedidoDAO;
+import com.emilio.orders.dao.interfaces.ReportDAO;
+import com.emilio.orders.dao.interfaces.ZonaEnvioDAO;
+import com.emilio.orders.model.Cliente;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Factoría que envuelve a otra {@link DAOFactory} y devuelve sus DAOs con una caché en memoria delante.
+ * <p>
+ * Los DAOs de clientes y pedidos que crea comparten un mismo {@link DAOCaches}, de modo que las
+ * escrituras de uno invalidan lo que el otro tenga cacheado. Las zonas de envío se mantienen en
+ * un {@link CachingZonaEnvioDAO} y los totales por cliente en un {@link PedidoTotalsIndex}, que se
+ * recargan con la misma caducidad; el índice mantiene también el ranking de clientes por gasto,
+ * global y por zona. Los IDs existentes de clientes y pedidos se guardan en sendos
+ * {@link IdFilter} para responder sin consultas a las búsquedas de IDs que no existen.
+ * <p>
+ * Registrada en un {@link com.emilio.orders.dao.cache.TableChangeMonitor}, descarta lo cacheado de
+ * las tablas que modifiquen otros procesos, incluidas las zonas de los DAOs que haya creado. Las filas
+ * que escriben sus propios DAOs se descuentan de los avisos, porque esos DAOs ya han actualizado lo
+ * cacheado; así una escritura propia no provoca una recarga completa.
+ */
+public class CachingDAOFactory extends DAOFactory implements TableChangeListener {
+    private final DAOFactory delegate;
+    private final DAOCaches caches;
+    private final PedidoTotalsIndex totals;
+    private final IdFilter clienteIds;
+    private final IdFilter pedidoIds;
+    private final List<CachingZonaEnvioDAO> zonaEnvioDAOs = new CopyOnWriteArrayList<>();
+
+    /**
+     * Constructor que usa el tamaño y la caducidad por defecto de las cachés.
+     *
+     * @param delegate Factoría cuyos DAOs se envuelven.
+     */
+    public CachingDAOFactory(DAOFactory delegate) {
+        this(delegate, DAOCaches.DEFAULT_MAXIMUM_SIZE, DAOCaches.DEFAULT_TTL);
+    }
+
+    /**
+     * Constructor de la clase CachingDAOFactory.
+     *
+     * @param delegate Factoría cuyos DAOs se envuelven.
+     * @param maximumSize Número máximo de entradas de cada caché.
+     * @param ttl Tiempo que permanece válida una entrada desde que se escribe.
+     */
+    public CachingDAOFactory(DAOFactory delegate, long maximumSize, Duration ttl) {
+        this(delegate, maximumSize, ttl, 0);
+    }
+
+    /**
+     * Constructor de la clase CachingDAOFactory con los pedidos por ID guardados fuera del heap.
+     *
+     * @param delegate Factoría cuyos DAOs se envuelven.
+     * @param maximumSize Número máximo de entradas de cada caché.
+     * @param ttl Tiempo que permanece válida una entrada desde que se escribe.
+     * @param offHeapPedidos Número máximo de pedidos guardados fuera del heap; 0 para guardarlos en el heap.
+     */
+    public CachingDAOFactory(DAOFactory delegate, long maximumSize, Duration ttl, int offHeapPedidos) {
+        super(delegate.databaseConfig);
+        this.delegate = delegate;
+        this.caches = new DAOCaches(maximumSize, ttl, offHeapPedidos);
+        PedidoDAO pedidoDAO = delegate.createPedidoDAO();
+        ClienteDAO clienteDAO = delegate.createClienteDAO();
+        this.totals = new PedidoTotalsIndex(pedidoDAO::getTotalesPorCliente, () -> zonasPorCliente(clienteDAO), ttl);
+        this.clienteIds = new IdFilter("Clientes", clienteDAO::getAllIds, ttl);
+        this.pedidoIds = new IdFilter("Pedidos", pedidoDAO::getAllIds, ttl);
+    }
+
+    /**
+     * Devuelve las cachés compartidas por los DAOs de esta factoría.
+     *
+     * @return Las cachés de la factoría.
+     */
+    public DAOCaches getCaches() {
+        return caches;
+    }
+
+    /**
+     * Obtiene los clientes que más han gastado, de un ranking que se mantiene en memoria con cada
+     * escritura hecha a través de los DAOs de esta factoría.
+     *
+     * @param n Número máximo de clientes.
+     * @return Los clientes de mayor a menor total.
+     * @throws SQLException Si ocurre un error al cargar los totales por primera vez.
+     */
+    public List<ClienteGasto> getTopClientes(int n) throws SQLException {
+        return totals.getTopClientes(n);
+    }
+
+    /**
+     * Obtiene los clientes de una zona que más han gastado.
+     *
+     * @param idZona ID de la zona.
+     * @param n Número máximo de clientes.
+     * @return Los clientes de la zona de mayor a menor total.
+     * @throws SQLException Si ocurre un error al cargar los totales por primera vez.
+     */
+    public List<ClienteGasto> getTopClientes(int idZona, int n) throws SQLException {
+        return totals.getTopClientes(idZona, n);
+    }
+
+    @Override
+    public ClienteDAO createClienteDAO() {
+        return new CachingClienteDAO(delegate.createClienteDAO(), caches, totals, clienteIds);
+    }
+
+    @Override
+    public PedidoDAO createPedidoDAO() {
+        return new CachingPedidoDAO(delegate.createPedidoDAO(), caches, totals, pedidoIds);
+    }
+
+    @Override
+    public ZonaEnvioDAO createZonaEnvioDAO() {
+        CachingZonaEnvioDAO zonaEnvioDAO = new CachingZonaEnvioDAO(delegate.createZonaEnvioDAO(), caches.getTtl(),
+                caches.getOwnWrites());
+        zonaEnvioDAOs.add(zonaEnvioDAO);
+        return zonaEnvioDAO;
+    }
+
+    /**
+     * Los informes no se cachean: se calculan siempre sobre los datos actuales.
+     */
+    @Override
+    public ReportDAO createReportDAO() {
+        return delegate.createReportDAO();
+    }
+
+    /**
+     * Descuenta las filas escritas por los DAOs de esta factoría y descarta lo cacheado de las tablas
+     * que, además, ha modificado otro proceso.
+     *
+     * @param filas Filas modificadas en cada tabla.
+     */
+    @Override
+    public void rowsChanged(Map<String, Long> filas) {
+        Set<String> ajenas = caches.getOwnWrites().foreignTables(filas);
+        if (!ajenas.isEmpty()) {
+            tablesChanged(ajenas);
+        }
+    }
+
+    @Override
+    public void monitorStarted() {
+        caches.getOwnWrites().reset();
+    }
+
+    /**
+     * Descarta lo cacheado de las tablas modificadas por otro proceso.
+     *
+     * @param tablas Nombres de las tablas modificadas.
+     */
+    @Override
+    public void tablesChanged(Set<String> tablas) {
+        caches.invalidateTables(tablas);
+        if (tablas.contains("Clientes")) {
+            clienteIds.invalidate();
+        }
+        if (tablas.contains("Pedidos")) {
+            totals.invalidate();
+            pedidoIds.invalidate();
+        }
+        zonaEnvioDAOs.forEach(zonaEnvioDAO -> zonaEnvioDAO.tablesChanged(tablas));
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return delegate.getConnection();
+    }
+
+    /**
+     * Cierra la factoría envuelta, cuyos DAOs usa esta.
+     */
+    @Override
+    public void close() {
+        delegate.close();
+        super.close();
+    }
+
+    private static Map<Integer, Integer> zonasPorCliente(ClienteDAO clienteDAO) throws SQLException {
+        Map<Integer, Integer> zonas = new HashMap<>();
+        for (Cliente cliente : clienteDAO.getAll()) {
+            zonas.put(cliente.getIdCliente(), cliente.getIdZona());
+        }
+        return zonas;
+    }
+}
\ No newline at end of file
@@ -7,17 +7,24 @@ import com.emilio.orders.config.DatabaseConfig;
 import com.emilio.orders.config.DatabaseType;
 import com.emilio.orders.dao.interfaces.ClienteDAO;
 import com.emilio.orders.dao.interfaces.PedidoDAO;
+import com.emilio.orders.dao.interfaces.ReportDAO;
 import com.emilio.orders.dao.interfaces.ZonaEnvioDAO;
+import com.emilio.orders.util.ParallelQueryExecutor;
 
 /**
  * Clase abstracta DAOFactory que proporciona una factoría para crear diferentes DAOs.
+ * <p>
+ * Los DAOs de informes que crea una factoría comparten un mismo {@link ParallelQueryExecutor}, que
+ * se detiene al cerrar la factoría.
  */
-public abstract class DAOFactory {
+public abstract class DAOFactory implements AutoCloseable {
     /**
      * Configuración de la base de datos.
      */
     protected DatabaseConfig databaseConfig;
 
+    private ParallelQueryExecutor queryExecutor; // Se crea con el primer DAO que lo necesita
+
     /**
      * Constructor protegido para inicializar la configuración de la base de datos.
      *
@@ -64,6 +71,13 @@ public abstract class DAOFactory {
      */
     public abstract ZonaEnvioDAO createZonaEnvioDAO();
 
+    /**
+     * Método abstracto para crear un {@link ReportDAO}.
+     *
+     * @return Un nuevo {@link ReportDAO}.
+     */
+    public abstract ReportDAO createReportDAO();
+
     /**
      * Método que devuelve una conexión a la base de datos.
      *
@@ -73,4 +87,29 @@ public abstract class DAOFactory {
     public Connection getConnection() throws SQLException {
         return databaseConfig.getConnection();
     }
+
+    /**
+     * Devuelve el ejecutor de consultas por particiones que comparten los DAOs de la factoría.
+     *
+     * @return El ejecutor de la factoría.
+     */
+    protected synchronized ParallelQueryExecutor getQueryExecutor() {
+        if (queryExecutor == null) {
+            queryExecutor = new ParallelQueryExecutor(databaseConfig);
+        }
+        return queryExecutor;
+    }
+
+    /**
+     * Detiene los hilos del ejecutor de consultas por particiones, si se ha llegado a crear.
+     * Los DAOs creados por la factoría no deben usarse después. El pool de conexiones no se cierra:
+     * pertenece a la configuración de la base de datos.
+     */
+    @Override
+    public synchronized void close() {
+        if (queryExecutor != null) {
+            queryExecutor.close();
+            queryExecutor = null;
+        }
+    }
 }
\ No newline at end of file
@@ -3,9 +3,11 @@ package com.emilio.orders.factory;
 import com.emilio.orders.config.DatabaseConfig;
 import com.emilio.orders.dao.impl.hibernate.HibernateClienteDAO;
 import com.emilio.orders.dao.impl.hibernate.HibernatePedidoDAO;
+import com.emilio.orders.dao.impl.hibernate.HibernateReportDAO;
 import com.emilio.orders.dao.impl.hibernate.HibernateZonaEnvioDAO;
 import com.emilio.orders.dao.interfaces.ClienteDAO;
 import com.emilio.orders.dao.interfaces.PedidoDAO;
+import com.emilio.orders.dao.interfaces.ReportDAO;
 import com.emilio.orders.dao.interfaces.ZonaEnvioDAO;
 
 import java.sql.Connection;
@@ -19,7 +21,7 @@ public class HibernateDAOFactory extends DAOFactory {
     /**
      * Constructor que recibe una configuración de base de datos.
      *
-     * @param databaseConfig Configuración de base de datos (no utilizada directamente en Hibernate)
+     * @param databaseConfig Configuración de base de datos (solo la usan los informes que se reparten entre varias conexiones)
      */
     public HibernateDAOFactory(DatabaseConfig databaseConfig) {
         super(databaseConfig);
@@ -55,6 +57,16 @@ public class HibernateDAOFactory extends DAOFactory {
         return new HibernateZonaEnvioDAO();
     }
 
+    /**
+     * Crea una instancia de ReportDAO que utiliza Hibernate.
+     *
+     * @return Una instancia de ReportDAO para Hibernate
+     */
+    @Override
+    public ReportDAO createReportDAO() {
+        return new HibernateReportDAO(databaseConfig, getQueryExecutor());
+    }
+
     /**
      * Obtiene una conexión utilizando Hibernate.
      * Nota: En Hibernate generalmente se trabaja con sesiones en lugar de conexiones.
@@ -2,10 +2,12 @@ package com.emilio.orders.factory;
 
 import com.emilio.orders.dao.interfaces.ClienteDAO;
 import com.emilio.orders.dao.interfaces.PedidoDAO;
+import com.emilio.orders.dao.interfaces.ReportDAO;
 import com.emilio.orders.dao.interfaces.ZonaEnvioDAO;
 import com.emilio.orders.config.DatabaseConfig;
 import com.emilio.orders.dao.impl.sqlite.SQLiteClienteDAO;
 import com.emilio.orders.dao.impl.sqlite.SQLitePedidoDAO;
+import com.emilio.orders.dao.impl.sqlite.SQLiteReportDAO;
 import com.emilio.orders.dao.impl.sqlite.SQLiteZonaEnvioDAO;
 
 /**
@@ -51,4 +53,14 @@ public class SQLiteDAOFactory extends DAOFactory {
     public ZonaEnvioDAO createZonaEnvioDAO() {
         return new SQLiteZonaEnvioDAO(databaseConfig);
     }
+
+    /**
+     * Crea una instancia del DAO para informes usando SQLite.
+     *
+     * @return Una instancia de {@link ReportDAO}.
+     */
+    @Override
+    public ReportDAO createReportDAO() {
+        return new SQLiteReportDAO(databaseConfig, getQueryExecutor());
+    }
 }
\ No newline at end of file
@@ -0,0 +1,20 @@
+package com.emilio.orders.hibernate;
+
+/**
+ * Clase utils con los nombres de las regiones de la caché de segundo nivel de Hibernate.
+ * Cada región se configura (tamaño y caducidad) en application.conf.
+ */
+public final class CacheRegions {
+    // Regiones de entidades
+    public static final String ZONAS_ENVIO = "zonasEnvio";
+    public static final String CLIENTES = "clientes";
+    public static final String PEDIDOS = "pedidos";
+
+    // Regiones de resultados de consultas. Hibernate invalida un resultado cuando cambia
+    // alguna de las tablas que consulta, ya sea por una entidad o por una sentencia HQL.
+    public static final String CONSULTAS_CLIENTES = "consultasClientes";
+    public static final String CONSULTAS_PEDIDOS = "consultasPedidos";
+
+    private CacheRegions() {
+    }
+}
\ No newline at end of file
@@ -0,0 +1,65 @@
+package com.emilio.orders.hibernate;
+
+import com.emilio.orders.util.QueryUtils;
+
+import org.hibernate.Session;
+import org.hibernate.query.NativeQuery;
+import org.hibernate.type.StandardBasicTypes;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Clase utils con las consultas sobre la tabla Cliente_Totales, que mantienen los triggers creados
+ * por {@link com.emilio.orders.config.SchemaMigrations}. Como la tabla no es una entidad, se consulta
+ * con SQL nativo declarando las tablas de las que depende, para que Hibernate invalide los resultados
+ * cacheados cuando cambian los pedidos o los clientes.
+ */
+public final class ClienteTotalesQueries {
+
+    private ClienteTotalesQueries() {
+    }
+
+    /**
+     * Obtiene el importe total de los pedidos de un cliente con una búsqueda por clave primaria.
+     *
+     * @param session Sesión abierta.
+     * @param idCliente ID del cliente.
+     * @return El total, o 0 si el cliente no tiene pedidos.
+     */
+    public static double getTotal(Session session, int idCliente) {
+        NativeQuery<Double> query = session.createNativeQuery(QueryUtils.SELECT_TOTAL_CLIENTE, Double.class);
+        query.setParameter(1, idCliente);
+        synchronize(query);
+        query.setCacheable(true);
+        query.setCacheRegion(CacheRegions.CONSULTAS_PEDIDOS);
+        Double total = query.uniqueResult();
+        return total != null ? total : 0.0;
+    }
+
+    /**
+     * Obtiene el importe total de los pedidos de cada cliente que tiene alguno.
+     *
+     * @param session Sesión abierta.
+     * @return Un mapa con el total por ID de cliente.
+     */
+    public static Map<Integer, Double> getTotales(Session session) {
+        NativeQuery<Object[]> query = session.createNativeQuery(QueryUtils.SELECT_TOTALES_POR_CLIENTE, Object[].class)
+                .addScalar("id_cliente", StandardBasicTypes.INTEGER)
+                .addScalar("total", StandardBasicTypes.DOUBLE);
+        synchronize(query);
+        List<Object[]> filas = query.getResultList();
+        Map<Integer, Double> totales = new HashMap<>();
+        for (Object[] fila : filas) {
+            totales.put((Integer) fila[0], (Double) fila[1]);
+        }
+        return totales;
+    }
+
+    private static void synchronize(NativeQuery<?> query) {
+        query.addSynchronizedQuerySpace("Pedidos");
+        query.addSynchronizedQuerySpace("Clientes"); // Eliminar un cliente elimina sus pedidos
+        query.addSynchronizedQuerySpace("Cliente_Totales");
+    }
+}
\ No newline at end of file
@@ -0,0 +1,54 @@
+package com.emilio.orders.hibernate;
+
+import com.emilio.orders.dao.cache.TableChangeListener;
+import com.emilio.orders.model.Cliente;
+import com.emilio.orders.model.Pedido;
+import com.emilio.orders.model.ZonaEnvio;
+
+import org.hibernate.Cache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Set;
+
+/**
+ * Vacía las regiones de la caché de segundo nivel y de consultas de Hibernate que dependen de las
+ * tablas modificadas por otro proceso. Hibernate solo invalida por sí mismo los cambios que hace él.
+ */
+public class HibernateCacheInvalidator implements TableChangeListener {
+    private static final Logger logger = LoggerFactory.getLogger(HibernateCacheInvalidator.class);
+    private final SessionManager sessionManager;
+
+    /**
+     * Constructor de la clase HibernateCacheInvalidator.
+     *
+     * @param sessionManager Gestor de sesiones cuya caché se invalida.
+     */
+    public HibernateCacheInvalidator(SessionManager sessionManager) {
+        this.sessionManager = sessionManager;
+    }
+
+    /**
+     * Vacía las regiones afectadas por los cambios.
+     *
+     * @param tablas Nombres de las tablas modificadas.
+     */
+    @Override
+    public void tablesChanged(Set<String> tablas) {
+        Cache cache = sessionManager.getSessionFactory().getCache();
+        if (tablas.contains("Zonas_Envio")) {
+            cache.evictEntityData(ZonaEnvio.class);
+        }
+        if (tablas.contains("Clientes")) {
+            cache.evictEntityData(Cliente.class);
+            cache.evictQueryRegion(CacheRegions.CONSULTAS_CLIENTES);
+        }
+        if (tablas.contains("Pedidos")) {
+            cache.evictEntityData(Pedido.class);
+            cache.evictQueryRegion(CacheRegions.CONSULTAS_PEDIDOS);
+            // Los totales gastados por cliente suman pedidos aunque estén en la región de clientes
+            cache.evictQueryRegion(CacheRegions.CONSULTAS_CLIENTES);
+        }
+        logger.debug("Caché de Hibernate invalidada para las tablas {}", tablas);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,67 @@
+package com.emilio.orders.hibernate;
+
+import com.emilio.orders.dao.cache.CacheRegion;
+import com.emilio.orders.dao.cache.CaffeineCacheRegion;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import org.hibernate.cache.jcache.internal.JCacheRegionFactory;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.cache.CacheManager;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Clase utils que expone las regiones de la caché de segundo nivel de Hibernate como
+ * {@link CacheRegion}, accediendo a las cachés de Caffeine que hay bajo el proveedor JCache.
+ * <p>
+ * Las estadísticas de cada región requieren {@code monitoring.native-statistics} en application.conf.
+ * La región de marcas de tiempo de las tablas no se expone: vaciarla o limitarla haría que se
+ * devolvieran resultados de consultas obsoletos.
+ */
+public final class HibernateCacheRegions {
+    private static final Logger logger = LoggerFactory.getLogger(HibernateCacheRegions.class);
+    public static final String PREFIX = "hibernate.";
+    private static final String TIMESTAMPS_REGION = "default-update-timestamps-region";
+    private static final long ENTRY_SIZE = 200; // Bytes aproximados de una entrada desensamblada y su clave
+
+    private HibernateCacheRegions() {
+    }
+
+    /**
+     * Obtiene las regiones creadas por la SessionFactory.
+     *
+     * @param sessionManager Gestor de sesiones cuyas regiones se obtienen.
+     * @return Las regiones, con el nombre precedido de {@value #PREFIX}; vacía si la caché de
+     *         segundo nivel no usa el proveedor JCache de Caffeine.
+     */
+    @SuppressWarnings("unchecked")
+    public static List<CacheRegion> of(SessionManager sessionManager) {
+        SessionFactoryImplementor sessionFactory = sessionManager.getSessionFactory()
+                .unwrap(SessionFactoryImplementor.class);
+        RegionFactory regionFactory = sessionFactory.getServiceRegistry().getService(RegionFactory.class);
+        if (!(regionFactory instanceof JCacheRegionFactory jcacheRegionFactory)) {
+            return List.of();
+        }
+        // Las regiones de consultas se crean la primera vez que se usan; se crean ya para exponerlas
+        sessionFactory.getCache().getQueryResultsCache(CacheRegions.CONSULTAS_CLIENTES);
+        sessionFactory.getCache().getQueryResultsCache(CacheRegions.CONSULTAS_PEDIDOS);
+        CacheManager cacheManager = jcacheRegionFactory.getCacheManager();
+        List<CacheRegion> regions = new ArrayList<>();
+        for (String name : cacheManager.getCacheNames()) {
+            if (TIMESTAMPS_REGION.equals(name)) {
+                continue;
+            }
+            try {
+                Cache<Object, Object> cache = cacheManager.getCache(name).unwrap(Cache.class);
+                regions.add(new CaffeineCacheRegion<>(PREFIX + name, cache, value -> ENTRY_SIZE));
+            } catch (IllegalArgumentException e) {
+                logger.warn("La región '{}' no es una caché de Caffeine: {}", name, e.getMessage());
+            }
+        }
+        return regions;
+    }
+}
\ No newline at end of file
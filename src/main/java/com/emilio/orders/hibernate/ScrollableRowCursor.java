@@ -0,0 +1,70 @@
+package com.emilio.orders.hibernate;
+
+import com.emilio.orders.util.RowCursor;
+
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.hibernate.query.Query;
+
+import java.util.function.Function;
+
+/**
+ * Cursor sobre un {@link ScrollableResults} de Hibernate abierto en una {@link StatelessSession}.
+ * Al no haber contexto de persistencia, las entidades leídas no se acumulan en memoria
+ * y el consumo es constante independientemente del tamaño del resultado.
+ */
+public class ScrollableRowCursor<T> implements RowCursor<T> {
+    private final StatelessSession session;
+    private final ScrollableResults<T> results;
+
+    private ScrollableRowCursor(StatelessSession session, ScrollableResults<T> results) {
+        this.session = session;
+        this.results = results;
+    }
+
+    /**
+     * Abre una sesión sin estado, construye la consulta y la recorre con un cursor de solo avance.
+     *
+     * @param sessionFactory Factoría de sesiones de Hibernate.
+     * @param queryBuilder Función que crea la consulta sobre la sesión abierta.
+     * @param fetchSize Número de filas que se solicitan al driver en cada lectura.
+     * @return El cursor posicionado antes de la primera fila.
+     */
+    public static <T> ScrollableRowCursor<T> open(SessionFactory sessionFactory,
+            Function<StatelessSession, Query<T>> queryBuilder, int fetchSize) {
+        StatelessSession session = sessionFactory.openStatelessSession();
+        try {
+            Query<T> query = queryBuilder.apply(session);
+            query.setFetchSize(fetchSize);
+            query.setReadOnly(true);
+            return new ScrollableRowCursor<>(session, query.scroll(ScrollMode.FORWARD_ONLY));
+        } catch (RuntimeException e) {
+            session.close();
+            throw e;
+        }
+    }
+
+    @Override
+    public boolean next() {
+        return results.next();
+    }
+
+    @Override
+    public T current() {
+        return results.get();
+    }
+
+    /**
+     * Cierra el cursor (y con él la sentencia JDBC) y después la sesión.
+     */
+    @Override
+    public void close() {
+        try {
+            results.close();
+        } finally {
+            session.close();
+        }
+    }
+}
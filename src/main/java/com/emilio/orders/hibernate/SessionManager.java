@@ -1,12 +1,17 @@
 package com.emilio.orders.hibernate;
 
+import com.emilio.orders.config.SchemaMigrations;
+
 import org.hibernate.Session;
 import org.hibernate.SessionFactory;
 import org.hibernate.Transaction;
 import org.hibernate.cfg.Configuration;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.Map;
 import java.util.function.Consumer;
 import java.util.function.Function;
 
@@ -21,13 +26,20 @@ public class SessionManager {
 
     /**
      * Constructor privado que inicializa la SessionFactory.
+     *
+     * @param settings Propiedades que sustituyen a las de hibernate.cfg.xml
      */
-    private SessionManager() {
+    private SessionManager(Map<String, String> settings) {
         try {
             logger.info("Inicializando SessionFactory de Hibernate");
             Configuration configuration = new Configuration();
             configuration.configure("hibernate.cfg.xml");
+            settings.forEach(configuration::setProperty);
             sessionFactory = configuration.buildSessionFactory();
+            // hbm2ddl crea las tablas de las entidades; el resto del esquema (triggers incluidos) va aparte
+            try (Session session = sessionFactory.openSession()) {
+                session.doWork(SchemaMigrations::migrate);
+            }
             logger.info("SessionFactory inicializada correctamente");
         } catch (Exception e) {
             logger.error("Error al inicializar SessionFactory", e);
@@ -41,8 +53,21 @@ public class SessionManager {
      * @return La instancia de SessionManager
      */
     public static synchronized SessionManager getInstance() {
+        return getInstance(Map.of());
+    }
+
+    /**
+     * Obtiene la única instancia de SessionManager, creándola con las propiedades indicadas
+     * si todavía no existe. Si ya existe, las propiedades se ignoran.
+     *
+     * @param settings Propiedades de Hibernate que sustituyen a las de hibernate.cfg.xml
+     * @return La instancia de SessionManager
+     */
+    public static synchronized SessionManager getInstance(Map<String, String> settings) {
         if (instance == null) {
-            instance = new SessionManager();
+            instance = new SessionManager(settings);
+        } else if (!settings.isEmpty()) {
+            logger.warn("La SessionFactory ya está inicializada; se ignoran las propiedades {}", settings.keySet());
         }
         return instance;
     }
@@ -56,6 +81,38 @@ public class SessionManager {
         return sessionFactory;
     }
 
+    /**
+     * Obtiene las estadísticas de Hibernate, que incluyen los aciertos y fallos de la caché
+     * de segundo nivel por región. Solo se recogen si hibernate.generate_statistics está activo.
+     *
+     * @return Las estadísticas de la SessionFactory
+     */
+    public Statistics getStatistics() {
+        return sessionFactory.getStatistics();
+    }
+
+    /**
+     * Escribe en el log los aciertos, fallos y escrituras de cada región de la caché de segundo nivel,
+     * incluidas las de resultados de consultas.
+     */
+    public void logCacheStatistics() {
+        Statistics statistics = getStatistics();
+        if (!statistics.isStatisticsEnabled()) {
+            return;
+        }
+        for (String region : statistics.getSecondLevelCacheRegionNames()) {
+            CacheRegionStatistics regionStatistics = statistics.getCacheRegionStatistics(region);
+            if (regionStatistics == null) {
+                continue;
+            }
+            logger.info("Caché '{}': {} aciertos, {} fallos, {} escrituras",
+                    region,
+                    regionStatistics.getHitCount(),
+                    regionStatistics.getMissCount(),
+                    regionStatistics.getPutCount());
+        }
+    }
+
     /**
      * Abre una nueva sesión.
      *
@@ -113,6 +170,7 @@ public class SessionManager {
      */
     public void shutdown() {
         if (sessionFactory != null && !sessionFactory.isClosed()) {
+            logCacheStatistics();
             logger.info("Cerrando SessionFactory");
             sessionFactory.close();
             logger.info("SessionFactory cerrada correctamente");
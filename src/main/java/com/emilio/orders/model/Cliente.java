@@ -1,12 +1,19 @@
 package com.emilio.orders.model;
 
+import com.emilio.orders.hibernate.CacheRegions;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 /**
  * Clase que representa un cliente en la base de datos.
  */
 @Entity
-@Table(name = "Clientes")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.CLIENTES)
+@Table(name = "Clientes", indexes = {
+    @Index(name = "idx_clientes_zona", columnList = "id_zona")
+})
 public class Cliente {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
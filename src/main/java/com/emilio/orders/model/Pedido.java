@@ -1,13 +1,23 @@
 package com.emilio.orders.model;
 
+import com.emilio.orders.hibernate.CacheRegions;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.time.LocalDate;
 
 /**
  * Clase que representa un pedido en la base de datos.
  */
 @Entity
-@Table(name = "Pedidos")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.PEDIDOS)
+@Table(name = "Pedidos", indexes = {
+    @Index(name = "idx_pedidos_cliente_fecha", columnList = "id_cliente, fecha"),
+    @Index(name = "idx_pedidos_fecha_importe", columnList = "fecha, importe_total"),
+    @Index(name = "idx_pedidos_importe", columnList = "importe_total"),
+    @Index(name = "idx_pedidos_cliente_importe", columnList = "id_cliente, importe_total")
+})
 public class Pedido {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -3,9 +3,15 @@
  */
 package com.emilio.orders.model;
 
+import com.emilio.orders.hibernate.CacheRegions;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
+// Datos de referencia que casi nunca cambian; no se usa READ_ONLY porque el DAO permite actualizarlos
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.NONSTRICT_READ_WRITE, region = CacheRegions.ZONAS_ENVIO)
 @Table(name = "Zonas_Envio")
 public class ZonaEnvio {
     /**
@@ -1,8 +1,13 @@
 package com.emilio.orders.ui;
 
+import com.emilio.orders.dao.cache.CacheRegion;
+import com.emilio.orders.dao.cache.CacheRegionStats;
+import com.emilio.orders.dao.cache.CacheRegistry;
 import com.emilio.orders.dao.interfaces.ClienteDAO;
 import com.emilio.orders.dao.interfaces.PedidoDAO;
 import com.emilio.orders.dao.interfaces.ZonaEnvioDAO;
+import com.emilio.orders.dao.search.Page;
+import com.emilio.orders.dao.search.PedidoSearch;
 import com.emilio.orders.model.Cliente;
 import com.emilio.orders.model.Pedido;
 import com.emilio.orders.model.ZonaEnvio;
@@ -21,7 +26,10 @@ public class ConsoleUI implements UI {
     private final ClienteDAO clienteDAO;
     private final PedidoDAO pedidoDAO;
     private final ZonaEnvioDAO zonaEnvioDAO;
+    private final CacheRegistry cacheRegistry;
     private static final DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+    private static final int TAMANO_PAGINA = 20; // Pedidos por página en las búsquedas
+    private static final int TAMANO_BLOQUE = 500; // Filas leídas de cada vez al listar tablas completas
 
     /**
      * Constructor de la clase ConsoleUI.
@@ -31,10 +39,24 @@ public class ConsoleUI implements UI {
      * @param zonaEnvioDAO DAO para operaciones con zonas de envío
      */
     public ConsoleUI(ClienteDAO clienteDAO, PedidoDAO pedidoDAO, ZonaEnvioDAO zonaEnvioDAO) {
+        this(clienteDAO, pedidoDAO, zonaEnvioDAO, new CacheRegistry());
+    }
+
+    /**
+     * Constructor de la clase ConsoleUI con diagnóstico de cachés.
+     *
+     * @param clienteDAO DAO para operaciones con clientes
+     * @param pedidoDAO  DAO para operaciones con pedidos
+     * @param zonaEnvioDAO DAO para operaciones con zonas de envío
+     * @param cacheRegistry Regiones de caché que se muestran y ajustan en el diagnóstico
+     */
+    public ConsoleUI(ClienteDAO clienteDAO, PedidoDAO pedidoDAO, ZonaEnvioDAO zonaEnvioDAO,
+                     CacheRegistry cacheRegistry) {
         this.scanner = new Scanner(System.in);
         this.clienteDAO = clienteDAO;
         this.pedidoDAO = pedidoDAO;
         this.zonaEnvioDAO = zonaEnvioDAO;
+        this.cacheRegistry = cacheRegistry;
     }
 
     /**
@@ -51,6 +73,7 @@ public class ConsoleUI implements UI {
                     case 2 -> gestionarPedidos();
                     case 3 -> consultarZonasEnvio();
                     case 4 -> consultarPedidosCliente();
+                    case 5 -> diagnosticarCaches();
                     case 0 -> salir = true;
                     default -> mostrarError("Opción no válida");
                 }
@@ -92,6 +115,7 @@ public class ConsoleUI implements UI {
         System.out.println("2. Gestionar Pedidos");
         System.out.println("3. Consultar Zonas de Envío");
         System.out.println("4. Consultar Pedidos de Cliente");
+        System.out.println("5. Diagnóstico de Cachés");
         System.out.println("0. Salir");
         System.out.print("Seleccione una opción: ");
         return Integer.parseInt(scanner.nextLine());
@@ -213,6 +237,15 @@ public class ConsoleUI implements UI {
         System.out.print("\nID del cliente a eliminar: ");
         int id = Integer.parseInt(scanner.nextLine());
 
+        if (!clienteDAO.exists(id)) {
+            mostrarError("Cliente no encontrado");
+            return;
+        }
+
+        long numPedidos = pedidoDAO.countByCliente(id);
+        if (numPedidos > 0) {
+            System.out.printf("El cliente tiene %d pedido(s) que también se eliminarán.%n", numPedidos);
+        }
         System.out.print("¿Está seguro de eliminar este cliente? (s/n): ");
         if (scanner.nextLine().toLowerCase().startsWith("s")) {
             clienteDAO.delete(id);
@@ -224,8 +257,8 @@ public class ConsoleUI implements UI {
      * Método que lista todos los clientes.
      */
     private void listarClientes() throws Exception {
-        List<Cliente> clientes = clienteDAO.getAll();
-        System.out.println("\nLISTA DE CLIENTES");
+        List<Cliente> clientes = clienteDAO.getAllLazy(TAMANO_BLOQUE);
+        System.out.println("\nLISTA DE CLIENTES (" + clientes.size() + ")");
         System.out.println("================");
         for (Cliente cliente : clientes) {
             System.out.printf("ID: %d | Nombre: %s | Email: %s | Teléfono: %s | Zona: %d%n",
@@ -249,6 +282,8 @@ public class ConsoleUI implements UI {
             System.out.println("2. Modificar Pedido");
             System.out.println("3. Eliminar Pedido");
             System.out.println("4. Listar Pedidos");
+            System.out.println("5. Buscar Pedidos");
+            System.out.println("6. Pedidos de Mayor Importe");
             System.out.println("0. Volver");
             System.out.print("Seleccione una opción: ");
 
@@ -259,6 +294,8 @@ public class ConsoleUI implements UI {
                     case 2 -> modificarPedido();
                     case 3 -> eliminarPedido();
                     case 4 -> listarPedidos();
+                    case 5 -> buscarPedidos();
+                    case 6 -> listarPedidosMayorImporte();
                     case 0 -> volver = true;
                     default -> mostrarError("Opción no válida");
                 }
@@ -329,6 +366,11 @@ public class ConsoleUI implements UI {
         System.out.print("\nID del pedido a eliminar: ");
         int id = Integer.parseInt(scanner.nextLine());
 
+        if (!pedidoDAO.exists(id)) {
+            mostrarError("Pedido no encontrado");
+            return;
+        }
+
         System.out.print("¿Está seguro de eliminar este pedido? (s/n): ");
         if (scanner.nextLine().toLowerCase().startsWith("s")) {
             pedidoDAO.delete(id);
@@ -340,7 +382,7 @@ public class ConsoleUI implements UI {
      * Método que lista todos los pedidos.
      */
     private void listarPedidos() throws Exception {
-        List<Pedido> pedidos = pedidoDAO.getAll();
+        List<Pedido> pedidos = pedidoDAO.getAllLazy(TAMANO_BLOQUE);
         System.out.println("\nLISTA DE PEDIDOS");
         System.out.println("===============");
         for (Pedido pedido : pedidos) {
@@ -352,6 +394,102 @@ public class ConsoleUI implements UI {
         }
     }
 
+    /**
+     * Método que busca pedidos combinando varios criterios opcionales y muestra el resultado por páginas.
+     */
+    private void buscarPedidos() throws Exception {
+        System.out.println("\nDeje en blanco los criterios que no quiera aplicar.");
+        PedidoSearch.Builder builder = new PedidoSearch.Builder();
+
+        System.out.print("ID del cliente: ");
+        String idClienteStr = scanner.nextLine();
+        if (!idClienteStr.isEmpty()) {
+            builder.idCliente(Integer.parseInt(idClienteStr));
+        }
+
+        System.out.print("ID de la zona de envío: ");
+        String idZonaStr = scanner.nextLine();
+        if (!idZonaStr.isEmpty()) {
+            builder.idZona(Integer.parseInt(idZonaStr));
+        }
+
+        System.out.print("Nombre del cliente contiene: ");
+        builder.nombreCliente(scanner.nextLine());
+
+        System.out.print("Fecha desde (dd/MM/yyyy): ");
+        String desdeStr = scanner.nextLine();
+        if (!desdeStr.isEmpty()) {
+            builder.fechaDesde(LocalDate.parse(desdeStr, dateFormatter));
+        }
+
+        System.out.print("Fecha hasta (dd/MM/yyyy): ");
+        String hastaStr = scanner.nextLine();
+        if (!hastaStr.isEmpty()) {
+            builder.fechaHasta(LocalDate.parse(hastaStr, dateFormatter));
+        }
+
+        System.out.print("Importe mínimo: ");
+        String minStr = scanner.nextLine();
+        if (!minStr.isEmpty()) {
+            builder.importeMin(Double.parseDouble(minStr));
+        }
+
+        System.out.print("Importe máximo: ");
+        String maxStr = scanner.nextLine();
+        if (!maxStr.isEmpty()) {
+            builder.importeMax(Double.parseDouble(maxStr));
+        }
+
+        PedidoSearch criteria = builder.build();
+        Page page = Page.first(TAMANO_PAGINA);
+        while (true) {
+            List<Pedido> pedidos = pedidoDAO.search(criteria, page);
+            System.out.println("\nRESULTADOS (página " + (page.getNumber() + 1) + ")");
+            System.out.println("===============");
+            for (Pedido pedido : pedidos) {
+                System.out.printf("ID: %d | Cliente: %d | Fecha: %s | Importe: %.2f€%n",
+                        pedido.getIdPedido(),
+                        pedido.getIdCliente(),
+                        pedido.getFecha().format(dateFormatter),
+                        pedido.getImporteTotal());
+            }
+            if (pedidos.size() < page.getSize()) {
+                break;
+            }
+            System.out.print("¿Mostrar la página siguiente? (s/n): ");
+            if (!scanner.nextLine().toLowerCase().startsWith("s")) {
+                break;
+            }
+            page = page.next();
+        }
+    }
+
+    /**
+     * Método que muestra los pedidos de mayor importe, opcionalmente de un único cliente.
+     */
+    private void listarPedidosMayorImporte() throws Exception {
+        System.out.print("\nNúmero de pedidos a mostrar: ");
+        int n = Integer.parseInt(scanner.nextLine());
+
+        PedidoSearch.Builder builder = new PedidoSearch.Builder();
+        System.out.print("ID del cliente (en blanco para todos): ");
+        String idClienteStr = scanner.nextLine();
+        if (!idClienteStr.isEmpty()) {
+            builder.idCliente(Integer.parseInt(idClienteStr));
+        }
+
+        List<Pedido> pedidos = pedidoDAO.getTopPedidosByImporte(n, builder.build());
+        System.out.println("\nPEDIDOS DE MAYOR IMPORTE");
+        System.out.println("========================");
+        for (Pedido pedido : pedidos) {
+            System.out.printf("ID: %d | Cliente: %d | Fecha: %s | Importe: %.2f€%n",
+                    pedido.getIdPedido(),
+                    pedido.getIdCliente(),
+                    pedido.getFecha().format(dateFormatter),
+                    pedido.getImporteTotal());
+        }
+    }
+
     /**
      * Método que consulta todas las zonas de envío.
      */
@@ -378,8 +516,7 @@ public class ConsoleUI implements UI {
         int idCliente = Integer.parseInt(scanner.nextLine());
 
         // Verificar si el cliente existe
-        Cliente cliente = clienteDAO.getById(idCliente);
-        if (cliente == null) {
+        if (!clienteDAO.exists(idCliente)) {
             mostrarError("Cliente no encontrado");
             return;
         }
@@ -397,4 +534,87 @@ public class ConsoleUI implements UI {
         }
         System.out.printf("\nTotal gastado: %.2f€%n", totalGastado);
     }
+
+    /**
+     * Método que muestra las estadísticas de cada región de caché y permite redimensionarlas o vaciarlas.
+     */
+    private void diagnosticarCaches() {
+        boolean volver = false;
+        while (!volver) {
+            mostrarEstadisticasCaches();
+            System.out.println("\n=== DIAGNÓSTICO DE CACHÉS ===");
+            System.out.println("1. Actualizar");
+            System.out.println("2. Redimensionar Región");
+            System.out.println("3. Vaciar Región");
+            System.out.println("4. Vaciar Todas");
+            System.out.println("0. Volver");
+            System.out.print("Seleccione una opción: ");
+
+            int opcion = Integer.parseInt(scanner.nextLine());
+            try {
+                switch (opcion) {
+                    case 1 -> { }
+                    case 2 -> {
+                        List<String> redimensionables = cacheRegistry.getRegions().stream()
+                                .filter(CacheRegion::isResizable)
+                                .map(CacheRegion::getName)
+                                .toList();
+                        if (redimensionables.isEmpty()) {
+                            mostrarError("Ninguna región se puede redimensionar");
+                        } else {
+                            System.out.println("Regiones redimensionables: " + String.join(", ", redimensionables));
+                            System.out.print("Nombre de la región: ");
+                            String nombre = scanner.nextLine().trim();
+                            if (!redimensionables.contains(nombre)) {
+                                mostrarError("La región no existe o tiene un tamaño fijo");
+                            } else {
+                                System.out.print("Nuevo número máximo de entradas: ");
+                                cacheRegistry.resize(nombre, Long.parseLong(scanner.nextLine()));
+                                mostrarMensaje("Región redimensionada");
+                            }
+                        }
+                    }
+                    case 3 -> {
+                        System.out.print("Nombre de la región: ");
+                        cacheRegistry.clear(scanner.nextLine().trim());
+                        mostrarMensaje("Región vaciada");
+                    }
+                    case 4 -> {
+                        cacheRegistry.clearAll();
+                        mostrarMensaje("Todas las regiones vaciadas");
+                    }
+                    case 0 -> volver = true;
+                    default -> mostrarError("Opción no válida");
+                }
+            } catch (Exception e) {
+                mostrarError("Error: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Método que muestra una tabla con las estadísticas de cada región de caché.
+     */
+    private void mostrarEstadisticasCaches() {
+        List<CacheRegionStats> stats = cacheRegistry.getStats();
+        System.out.println("\nESTADÍSTICAS DE CACHÉS");
+        System.out.println("======================");
+        if (stats.isEmpty()) {
+            System.out.println("No hay cachés activas (use --cache o la base de datos hibernate)");
+            return;
+        }
+        System.out.printf("%-34s %8s %8s %10s %10s %10s %10s %10s%n",
+                "Región", "Aciertos", "Fallos", "Expuls.", "Carga ms", "Entradas", "Máximo", "Memoria KB");
+        for (CacheRegionStats region : stats) {
+            System.out.printf("%-34s %7.1f%% %7.1f%% %10d %10.2f %10d %10s %10d%n",
+                    region.getName(),
+                    region.getHitRate() * 100,
+                    region.getMissRate() * 100,
+                    region.getEvictionCount(),
+                    region.getAverageLoadNanos() / 1_000_000.0,
+                    region.getSize(),
+                    region.getMaximumSize() < 0 ? "-" : String.valueOf(region.getMaximumSize()),
+                    region.getMemoryBytes() / 1024);
+        }
+    }
 }
\ No newline at end of file
@@ -7,6 +7,7 @@ import com.emilio.orders.dao.interfaces.ZonaEnvioDAO;
 import com.emilio.orders.model.Cliente;
 import com.emilio.orders.model.Pedido;
 import com.emilio.orders.model.ZonaEnvio;
+import com.emilio.orders.util.DatabaseException;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -19,6 +20,7 @@ import java.awt.Component;
 import java.sql.SQLException;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
+import java.util.ConcurrentModificationException;
 import java.util.List;
 
 /**
@@ -34,6 +36,8 @@ public class GraphicalUI implements UI {
     private final Object lock = new Object();
     private static final DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern("dd/MM/yyyy");
     private static final Logger logger = LoggerFactory.getLogger(Main.class);
+    private static final int TAMANO_BLOQUE = 500; // Filas leídas de cada vez al listar tablas completas
+    private static final int FILAS_POR_PAGINA = 100; // Filas mostradas en cada página de los listados
 
     /**
      * Constructor de la clase GraphicalUI.
@@ -371,6 +375,10 @@ public class GraphicalUI implements UI {
     private void eliminarCliente() {
         JComboBox<Cliente> clienteCombo = new JComboBox<>();
         try {
+            if (clienteDAO.countAll() == 0) {
+                mostrarMensaje("No hay clientes registrados");
+                return;
+            }
             List<Cliente> clientes = clienteDAO.getAll();
             for (Cliente cliente : clientes) {
                 clienteCombo.addItem(cliente);
@@ -386,8 +394,18 @@ public class GraphicalUI implements UI {
         if (seleccion == JOptionPane.OK_OPTION) {
             Cliente clienteSeleccionado = (Cliente) clienteCombo.getSelectedItem();
 
+            String aviso = "";
+            try {
+                long numPedidos = pedidoDAO.countByCliente(clienteSeleccionado.getIdCliente());
+                if (numPedidos > 0) {
+                    aviso = "\nSe eliminarán también sus " + numPedidos + " pedido(s).";
+                }
+            } catch (SQLException ex) {
+                logger.warn("No se pudo contar los pedidos del cliente: {}", ex.getMessage());
+            }
+
             int confirmacion = JOptionPane.showConfirmDialog(gui,
-                    "¿Está seguro de eliminar al cliente " + clienteSeleccionado.getNombre() + "?",
+                    "¿Está seguro de eliminar al cliente " + clienteSeleccionado.getNombre() + "?" + aviso,
                     "Confirmar Eliminación",
                     JOptionPane.YES_NO_OPTION);
 
@@ -407,26 +425,52 @@ public class GraphicalUI implements UI {
      */
     private void listarClientes() {
         try {
-            List<Cliente> clientes = clienteDAO.getAll();
-            StringBuilder sb = new StringBuilder();
-            sb.append("LISTADO DE CLIENTES\n");
-            sb.append("===================\n\n");
-
-            for (Cliente cliente : clientes) {
-                sb.append(String.format("ID: %d\n", cliente.getIdCliente()));
-                sb.append(String.format("Nombre: %s\n", cliente.getNombre()));
-                sb.append(String.format("Email: %s\n", cliente.getEmail()));
-                sb.append(String.format("Teléfono: %s\n", cliente.getTelefono()));
-                sb.append(String.format("Zona: %d\n", cliente.getIdZona()));
-                sb.append("-------------------\n");
-            }
-
-            SwingMenuBuilder.showLongTextDialog("Listado de Clientes", sb.toString());
-        } catch (SQLException ex) {
+            List<Cliente> clientes = clienteDAO.getAllLazy(TAMANO_BLOQUE);
+            SwingMenuBuilder.showPagedTextDialog("Listado de Clientes", numeroPaginas(clientes.size()),
+                    pagina -> paginaClientes(clientes, pagina));
+        } catch (ConcurrentModificationException ex) {
+            mostrarError("La tabla de clientes ha cambiado mientras se listaba. Vuelva a abrir el listado.");
+        } catch (SQLException | DatabaseException ex) {
             mostrarError("Error al listar los clientes: " + ex.getMessage());
         }
     }
 
+    /**
+     * Genera el texto de una página del listado de clientes.
+     * Solo se leen las filas de esa página; los bloques ya recorridos se descartan.
+     *
+     * @param clientes Lista de clientes cargada por bloques.
+     * @param pagina Número de página, empezando en 0.
+     * @return Texto de la página.
+     */
+    private String paginaClientes(List<Cliente> clientes, int pagina) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("LISTADO DE CLIENTES\n");
+        sb.append("===================\n\n");
+
+        int desde = pagina * FILAS_POR_PAGINA;
+        int hasta = Math.min(clientes.size(), desde + FILAS_POR_PAGINA);
+        for (Cliente cliente : clientes.subList(desde, hasta)) {
+            sb.append(String.format("ID: %d\n", cliente.getIdCliente()));
+            sb.append(String.format("Nombre: %s\n", cliente.getNombre()));
+            sb.append(String.format("Email: %s\n", cliente.getEmail()));
+            sb.append(String.format("Teléfono: %s\n", cliente.getTelefono()));
+            sb.append(String.format("Zona: %d\n", cliente.getIdZona()));
+            sb.append("-------------------\n");
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Calcula el número de páginas de un listado; un listado vacío tiene una página.
+     *
+     * @param filas Número total de filas.
+     * @return Número de páginas.
+     */
+    private static int numeroPaginas(int filas) {
+        return Math.max(1, (filas + FILAS_POR_PAGINA - 1) / FILAS_POR_PAGINA);
+    }
+
     /**
      * Muestra el panel de gestión de pedidos.
      * Permite al usuario realizar acciones como crear, modificar, eliminar y listar pedidos.
@@ -586,6 +630,10 @@ public class GraphicalUI implements UI {
     private void eliminarPedido() {
         JComboBox<Pedido> pedidoCombo = new JComboBox<>();
         try {
+            if (pedidoDAO.countAll() == 0) {
+                mostrarMensaje("No hay pedidos registrados");
+                return;
+            }
             List<Pedido> pedidos = pedidoDAO.getAll();
             for (Pedido pedido : pedidos) {
                 pedidoCombo.addItem(pedido);
@@ -622,25 +670,41 @@ public class GraphicalUI implements UI {
      */
     private void listarPedidos() {
         try {
-            List<Pedido> pedidos = pedidoDAO.getAll();
-            StringBuilder sb = new StringBuilder();
-            sb.append("LISTADO DE PEDIDOS\n");
-            sb.append("==================\n\n");
-
-            for (Pedido pedido : pedidos) {
-                sb.append(String.format("ID: %d\n", pedido.getIdPedido()));
-                sb.append(String.format("Cliente: %d\n", pedido.getIdCliente()));
-                sb.append(String.format("Fecha: %s\n", pedido.getFecha().format(dateFormatter)));
-                sb.append(String.format("Importe: %.2f€\n", pedido.getImporteTotal()));
-                sb.append("-------------------\n");
-            }
-
-            SwingMenuBuilder.showLongTextDialog("Listado de Pedidos", sb.toString());
-        } catch (SQLException ex) {
+            List<Pedido> pedidos = pedidoDAO.getAllLazy(TAMANO_BLOQUE);
+            SwingMenuBuilder.showPagedTextDialog("Listado de Pedidos", numeroPaginas(pedidos.size()),
+                    pagina -> paginaPedidos(pedidos, pagina));
+        } catch (ConcurrentModificationException ex) {
+            mostrarError("La tabla de pedidos ha cambiado mientras se listaba. Vuelva a abrir el listado.");
+        } catch (SQLException | DatabaseException ex) {
             mostrarError("Error al listar los pedidos: " + ex.getMessage());
         }
     }
 
+    /**
+     * Genera el texto de una página del listado de pedidos.
+     * Solo se leen las filas de esa página; los bloques ya recorridos se descartan.
+     *
+     * @param pedidos Lista de pedidos cargada por bloques.
+     * @param pagina Número de página, empezando en 0.
+     * @return Texto de la página.
+     */
+    private String paginaPedidos(List<Pedido> pedidos, int pagina) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("LISTADO DE PEDIDOS\n");
+        sb.append("==================\n\n");
+
+        int desde = pagina * FILAS_POR_PAGINA;
+        int hasta = Math.min(pedidos.size(), desde + FILAS_POR_PAGINA);
+        for (Pedido pedido : pedidos.subList(desde, hasta)) {
+            sb.append(String.format("ID: %d\n", pedido.getIdPedido()));
+            sb.append(String.format("Cliente: %d\n", pedido.getIdCliente()));
+            sb.append(String.format("Fecha: %s\n", pedido.getFecha().format(dateFormatter)));
+            sb.append(String.format("Importe: %.2f€\n", pedido.getImporteTotal()));
+            sb.append("-------------------\n");
+        }
+        return sb.toString();
+    }
+
     /**
      * Muestra información sobre las zonas de envío, incluyendo los clientes asociados a cada zona.
      * @throws SQLException Si hay un error al acceder a la base de datos.
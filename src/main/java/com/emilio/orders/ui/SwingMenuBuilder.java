@@ -3,6 +3,8 @@ package com.emilio.orders.ui;
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
 import java.awt.*;
+import java.util.function.IntConsumer;
+import java.util.function.IntFunction;
 
 /**
  * Clase que construye una interfaz de usuario gráfica (GUI) utilizando Swing.
@@ -159,6 +161,74 @@ public class SwingMenuBuilder extends JFrame {
         JOptionPane.showMessageDialog(null, scrollPane, title, JOptionPane.INFORMATION_MESSAGE);
     }
 
+    /**
+     * Muestra un cuadro de diálogo con un texto largo dividido en páginas.
+     * Solo se genera el texto de la página visible, de modo que el texto completo nunca está en memoria.
+     * Si la generación de una página falla, el diálogo se cierra y la excepción se relanza al llamador.
+     *
+     * @param title Título del cuadro de diálogo.
+     * @param pageCount Número de páginas.
+     * @param pageRenderer Función que genera el texto de una página a partir de su número, empezando en 0.
+     */
+    public static void showPagedTextDialog(String title, int pageCount, IntFunction<String> pageRenderer) {
+        JTextArea textArea = new JTextArea(pageRenderer.apply(0));
+        textArea.setEditable(false);
+        textArea.setLineWrap(true);
+        textArea.setWrapStyleWord(true);
+        JScrollPane scrollPane = new JScrollPane(textArea);
+        scrollPane.setPreferredSize(new Dimension(500, 300));
+
+        JDialog dialog = new JDialog((Frame) null, title, true);
+        JLabel pageLabel = new JLabel();
+        JButton previousButton = new JButton("Anterior");
+        JButton nextButton = new JButton("Siguiente");
+        JButton closeButton = new JButton("Cerrar");
+        int[] currentPage = {0};
+        RuntimeException[] failure = {null};
+
+        Runnable updateNavigation = () -> {
+            pageLabel.setText("Página " + (currentPage[0] + 1) + " de " + pageCount);
+            previousButton.setEnabled(currentPage[0] > 0);
+            nextButton.setEnabled(currentPage[0] < pageCount - 1);
+        };
+        IntConsumer showPage = page -> {
+            try {
+                textArea.setText(pageRenderer.apply(page));
+                textArea.setCaretPosition(0);
+                currentPage[0] = page;
+                updateNavigation.run();
+            } catch (RuntimeException e) {
+                failure[0] = e;
+                dialog.dispose();
+            }
+        };
+        previousButton.addActionListener(e -> showPage.accept(currentPage[0] - 1));
+        nextButton.addActionListener(e -> showPage.accept(currentPage[0] + 1));
+        closeButton.addActionListener(e -> dialog.dispose());
+        updateNavigation.run();
+
+        JPanel navigationPanel = new JPanel(new FlowLayout());
+        navigationPanel.add(previousButton);
+        navigationPanel.add(pageLabel);
+        navigationPanel.add(nextButton);
+        navigationPanel.add(closeButton);
+
+        JPanel mainPanel = new JPanel(new BorderLayout());
+        mainPanel.setBorder(new EmptyBorder(10, 10, 10, 10));
+        mainPanel.add(scrollPane, BorderLayout.CENTER);
+        mainPanel.add(navigationPanel, BorderLayout.SOUTH);
+
+        dialog.setContentPane(mainPanel);
+        dialog.setDefaultCloseOperation(WindowConstants.DISPOSE_ON_CLOSE);
+        dialog.pack();
+        dialog.setLocationRelativeTo(null);
+        dialog.setVisible(true); // Diálogo modal: bloquea hasta que se cierra
+
+        if (failure[0] != null) {
+            throw failure[0];
+        }
+    }
+
     /**
      * Muestra la interfaz gráfica de usuario.
      */
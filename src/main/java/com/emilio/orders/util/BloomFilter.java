@@ -0,0 +1,109 @@
+package com.emilio.orders.util;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Filtro de Bloom para claves enteras.
+ * <p>
+ * Responde si una clave puede estar en el conjunto o si seguro que no está: nunca da falsos
+ * negativos y da falsos positivos con una probabilidad que depende del tamaño elegido. Las claves
+ * no se pueden quitar. Cada clave marca {@code k} bits obtenidos por doble hash a partir de dos
+ * mezclas de 32 bits de la clave. Admite inserciones y consultas concurrentes.
+ */
+public class BloomFilter {
+    private final AtomicLongArray bits;
+    private final long bitCount;
+    private final int hashCount;
+
+    /**
+     * Constructor de la clase BloomFilter.
+     *
+     * @param expectedInsertions Número de claves previsto.
+     * @param falsePositiveRate Probabilidad de falso positivo deseada con ese número de claves.
+     */
+    public BloomFilter(int expectedInsertions, double falsePositiveRate) {
+        if (expectedInsertions <= 0) {
+            throw new IllegalArgumentException("El número de claves previsto debe ser positivo");
+        }
+        if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("La probabilidad de falso positivo debe estar entre 0 y 1");
+        }
+        long m = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        int words = Math.toIntExact((m + 63) / 64);
+        this.bits = new AtomicLongArray(words);
+        this.bitCount = (long) words * 64;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / expectedInsertions * Math.log(2)));
+    }
+
+    /**
+     * Añade una clave al filtro.
+     *
+     * @param key Clave a añadir.
+     */
+    public void put(int key) {
+        int h1 = mix(key);
+        int h2 = mix(h1 ^ key);
+        for (int i = 0; i < hashCount; i++) {
+            long bit = index(h1, h2, i);
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long current = bits.get(word);
+            while ((current & mask) == 0 && !bits.compareAndSet(word, current, current | mask)) {
+                current = bits.get(word);
+            }
+        }
+    }
+
+    /**
+     * Indica si una clave puede estar en el filtro.
+     *
+     * @param key Clave a consultar.
+     * @return false si seguro que la clave no se ha añadido; true si puede haberse añadido.
+     */
+    public boolean mightContain(int key) {
+        int h1 = mix(key);
+        int h2 = mix(h1 ^ key);
+        for (int i = 0; i < hashCount; i++) {
+            long bit = index(h1, h2, i);
+            if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Devuelve el número de bits del filtro.
+     *
+     * @return Tamaño del filtro en bits.
+     */
+    public long bitSize() {
+        return bitCount;
+    }
+
+    /**
+     * Devuelve el número de bits que marca cada clave.
+     *
+     * @return Número de funciones hash.
+     */
+    public int hashCount() {
+        return hashCount;
+    }
+
+    private long index(int h1, int h2, int i) {
+        long combined = (h1 & 0xFFFFFFFFL) + (long) i * (h2 | 1);
+        return Long.remainderUnsigned(combined, bitCount);
+    }
+
+    /**
+     * Finalizador de MurmurHash3: reparte bien claves consecutivas.
+     */
+    private static int mix(int h) {
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h;
+    }
+}
\ No newline at end of file
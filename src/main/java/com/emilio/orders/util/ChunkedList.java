@@ -0,0 +1,119 @@
+package com.emilio.orders.util;
+
+import java.sql.SQLException;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ToIntFunction;
+
+/**
+ * Lista de solo lectura que carga sus elementos de la base de datos por bloques a medida que se accede a ellos.
+ * <p>
+ * El tamaño se fija al crearla (normalmente con un COUNT) y cada bloque se lee por clave
+ * ("id &gt; último id del bloque anterior ORDER BY id LIMIT tamaño"), de modo que leer un bloque
+ * cuesta lo mismo esté al principio o al final de la tabla. Solo se mantienen en memoria los
+ * últimos bloques usados; de los demás se recuerda únicamente su última clave para poder
+ * volver a cargarlos.
+ * <p>
+ * Los errores de acceso a datos se lanzan como {@link DatabaseException}. Si la tabla pierde filas
+ * mientras se recorre, el acceso a las posiciones que ya no existen lanza
+ * {@link ConcurrentModificationException}. No es segura para su uso desde varios hilos.
+ */
+public class ChunkedList<T> extends AbstractList<T> {
+    public static final int DEFAULT_MAX_CHUNKS = 4; // Bloques en memoria por defecto
+
+    /**
+     * Interfaz funcional que lee un bloque de elementos con clave mayor que la indicada, ordenados por clave.
+     */
+    @FunctionalInterface
+    public interface ChunkLoader<T> {
+        List<T> load(int afterKey, int limit) throws SQLException;
+    }
+
+    private final int size;
+    private final int chunkSize;
+    private final ChunkLoader<T> loader;
+    private final ToIntFunction<T> keyExtractor;
+    private final Map<Integer, List<T>> window; // Bloques cargados, del menos al más recientemente usado
+    private final List<Integer> lastKeys = new ArrayList<>(); // Última clave de cada bloque ya leído
+
+    /**
+     * Constructor de la clase ChunkedList.
+     *
+     * @param size Número total de elementos.
+     * @param chunkSize Número de elementos de cada bloque.
+     * @param maxChunks Número máximo de bloques que se mantienen en memoria.
+     * @param loader Función que lee un bloque a partir de una clave.
+     * @param keyExtractor Función que obtiene la clave de un elemento.
+     */
+    public ChunkedList(int size, int chunkSize, int maxChunks, ChunkLoader<T> loader, ToIntFunction<T> keyExtractor) {
+        if (size < 0) {
+            throw new IllegalArgumentException("El tamaño no puede ser negativo");
+        }
+        if (chunkSize <= 0 || maxChunks <= 0) {
+            throw new IllegalArgumentException("El tamaño de bloque y el número de bloques deben ser positivos");
+        }
+        this.size = size;
+        this.chunkSize = chunkSize;
+        this.loader = loader;
+        this.keyExtractor = keyExtractor;
+        this.window = new LinkedHashMap<>(maxChunks + 1, 1f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, List<T>> eldest) {
+                return size() > maxChunks;
+            }
+        };
+    }
+
+    @Override
+    public T get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Índice: " + index + ", tamaño: " + size);
+        }
+        List<T> chunk = chunk(index / chunkSize);
+        int offset = index % chunkSize;
+        if (offset >= chunk.size()) {
+            throw new ConcurrentModificationException("La tabla ha cambiado mientras se recorría la lista");
+        }
+        return chunk.get(offset);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Devuelve el bloque indicado, cargándolo si no está en memoria. Si aún no se conoce la clave
+     * en la que empieza, se leen antes los bloques anteriores.
+     */
+    private List<T> chunk(int number) {
+        List<T> chunk = window.get(number);
+        if (chunk != null) {
+            return chunk;
+        }
+        for (int next = Math.min(lastKeys.size(), number); next <= number; next++) {
+            int afterKey = next == 0 ? Integer.MIN_VALUE : lastKeys.get(next - 1);
+            chunk = load(afterKey);
+            if (next == lastKeys.size()) {
+                if (chunk.isEmpty()) {
+                    throw new ConcurrentModificationException("La tabla ha cambiado mientras se recorría la lista");
+                }
+                lastKeys.add(keyExtractor.applyAsInt(chunk.get(chunk.size() - 1)));
+            }
+            window.put(next, chunk);
+        }
+        return chunk;
+    }
+
+    private List<T> load(int afterKey) {
+        try {
+            return loader.load(afterKey, chunkSize);
+        } catch (SQLException e) {
+            throw new DatabaseException("Error al cargar un bloque de la lista", e);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,184 @@
+package com.emilio.orders.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Publicador {@link Flow.Publisher} que emite las filas de un {@link RowCursor} respetando la
+ * demanda de cada suscriptor (backpressure).
+ * <p>
+ * Cada suscripción abre su propio cursor la primera vez que se solicitan elementos y solo lee
+ * del cursor tantas filas como haya pedido el suscriptor. Al cancelar, completar o fallar se
+ * cierra el cursor, lo que libera la sentencia JDBC y la conexión o sesión asociada.
+ * Las señales hacia el suscriptor se emiten siempre de forma secuencial desde el ejecutor.
+ */
+public class CursorPublisher<T> implements Flow.Publisher<T> {
+    private static final Logger logger = LoggerFactory.getLogger(CursorPublisher.class);
+
+    /**
+     * Interfaz funcional que abre un nuevo cursor para cada suscripción.
+     */
+    @FunctionalInterface
+    public interface CursorOpener<T> {
+        RowCursor<T> open() throws Exception;
+    }
+
+    private static final ExecutorService DEFAULT_EXECUTOR = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "cursor-publisher");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final CursorOpener<T> opener;
+    private final Executor executor;
+
+    /**
+     * Crea un publicador que utiliza el ejecutor por defecto (hilos daemon bajo demanda).
+     *
+     * @param opener Función que abre el cursor de cada suscripción.
+     */
+    public CursorPublisher(CursorOpener<T> opener) {
+        this(opener, DEFAULT_EXECUTOR);
+    }
+
+    /**
+     * Crea un publicador que lee del cursor en el ejecutor indicado.
+     *
+     * @param opener Función que abre el cursor de cada suscripción.
+     * @param executor Ejecutor en el que se realizan las lecturas y se emiten las señales.
+     */
+    public CursorPublisher(CursorOpener<T> opener, Executor executor) {
+        this.opener = Objects.requireNonNull(opener);
+        this.executor = Objects.requireNonNull(executor);
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super T> subscriber) {
+        Objects.requireNonNull(subscriber);
+        CursorSubscription subscription = new CursorSubscription(subscriber);
+        subscriber.onSubscribe(subscription);
+    }
+
+    /**
+     * Suscripción que lee del cursor en un bucle de drenado serializado mediante un contador
+     * de trabajo pendiente, de modo que nunca hay dos hilos usando el cursor a la vez.
+     */
+    private final class CursorSubscription implements Flow.Subscription, Runnable {
+        private final Flow.Subscriber<? super T> subscriber;
+        private final AtomicLong requested = new AtomicLong();
+        private final AtomicInteger wip = new AtomicInteger();
+        private volatile boolean cancelled;
+        private volatile Throwable invalidRequest;
+        private RowCursor<T> cursor;
+
+        CursorSubscription(Flow.Subscriber<? super T> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                invalidRequest = new IllegalArgumentException("La demanda debe ser positiva: " + n);
+            } else {
+                requested.getAndAccumulate(n, (current, added) -> {
+                    long sum = current + added;
+                    return sum < 0 ? Long.MAX_VALUE : sum;
+                });
+            }
+            schedule();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            schedule();
+        }
+
+        private void schedule() {
+            if (wip.getAndIncrement() == 0) {
+                try {
+                    executor.execute(this);
+                } catch (RejectedExecutionException e) {
+                    cancelled = true;
+                    closeCursor();
+                    subscriber.onError(e);
+                }
+            }
+        }
+
+        @Override
+        public void run() {
+            int missed = 1;
+            while (true) {
+                if (cancelled) {
+                    closeCursor();
+                    return;
+                }
+                Throwable error = invalidRequest;
+                if (error != null) {
+                    terminateWithError(error);
+                    return;
+                }
+
+                long demand = requested.get();
+                long emitted = 0;
+                try {
+                    if (cursor == null && demand > 0) {
+                        cursor = opener.open();
+                    }
+                    while (emitted != demand) {
+                        if (cancelled) {
+                            closeCursor();
+                            return;
+                        }
+                        if (!cursor.next()) {
+                            closeCursor();
+                            cancelled = true;
+                            subscriber.onComplete();
+                            return;
+                        }
+                        subscriber.onNext(cursor.current());
+                        emitted++;
+                    }
+                } catch (Exception e) {
+                    terminateWithError(e);
+                    return;
+                }
+
+                if (emitted > 0 && demand != Long.MAX_VALUE) {
+                    requested.addAndGet(-emitted);
+                }
+                missed = wip.addAndGet(-missed);
+                if (missed == 0) {
+                    return;
+                }
+            }
+        }
+
+        private void terminateWithError(Throwable error) {
+            cancelled = true;
+            closeCursor();
+            subscriber.onError(error);
+        }
+
+        private void closeCursor() {
+            if (cursor != null) {
+                try {
+                    cursor.close();
+                } catch (Exception e) {
+                    logger.warn("Error al cerrar el cursor: {}", e.getMessage());
+                }
+                cursor = null;
+            }
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.emilio.orders.util;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Cursor JDBC que mantiene abiertos la conexión, la sentencia y el ResultSet
+ * mientras se consumen las filas, y los cierra todos al terminar o al cancelar.
+ */
+public class JdbcRowCursor<T> implements RowCursor<T> {
+
+    /**
+     * Interfaz funcional que convierte la fila actual de un ResultSet en un objeto.
+     */
+    @FunctionalInterface
+    public interface RowMapper<T> {
+        T map(ResultSet rs) throws SQLException;
+    }
+
+    /**
+     * Interfaz funcional para asignar los parámetros de la sentencia preparada.
+     */
+    @FunctionalInterface
+    public interface ParameterSetter {
+        void apply(PreparedStatement stmt) throws SQLException;
+    }
+
+    private final Connection conn;
+    private final PreparedStatement stmt;
+    private final ResultSet rs;
+    private final RowMapper<T> mapper;
+
+    private JdbcRowCursor(Connection conn, PreparedStatement stmt, ResultSet rs, RowMapper<T> mapper) {
+        this.conn = conn;
+        this.stmt = stmt;
+        this.rs = rs;
+        this.mapper = mapper;
+    }
+
+    /**
+     * Abre un cursor ejecutando la consulta indicada sobre una conexión propia.
+     * La conexión se devuelve al pool cuando se cierra el cursor.
+     *
+     * @param conn Conexión a utilizar (pasa a ser propiedad del cursor).
+     * @param sql Consulta SQL a ejecutar.
+     * @param fetchSize Número de filas que se solicitan al driver en cada lectura.
+     * @param parameters Asignación de parámetros de la consulta.
+     * @param mapper Conversión de cada fila en un objeto.
+     * @return El cursor posicionado antes de la primera fila.
+     * @throws SQLException Si ocurre un error al preparar o ejecutar la consulta.
+     */
+    public static <T> JdbcRowCursor<T> open(Connection conn, String sql, int fetchSize,
+            ParameterSetter parameters, RowMapper<T> mapper) throws SQLException {
+        PreparedStatement stmt = null;
+        try {
+            stmt = conn.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            stmt.setFetchSize(fetchSize);
+            parameters.apply(stmt);
+            ResultSet rs = stmt.executeQuery();
+            return new JdbcRowCursor<>(conn, stmt, rs, mapper);
+        } catch (SQLException e) {
+            if (stmt != null) {
+                stmt.close();
+            }
+            conn.close();
+            throw e;
+        }
+    }
+
+    @Override
+    public boolean next() throws SQLException {
+        return rs.next();
+    }
+
+    @Override
+    public T current() throws SQLException {
+        return mapper.map(rs);
+    }
+
+    /**
+     * Cierra el ResultSet, la sentencia y la conexión en ese orden.
+     *
+     * @throws SQLException Si ocurre un error al cerrar alguno de los recursos.
+     */
+    @Override
+    public void close() throws SQLException {
+        try (conn; stmt; rs) {
+            // try-with-resources cierra rs, stmt y conn en orden inverso
+        }
+    }
+}
@@ -0,0 +1,417 @@
+package com.emilio.orders.util;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Resumen KLL (Karnin, Lang y Liberty) de una secuencia de valores para estimar sus cuantiles.
+ * <p>
+ * Guarda los valores en niveles: el nivel h contiene valores que representan a 2^h valores
+ * originales cada uno. Cuando el resumen supera su capacidad, el nivel más bajo que está lleno se
+ * ordena y se queda con uno de cada dos valores (los pares o los impares, al azar), que suben al
+ * nivel siguiente. Los niveles altos tienen más capacidad que los bajos, de modo que el tamaño del
+ * resumen es de unos 3·k valores sea cual sea la cantidad de valores vista.
+ * <p>
+ * El error en el rango de un cuantil es de alrededor del 1,65 / k con alta probabilidad (un 0,8 %
+ * con el k por defecto, 200). Dos resúmenes se pueden fusionar, con el mismo error que si se
+ * hubieran alimentado con todos los valores, y se pueden serializar para guardarlos. Los valores
+ * no se pueden quitar. Los métodos están sincronizados.
+ */
+public class KllSketch {
+    public static final int DEFAULT_K = 200;
+    private static final int MIN_CAPACITY = 8; // Capacidad mínima de un nivel
+    private static final double DECAY = 2.0 / 3.0; // Capacidad de un nivel respecto al superior
+    private static final byte FORMAT_VERSION = 1;
+
+    private final int k;
+    private final SplittableRandom random;
+    private double[][] levels = new double[1][];
+    private int[] sizes = new int[1];
+    private long n;
+    private double min = Double.NaN;
+    private double max = Double.NaN;
+    private double[] sortedItems; // Vista ordenada para las consultas; null si ha cambiado
+    private long[] cumulativeWeights;
+
+    /**
+     * Constructor de la clase KllSketch con el k por defecto.
+     */
+    public KllSketch() {
+        this(DEFAULT_K);
+    }
+
+    /**
+     * Constructor de la clase KllSketch.
+     *
+     * @param k Capacidad del nivel superior; a mayor k, menor error y mayor tamaño.
+     */
+    public KllSketch(int k) {
+        if (k < MIN_CAPACITY) {
+            throw new IllegalArgumentException("El parámetro k debe ser al menos " + MIN_CAPACITY);
+        }
+        this.k = k;
+        this.random = new SplittableRandom();
+        levels[0] = new double[MIN_CAPACITY]; // Crece al añadir, para que los resúmenes pequeños ocupen poco
+    }
+
+    /**
+     * Añade un valor al resumen.
+     *
+     * @param value Valor a añadir; se ignora si es NaN.
+     */
+    public synchronized void update(double value) {
+        if (Double.isNaN(value)) {
+            return;
+        }
+        if (n == 0) {
+            min = value;
+            max = value;
+        } else {
+            min = Math.min(min, value);
+            max = Math.max(max, value);
+        }
+        n++;
+        append(0, value);
+        compressWhileNeeded();
+        sortedItems = null;
+    }
+
+    /**
+     * Añade al resumen todos los valores de otro, como si se hubieran añadido uno a uno.
+     *
+     * @param other Resumen a fusionar; no se modifica.
+     */
+    public void merge(KllSketch other) {
+        KllSketch copy = other.copy();
+        synchronized (this) {
+            if (copy.n == 0) {
+                return;
+            }
+            min = n == 0 ? copy.min : Math.min(min, copy.min);
+            max = n == 0 ? copy.max : Math.max(max, copy.max);
+            n += copy.n;
+            for (int level = 0; level < copy.levels.length; level++) {
+                for (int i = 0; i < copy.sizes[level]; i++) {
+                    append(level, copy.levels[level][i]);
+                }
+            }
+            compressWhileNeeded();
+            sortedItems = null;
+        }
+    }
+
+    /**
+     * Devuelve el número de valores añadidos.
+     *
+     * @return El número de valores.
+     */
+    public synchronized long getN() { return n; }
+
+    /**
+     * Devuelve el menor valor añadido, exacto.
+     *
+     * @return El mínimo, o NaN si el resumen está vacío.
+     */
+    public synchronized double getMin() { return min; }
+
+    /**
+     * Devuelve el mayor valor añadido, exacto.
+     *
+     * @return El máximo, o NaN si el resumen está vacío.
+     */
+    public synchronized double getMax() { return max; }
+
+    /**
+     * Estima el valor por debajo del cual queda una fracción de los valores.
+     *
+     * @param fraction Fracción entre 0 y 1 (0,5 para la mediana, 0,99 para el percentil 99).
+     * @return El cuantil estimado, o NaN si el resumen está vacío.
+     */
+    public synchronized double getQuantile(double fraction) {
+        if (fraction < 0 || fraction > 1) {
+            throw new IllegalArgumentException("La fracción debe estar entre 0 y 1");
+        }
+        if (n == 0) {
+            return Double.NaN;
+        }
+        if (fraction == 0) {
+            return min;
+        }
+        if (fraction == 1) {
+            return max;
+        }
+        sort();
+        long target = (long) Math.ceil(fraction * n);
+        int index = Arrays.binarySearch(cumulativeWeights, target);
+        if (index < 0) {
+            index = -index - 1;
+        }
+        return sortedItems[Math.min(index, sortedItems.length - 1)];
+    }
+
+    /**
+     * Estima la fracción de valores menores o iguales que uno dado.
+     *
+     * @param value Valor de referencia.
+     * @return La fracción estimada, entre 0 y 1; 0 si el resumen está vacío.
+     */
+    public synchronized double getRank(double value) {
+        if (n == 0) {
+            return 0;
+        }
+        sort();
+        int index = upperBound(sortedItems, value);
+        return index == 0 ? 0 : (double) cumulativeWeights[index - 1] / n;
+    }
+
+    /**
+     * Estima cuántos valores caen en cada tramo delimitado por los puntos de corte.
+     *
+     * @param splits Puntos de corte en orden creciente; el tramo i va de splits[i-1] (excluido)
+     *               a splits[i] (incluido), y hay un tramo más para los valores mayores que el último.
+     * @return El número estimado de valores de cada tramo; suman el total de valores.
+     */
+    public synchronized long[] getHistogram(double... splits) {
+        for (int i = 1; i < splits.length; i++) {
+            if (!(splits[i] > splits[i - 1])) {
+                throw new IllegalArgumentException("Los puntos de corte deben ser crecientes");
+            }
+        }
+        long[] counts = new long[splits.length + 1];
+        if (n == 0) {
+            return counts;
+        }
+        sort();
+        long previous = 0;
+        for (int i = 0; i < splits.length; i++) {
+            int index = upperBound(sortedItems, splits[i]);
+            long cumulative = index == 0 ? 0 : cumulativeWeights[index - 1];
+            counts[i] = cumulative - previous;
+            previous = cumulative;
+        }
+        counts[splits.length] = n - previous;
+        return counts;
+    }
+
+    /**
+     * Crea una copia independiente del resumen.
+     *
+     * @return La copia.
+     */
+    public synchronized KllSketch copy() {
+        KllSketch copy = new KllSketch(k);
+        copy.levels = new double[levels.length][];
+        for (int level = 0; level < levels.length; level++) {
+            copy.levels[level] = Arrays.copyOf(levels[level], levels[level].length);
+        }
+        copy.sizes = Arrays.copyOf(sizes, sizes.length);
+        copy.n = n;
+        copy.min = min;
+        copy.max = max;
+        return copy;
+    }
+
+    /**
+     * Serializa el resumen para guardarlo.
+     *
+     * @return Los bytes del resumen.
+     */
+    public synchronized byte[] toByteArray() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(FORMAT_VERSION);
+            out.writeInt(k);
+            out.writeLong(n);
+            out.writeDouble(min);
+            out.writeDouble(max);
+            out.writeInt(levels.length);
+            for (int level = 0; level < levels.length; level++) {
+                out.writeInt(sizes[level]);
+                for (int i = 0; i < sizes[level]; i++) {
+                    out.writeDouble(levels[level][i]);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Reconstruye un resumen serializado con {@link #toByteArray()}.
+     *
+     * @param data Los bytes del resumen.
+     * @return El resumen.
+     * @throws IllegalArgumentException Si los bytes no son un resumen válido.
+     */
+    public static KllSketch fromByteArray(byte[] data) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(data))) {
+            byte version = in.readByte();
+            if (version != FORMAT_VERSION) {
+                throw new IllegalArgumentException("Versión de resumen no soportada: " + version);
+            }
+            KllSketch sketch = new KllSketch(in.readInt());
+            sketch.n = in.readLong();
+            sketch.min = in.readDouble();
+            sketch.max = in.readDouble();
+            int numLevels = in.readInt();
+            sketch.levels = new double[numLevels][];
+            sketch.sizes = new int[numLevels];
+            for (int level = 0; level < numLevels; level++) {
+                int size = in.readInt();
+                sketch.levels[level] = new double[Math.max(size, sketch.capacity(level, numLevels))];
+                sketch.sizes[level] = size;
+                for (int i = 0; i < size; i++) {
+                    sketch.levels[level][i] = in.readDouble();
+                }
+            }
+            return sketch;
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Resumen serializado no válido", e);
+        }
+    }
+
+    /**
+     * Devuelve el número de valores guardados, que determina el tamaño del resumen.
+     *
+     * @return El número de valores retenidos en todos los niveles.
+     */
+    public synchronized int getRetained() {
+        int retained = 0;
+        for (int size : sizes) {
+            retained += size;
+        }
+        return retained;
+    }
+
+    @Override
+    public synchronized String toString() {
+        if (n == 0) {
+            return "KllSketch vacío";
+        }
+        return String.format("KllSketch n=%d min=%.2f p50=%.2f p90=%.2f p99=%.2f max=%.2f",
+                n, min, getQuantile(0.5), getQuantile(0.9), getQuantile(0.99), max);
+    }
+
+    /**
+     * Capacidad de un nivel: k para el superior y 2/3 de la del nivel de encima para el resto.
+     */
+    private int capacity(int level, int numLevels) {
+        int depth = numLevels - level - 1;
+        return Math.max(MIN_CAPACITY, (int) Math.ceil(k * Math.pow(DECAY, depth)));
+    }
+
+    private int totalCapacity() {
+        int total = 0;
+        for (int level = 0; level < levels.length; level++) {
+            total += capacity(level, levels.length);
+        }
+        return total;
+    }
+
+    private void append(int level, double value) {
+        while (level >= levels.length) {
+            levels = Arrays.copyOf(levels, levels.length + 1);
+            sizes = Arrays.copyOf(sizes, sizes.length + 1);
+            levels[levels.length - 1] = new double[MIN_CAPACITY];
+        }
+        if (sizes[level] == levels[level].length) {
+            levels[level] = Arrays.copyOf(levels[level], levels[level].length * 2);
+        }
+        levels[level][sizes[level]++] = value;
+    }
+
+    /**
+     * Compacta niveles mientras el resumen supere su capacidad total.
+     */
+    private void compressWhileNeeded() {
+        while (getRetained() > totalCapacity()) {
+            int level = 0;
+            while (sizes[level] < capacity(level, levels.length)) {
+                level++;
+            }
+            compact(level);
+        }
+    }
+
+    /**
+     * Ordena un nivel y sube al siguiente uno de cada dos valores. Si el nivel tiene un número impar
+     * de valores, el último se queda donde está.
+     */
+    private void compact(int level) {
+        double[] items = levels[level];
+        int size = sizes[level];
+        Arrays.sort(items, 0, size);
+        int pairs = size / 2;
+        int offset = random.nextBoolean() ? 1 : 0;
+        double leftover = items[size - 1];
+        for (int i = 0; i < pairs; i++) {
+            append(level + 1, levels[level][2 * i + offset]);
+        }
+        if (size % 2 == 1) {
+            levels[level][0] = leftover;
+            sizes[level] = 1;
+        } else {
+            sizes[level] = 0;
+        }
+    }
+
+    /**
+     * Prepara la vista ordenada de todos los valores con el peso acumulado de cada uno.
+     */
+    private void sort() {
+        if (sortedItems != null) {
+            return;
+        }
+        int retained = getRetained();
+        double[] items = new double[retained];
+        long[] weights = new long[retained];
+        int index = 0;
+        for (int level = 0; level < levels.length; level++) {
+            for (int i = 0; i < sizes[level]; i++) {
+                items[index] = levels[level][i];
+                weights[index] = 1L << level;
+                index++;
+            }
+        }
+        // Ordena los índices por valor para llevar los pesos con ellos
+        Integer[] order = new Integer[retained];
+        for (int i = 0; i < retained; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Double.compare(items[a], items[b]));
+        double[] sorted = new double[retained];
+        long[] cumulative = new long[retained];
+        long total = 0;
+        for (int i = 0; i < retained; i++) {
+            sorted[i] = items[order[i]];
+            total += weights[order[i]];
+            cumulative[i] = total;
+        }
+        sortedItems = sorted;
+        cumulativeWeights = cumulative;
+    }
+
+    /**
+     * Índice del primer valor mayor que el dado en un array ordenado.
+     */
+    private static int upperBound(double[] sorted, double value) {
+        int low = 0;
+        int high = sorted.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sorted[mid] <= value) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,210 @@
+package com.emilio.orders.util;
+
+import com.emilio.orders.config.DatabaseConfig;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.BinaryOperator;
+import java.util.regex.Pattern;
+
+/**
+ * Ejecuta consultas de agregación o recorrido sobre una tabla grande repartiéndolas en particiones
+ * por rangos de rowid, cada una en su propia conexión del pool, y combina los resultados parciales.
+ * <p>
+ * Una sola conexión SQLite recorre la tabla en un único núcleo. Con WAL, varias conexiones pueden
+ * leer a la vez, así que el rango entre el menor y el mayor rowid se divide en varias particiones
+ * por hilo (para que los huecos en los IDs no dejen hilos parados) que se ejecutan en un
+ * {@link ForkJoinPool} propio: cada tarea divide su tramo de particiones en dos hasta quedarse con
+ * una, y al volver combina los resultados de ambas mitades en orden. Las tablas pequeñas se
+ * consultan de una vez en el hilo que llama.
+ * <p>
+ * Las particiones se leen en transacciones distintas, así que una escritura concurrente puede verse
+ * en unas particiones y no en otras.
+ */
+public class ParallelQueryExecutor implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(ParallelQueryExecutor.class);
+    private static final int PARTICIONES_POR_HILO = 4;
+    private static final long MIN_FILAS_PARTICION = 20_000; // Por debajo no compensa repartir
+    private static final Pattern TABLA = Pattern.compile("[A-Za-z_][A-Za-z0-9_]*");
+
+    /**
+     * Interfaz funcional que consulta una partición: las filas con rowid entre dos valores.
+     */
+    @FunctionalInterface
+    public interface PartitionQuery<R> {
+        /**
+         * @param conn Conexión propia de la partición; la cierra el ejecutor.
+         * @param desde Primer rowid de la partición, incluido.
+         * @param hasta Último rowid de la partición, incluido.
+         * @return El resultado parcial de la partición.
+         */
+        R query(Connection conn, long desde, long hasta) throws SQLException;
+    }
+
+    /**
+     * Transporta una SQLException de una partición a través del ForkJoinPool.
+     */
+    private static final class PartitionException extends RuntimeException {
+        PartitionException(SQLException cause) {
+            super(cause);
+        }
+    }
+
+    private final DatabaseConfig databaseConfig;
+    private final int parallelism;
+    private final ForkJoinPool pool;
+
+    /**
+     * Constructor de la clase ParallelQueryExecutor con un hilo por núcleo, sin pasar del tamaño del pool.
+     *
+     * @param databaseConfig Configuración de la base de datos que da las conexiones.
+     */
+    public ParallelQueryExecutor(DatabaseConfig databaseConfig) {
+        this(databaseConfig, Math.min(Runtime.getRuntime().availableProcessors(), databaseConfig.getMaxPoolSize()));
+    }
+
+    /**
+     * Constructor de la clase ParallelQueryExecutor.
+     *
+     * @param databaseConfig Configuración de la base de datos que da las conexiones.
+     * @param parallelism Número de particiones que se consultan a la vez; no debería superar el
+     *                    tamaño del pool de conexiones.
+     */
+    public ParallelQueryExecutor(DatabaseConfig databaseConfig, int parallelism) {
+        this.databaseConfig = databaseConfig;
+        this.parallelism = Math.max(1, parallelism);
+        this.pool = new ForkJoinPool(this.parallelism); // Sus hilos son daemon
+    }
+
+    /**
+     * Devuelve el número de particiones que se consultan a la vez.
+     *
+     * @return El paralelismo.
+     */
+    public int getParallelism() { return parallelism; }
+
+    /**
+     * Ejecuta una consulta sobre todas las filas de una tabla, por particiones de rowid.
+     *
+     * @param tabla Tabla cuyos rowid se reparten.
+     * @param query Consulta de una partición.
+     * @param merge Combina los resultados de dos particiones consecutivas.
+     * @return La combinación de los resultados de todas las particiones. Si la tabla está vacía,
+     *         el resultado de consultar un rango vacío.
+     * @throws SQLException Si falla la consulta de alguna partición, cuando han terminado las demás.
+     */
+    public <R> R execute(String tabla, PartitionQuery<R> query, BinaryOperator<R> merge) throws SQLException {
+        if (!TABLA.matcher(tabla).matches()) {
+            throw new IllegalArgumentException("Nombre de tabla no válido: " + tabla);
+        }
+        long start = System.nanoTime();
+        long min;
+        long max;
+        // La conexión del rango se libera antes de consultar las particiones, que usan el mismo pool
+        try (Connection conn = databaseConfig.getConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT MIN(rowid), MAX(rowid) FROM " + tabla)) {
+            rs.next();
+            min = rs.getLong(1);
+            max = rs.wasNull() ? min - 1 : rs.getLong(2);
+        }
+        long filas = max - min + 1;
+        int particiones = (int) Math.max(1, Math.min((long) parallelism * PARTICIONES_POR_HILO,
+                filas / MIN_FILAS_PARTICION));
+        if (particiones == 1 || parallelism == 1) {
+            try (Connection conn = databaseConfig.getConnection()) {
+                return query.query(conn, min, max);
+            }
+        }
+        R result = invoke(new Particion<>(query, merge, min, filas, particiones, 0, particiones));
+        logger.debug("Consulta sobre {} en {} particiones en {} ms", tabla, particiones,
+                (System.nanoTime() - start) / 1_000_000);
+        return result;
+    }
+
+    /**
+     * Detiene los hilos del ejecutor.
+     */
+    @Override
+    public void close() {
+        pool.shutdown();
+    }
+
+    /**
+     * Indica si el ejecutor se ha cerrado.
+     *
+     * @return true si ya no acepta consultas.
+     */
+    public boolean isClosed() { return pool.isShutdown(); }
+
+    private <R> R invoke(Particion<R> task) throws SQLException {
+        try {
+            return pool.invoke(task);
+        } catch (RuntimeException e) {
+            // El ForkJoinPool puede envolver la excepción de la tarea en otra del mismo tipo
+            for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+                if (cause instanceof SQLException sqlException) {
+                    throw sqlException;
+                }
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Tarea que consulta un tramo de particiones: la consulta si es una sola o lo divide en dos.
+     * La partición i va de {@code min + filas * i / particiones} a la siguiente, sin incluirla.
+     */
+    private final class Particion<R> extends RecursiveTask<R> {
+        private final PartitionQuery<R> query;
+        private final BinaryOperator<R> merge;
+        private final long min;
+        private final long filas;
+        private final int particiones;
+        private final int primera;
+        private final int fin;
+
+        Particion(PartitionQuery<R> query, BinaryOperator<R> merge, long min, long filas, int particiones,
+                  int primera, int fin) {
+            this.query = query;
+            this.merge = merge;
+            this.min = min;
+            this.filas = filas;
+            this.particiones = particiones;
+            this.primera = primera;
+            this.fin = fin;
+        }
+
+        @Override
+        protected R compute() {
+            if (fin - primera == 1) {
+                long desde = min + filas * primera / particiones;
+                long hasta = min + filas * (primera + 1) / particiones - 1;
+                try (Connection conn = databaseConfig.getConnection()) {
+                    return query.query(conn, desde, hasta);
+                } catch (SQLException e) {
+                    throw new PartitionException(e);
+                }
+            }
+            int mitad = (primera + fin) >>> 1;
+            Particion<R> izquierda = new Particion<>(query, merge, min, filas, particiones, primera, mitad);
+            izquierda.fork();
+            R derecha;
+            try {
+                derecha = new Particion<>(query, merge, min, filas, particiones, mitad, fin).compute();
+            } catch (RuntimeException e) {
+                // No se devuelve el error mientras la otra mitad siga usando conexiones
+                izquierda.quietlyJoin();
+                throw e;
+            }
+            return merge.apply(izquierda.join(), derecha);
+        }
+    }
+}
\ No newline at end of file
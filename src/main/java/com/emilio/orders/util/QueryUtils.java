@@ -15,6 +15,10 @@ public class QueryUtils {
         "UPDATE Zonas_Envio SET nombre_zona = ?, tarifa_envio = ? WHERE id_zona = ?";
     public static final String DELETE_ZONA = 
         "DELETE FROM Zonas_Envio WHERE id_zona = ?";
+    public static final String COUNT_ZONAS = 
+        "SELECT COUNT(*) FROM Zonas_Envio";
+    public static final String EXISTS_ZONA = 
+        "SELECT EXISTS(SELECT 1 FROM Zonas_Envio WHERE id_zona = ?)";
 
     // Consultas para Cliente
     public static final String INSERT_CLIENTE = 
@@ -30,7 +34,17 @@ public class QueryUtils {
     public static final String SELECT_CLIENTES_BY_ZONA = 
         "SELECT * FROM Clientes WHERE id_zona = ?";
     public static final String SELECT_TOTAL_CLIENTE = 
-        "SELECT SUM(importe_total) as total FROM Pedidos WHERE id_cliente = ?";
+        "SELECT total FROM Cliente_Totales WHERE id_cliente = ?";
+    public static final String COUNT_CLIENTES = 
+        "SELECT COUNT(*) FROM Clientes";
+    public static final String COUNT_CLIENTES_BY_ZONA = 
+        "SELECT COUNT(*) FROM Clientes WHERE id_zona = ?";
+    public static final String EXISTS_CLIENTE = 
+        "SELECT EXISTS(SELECT 1 FROM Clientes WHERE id_cliente = ?)";
+    public static final String SELECT_CLIENTES_AFTER_ID = 
+        "SELECT * FROM Clientes WHERE id_cliente > ? ORDER BY id_cliente LIMIT ?";
+    public static final String SELECT_CLIENTE_IDS = 
+        "SELECT id_cliente FROM Clientes";
 
     // Consultas para Pedido
     public static final String INSERT_PEDIDO = 
@@ -47,4 +61,51 @@ public class QueryUtils {
         "SELECT * FROM Pedidos WHERE id_cliente = ?";
     public static final String SELECT_PEDIDOS_BY_FECHA = 
         "SELECT * FROM Pedidos WHERE fecha = ?";
+    public static final String COUNT_PEDIDOS = 
+        "SELECT COUNT(*) FROM Pedidos";
+    public static final String COUNT_PEDIDOS_BY_CLIENTE = 
+        "SELECT COUNT(*) FROM Pedidos WHERE id_cliente = ?";
+    public static final String EXISTS_PEDIDO = 
+        "SELECT EXISTS(SELECT 1 FROM Pedidos WHERE id_pedido = ?)";
+    public static final String SELECT_PEDIDOS_AFTER_ID = 
+        "SELECT * FROM Pedidos WHERE id_pedido > ? ORDER BY id_pedido LIMIT ?";
+    public static final String SELECT_PEDIDO_IDS = 
+        "SELECT id_pedido FROM Pedidos";
+    public static final String SELECT_TOTALES_POR_CLIENTE = 
+        "SELECT id_cliente, total FROM Cliente_Totales";
+
+    // Consultas para informes
+    public static final String SELECT_VENTAS_POR_ZONA = 
+        "SELECT z.id_zona, z.nombre_zona, COUNT(c.id_cliente) AS num_clientes, "
+        + "COALESCE(SUM(t.num_pedidos), 0) AS num_pedidos, COALESCE(ROUND(SUM(t.total), 2), 0) AS ingresos "
+        + "FROM Zonas_Envio z "
+        + "LEFT JOIN Clientes c ON c.id_zona = z.id_zona "
+        + "LEFT JOIN Cliente_Totales t ON t.id_cliente = c.id_cliente "
+        + "GROUP BY z.id_zona, z.nombre_zona "
+        + "ORDER BY ingresos DESC";
+    public static final String SELECT_CLIENTES_POR_ZONA = 
+        "SELECT z.id_zona, z.nombre_zona, COUNT(c.id_cliente) AS num_clientes "
+        + "FROM Zonas_Envio z LEFT JOIN Clientes c ON c.id_zona = z.id_zona "
+        + "GROUP BY z.id_zona, z.nombre_zona";
+    public static final String SELECT_VENTAS_ZONA_PARTICION = 
+        "SELECT c.id_zona, SUM(p.importe_total) AS ingresos, COUNT(*) AS num_pedidos "
+        + "FROM Pedidos p JOIN Clientes c ON c.id_cliente = p.id_cliente "
+        + "WHERE p.id_pedido BETWEEN ? AND ? AND p.fecha >= ? AND p.fecha <= ? "
+        + "GROUP BY c.id_zona";
+
+    // Consultas para análisis en memoria
+    public static final String SELECT_COLUMNAS_PEDIDOS_AFTER_ID = 
+        "SELECT id_pedido, id_cliente, fecha, importe_total FROM Pedidos WHERE id_pedido > ? ORDER BY id_pedido";
+    public static final String SELECT_ZONAS_CLIENTES = 
+        "SELECT id_cliente, id_zona FROM Clientes";
+
+    // Consultas para el cálculo de costes de envío
+    public static final String SELECT_TARIFAS_CLIENTES = 
+        "SELECT c.id_cliente, z.tarifa_envio FROM Clientes c JOIN Zonas_Envio z ON z.id_zona = c.id_zona";
+    public static final String SELECT_COSTES_ENVIO_RANGO = 
+        "SELECT p.id_pedido, p.importe_total, z.tarifa_envio "
+        + "FROM Pedidos p "
+        + "LEFT JOIN Clientes c ON c.id_cliente = p.id_cliente "
+        + "LEFT JOIN Zonas_Envio z ON z.id_zona = c.id_zona "
+        + "WHERE p.id_pedido BETWEEN ? AND ? ORDER BY p.id_pedido";
 }
\ No newline at end of file
@@ -0,0 +1,31 @@
+package com.emilio.orders.util;
+
+/**
+ * Interfaz que representa un cursor de solo avance sobre los resultados de una consulta.
+ * Se utiliza para leer filas bajo demanda sin cargar todo el resultado en memoria.
+ */
+public interface RowCursor<T> extends AutoCloseable {
+    /**
+     * Avanza el cursor a la siguiente fila.
+     *
+     * @return true si hay una fila disponible, false si se alcanzó el final del resultado.
+     * @throws Exception Si ocurre un error al leer del origen de datos.
+     */
+    boolean next() throws Exception;
+
+    /**
+     * Obtiene el elemento correspondiente a la fila actual.
+     *
+     * @return El elemento de la fila actual.
+     * @throws Exception Si ocurre un error al construir el elemento.
+     */
+    T current() throws Exception;
+
+    /**
+     * Cierra el cursor y libera los recursos asociados (sentencia, conexión o sesión).
+     *
+     * @throws Exception Si ocurre un error al liberar los recursos.
+     */
+    @Override
+    void close() throws Exception;
+}
@@ -27,6 +27,20 @@ CREATE TABLE Pedidos (
       ON UPDATE CASCADE
 );
 
+-- Índices para los filtros por zona y por cliente (COUNT y EXISTS sin recorrer la tabla)
+-- y para las combinaciones de filtros de la búsqueda de pedidos.
+CREATE INDEX IF NOT EXISTS idx_clientes_zona ON Clientes (id_zona);
+
+-- id_cliente como prefijo sirve los filtros por cliente y fecha los listados ordenados por fecha.
+CREATE INDEX IF NOT EXISTS idx_pedidos_cliente_fecha ON Pedidos (id_cliente, fecha);
+
+CREATE INDEX IF NOT EXISTS idx_pedidos_fecha_importe ON Pedidos (fecha, importe_total);
+
+CREATE INDEX IF NOT EXISTS idx_pedidos_importe ON Pedidos (importe_total);
+
+-- Pedidos de mayor importe de un cliente (ORDER BY importe_total DESC LIMIT n).
+CREATE INDEX IF NOT EXISTS idx_pedidos_cliente_importe ON Pedidos (id_cliente, importe_total);
+
 -- Algunos zonas preexistentes.
 INSERT INTO Zonas_Envio (id_zona, nombre_zona, tarifa_envio) VALUES
     (1, 'Norte', 5.00),
@@ -0,0 +1,117 @@
+package com.emilio.orders.analytics;
+
+import com.emilio.orders.config.DatabaseConfig;
+import com.emilio.orders.config.TestDatabase;
+import com.emilio.orders.model.Pedido;
+import com.emilio.orders.util.ParallelQueryExecutor;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests para la clase CostesEnvio, sobre una base de datos SQLite temporal con zonas, clientes y pedidos.
+ */
+class CostesEnvioTest {
+    private static final LocalDate FECHA = LocalDate.of(2024, 1, 1);
+
+    @TempDir
+    Path tempDir;
+
+    private TestDatabase database;
+    private DatabaseConfig databaseConfig;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        database = TestDatabase.create(tempDir);
+        database.execute(
+                "INSERT INTO Zonas_Envio (id_zona, nombre_zona, tarifa_envio) VALUES "
+                        + "(1, 'Norte', 4.99), (2, 'Sur', 0.10)",
+                "INSERT INTO Clientes (id_cliente, nombre, email, telefono, id_zona) VALUES "
+                        + "(1, 'Ana', 'ana@example.com', NULL, 1), (2, 'Carlos', 'carlos@example.com', NULL, 2)");
+        // Pedidos alternos de los clientes 1 y 2 con importes de 0.10 en 0.10
+        StringBuilder pedidos = new StringBuilder(
+                "INSERT INTO Pedidos (id_pedido, fecha, importe_total, id_cliente) VALUES ");
+        for (int i = 1; i <= 1000; i++) {
+            pedidos.append(i > 1 ? ", " : "").append("(").append(i).append(", 0, ").append(i / 10.0)
+                    .append(", ").append(i % 2 + 1).append(")");
+        }
+        database.execute(pedidos.toString());
+        databaseConfig = database.getConfig();
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.close();
+    }
+
+    @Test
+    @DisplayName("Test: calcular suma a cada pedido la tarifa de la zona de su cliente")
+    void testCalcularPedidos() throws SQLException {
+        CostesEnvio costesEnvio = new CostesEnvio(databaseConfig);
+        CostesPedidos costes = costesEnvio.calcular(List.of(
+                new Pedido(10, FECHA, 25.50, 1),
+                new Pedido(11, FECHA, 0.20, 2),
+                new Pedido(12, FECHA, 9.99, 3)));
+
+        assertEquals(2, costes.size());
+        assertEquals(10, costes.getIdPedido(0));
+        assertEquals(30.49, costes.getCoste(0));
+        assertEquals(4.99, costes.getEnvio(0));
+        assertEquals(0.30, costes.getCoste(1));
+        assertEquals(25.70, costes.getTotalImporte());
+        assertEquals(5.09, costes.getTotalEnvio());
+        assertEquals(30.79, costes.getTotal());
+        assertEquals(1, costes.getPedidosSinTarifa());
+        assertThrows(IndexOutOfBoundsException.class, () -> costes.getCoste(2));
+        assertTrue(Double.isNaN(costesEnvio.getTarifa(3)));
+
+        // Los cambios de tarifa y los clientes nuevos se ven tras recargar
+        database.execute("UPDATE Zonas_Envio SET tarifa_envio = 5.99 WHERE id_zona = 1",
+                "INSERT INTO Clientes (id_cliente, nombre, email, telefono, id_zona) VALUES "
+                        + "(3, 'Beatriz', 'beatriz@example.com', NULL, 2)");
+        assertEquals(4.99, costesEnvio.getTarifa(1));
+        costesEnvio.refresh();
+        assertEquals(5.99, costesEnvio.getTarifa(1));
+        assertEquals(0.10, costesEnvio.getTarifa(3));
+    }
+
+    @Test
+    @DisplayName("Test: los costes de un rango y de todos los pedidos coinciden con los de la consulta unida")
+    void testCalcularRangos() throws SQLException {
+        CostesEnvio costesEnvio = new CostesEnvio(databaseConfig);
+
+        CostesPedidos rango = costesEnvio.calcular(1, 4);
+        assertEquals(4, rango.size());
+        assertEquals(0.20, rango.getCoste(0), 1e-9); // Cliente 2: 0.10 + 0.10
+        assertEquals(5.19, rango.getCoste(1), 1e-9); // Cliente 1: 0.20 + 4.99
+        CostesPedidos unidos = CostesPedidos.concat(List.of(rango, costesEnvio.calcular(5, 8)));
+        assertEquals(8, unidos.size());
+        assertEquals(8, unidos.getIdPedido(7));
+        assertEquals(costesEnvio.calcular(1, 8).toString(), unidos.toString());
+
+        try (ParallelQueryExecutor executor = new ParallelQueryExecutor(databaseConfig, 4)) {
+            CostesPedidos todos = costesEnvio.calcularTodos(executor);
+            assertEquals(1000, todos.size());
+            // Las claves foráneas aseguran que todo pedido guardado tiene cliente y zona
+            assertEquals(0, todos.getPedidosSinTarifa());
+            for (int i = 0; i < todos.size(); i++) {
+                assertEquals(i + 1, todos.getIdPedido(i));
+            }
+            // Importes de 0.10 a 100.00 y 500 pedidos de cada zona
+            assertEquals(50050.0, todos.getTotalImporte());
+            assertEquals(2545.0, todos.getTotalEnvio());
+            assertEquals(52595.0, todos.getTotal());
+            assertEquals(costesEnvio.calcular(1, 1000).toString(), todos.toString());
+        }
+    }
+}
\ No newline at end of file
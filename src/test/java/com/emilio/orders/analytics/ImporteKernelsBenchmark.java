@@ -0,0 +1,82 @@
+package com.emilio.orders.analytics;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark JMH de las operaciones sobre importes, escalares y vectoriales, sobre una columna de
+ * 10 millones de importes de hasta 2.000 €. El histograma usa 8 cubetas de 250 €. Se ejecuta con el perfil benchmark:
+ * {@code mvn -P benchmark -DskipTests verify -Djmh.args=ImporteKernelsBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+public class ImporteKernelsBenchmark {
+    private static final int FILAS = 10_000_000;
+    private static final int BLOQUE = 1024;
+
+    @Param({"escalar", "vectorial"})
+    public String version;
+
+    private Kernels kernels;
+    private long[] importes;
+    private int[] sel;
+
+    @Setup
+    public void setUp() {
+        kernels = "vectorial".equals(version) ? new VectorKernels() : new ScalarKernels();
+        Random random = new Random(42);
+        importes = new long[FILAS];
+        for (int i = 0; i < FILAS; i++) {
+            importes[i] = 100 + random.nextInt(199_900);
+        }
+        sel = new int[BLOQUE];
+    }
+
+    @Benchmark
+    public long suma() {
+        return kernels.suma(importes, 0, FILAS);
+    }
+
+    @Benchmark
+    public Agregado agregar() {
+        return kernels.agregar(importes, 0, FILAS, Long.MIN_VALUE, Long.MAX_VALUE);
+    }
+
+    @Benchmark
+    public Agregado agregarRango() {
+        return kernels.agregar(importes, 0, FILAS, 50_000, 150_000);
+    }
+
+    @Benchmark
+    public int seleccionarRango() {
+        // Por bloques, como el recorrido de ColumnQueries
+        int total = 0;
+        for (int inicio = 0; inicio < FILAS; inicio += BLOQUE) {
+            total += kernels.seleccionar(importes, inicio, Math.min(FILAS, inicio + BLOQUE), 50_000, 150_000, sel);
+        }
+        return total;
+    }
+
+    @Benchmark
+    public long[] histograma() {
+        long[] cubetas = new long[8];
+        kernels.histograma(importes, 0, FILAS, Long.MIN_VALUE, Long.MAX_VALUE, 25_000, cubetas);
+        return cubetas;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,179 @@
+package com.emilio.orders.analytics;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests para las operaciones sobre importes. Cada versión disponible (la vectorial solo si la JVM
+ * tiene el módulo de vectores) se compara con un cálculo directo sobre tramos de varias longitudes,
+ * para que haya filas que no llenan un vector.
+ */
+class ImporteKernelsTest {
+    private static final long MIN = 5_000;
+    private static final long MAX = 120_000;
+
+    @Test
+    @DisplayName("Test: suma y agregado coinciden con el cálculo directo")
+    void testAgregar() {
+        long[] importes = importes(10_003);
+        for (Kernels kernels : disponibles()) {
+            for (int[] tramo : tramos(importes.length)) {
+                int desde = tramo[0];
+                int hasta = tramo[1];
+                long count = 0;
+                long suma = 0;
+                long sumaRango = 0;
+                long minimo = Long.MAX_VALUE;
+                long maximo = Long.MIN_VALUE;
+                for (int i = desde; i < hasta; i++) {
+                    suma += importes[i];
+                    if (importes[i] >= MIN && importes[i] <= MAX) {
+                        count++;
+                        sumaRango += importes[i];
+                        minimo = Math.min(minimo, importes[i]);
+                        maximo = Math.max(maximo, importes[i]);
+                    }
+                }
+
+                String caso = kernels.getClass().getSimpleName() + " [" + desde + ", " + hasta + ")";
+                assertEquals(suma, kernels.suma(importes, desde, hasta), caso);
+                Agregado agregado = kernels.agregar(importes, desde, hasta, MIN, MAX);
+                assertEquals(count, agregado.getNumPedidos(), caso);
+                assertEquals(sumaRango, agregado.getTotalCents(), caso);
+                assertEquals(minimo, agregado.getMinCents(), caso);
+                assertEquals(maximo, agregado.getMaxCents(), caso);
+                assertEquals(hasta - desde,
+                        kernels.agregar(importes, desde, hasta, Long.MIN_VALUE, Long.MAX_VALUE).getNumPedidos(), caso);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Test: la selección por rango devuelve las posiciones en orden")
+    void testSeleccionar() {
+        long[] importes = importes(10_003);
+        for (Kernels kernels : disponibles()) {
+            for (int[] tramo : tramos(importes.length)) {
+                List<Integer> esperadas = new ArrayList<>();
+                for (int i = tramo[0]; i < tramo[1]; i++) {
+                    if (importes[i] >= MIN && importes[i] <= MAX) {
+                        esperadas.add(i);
+                    }
+                }
+                int[] sel = new int[tramo[1] - tramo[0]];
+                int n = kernels.seleccionar(importes, tramo[0], tramo[1], MIN, MAX, sel);
+
+                List<Integer> obtenidas = new ArrayList<>();
+                for (int j = 0; j < n; j++) {
+                    obtenidas.add(sel[j]);
+                }
+                assertEquals(esperadas, obtenidas, kernels.getClass().getSimpleName());
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Test: el histograma cuenta cada importe del rango en su cubeta")
+    void testHistograma() {
+        long[] importes = importes(10_003);
+        importes[7] = 300; // Justo en el borde entre dos cubetas
+        for (Kernels kernels : disponibles()) {
+            for (int[] tramo : tramos(importes.length)) {
+                long[] esperadas = new long[12];
+                for (int i = tramo[0]; i < tramo[1]; i++) {
+                    if (importes[i] >= MIN && importes[i] <= MAX) {
+                        esperadas[(int) Math.max(0, Math.min(importes[i] / 10_000, 11))]++;
+                    }
+                }
+                long[] cubetas = new long[12];
+                kernels.histograma(importes, tramo[0], tramo[1], MIN, MAX, 10_000, cubetas);
+                assertArrayEquals(esperadas, cubetas, kernels.getClass().getSimpleName());
+
+                long[] todas = new long[4];
+                kernels.histograma(importes, tramo[0], tramo[1], Long.MIN_VALUE, Long.MAX_VALUE, 100, todas);
+                long esperadasBorde = tramo[0] <= 7 && 7 < tramo[1] ? 1 : 0;
+                assertEquals(tramo[1] - tramo[0], todas[0] + todas[1] + todas[2] + todas[3]);
+                assertTrue(todas[3] >= esperadasBorde, "El importe 300 va a la cubeta 3");
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Test: las cubetas que empiezan por encima del máximo quedan vacías")
+    void testHistogramaMaximoBajo() {
+        long[] importes = importes(1_000);
+        for (Kernels kernels : disponibles()) {
+            long[] esperadas = new long[16];
+            new ScalarKernels().histograma(importes, 0, importes.length, 0, 150, 100, esperadas);
+            long[] cubetas = new long[16];
+            kernels.histograma(importes, 0, importes.length, 0, 150, 100, cubetas);
+            assertArrayEquals(esperadas, cubetas, kernels.getClass().getSimpleName());
+            for (int c = 2; c < cubetas.length; c++) {
+                assertEquals(0, cubetas[c]);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Test: los tramos fuera de la columna se rechazan")
+    void testTramoNoValido() {
+        long[] importes = new long[10];
+        assertThrows(IndexOutOfBoundsException.class, () -> ImporteKernels.suma(importes, 5, 11));
+        assertThrows(IndexOutOfBoundsException.class, () -> ImporteKernels.agregar(importes, 6, 5));
+        assertThrows(IllegalArgumentException.class,
+                () -> ImporteKernels.histograma(importes, 0, 10, 0, 10, 0, new long[3]));
+        assertEquals(0, ImporteKernels.suma(importes, 0, 10));
+    }
+
+    @Test
+    @DisplayName("Test: los rangos con el mínimo mayor que el máximo se rechazan")
+    void testRangoInvertido() {
+        // Sin la comprobación, la versión escalar y la vectorial daban resultados distintos y no vacíos
+        long[] importes = {10, 200, 40, 5_000, 70, 80, 90, 100, 110, 120};
+        assertThrows(IllegalArgumentException.class, () -> ImporteKernels.agregar(importes, 0, 10, 100, 50));
+        assertThrows(IllegalArgumentException.class,
+                () -> ImporteKernels.seleccionar(importes, 0, 10, 100, 50, new int[10]));
+        assertThrows(IllegalArgumentException.class,
+                () -> ImporteKernels.histograma(importes, 0, 10, 100, 50, 100, new long[4]));
+        // Un rango de un solo importe sigue siendo válido y todas las versiones coinciden
+        for (Kernels kernels : disponibles()) {
+            String caso = kernels.getClass().getSimpleName();
+            assertEquals(1, kernels.agregar(importes, 0, 10, 100, 100).getNumPedidos(), caso);
+            assertEquals(1, kernels.seleccionar(importes, 0, 10, 100, 100, new int[10]), caso);
+        }
+    }
+
+    /**
+     * Versiones de las operaciones que se pueden probar en esta JVM.
+     */
+    private static List<Kernels> disponibles() {
+        List<Kernels> kernels = new ArrayList<>(List.of(new ScalarKernels()));
+        if (ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()) {
+            kernels.add(new VectorKernels());
+        }
+        return kernels;
+    }
+
+    /**
+     * Tramos vacíos, cortos y largos, con y sin filas sueltas al principio y al final.
+     */
+    private static List<int[]> tramos(int longitud) {
+        return List.of(new int[] {0, 0}, new int[] {0, 3}, new int[] {1, 10}, new int[] {3, 1_027},
+                new int[] {0, longitud}, new int[] {5, longitud - 2});
+    }
+
+    private static long[] importes(int n) {
+        Random random = new Random(11);
+        long[] importes = new long[n];
+        for (int i = 0; i < n; i++) {
+            importes[i] = random.nextInt(200_000) - 1_000; // Algunos negativos, como las devoluciones
+        }
+        return importes;
+    }
+}
\ No newline at end of file
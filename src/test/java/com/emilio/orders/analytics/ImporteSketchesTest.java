@@ -0,0 +1,105 @@
+package com.emilio.orders.analytics;
+
+import com.emilio.orders.config.DatabaseConfig;
+import com.emilio.orders.config.TestDatabase;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests para la clase ImporteSketches, sobre una base de datos SQLite temporal con el esquema real.
+ */
+class ImporteSketchesTest {
+    @TempDir
+    Path tempDir;
+
+    private TestDatabase database;
+    private DatabaseConfig databaseConfig;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        database = TestDatabase.create(tempDir);
+        database.execute(
+                "INSERT INTO Zonas_Envio (id_zona, nombre_zona, tarifa_envio) VALUES (1, 'Norte', 5.00), (2, 'Sur', 7.50)",
+                "INSERT INTO Clientes (id_cliente, nombre, email, telefono, id_zona) VALUES "
+                        + "(1, 'Ana', 'ana@example.com', NULL, 1), (2, 'Carlos', 'carlos@example.com', NULL, 1), "
+                        + "(3, 'Beatriz', 'beatriz@example.com', NULL, 2)");
+        // Importes de 1 a 300: el cliente 1 tiene los de 1 a 100, el 2 los de 101 a 200 y el 3 el resto
+        StringBuilder pedidos = new StringBuilder(
+                "INSERT INTO Pedidos (id_pedido, fecha, importe_total, id_cliente) VALUES ");
+        for (int i = 1; i <= 300; i++) {
+            pedidos.append(i > 1 ? ", " : "").append("(").append(i).append(", 0, ").append(i)
+                    .append(", ").append((i - 1) / 100 + 1).append(")");
+        }
+        database.execute(pedidos.toString());
+        databaseConfig = database.getConfig();
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.close();
+    }
+
+    @Test
+    @DisplayName("Test: refresh resume los pedidos por ámbito y después solo añade los nuevos")
+    void testRefreshIncremental() throws SQLException {
+        ImporteSketches sketches = new ImporteSketches(databaseConfig);
+
+        assertEquals(300, sketches.refresh());
+        assertEquals(150, sketches.getPercentil(0.5), 6);
+        assertEquals(100, sketches.getPercentilZona(1, 0.5), 4);
+        assertEquals(250, sketches.getPercentilZona(2, 0.5), 2);
+        assertEquals(50, sketches.getPercentilCliente(1, 0.5));
+        assertTrue(Double.isNaN(sketches.getPercentilCliente(9, 0.5)));
+        assertEquals(300, sketches.getZonas(List.of(1, 2)).getN());
+        assertEquals(0, sketches.refresh());
+
+        database.execute("INSERT INTO Pedidos VALUES (301, 0, 1000, 3)");
+        assertEquals(1, sketches.refresh());
+        assertEquals(301, sketches.getGlobal().getN());
+        assertEquals(1000, sketches.getZona(2).getMax());
+    }
+
+    @Test
+    @DisplayName("Test: los resúmenes guardados se recuperan sin volver a leer los pedidos")
+    void testPersistencia() throws SQLException {
+        new ImporteSketches(databaseConfig).refresh();
+        database.execute("INSERT INTO Pedidos VALUES (301, 0, 1000, 3)");
+        database.execute("DELETE FROM Pedidos WHERE id_pedido <= 300");
+
+        ImporteSketches otra = new ImporteSketches(databaseConfig);
+        assertEquals(1, otra.refresh());
+        assertEquals(301, otra.getGlobal().getN());
+        assertEquals(100, otra.getCliente(1).getN());
+
+        // Los pedidos eliminados solo desaparecen al recalcular
+        otra.rebuild();
+        assertEquals(1, otra.getGlobal().getN());
+        assertEquals(0, otra.getCliente(1).getN());
+        ImporteSketches tercera = new ImporteSketches(databaseConfig);
+        assertEquals(0, tercera.refresh());
+        assertEquals(1, tercera.getGlobal().getN());
+    }
+
+    @Test
+    @DisplayName("Test: si falla el recálculo se siguen consultando los resúmenes anteriores")
+    void testRebuildFallido() throws SQLException {
+        ImporteSketches sketches = new ImporteSketches(databaseConfig);
+        sketches.refresh();
+        database.execute("DROP TABLE Sketches_Importes");
+
+        assertThrows(SQLException.class, sketches::rebuild);
+        assertEquals(300, sketches.getGlobal().getN());
+        assertEquals(150, sketches.getPercentil(0.5), 6);
+        assertEquals(50, sketches.getPercentilCliente(1, 0.5));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,141 @@
+package com.emilio.orders.analytics;
+
+import com.emilio.orders.config.TestDatabase;
+import com.emilio.orders.dao.search.PedidoSearch;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.sql.Date;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Random;
+import java.util.SortedMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests para la clase PedidoAnalytics y las consultas sobre columnas.
+ * Usa una base de datos SQLite temporal para la carga y fotos generadas en memoria para las consultas.
+ */
+class PedidoAnalyticsTest {
+    private static final LocalDate DIA_1 = LocalDate.of(2024, 1, 31);
+    private static final LocalDate DIA_2 = LocalDate.of(2024, 2, 1);
+
+    @TempDir
+    Path tempDir;
+
+    private TestDatabase database;
+    private PedidoAnalytics analytics;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        database = TestDatabase.create(tempDir);
+        database.execute(
+                "INSERT INTO Zonas_Envio (id_zona, nombre_zona, tarifa_envio) VALUES (1, 'Norte', 5.00), (2, 'Sur', 7.50)",
+                "INSERT INTO Clientes (id_cliente, nombre, email, telefono, id_zona) VALUES "
+                        + "(1, 'Ana', 'ana@example.com', NULL, 1), (2, 'Carlos', 'carlos@example.com', NULL, 1), "
+                        + "(3, 'Beatriz', 'beatriz@example.com', NULL, 2)",
+                "INSERT INTO Pedidos (id_pedido, fecha, importe_total, id_cliente) VALUES "
+                        + "(1, " + millis(DIA_1) + ", 10.50, 1), (2, " + millis(DIA_1) + ", 20.25, 2), "
+                        + "(3, " + millis(DIA_2) + ", 5.00, 3)");
+        analytics = new PedidoAnalytics(database.getConfig());
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.close();
+    }
+
+    @Test
+    @DisplayName("Test: refresh carga los pedidos y después solo añade los nuevos")
+    void testRefreshIncremental() throws SQLException {
+        assertEquals(3, analytics.refresh());
+        assertEquals(35.75, analytics.total().getTotal(), 1e-9);
+        assertEquals(0, analytics.refresh());
+
+        database.execute("INSERT INTO Pedidos VALUES (4, " + millis(DIA_2) + ", 4.25, 1)",
+                "UPDATE Pedidos SET importe_total = 100 WHERE id_pedido = 1",
+                "UPDATE Clientes SET id_zona = 2 WHERE id_cliente = 2");
+        PedidoColumns anterior = analytics.getColumns();
+        assertEquals(1, analytics.refresh());
+
+        // Los pedidos nuevos y las zonas se actualizan; los pedidos ya cargados no
+        assertEquals(40.0, analytics.total().getTotal(), 1e-9);
+        SortedMap<Integer, Agregado> porZona = analytics.porZona(new PedidoSearch.Builder().build());
+        assertEquals(14.75, porZona.get(1).getTotal(), 1e-9);
+        assertEquals(25.25, porZona.get(2).getTotal(), 1e-9);
+        assertEquals(3, anterior.size());
+        assertEquals(DIA_2, analytics.getColumns().getUltimaFecha());
+
+        analytics.reload();
+        assertEquals(129.5, analytics.total().getTotal(), 1e-9);
+    }
+
+    @Test
+    @DisplayName("Test: las consultas sobre columnas coinciden con recorrer los pedidos uno a uno")
+    void testConsultasSobreColumnas() {
+        int n = 200_000;
+        Random random = new Random(42);
+        int[] clientes = new int[n];
+        int[] dias = new int[n];
+        long[] cents = new long[n];
+        int primerDia = (int) LocalDate.of(2023, 1, 1).toEpochDay();
+        for (int i = 0; i < n; i++) {
+            clientes[i] = 1 + random.nextInt(100);
+            dias[i] = primerDia + random.nextInt(730);
+            cents[i] = random.nextInt(100_000);
+        }
+        int[] zonas = new int[101];
+        zonas[0] = PedidoColumns.SIN_ZONA;
+        for (int c = 1; c <= 100; c++) {
+            zonas[c] = c % 3 == 0 ? PedidoColumns.SIN_ZONA : c % 4;
+        }
+        PedidoColumns columns = PedidoColumns.empty().append(clientes, dias, cents, n, zonas, n);
+
+        LocalDate desde = LocalDate.of(2023, 3, 15);
+        LocalDate hasta = LocalDate.of(2024, 6, 30);
+        PedidoSearch filtros = new PedidoSearch.Builder().fechaDesde(desde).fechaHasta(hasta)
+                .importeMin(50).idZona(2).build();
+        SortedMap<YearMonth, Agregado> porMes = ColumnQueries.porMes(columns, filtros);
+        long[] histograma = ColumnQueries.histograma(columns, filtros, 100, 5);
+
+        long count = 0;
+        long sum = 0;
+        long marzo = 0;
+        long[] esperado = new long[5];
+        for (int i = 0; i < n; i++) {
+            LocalDate fecha = LocalDate.ofEpochDay(dias[i]);
+            if (fecha.isBefore(desde) || fecha.isAfter(hasta) || cents[i] < 5_000 || zonas[clientes[i]] != 2) {
+                continue;
+            }
+            count++;
+            sum += cents[i];
+            if (YearMonth.from(fecha).equals(YearMonth.of(2023, 3))) {
+                marzo += cents[i];
+            }
+            esperado[(int) Math.min(cents[i] / 10_000, 4)]++;
+        }
+
+        assertEquals(16, porMes.size());
+        assertEquals(YearMonth.of(2023, 3), porMes.firstKey());
+        assertEquals(marzo / 100.0, porMes.get(YearMonth.of(2023, 3)).getTotal(), 1e-9);
+        assertEquals(count, porMes.values().stream().mapToLong(Agregado::getNumPedidos).sum());
+        assertEquals(sum / 100.0, ColumnQueries.total(columns, filtros).getTotal(), 1e-9);
+        assertArrayEquals(esperado, histograma);
+        // Zonas 0 a 3; los pedidos de clientes sin zona no cuentan
+        assertEquals(4, ColumnQueries.porZona(columns, new PedidoSearch.Builder().build()).size());
+        assertEquals(100, ColumnQueries.porCliente(columns, new PedidoSearch.Builder().build()).size());
+        assertThrows(IllegalArgumentException.class,
+                () -> ColumnQueries.total(columns, new PedidoSearch.Builder().nombreCliente("Ana").build()));
+    }
+
+    private static long millis(LocalDate fecha) {
+        return Date.valueOf(fecha).getTime();
+    }
+}
\ No newline at end of file
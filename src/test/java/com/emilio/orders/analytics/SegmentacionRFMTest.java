@@ -0,0 +1,131 @@
+package com.emilio.orders.analytics;
+
+import com.emilio.orders.config.DatabaseConfig;
+import com.emilio.orders.config.TestDatabase;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests para la clase SegmentacionRFM, sobre una base de datos SQLite temporal con el esquema real.
+ */
+class SegmentacionRFMTest {
+    private static final LocalDate INICIO = LocalDate.of(2024, 1, 1);
+    private static final LocalDate REFERENCIA = LocalDate.of(2024, 2, 1);
+
+    @TempDir
+    Path tempDir;
+
+    private TestDatabase database;
+    private DatabaseConfig databaseConfig;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        database = TestDatabase.create(tempDir);
+        database.execute("INSERT INTO Zonas_Envio (id_zona, nombre_zona, tarifa_envio) VALUES (1, 'Norte', 5.00)");
+        // El cliente i tiene i pedidos de 10*i euros, el último el día i de INICIO: cuanto mayor el
+        // ID, mejores las tres métricas. El cliente 11 no tiene pedidos.
+        try (Connection conn = database.connect();
+             PreparedStatement clientes = conn.prepareStatement(
+                     "INSERT INTO Clientes (id_cliente, nombre, email, telefono, id_zona) VALUES (?, ?, ?, NULL, 1)");
+             PreparedStatement pedidos = conn.prepareStatement(
+                     "INSERT INTO Pedidos (fecha, importe_total, id_cliente) VALUES (?, ?, ?)")) {
+            for (int i = 1; i <= 11; i++) {
+                clientes.setInt(1, i);
+                clientes.setString(2, "Cliente " + i);
+                clientes.setString(3, "cliente" + i + "@example.com");
+                clientes.executeUpdate();
+                for (int j = i; j >= 1 && i <= 10; j--) {
+                    pedidos.setDate(1, Date.valueOf(INICIO.plusDays(j)));
+                    pedidos.setDouble(2, 10.0 * i);
+                    pedidos.setInt(3, i);
+                    pedidos.executeUpdate();
+                }
+            }
+        }
+        databaseConfig = database.getConfig();
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.close();
+    }
+
+    @Test
+    @DisplayName("Test: los quintiles reparten los valores en cinco grupos y los empates toman la posición media")
+    void testQuintiles() {
+        assertArrayEquals(new int[] {1, 1, 2, 2, 3, 3, 4, 4, 5, 5},
+                SegmentacionRFM.quintiles(new long[] {1, 2, 3, 4, 5, 6, 7, 8, 9, 10}));
+        assertArrayEquals(new int[] {5, 2, 2, 2, 2}, SegmentacionRFM.quintiles(new long[] {9, 7, 7, 7, 7}));
+        assertArrayEquals(new int[] {1, 3, 3, 3, 3}, SegmentacionRFM.quintiles(new long[] {1, 7, 7, 7, 7}));
+        assertArrayEquals(new int[0], SegmentacionRFM.quintiles(new long[0]));
+    }
+
+    @Test
+    @DisplayName("Test: calcular puntúa a los clientes con pedidos igual desde la base de datos y desde memoria")
+    void testCalcular() throws SQLException {
+        List<PuntuacionRFM> puntuaciones = new SegmentacionRFM(databaseConfig).calcular(REFERENCIA);
+
+        assertEquals(10, puntuaciones.size());
+        PuntuacionRFM mejor = puntuaciones.get(9);
+        assertEquals(10, mejor.getIdCliente());
+        assertEquals(21, mejor.getRecenciaDias());
+        assertEquals(10, mejor.getFrecuencia());
+        assertEquals(1000.0, mejor.getImporte());
+        assertEquals("555", mejor.getCodigo());
+        assertEquals(SegmentoRFM.CAMPEONES, mejor.getSegmento());
+        assertEquals("111", puntuaciones.get(0).getCodigo());
+        assertEquals(SegmentoRFM.PERDIDOS, puntuaciones.get(0).getSegmento());
+        assertEquals("333", puntuaciones.get(4).getCodigo());
+        assertEquals(SegmentoRFM.PROMETEDORES, puntuaciones.get(4).getSegmento());
+
+        PedidoAnalytics analytics = new PedidoAnalytics(databaseConfig);
+        analytics.refresh();
+        List<PuntuacionRFM> enMemoria = SegmentacionRFM.calcular(analytics.getColumns(), REFERENCIA);
+        assertEquals(puntuaciones.toString(), enMemoria.toString());
+    }
+
+    @Test
+    @DisplayName("Test: guardar sustituye la tabla de segmentos y los clientes eliminados desaparecen de ella")
+    void testGuardar() throws SQLException {
+        SegmentacionRFM segmentacion = new SegmentacionRFM(databaseConfig);
+        assertEquals(10, segmentacion.actualizar(REFERENCIA));
+        assertEquals(10, segmentacion.actualizar(REFERENCIA));
+
+        try (Connection conn = database.connect();
+             Statement stmt = conn.createStatement()) {
+            try (ResultSet rs = stmt.executeQuery("SELECT recencia_dias, frecuencia, importe, r, f, m, segmento, "
+                    + "fecha_calculo FROM Segmentos_RFM WHERE id_cliente = 10")) {
+                assertTrue(rs.next());
+                assertEquals(21, rs.getInt("recencia_dias"));
+                assertEquals(10, rs.getInt("frecuencia"));
+                assertEquals(1000.0, rs.getDouble("importe"));
+                assertEquals(5, rs.getInt("r"));
+                assertEquals(5, rs.getInt("f"));
+                assertEquals(5, rs.getInt("m"));
+                assertEquals("CAMPEONES", rs.getString("segmento"));
+                assertEquals(REFERENCIA, rs.getDate("fecha_calculo").toLocalDate());
+            }
+
+            stmt.execute("DELETE FROM Clientes WHERE id_cliente = 10");
+            try (ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM Segmentos_RFM")) {
+                assertEquals(9, rs.getInt(1));
+            }
+        }
+    }
+}
\ No newline at end of file
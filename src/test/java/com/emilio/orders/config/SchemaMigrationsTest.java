@@ -0,0 +1,136 @@
+package com.emilio.orders.config;
+
+import com.emilio.orders.dao.report.VentasDiarias;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests para la clase SchemaMigrations y los triggers que mantienen Cliente_Totales.
+ * Usa un fichero SQLite temporal con las tablas de clientes y pedidos.
+ */
+class SchemaMigrationsTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Connection conn;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        conn = DriverManager.getConnection("jdbc:sqlite:" + tempDir.resolve("pedidos.db"));
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("PRAGMA foreign_keys = ON");
+            stmt.execute("CREATE TABLE Zonas_Envio (id_zona INTEGER PRIMARY KEY, nombre_zona VARCHAR(50) NOT NULL)");
+            stmt.execute("CREATE TABLE Clientes (id_cliente INTEGER PRIMARY KEY, nombre VARCHAR(100) NOT NULL, "
+                    + "id_zona INTEGER NOT NULL)");
+            stmt.execute("CREATE TABLE Pedidos (id_pedido INTEGER PRIMARY KEY, fecha DATE NOT NULL, "
+                    + "importe_total DECIMAL(10, 2) NOT NULL, id_cliente INTEGER NOT NULL, "
+                    + "FOREIGN KEY (id_cliente) REFERENCES Clientes(id_cliente) ON DELETE CASCADE)");
+            stmt.execute("INSERT INTO Clientes VALUES (1, 'Ana', 1), (2, 'Carlos', 1), (3, 'Beatriz', 2)");
+            stmt.execute("INSERT INTO Pedidos VALUES (1, 100, 10.50, 1), (2, 300, 20.25, 1), (3, 200, 5.00, 2)");
+        }
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        conn.close();
+    }
+
+    @Test
+    @DisplayName("Test: la migración rellena los totales de los pedidos existentes")
+    void testRelleno() throws SQLException {
+        assertEquals(0, SchemaMigrations.getVersion(conn));
+        int version = SchemaMigrations.migrate(conn);
+
+        assertEquals(version, SchemaMigrations.getVersion(conn));
+        assertEquals(version, SchemaMigrations.migrate(conn));
+        assertTotales(1, 30.75, 2, 100, 300);
+        assertTotales(2, 5.0, 1, 200, 200);
+        assertFalse(existeFila(3));
+    }
+
+    @Test
+    @DisplayName("Test: la migración rellena las ventas diarias de los pedidos existentes")
+    void testRellenoVentasDiarias() throws SQLException {
+        SchemaMigrations.migrate(conn);
+
+        assertEquals(0, VentasDiarias.refresh(conn));
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT SUM(num_pedidos), SUM(ingresos) FROM Ventas_Diarias")) {
+            assertTrue(rs.next());
+            assertEquals(3, rs.getLong(1));
+            assertEquals(35.75, rs.getDouble(2), 0.001);
+        }
+    }
+
+    @Test
+    @DisplayName("Test: los triggers mantienen los totales al insertar, modificar y eliminar pedidos")
+    void testTriggers() throws SQLException {
+        SchemaMigrations.migrate(conn);
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("INSERT INTO Pedidos VALUES (4, 50, 1.10, 1), (5, 400, 7.00, 3)");
+            assertTotales(1, 31.85, 3, 50, 300);
+            assertTotales(3, 7.0, 1, 400, 400);
+
+            // Cambio de importe y de fecha: el último pedido pasa a ser otro
+            stmt.execute("UPDATE Pedidos SET importe_total = 25.25, fecha = 150 WHERE id_pedido = 2");
+            assertTotales(1, 36.85, 3, 50, 150);
+
+            // Cambio de cliente: se resta de uno y se suma al otro
+            stmt.execute("UPDATE Pedidos SET id_cliente = 2 WHERE id_pedido = 4");
+            assertTotales(1, 35.75, 2, 100, 150);
+            assertTotales(2, 6.1, 2, 50, 200);
+
+            stmt.execute("DELETE FROM Pedidos WHERE id_pedido = 3");
+            assertTotales(2, 1.1, 1, 50, 50);
+
+            // Eliminar el cliente elimina en cascada sus pedidos y su fila de totales
+            stmt.execute("DELETE FROM Clientes WHERE id_cliente = 1");
+            assertFalse(existeFila(1));
+        }
+        assertCoincideConPedidos();
+    }
+
+    private void assertTotales(int idCliente, double total, int numPedidos, long primero, long ultimo)
+            throws SQLException {
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT * FROM Cliente_Totales WHERE id_cliente = " + idCliente)) {
+            assertTrue(rs.next());
+            assertEquals(total, rs.getDouble("total"), 1e-9);
+            assertEquals(numPedidos, rs.getInt("num_pedidos"));
+            assertEquals(primero, rs.getLong("primer_pedido"));
+            assertEquals(ultimo, rs.getLong("ultimo_pedido"));
+        }
+    }
+
+    private boolean existeFila(int idCliente) throws SQLException {
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT 1 FROM Cliente_Totales WHERE id_cliente = " + idCliente)) {
+            return rs.next();
+        }
+    }
+
+    private void assertCoincideConPedidos() throws SQLException {
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM Cliente_Totales t LEFT JOIN "
+                     + "(SELECT id_cliente, ROUND(SUM(importe_total), 2) AS total, COUNT(*) AS n FROM Pedidos "
+                     + "GROUP BY id_cliente) p ON p.id_cliente = t.id_cliente "
+                     + "WHERE COALESCE(p.total, 0) <> t.total OR COALESCE(p.n, 0) <> t.num_pedidos")) {
+            rs.next();
+            assertEquals(0, rs.getInt(1));
+        }
+    }
+}
\ No newline at end of file
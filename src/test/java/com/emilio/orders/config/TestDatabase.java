@@ -0,0 +1,83 @@
+package com.emilio.orders.config;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Base de datos SQLite temporal para los tests.
+ * Crea el esquema real con {@link SQLiteConfig} (pedidos.sql y {@link SchemaMigrations}) y borra los datos de ejemplo,
+ * de modo que cada test inserta sólo las filas que necesita.
+ */
+public final class TestDatabase implements AutoCloseable {
+    private final SQLiteConfig config;
+
+    private TestDatabase(SQLiteConfig config) {
+        this.config = config;
+    }
+
+    /**
+     * Crea la base de datos en el directorio indicado, normalmente un {@code @TempDir}.
+     *
+     * @param directorio Directorio donde se crea el fichero pedidos.db
+     * @return Base de datos con el esquema creado y sin filas
+     * @throws SQLException Si ocurre un error al borrar los datos de ejemplo
+     */
+    public static TestDatabase create(Path directorio) throws SQLException {
+        TestDatabase database = new TestDatabase(new SQLiteConfig(directorio.resolve("pedidos.db").toString()));
+        database.execute("DELETE FROM Pedidos", "DELETE FROM Clientes", "DELETE FROM Zonas_Envio");
+        return database;
+    }
+
+    /**
+     * Obtiene la configuración con el pool de conexiones, para construir los DAOs bajo prueba.
+     *
+     * @return Configuración de la base de datos
+     */
+    public DatabaseConfig getConfig() {
+        return config;
+    }
+
+    /**
+     * Obtiene la URL JDBC del fichero, para abrir conexiones fuera del pool.
+     *
+     * @return URL JDBC de la base de datos
+     */
+    public String getUrl() {
+        return "jdbc:sqlite:" + config.getUrl();
+    }
+
+    /**
+     * Obtiene una conexión del pool.
+     *
+     * @return Conexión a la base de datos
+     * @throws SQLException Si ocurre un error al obtener la conexión
+     */
+    public Connection connect() throws SQLException {
+        return config.getConnection();
+    }
+
+    /**
+     * Ejecuta las sentencias indicadas en orden y en modo autocommit.
+     *
+     * @param sentencias Sentencias SQL a ejecutar
+     * @throws SQLException Si alguna sentencia falla
+     */
+    public void execute(String... sentencias) throws SQLException {
+        try (Connection conn = connect();
+             Statement stmt = conn.createStatement()) {
+            for (String sentencia : sentencias) {
+                stmt.execute(sentencia);
+            }
+        }
+    }
+
+    /**
+     * Cierra el pool de conexiones.
+     */
+    @Override
+    public void close() {
+        config.closePool();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,134 @@
+package com.emilio.orders.dao.cache;
+
+import com.emilio.orders.dao.interfaces.PedidoDAO;
+import com.emilio.orders.model.Pedido;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import javax.management.MBeanAttributeInfo;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests para la clase CacheRegistry con las regiones de un DAOCaches.
+ * Usa un mock del DAO subyacente para generar aciertos y fallos.
+ */
+class CacheRegistryTest {
+
+    @Mock
+    private PedidoDAO delegate;
+
+    private DAOCaches caches;
+    private CachingPedidoDAO dao;
+    private CacheRegistry registry;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        MockitoAnnotations.openMocks(this);
+        when(delegate.getById(anyInt())).thenAnswer(invocation ->
+                new Pedido(invocation.getArgument(0), LocalDate.of(2024, 1, 10), 50.0, 7));
+        caches = new DAOCaches(100, Duration.ofMinutes(10));
+        dao = new CachingPedidoDAO(delegate, caches);
+        registry = new CacheRegistry();
+        registry.registerAll(caches.regions());
+    }
+
+    @Test
+    @DisplayName("Test: las estadísticas reflejan aciertos, fallos y memoria")
+    void testEstadisticas() throws SQLException {
+        for (int id = 1; id <= 10; id++) {
+            dao.getById(id);
+            dao.getById(id);
+            dao.getById(id);
+        }
+
+        CacheRegionStats stats = registry.getRegion("pedidosById").getStats();
+        assertEquals(20, stats.getHitCount());
+        assertEquals(10, stats.getMissCount());
+        assertEquals(2.0 / 3, stats.getHitRate(), 1e-9);
+        assertEquals(1.0 / 3, stats.getMissRate(), 1e-9);
+        assertEquals(10, stats.getSize());
+        assertEquals(100, stats.getMaximumSize());
+        assertTrue(stats.getMemoryBytes() > 0);
+    }
+
+    @Test
+    @DisplayName("Test: redimensionar expulsa las entradas sobrantes")
+    void testRedimensionar() throws SQLException {
+        for (int id = 1; id <= 50; id++) {
+            dao.getById(id);
+        }
+        registry.resize("pedidosById", 10);
+
+        CacheRegionStats stats = registry.getRegion("pedidosById").getStats();
+        assertEquals(10, stats.getMaximumSize());
+        assertTrue(stats.getSize() <= 10);
+        assertTrue(stats.getEvictionCount() >= 40);
+        assertThrows(IllegalArgumentException.class, () -> registry.resize("pedidosById", 0));
+    }
+
+    @Test
+    @DisplayName("Test: vaciar una región obliga a volver a cargar")
+    void testVaciar() throws SQLException {
+        dao.getById(1);
+        registry.clear("pedidosById");
+        dao.getById(1);
+
+        verify(delegate, times(2)).getById(1);
+        assertThrows(IllegalArgumentException.class, () -> registry.clear("noExiste"));
+    }
+
+    @Test
+    @DisplayName("Test: la caché fuera del heap se expone pero no se redimensiona")
+    void testFueraDelHeap() throws SQLException {
+        DAOCaches offHeap = new DAOCaches(100, Duration.ofMinutes(10), 1_000);
+        CachingPedidoDAO offHeapDAO = new CachingPedidoDAO(delegate, offHeap);
+        registry.registerAll(offHeap.regions());
+        offHeapDAO.getById(1);
+        offHeapDAO.getById(1);
+        // Las consultas internas de exists() no cuentan como lecturas de la caché
+        offHeapDAO.exists(1);
+        offHeapDAO.exists(2);
+
+        CacheRegionStats stats = registry.getRegion(OffHeapPedidoCache.NAME).getStats();
+        assertEquals(1, stats.getHitCount());
+        assertEquals(1, stats.getMissCount());
+        assertEquals(1, stats.getSize());
+        assertTrue(stats.getMemoryBytes() >= 1_000 * 20);
+        assertFalse(registry.getRegion(OffHeapPedidoCache.NAME).isResizable());
+        assertThrows(UnsupportedOperationException.class, () -> registry.resize(OffHeapPedidoCache.NAME, 10));
+    }
+
+    @Test
+    @DisplayName("Test: JMX solo permite cambiar el tamaño máximo de las regiones redimensionables")
+    void testMaximoPorJMX() throws Exception {
+        DAOCaches offHeap = new DAOCaches(100, Duration.ofMinutes(10), 1_000);
+        registry.registerAll(offHeap.regions());
+        registry.registerMBeans();
+
+        assertTrue(maximumSizeWritable("pedidosById"));
+        assertFalse(maximumSizeWritable(OffHeapPedidoCache.NAME));
+    }
+
+    private static boolean maximumSizeWritable(String region) throws Exception {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = new ObjectName(CacheRegistry.JMX_DOMAIN + ":type=CacheRegion,name=" + ObjectName.quote(region));
+        for (MBeanAttributeInfo attribute : server.getMBeanInfo(name).getAttributes()) {
+            if (attribute.getName().equals("MaximumSize")) {
+                return attribute.isWritable();
+            }
+        }
+        throw new AssertionError("Sin atributo MaximumSize en " + region);
+    }
+}
\ No newline at end of file
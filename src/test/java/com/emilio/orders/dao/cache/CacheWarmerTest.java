@@ -0,0 +1,116 @@
+package com.emilio.orders.dao.cache;
+
+import com.emilio.orders.dao.interfaces.ClienteDAO;
+import com.emilio.orders.dao.interfaces.PedidoDAO;
+import com.emilio.orders.dao.interfaces.ZonaEnvioDAO;
+import com.emilio.orders.model.Pedido;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests para la clase CacheWarmer.
+ * Usa mocks de los DAOs para comprobar qué se precarga.
+ */
+class CacheWarmerTest {
+
+    @Mock
+    private ClienteDAO clienteDAO;
+
+    @Mock
+    private PedidoDAO pedidoDAO;
+
+    @Mock
+    private ZonaEnvioDAO zonaEnvioDAO;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        MockitoAnnotations.openMocks(this);
+        when(pedidoDAO.getTotalesPorCliente()).thenReturn(Map.of(1, 10.0, 2, 300.0, 3, 200.0));
+        when(pedidoDAO.getLatestPedidos(anyInt(), anyInt())).thenAnswer(invocation -> List.of(
+                new Pedido(invocation.<Integer>getArgument(1) * 100, LocalDate.of(2024, 1, 10), 5.0,
+                        invocation.<Integer>getArgument(1))));
+    }
+
+    @Test
+    @DisplayName("Test: se precargan las zonas y los clientes de mayor importe")
+    void testPrecarga() throws Exception {
+        CacheWarmer warmer = new CacheWarmer.Builder(clienteDAO, pedidoDAO, zonaEnvioDAO)
+                .topClientes(2)
+                .build();
+
+        Duration duracion = warmer.start().get(5, TimeUnit.SECONDS);
+
+        assertNotNull(duracion);
+        verify(zonaEnvioDAO).getAll();
+        verify(clienteDAO).getById(2);
+        verify(clienteDAO).getById(3);
+        verify(clienteDAO, never()).getById(1);
+        verify(pedidoDAO).getPedidosByCliente(2);
+        verify(pedidoDAO).getById(200);
+        verify(pedidoDAO).getById(300);
+        verify(clienteDAO).getTotalGastadoPorCliente(3);
+    }
+
+    @Test
+    @DisplayName("Test: con 0 pedidos recientes se precargan los clientes sin pedir páginas vacías")
+    void testSinPedidosRecientes() throws Exception {
+        // Como en los DAOs reales, una página de tamaño 0 no es válida
+        when(pedidoDAO.getLatestPedidos(eq(0), anyInt())).thenThrow(new IllegalArgumentException("tamaño 0"));
+
+        CacheWarmer warmer = new CacheWarmer.Builder(clienteDAO, pedidoDAO, zonaEnvioDAO)
+                .topClientes(2)
+                .pedidosRecientes(0)
+                .build();
+
+        assertNotNull(warmer.start().get(5, TimeUnit.SECONDS));
+        verify(pedidoDAO, never()).getLatestPedidos(anyInt(), anyInt());
+        verify(clienteDAO).getTotalGastadoPorCliente(2);
+        verify(clienteDAO).getTotalGastadoPorCliente(3);
+    }
+
+    @Test
+    @DisplayName("Test: un error no interrumpe el resto de la precarga")
+    void testErroresAislados() throws Exception {
+        when(zonaEnvioDAO.getAll()).thenThrow(new SQLException("fallo"));
+        when(clienteDAO.getById(2)).thenThrow(new SQLException("fallo"));
+
+        CacheWarmer warmer = new CacheWarmer.Builder(clienteDAO, pedidoDAO, zonaEnvioDAO)
+                .topClientes(2)
+                .build();
+
+        assertNotNull(warmer.start().get(5, TimeUnit.SECONDS));
+        verify(clienteDAO).getById(3);
+        verify(pedidoDAO).getPedidosByCliente(3);
+    }
+
+    @Test
+    @DisplayName("Test: la precarga no bloquea a quien la inicia")
+    void testNoBloquea() throws Exception {
+        CountDownLatch liberar = new CountDownLatch(1);
+        when(zonaEnvioDAO.getAll()).thenAnswer(invocation -> {
+            liberar.await();
+            return List.of();
+        });
+
+        var futuro = new CacheWarmer.Builder(clienteDAO, pedidoDAO, zonaEnvioDAO).build().start();
+
+        assertFalse(futuro.isDone());
+        liberar.countDown();
+        assertNotNull(futuro.get(5, TimeUnit.SECONDS));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,147 @@
+package com.emilio.orders.dao.cache;
+
+import com.emilio.orders.dao.interfaces.ClienteDAO;
+import com.emilio.orders.dao.interfaces.PedidoDAO;
+import com.emilio.orders.model.Cliente;
+import com.emilio.orders.model.Pedido;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests para las clases CachingPedidoDAO y CachingClienteDAO.
+ * Usa mocks de los DAOs subyacentes para contar los accesos a la base de datos.
+ */
+class CachingPedidoDAOTest {
+
+    @Mock
+    private PedidoDAO pedidoDelegate;
+
+    @Mock
+    private ClienteDAO clienteDelegate;
+
+    private CachingPedidoDAO pedidoDAO;
+    private CachingClienteDAO clienteDAO;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        MockitoAnnotations.openMocks(this);
+        DAOCaches caches = new DAOCaches();
+        pedidoDAO = new CachingPedidoDAO(pedidoDelegate, caches);
+        clienteDAO = new CachingClienteDAO(clienteDelegate, caches);
+
+        when(pedidoDelegate.getById(1)).thenAnswer(invocation -> new Pedido(1, LocalDate.of(2024, 1, 10), 50.0, 7));
+        when(pedidoDelegate.getPedidosByCliente(7)).thenAnswer(invocation -> List.of(
+                new Pedido(1, LocalDate.of(2024, 1, 10), 50.0, 7),
+                new Pedido(2, LocalDate.of(2024, 2, 10), 25.0, 7)));
+        when(clienteDelegate.getById(7)).thenAnswer(invocation -> new Cliente(7, "Ana", "ana@mail.com", null, 1));
+        when(clienteDelegate.getTotalGastadoPorCliente(7)).thenReturn(75.0);
+    }
+
+    @Test
+    @DisplayName("Test: las consultas repetidas se sirven desde la caché")
+    void testAciertoCache() throws SQLException {
+        assertEquals(50.0, pedidoDAO.getById(1).getImporteTotal());
+        assertEquals(50.0, pedidoDAO.getById(1).getImporteTotal());
+        assertEquals(2, pedidoDAO.getPedidosByCliente(7).size());
+        assertEquals(2, pedidoDAO.getPedidosByCliente(7).size());
+
+        verify(pedidoDelegate, times(1)).getById(1);
+        verify(pedidoDelegate, times(1)).getPedidosByCliente(7);
+    }
+
+    @Test
+    @DisplayName("Test: modificar un pedido devuelto no altera la caché")
+    void testDevuelveCopias() throws SQLException {
+        pedidoDAO.getById(1).setImporteTotal(99.0);
+        pedidoDAO.getPedidosByCliente(7).get(0).setImporteTotal(99.0);
+
+        assertEquals(50.0, pedidoDAO.getById(1).getImporteTotal());
+        assertEquals(50.0, pedidoDAO.getPedidosByCliente(7).get(0).getImporteTotal());
+    }
+
+    @Test
+    @DisplayName("Test: un ID inexistente se recuerda hasta que se inserta")
+    void testIdInexistente() throws SQLException {
+        assertNull(pedidoDAO.getById(5));
+        assertNull(pedidoDAO.getById(5));
+        verify(pedidoDelegate, times(1)).getById(5);
+
+        doAnswer(invocation -> {
+            invocation.<Pedido>getArgument(0).setIdPedido(5);
+            return null;
+        }).when(pedidoDelegate).insert(any());
+        when(pedidoDelegate.getById(5)).thenAnswer(invocation -> new Pedido(5, LocalDate.of(2024, 3, 1), 10.0, 7));
+        pedidoDAO.insert(new Pedido(0, LocalDate.of(2024, 3, 1), 10.0, 7));
+
+        assertNotNull(pedidoDAO.getById(5));
+    }
+
+    @Test
+    @DisplayName("Test: los errores de la base de datos se propagan")
+    void testPropagaErrores() throws SQLException {
+        when(pedidoDelegate.countByCliente(3)).thenThrow(new SQLException("fallo"));
+
+        SQLException e = assertThrows(SQLException.class, () -> pedidoDAO.countByCliente(3));
+        assertEquals("fallo", e.getMessage());
+    }
+
+    @Test
+    @DisplayName("Test: insertar un pedido invalida los datos de su cliente")
+    void testInsertInvalidaCliente() throws SQLException {
+        pedidoDAO.getPedidosByCliente(7);
+        clienteDAO.getTotalGastadoPorCliente(7);
+
+        pedidoDAO.insert(new Pedido(0, LocalDate.of(2024, 3, 1), 10.0, 7));
+        pedidoDAO.getPedidosByCliente(7);
+        clienteDAO.getTotalGastadoPorCliente(7);
+
+        verify(pedidoDelegate, times(2)).getPedidosByCliente(7);
+        verify(clienteDelegate, times(2)).getTotalGastadoPorCliente(7);
+    }
+
+    @Test
+    @DisplayName("Test: cambiar el cliente de un pedido invalida el anterior y el nuevo")
+    void testUpdateInvalidaAmbosClientes() throws SQLException {
+        when(pedidoDelegate.getPedidosByCliente(8)).thenReturn(List.of());
+        pedidoDAO.getById(1);
+        pedidoDAO.getPedidosByCliente(7);
+        pedidoDAO.getPedidosByCliente(8);
+
+        pedidoDAO.update(new Pedido(1, LocalDate.of(2024, 1, 10), 50.0, 8));
+        pedidoDAO.getById(1);
+        pedidoDAO.getPedidosByCliente(7);
+        pedidoDAO.getPedidosByCliente(8);
+
+        verify(pedidoDelegate, times(2)).getById(1);
+        verify(pedidoDelegate, times(2)).getPedidosByCliente(7);
+        verify(pedidoDelegate, times(2)).getPedidosByCliente(8);
+    }
+
+    @Test
+    @DisplayName("Test: eliminar un cliente invalida también sus pedidos")
+    void testDeleteClienteEnCascada() throws SQLException {
+        pedidoDAO.getById(1);
+        pedidoDAO.getPedidosByCliente(7);
+        clienteDAO.getById(7);
+
+        clienteDAO.delete(7);
+        pedidoDAO.getById(1);
+        pedidoDAO.getPedidosByCliente(7);
+
+        verify(pedidoDelegate, times(2)).getById(1);
+        verify(pedidoDelegate, times(2)).getPedidosByCliente(7);
+        assertNull(clienteDAO.getById(7));
+        assertFalse(clienteDAO.exists(7));
+    }
+}
\ No newline at end of file
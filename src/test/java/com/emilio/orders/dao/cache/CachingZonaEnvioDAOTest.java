@@ -0,0 +1,105 @@
+package com.emilio.orders.dao.cache;
+
+import com.emilio.orders.dao.interfaces.ZonaEnvioDAO;
+import com.emilio.orders.model.ZonaEnvio;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests para la clase CachingZonaEnvioDAO.
+ * Usa un mock del DAO subyacente para contar los accesos a la base de datos.
+ */
+class CachingZonaEnvioDAOTest {
+
+    @Mock
+    private ZonaEnvioDAO delegate;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        MockitoAnnotations.openMocks(this);
+        when(delegate.getAll()).thenAnswer(invocation -> List.of(
+                new ZonaEnvio(1, "Norte", 5.00),
+                new ZonaEnvio(2, "Sur", 7.50)));
+    }
+
+    @Test
+    @DisplayName("Test: las zonas se cargan una sola vez")
+    void testCargaUnica() throws SQLException {
+        CachingZonaEnvioDAO dao = new CachingZonaEnvioDAO(delegate);
+
+        assertEquals("Sur", dao.getById(2).getNombreZona());
+        assertEquals(2, dao.getAll().size());
+        assertEquals(2, dao.countAll());
+        assertTrue(dao.exists(1));
+        assertFalse(dao.exists(3));
+        assertNull(dao.getById(3));
+
+        verify(delegate, times(1)).getAll();
+        verify(delegate, never()).getById(anyInt());
+    }
+
+    @Test
+    @DisplayName("Test: modificar una zona devuelta no altera la caché")
+    void testDevuelveCopias() throws SQLException {
+        CachingZonaEnvioDAO dao = new CachingZonaEnvioDAO(delegate);
+
+        dao.getById(1).setTarifaEnvio(99.00);
+        dao.getAll().get(0).setNombreZona("Otro");
+
+        assertEquals(5.00, dao.getById(1).getTarifaEnvio());
+        assertEquals("Norte", dao.getById(1).getNombreZona());
+    }
+
+    @Test
+    @DisplayName("Test: las escrituras se reflejan sin recargar")
+    void testEscrituras() throws SQLException {
+        doAnswer(invocation -> {
+            invocation.<ZonaEnvio>getArgument(0).setIdZona(3);
+            return null;
+        }).when(delegate).insert(any());
+        CachingZonaEnvioDAO dao = new CachingZonaEnvioDAO(delegate);
+
+        dao.insert(new ZonaEnvio(0, "Este", 6.00));
+        dao.update(new ZonaEnvio(1, "Norte", 5.50));
+        dao.delete(2);
+
+        assertEquals("Este", dao.getById(3).getNombreZona());
+        assertEquals(5.50, dao.getById(1).getTarifaEnvio());
+        assertFalse(dao.exists(2));
+        verify(delegate, times(1)).getAll();
+    }
+
+    @Test
+    @DisplayName("Test: si falla la escritura la caché no cambia")
+    void testEscrituraFallida() throws SQLException {
+        doThrow(new SQLException("fallo")).when(delegate).delete(1);
+        CachingZonaEnvioDAO dao = new CachingZonaEnvioDAO(delegate);
+
+        assertThrows(SQLException.class, () -> dao.delete(1));
+        assertTrue(dao.exists(1));
+    }
+
+    @Test
+    @DisplayName("Test: una instantánea caducada se recarga y un fallo conserva la anterior")
+    void testRecargaPeriodica() throws SQLException {
+        CachingZonaEnvioDAO dao = new CachingZonaEnvioDAO(delegate, Duration.ofNanos(1));
+        dao.getAll();
+
+        when(delegate.getAll()).thenReturn(List.of(new ZonaEnvio(1, "Norte", 6.00)));
+        assertEquals(6.00, dao.getById(1).getTarifaEnvio());
+
+        when(delegate.getAll()).thenThrow(new SQLException("fallo"));
+        assertEquals(1, dao.countAll());
+    }
+}
\ No newline at end of file
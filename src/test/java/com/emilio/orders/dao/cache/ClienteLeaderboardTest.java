@@ -0,0 +1,169 @@
+package com.emilio.orders.dao.cache;
+
+import com.emilio.orders.dao.interfaces.ClienteDAO;
+import com.emilio.orders.dao.interfaces.PedidoDAO;
+import com.emilio.orders.model.Cliente;
+import com.emilio.orders.model.Pedido;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests para la clase ClienteLeaderboard mantenida por PedidoTotalsIndex desde los DAOs con caché.
+ * Usa mocks de los DAOs subyacentes para contar los accesos a la base de datos.
+ */
+class ClienteLeaderboardTest {
+
+    @Mock
+    private PedidoDAO pedidoDelegate;
+
+    @Mock
+    private ClienteDAO clienteDelegate;
+
+    private PedidoTotalsIndex totals;
+    private CachingPedidoDAO pedidoDAO;
+    private CachingClienteDAO clienteDAO;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        MockitoAnnotations.openMocks(this);
+        when(pedidoDelegate.getTotalesPorCliente())
+                .thenAnswer(invocation -> new HashMap<>(Map.of(1, 30.0, 2, 50.0, 3, 10.0, 4, 40.0)));
+        when(pedidoDelegate.getById(1)).thenAnswer(invocation -> new Pedido(1, LocalDate.of(2024, 1, 10), 25.0, 3));
+
+        DAOCaches caches = new DAOCaches();
+        Map<Integer, Integer> zonas = Map.of(1, 1, 2, 2, 3, 1, 4, 2);
+        totals = new PedidoTotalsIndex(pedidoDelegate::getTotalesPorCliente, () -> zonas, Duration.ofMinutes(10));
+        pedidoDAO = new CachingPedidoDAO(pedidoDelegate, caches, totals);
+        clienteDAO = new CachingClienteDAO(clienteDelegate, caches, totals);
+    }
+
+    @Test
+    @DisplayName("Test: el ranking se carga con una consulta y se lee sin ir a la base de datos")
+    void testRankingInicial() throws SQLException {
+        assertEquals(List.of(2, 4, 1), ids(totals.getTopClientes(3)));
+        assertEquals(List.of(1, 3), ids(totals.getTopClientes(1, 5)));
+        assertEquals(50.0, totals.getTopClientes(1).get(0).getTotal());
+        assertTrue(totals.getTopClientes(9, 5).isEmpty());
+
+        verify(pedidoDelegate, times(1)).getTotalesPorCliente();
+    }
+
+    @Test
+    @DisplayName("Test: cada escritura de pedidos recoloca a su cliente en el ranking")
+    void testEscriturasDePedidos() throws SQLException {
+        totals.getTopClientes(1);
+
+        pedidoDAO.insert(new Pedido(2, LocalDate.of(2024, 1, 11), 45.0, 3));
+        assertEquals(List.of(3, 2, 4, 1), ids(totals.getTopClientes(10)));
+        assertEquals(55.0, totals.getTopClientes(1).get(0).getTotal());
+
+        // El pedido 1 (25€) pasa del cliente 3 al 1
+        pedidoDAO.update(new Pedido(1, LocalDate.of(2024, 1, 10), 25.0, 1));
+        assertEquals(List.of(1, 3), ids(totals.getTopClientes(1, 5)));
+        assertEquals(List.of(1, 2, 4, 3), ids(totals.getTopClientes(10)));
+
+        verify(pedidoDelegate, times(1)).getTotalesPorCliente();
+    }
+
+    @Test
+    @DisplayName("Test: los cambios de zona y las eliminaciones de clientes actualizan los rankings")
+    void testEscriturasDeClientes() throws SQLException {
+        when(clienteDelegate.getById(4)).thenReturn(new Cliente(4, "Ana", "ana@example.com", "600000000", 2));
+        totals.getTopClientes(1);
+
+        clienteDAO.update(new Cliente(4, "Ana", "ana@example.com", "600000000", 1));
+        assertEquals(List.of(4, 1, 3), ids(totals.getTopClientes(1, 5)));
+        assertEquals(List.of(2), ids(totals.getTopClientes(2, 5)));
+
+        clienteDAO.delete(2);
+        assertEquals(List.of(4, 1, 3), ids(totals.getTopClientes(10)));
+        assertTrue(totals.getTopClientes(2, 5).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Test: una diferencia de cero deja al cliente en el ranking")
+    void testDiferenciaCero() {
+        ClienteLeaderboard leaderboard = new ClienteLeaderboard(true);
+        leaderboard.rebuild(Map.of(1, 3_000L, 2, 5_000L), Map.of(1, 1, 2, 1));
+
+        leaderboard.add(1, 0);
+        leaderboard.add(3, 0);
+
+        assertEquals(List.of(2, 1, 3), ids(leaderboard.top(5)));
+        assertEquals(List.of(2, 1), ids(leaderboard.top(1, 5)));
+        assertEquals(30.0, leaderboard.top(5).get(1).getTotal());
+    }
+
+    @Test
+    @DisplayName("Test: el ranking queda ordenado y sin duplicados tras escrituras concurrentes")
+    void testEscriturasConcurrentes() throws Exception {
+        ClienteLeaderboard leaderboard = new ClienteLeaderboard(true);
+        Map<Integer, Integer> zonas = new HashMap<>();
+        for (int id = 0; id < 50; id++) {
+            zonas.put(id, id % 3);
+        }
+        leaderboard.rebuild(Map.of(), zonas);
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<long[]>> futures = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            futures.add(executor.submit(() -> {
+                long[] sumas = new long[50];
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int i = 0; i < 20_000; i++) {
+                    int id = random.nextInt(50);
+                    long cents = random.nextLong(-500, 1_000);
+                    leaderboard.add(id, cents);
+                    sumas[id] += cents;
+                    if (i % 100 == 0) {
+                        assertTrue(leaderboard.top(10).size() <= 10);
+                    }
+                }
+                return sumas;
+            }));
+        }
+        long[] esperado = new long[50];
+        for (Future<long[]> future : futures) {
+            long[] sumas = future.get();
+            for (int id = 0; id < 50; id++) {
+                esperado[id] += sumas[id];
+            }
+        }
+        executor.shutdown();
+
+        List<ClienteGasto> top = leaderboard.top(50);
+        assertEquals(50, top.size());
+        for (int i = 0; i < top.size(); i++) {
+            ClienteGasto gasto = top.get(i);
+            assertEquals(esperado[gasto.getIdCliente()] / 100.0, gasto.getTotal(), 1e-9);
+            if (i > 0) {
+                assertTrue(top.get(i - 1).getTotal() >= gasto.getTotal());
+            }
+        }
+        assertEquals(17, leaderboard.top(0, 50).size());
+    }
+
+    private static List<Integer> ids(List<ClienteGasto> top) {
+        List<Integer> ids = new ArrayList<>();
+        top.forEach(gasto -> ids.add(gasto.getIdCliente()));
+        return ids;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,101 @@
+package com.emilio.orders.dao.cache;
+
+import com.emilio.orders.dao.interfaces.PedidoDAO;
+import com.emilio.orders.model.Pedido;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests para la clase IdFilter y la caché de IDs inexistentes de los DAOs con caché.
+ * Usa un mock del DAO subyacente para contar los accesos a la base de datos.
+ */
+class IdFilterTest {
+
+    @Mock
+    private PedidoDAO delegate;
+
+    private IdFilter ids;
+    private CachingPedidoDAO dao;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        MockitoAnnotations.openMocks(this);
+        when(delegate.getAllIds()).thenReturn(List.of(1, 2, 4, 100));
+        when(delegate.getById(2)).thenAnswer(invocation -> new Pedido(2, LocalDate.of(2024, 1, 10), 50.0, 7));
+        ids = new IdFilter("Pedidos", delegate::getAllIds, Duration.ofMinutes(10));
+        dao = new CachingPedidoDAO(delegate, new DAOCaches(), null, ids);
+    }
+
+    @Test
+    @DisplayName("Test: los IDs que no existen se descartan sin consultar")
+    void testDescartaInexistentes() throws SQLException {
+        for (int id = 5; id < 100; id++) {
+            assertNull(dao.getById(id));
+            assertFalse(dao.exists(id));
+        }
+
+        // Solo los falsos positivos del filtro llegan a la base de datos
+        verify(delegate, atMost(5)).getById(anyInt());
+        verify(delegate, never()).exists(anyInt());
+        verify(delegate, times(1)).getAllIds();
+    }
+
+    @Test
+    @DisplayName("Test: los IDs existentes y los mayores que el máximo se consultan")
+    void testNoDescartaExistentesNiNuevos() throws SQLException {
+        assertNotNull(dao.getById(2));
+        assertFalse(ids.isAbsent(1));
+        assertFalse(ids.isAbsent(100));
+        assertFalse(ids.isAbsent(101));
+    }
+
+    @Test
+    @DisplayName("Test: un ID que no se encontró no se vuelve a consultar")
+    void testCacheNegativa() throws SQLException {
+        assertNull(dao.getById(4));
+        assertNull(dao.getById(4));
+        assertNull(dao.getById(500));
+        assertNull(dao.getById(500));
+
+        verify(delegate, times(1)).getById(4);
+        verify(delegate, times(1)).getById(500);
+    }
+
+    @Test
+    @DisplayName("Test: insertar un pedido lo añade al filtro y a la caché")
+    void testInsert() throws SQLException {
+        assertNull(dao.getById(500));
+        doAnswer(invocation -> {
+            invocation.<Pedido>getArgument(0).setIdPedido(500);
+            return null;
+        }).when(delegate).insert(any());
+        when(delegate.getById(500)).thenAnswer(invocation -> new Pedido(500, LocalDate.of(2024, 1, 10), 5.0, 7));
+
+        dao.insert(new Pedido(0, LocalDate.of(2024, 1, 10), 5.0, 7));
+
+        assertNotNull(dao.getById(500));
+        assertFalse(ids.isAbsent(500));
+    }
+
+    @Test
+    @DisplayName("Test: si no se pueden leer los IDs no se descarta ninguno")
+    void testErrorCarga() throws SQLException {
+        when(delegate.getAllIds()).thenThrow(new SQLException("fallo"));
+        IdFilter filter = new IdFilter("Pedidos", delegate::getAllIds, Duration.ofMinutes(10));
+
+        assertFalse(filter.isAbsent(3));
+    }
+}
\ No newline at end of file
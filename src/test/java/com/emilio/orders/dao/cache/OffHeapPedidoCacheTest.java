@@ -0,0 +1,121 @@
+package com.emilio.orders.dao.cache;
+
+import com.emilio.orders.model.Pedido;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests para la clase OffHeapPedidoCache.
+ */
+class OffHeapPedidoCacheTest {
+
+    private static final Duration TTL = Duration.ofMinutes(10);
+
+    private static Pedido pedido(int id, int idCliente, double importe) {
+        return new Pedido(id, LocalDate.of(2024, 1, 1).plusDays(id % 365), importe, idCliente);
+    }
+
+    @Test
+    @DisplayName("Test: guardar y leer un pedido")
+    void testPutGet() {
+        OffHeapPedidoCache cache = new OffHeapPedidoCache(100, TTL);
+
+        assertTrue(cache.put(pedido(7, 3, 123.45), cache.version()));
+        Pedido leido = cache.get(7);
+
+        assertEquals(7, leido.getIdPedido());
+        assertEquals(3, leido.getIdCliente());
+        assertEquals(123.45, leido.getImporteTotal());
+        assertEquals(LocalDate.of(2024, 1, 8), leido.getFecha());
+        assertEquals(12345, cache.importeCentsOf(7));
+        assertNull(cache.get(8));
+        assertEquals(-1, cache.importeCentsOf(8));
+    }
+
+    @Test
+    @DisplayName("Test: se comporta como un mapa tras muchas inserciones y eliminaciones")
+    void testComoMapa() {
+        OffHeapPedidoCache cache = new OffHeapPedidoCache(2_000, TTL);
+        Map<Integer, Pedido> esperado = new HashMap<>();
+        Random random = new Random(42);
+
+        for (int i = 0; i < 20_000; i++) {
+            int id = 1 + random.nextInt(3_000);
+            if (random.nextInt(3) == 0) {
+                cache.remove(id);
+                esperado.remove(id);
+            } else if (esperado.containsKey(id) || esperado.size() < 2_000) {
+                Pedido pedido = pedido(id, 1 + random.nextInt(50), random.nextInt(100_000) / 100.0);
+                assertTrue(cache.put(pedido, cache.version()));
+                esperado.put(id, pedido);
+            }
+        }
+
+        assertEquals(esperado.size(), cache.size());
+        for (int id = 1; id <= 3_000; id++) {
+            Pedido pedido = esperado.get(id);
+            long cents = cache.importeCentsOf(id);
+            assertEquals(pedido == null ? -1 : Math.round(pedido.getImporteTotal() * 100), cents, "ID " + id);
+        }
+    }
+
+    @Test
+    @DisplayName("Test: eliminar los pedidos de un cliente")
+    void testRemoveByCliente() {
+        OffHeapPedidoCache cache = new OffHeapPedidoCache(1_000, TTL);
+        for (int id = 1; id <= 900; id++) {
+            cache.put(pedido(id, id % 3, 1.0), cache.version());
+        }
+
+        cache.removeByCliente(1);
+
+        assertEquals(600, cache.size());
+        for (int id = 1; id <= 900; id++) {
+            assertEquals(id % 3 != 1, cache.get(id) != null, "ID " + id);
+        }
+    }
+
+    @Test
+    @DisplayName("Test: una caché llena no admite pedidos nuevos")
+    void testLlena() {
+        OffHeapPedidoCache cache = new OffHeapPedidoCache(2, TTL);
+
+        assertTrue(cache.put(pedido(1, 1, 1.0), cache.version()));
+        assertTrue(cache.put(pedido(2, 1, 1.0), cache.version()));
+        assertFalse(cache.put(pedido(3, 1, 1.0), cache.version()));
+        assertTrue(cache.put(pedido(2, 1, 5.0), cache.version()));
+        assertEquals(500, cache.importeCentsOf(2));
+    }
+
+    @Test
+    @DisplayName("Test: no se guarda un pedido leído antes de una eliminación")
+    void testVersion() {
+        OffHeapPedidoCache cache = new OffHeapPedidoCache(10, TTL);
+        long version = cache.version();
+
+        cache.remove(1);
+
+        assertFalse(cache.put(pedido(1, 1, 1.0), version));
+        assertNull(cache.get(1));
+    }
+
+    @Test
+    @DisplayName("Test: el contenido se descarta al caducar")
+    void testCaducidad() throws InterruptedException {
+        OffHeapPedidoCache cache = new OffHeapPedidoCache(10, Duration.ofMillis(20));
+        cache.put(pedido(1, 1, 1.0), cache.version());
+
+        Thread.sleep(50);
+
+        assertNull(cache.get(1));
+        assertEquals(0, cache.size());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,79 @@
+package com.emilio.orders.dao.cache;
+
+import com.emilio.orders.config.TestDatabase;
+import com.emilio.orders.dao.interfaces.ClienteDAO;
+import com.emilio.orders.factory.CachingDAOFactory;
+import com.emilio.orders.factory.SQLiteDAOFactory;
+import com.emilio.orders.model.Cliente;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests para la clase OwnWriteTracker, a través de los avisos de TableChangeMonitor a CachingDAOFactory.
+ * Usa una base de datos SQLite temporal; las escrituras hechas directamente con SQL hacen de otro proceso.
+ */
+class OwnWriteTrackerTest {
+
+    @TempDir
+    Path tempDir;
+
+    private TestDatabase database;
+    private CachingDAOFactory factory;
+    private TableChangeMonitor monitor;
+    private ClienteDAO clienteDAO;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        database = TestDatabase.create(tempDir);
+        database.execute(
+                "INSERT INTO Zonas_Envio (id_zona, nombre_zona, tarifa_envio) VALUES (1, 'Norte', 5.00)",
+                "INSERT INTO Clientes (id_cliente, nombre, email, telefono, id_zona) VALUES "
+                        + "(1, 'Ana', 'ana@example.com', NULL, 1)");
+        factory = new CachingDAOFactory(new SQLiteDAOFactory(database.getConfig()));
+        clienteDAO = factory.createClienteDAO();
+        // Un intervalo largo para que solo se compruebe al llamar a poll()
+        monitor = new TableChangeMonitor(database.getConfig().getUrl(), Duration.ofHours(1));
+        monitor.addListener(factory);
+        monitor.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        monitor.close();
+        database.close();
+    }
+
+    @Test
+    @DisplayName("Test: las escrituras de los propios DAOs no vacían las cachés")
+    void testEscriturasPropias() throws SQLException {
+        clienteDAO.getById(1);
+        clienteDAO.insert(new Cliente(2, "Carlos", "carlos@example.com", null, 1));
+        clienteDAO.update(new Cliente(2, "Carlos Ruiz", "carlos@example.com", null, 1));
+
+        assertEquals(Set.of("Clientes"), monitor.poll());
+        clienteDAO.getById(1);
+        assertEquals(1, factory.getCaches().stats().get("clientesById").hitCount());
+    }
+
+    @Test
+    @DisplayName("Test: los cambios de otro proceso vacían las cachés aunque coincidan con escrituras propias")
+    void testEscriturasAjenas() throws SQLException {
+        assertEquals("Ana", clienteDAO.getById(1).getNombre());
+        clienteDAO.insert(new Cliente(2, "Carlos", "carlos@example.com", null, 1));
+        database.execute("UPDATE Clientes SET nombre = 'Ana María' WHERE id_cliente = 1");
+
+        assertEquals(Set.of("Clientes"), monitor.poll());
+        assertEquals("Ana María", clienteDAO.getById(1).getNombre());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,116 @@
+package com.emilio.orders.dao.cache;
+
+import com.emilio.orders.dao.interfaces.ClienteDAO;
+import com.emilio.orders.dao.interfaces.PedidoDAO;
+import com.emilio.orders.model.Pedido;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests para la clase PedidoTotalsIndex usada desde los DAOs con caché.
+ * Usa mocks de los DAOs subyacentes para contar los accesos a la base de datos.
+ */
+class PedidoTotalsIndexTest {
+
+    @Mock
+    private PedidoDAO pedidoDelegate;
+
+    @Mock
+    private ClienteDAO clienteDelegate;
+
+    private PedidoTotalsIndex totals;
+    private CachingPedidoDAO pedidoDAO;
+    private CachingClienteDAO clienteDAO;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        MockitoAnnotations.openMocks(this);
+        when(pedidoDelegate.getTotalesPorCliente()).thenAnswer(invocation -> new HashMap<>(Map.of(7, 75.10, 8, 20.0)));
+        when(pedidoDelegate.getById(1)).thenAnswer(invocation -> new Pedido(1, LocalDate.of(2024, 1, 10), 50.0, 7));
+
+        DAOCaches caches = new DAOCaches();
+        totals = new PedidoTotalsIndex(pedidoDelegate::getTotalesPorCliente, Duration.ofMinutes(10));
+        pedidoDAO = new CachingPedidoDAO(pedidoDelegate, caches, totals);
+        clienteDAO = new CachingClienteDAO(clienteDelegate, caches, totals);
+    }
+
+    @Test
+    @DisplayName("Test: los totales se cargan con una sola consulta agrupada")
+    void testCargaUnica() throws SQLException {
+        assertEquals(75.10, pedidoDAO.getTotalPedidosByCliente(7));
+        assertEquals(20.0, clienteDAO.getTotalGastadoPorCliente(8));
+        assertEquals(0.0, pedidoDAO.getTotalPedidosByCliente(9));
+
+        verify(pedidoDelegate, times(1)).getTotalesPorCliente();
+        verify(pedidoDelegate, never()).getTotalPedidosByCliente(anyInt());
+        verify(clienteDelegate, never()).getTotalGastadoPorCliente(anyInt());
+    }
+
+    @Test
+    @DisplayName("Test: insertar y eliminar pedidos actualiza el total sin consultar")
+    void testInsertYDelete() throws SQLException {
+        pedidoDAO.getTotalPedidosByCliente(7);
+
+        pedidoDAO.insert(new Pedido(0, LocalDate.of(2024, 3, 1), 0.10, 7));
+        assertEquals(75.20, pedidoDAO.getTotalPedidosByCliente(7));
+
+        pedidoDAO.delete(1);
+        assertEquals(25.20, pedidoDAO.getTotalPedidosByCliente(7));
+
+        verify(pedidoDelegate, times(1)).getTotalesPorCliente();
+    }
+
+    @Test
+    @DisplayName("Test: actualizar un pedido aplica la diferencia a ambos clientes")
+    void testUpdate() throws SQLException {
+        pedidoDAO.getTotalPedidosByCliente(7);
+
+        pedidoDAO.update(new Pedido(1, LocalDate.of(2024, 1, 10), 30.0, 8));
+
+        assertEquals(25.10, pedidoDAO.getTotalPedidosByCliente(7));
+        assertEquals(50.0, pedidoDAO.getTotalPedidosByCliente(8));
+    }
+
+    @Test
+    @DisplayName("Test: eliminar un cliente elimina su total")
+    void testDeleteCliente() throws SQLException {
+        clienteDAO.getTotalGastadoPorCliente(7);
+
+        clienteDAO.delete(7);
+
+        assertEquals(0.0, clienteDAO.getTotalGastadoPorCliente(7));
+    }
+
+    @Test
+    @DisplayName("Test: una escritura fallida no altera el total")
+    void testEscrituraFallida() throws SQLException {
+        pedidoDAO.getTotalPedidosByCliente(7);
+        doThrow(new SQLException("fallo")).when(pedidoDelegate).insert(any());
+
+        assertThrows(SQLException.class,
+                () -> pedidoDAO.insert(new Pedido(0, LocalDate.of(2024, 3, 1), 10.0, 7)));
+        assertEquals(75.10, pedidoDAO.getTotalPedidosByCliente(7));
+    }
+
+    @Test
+    @DisplayName("Test: un error en la carga inicial se propaga")
+    void testErrorCargaInicial() throws SQLException {
+        when(pedidoDelegate.getTotalesPorCliente()).thenThrow(new SQLException("fallo"));
+
+        assertThrows(SQLException.class, () -> pedidoDAO.getTotalPedidosByCliente(7));
+    }
+}
\ No newline at end of file
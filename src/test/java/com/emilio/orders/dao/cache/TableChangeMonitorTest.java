@@ -0,0 +1,100 @@
+package com.emilio.orders.dao.cache;
+
+import com.emilio.orders.config.TestDatabase;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests para la clase TableChangeMonitor.
+ * Usa una base de datos SQLite temporal en la que escriben las conexiones del pool, como haría otro proceso.
+ */
+class TableChangeMonitorTest {
+
+    @TempDir
+    Path tempDir;
+
+    private TestDatabase database;
+    private TableChangeMonitor monitor;
+    private final List<Map<String, Long>> avisos = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        database = TestDatabase.create(tempDir);
+        database.execute("INSERT INTO Zonas_Envio (id_zona, nombre_zona, tarifa_envio) VALUES (1, 'Norte', 5.00)");
+        // Un intervalo largo para que solo se compruebe al llamar a poll()
+        monitor = new TableChangeMonitor(database.getConfig().getUrl(), Duration.ofHours(1));
+        monitor.addListener(new TableChangeListener() {
+            @Override
+            public void tablesChanged(Set<String> tablas) {
+                fail("Se esperaba el aviso con el número de filas");
+            }
+
+            @Override
+            public void rowsChanged(Map<String, Long> filas) {
+                avisos.add(filas);
+            }
+        });
+        monitor.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        monitor.close();
+        database.close();
+    }
+
+    @Test
+    @DisplayName("Test: avisa solo de las tablas modificadas por otra conexión y de cuántas filas")
+    void testAvisaTablasModificadas() throws SQLException {
+        assertEquals(Set.of(), monitor.poll());
+
+        database.execute("INSERT INTO Clientes (id_cliente, nombre, email, telefono, id_zona) VALUES "
+                + "(1, 'Ana', 'ana@example.com', NULL, 1), (2, 'Carlos', 'carlos@example.com', NULL, 1)");
+        assertEquals(Set.of("Clientes"), monitor.poll());
+
+        // Los triggers son por fila: un UPDATE o DELETE que no afecta a ninguna fila no cuenta
+        database.execute(
+                "UPDATE Zonas_Envio SET tarifa_envio = 6.00 WHERE id_zona = 99",
+                "INSERT INTO Pedidos (id_pedido, fecha, importe_total, id_cliente) VALUES (1, '2024-01-01', 10.0, 1)",
+                "DELETE FROM Clientes WHERE id_cliente = 99");
+        assertEquals(Set.of("Pedidos"), monitor.poll());
+        assertEquals(List.of(Map.of("Clientes", 2L), Map.of("Pedidos", 1L)), avisos);
+    }
+
+    @Test
+    @DisplayName("Test: sin cambios no se consultan los contadores ni se avisa")
+    void testSinCambios() throws SQLException {
+        assertEquals(Set.of(), monitor.poll());
+        assertEquals(Set.of(), monitor.poll());
+        assertTrue(avisos.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Test: los borrados en cascada cuentan en la tabla de la que se borran")
+    void testBorradoEnCascada() throws SQLException {
+        database.execute(
+                "INSERT INTO Clientes (id_cliente, nombre, email, telefono, id_zona) VALUES "
+                        + "(1, 'Ana', 'ana@example.com', NULL, 1)",
+                "INSERT INTO Pedidos (id_pedido, fecha, importe_total, id_cliente) VALUES "
+                        + "(1, '2024-01-01', 10.0, 1), (2, '2024-01-02', 5.0, 1)");
+        monitor.poll();
+
+        database.execute("DELETE FROM Clientes WHERE id_cliente = 1");
+        assertEquals(Set.of("Clientes", "Pedidos"), monitor.poll());
+        assertEquals(Map.of("Clientes", 1L, "Pedidos", 2L), avisos.get(avisos.size() - 1));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,86 @@
+package com.emilio.orders.dao.impl.sqlite;
+
+import com.emilio.orders.config.TestDatabase;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests para las consultas de conteo y existencia de SQLiteClienteDAO.
+ * Usa una base de datos SQLite temporal con el esquema de pedidos.sql.
+ */
+class SQLiteClienteDAOTest {
+
+    @TempDir
+    Path tempDir;
+
+    private TestDatabase database;
+    private SQLiteClienteDAO clienteDAO;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        database = TestDatabase.create(tempDir);
+        database.execute(
+                "INSERT INTO Zonas_Envio (id_zona, nombre_zona, tarifa_envio) VALUES "
+                        + "(1, 'Norte', 5.00), (2, 'Sur', 7.50), (3, 'Islas', 9.00)",
+                "INSERT INTO Clientes (id_cliente, nombre, email, telefono, id_zona) VALUES "
+                        + "(1, 'Ana', 'ana@example.com', NULL, 1), "
+                        + "(2, 'Carlos', 'carlos@example.com', NULL, 1), "
+                        + "(3, 'Beatriz', 'beatriz@example.com', NULL, 2)");
+        clienteDAO = new SQLiteClienteDAO(database.getConfig());
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.close();
+    }
+
+    @Test
+    @DisplayName("Test: countAll y countByZona cuentan los clientes de la tabla")
+    void testCountByZona() throws SQLException {
+        assertEquals(3L, clienteDAO.countAll());
+        assertEquals(2L, clienteDAO.countByZona(1));
+        assertEquals(1L, clienteDAO.countByZona(2));
+        assertEquals(0L, clienteDAO.countByZona(3));
+    }
+
+    @Test
+    @DisplayName("Test: exists distingue clientes existentes de inexistentes")
+    void testExists() throws SQLException {
+        assertTrue(clienteDAO.exists(1));
+        assertFalse(clienteDAO.exists(999));
+
+        database.execute("DELETE FROM Clientes WHERE id_cliente = 1");
+        assertFalse(clienteDAO.exists(1));
+    }
+
+    @Test
+    @DisplayName("Test: los conteos por zona y por cliente se resuelven con los índices de pedidos.sql")
+    void testConteosUsanIndices() throws SQLException {
+        assertTrue(planDe("SELECT COUNT(*) FROM Clientes WHERE id_zona = 1").contains("USING COVERING INDEX"));
+        assertTrue(planDe("SELECT COUNT(*) FROM Pedidos WHERE id_cliente = 1").contains("USING COVERING INDEX"));
+    }
+
+    private String planDe(String sql) throws SQLException {
+        StringBuilder plan = new StringBuilder();
+        try (Connection conn = database.connect();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("EXPLAIN QUERY PLAN " + sql)) {
+            while (rs.next()) {
+                plan.append(rs.getString("detail")).append('\n');
+            }
+        }
+        return plan.toString();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,102 @@
+package com.emilio.orders.dao.impl.sqlite;
+
+import com.emilio.orders.config.TestDatabase;
+import com.emilio.orders.dao.report.VentasZona;
+import com.emilio.orders.util.ParallelQueryExecutor;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.sql.Date;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests para la clase SQLiteReportDAO.
+ * Usa una base de datos SQLite temporal con el esquema completo y algunas zonas, clientes y pedidos.
+ */
+class SQLiteReportDAOTest {
+
+    @TempDir
+    Path tempDir;
+
+    private TestDatabase database;
+    private ParallelQueryExecutor executor;
+    private SQLiteReportDAO reportDAO;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        database = TestDatabase.create(tempDir);
+        database.execute(
+                "INSERT INTO Zonas_Envio (id_zona, nombre_zona, tarifa_envio) VALUES "
+                        + "(1, 'Norte', 3.5), (2, 'Sur', 4.0), (3, 'Islas', 9.0)",
+                "INSERT INTO Clientes (id_cliente, nombre, email, telefono, id_zona) VALUES "
+                        + "(1, 'Ana', 'ana@example.com', NULL, 1), (2, 'Carlos', 'carlos@example.com', NULL, 1), "
+                        + "(3, 'Beatriz', 'beatriz@example.com', NULL, 2), (4, 'David', 'david@example.com', NULL, 2)",
+                "INSERT INTO Pedidos (id_pedido, fecha, importe_total, id_cliente) VALUES "
+                        + "(1, 100, 10.50, 1), (2, 200, 20.25, 1), (3, 300, 5.00, 3)");
+        executor = new ParallelQueryExecutor(database.getConfig());
+        reportDAO = new SQLiteReportDAO(database.getConfig(), executor);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.close();
+        database.close();
+    }
+
+    @Test
+    @DisplayName("Test: getVentasPorZona agrega los pedidos y clientes de cada zona")
+    void testVentasPorZona() throws SQLException {
+        List<VentasZona> ventas = reportDAO.getVentasPorZona();
+
+        assertEquals(3, ventas.size());
+        VentasZona norte = ventas.get(0);
+        assertEquals("Norte", norte.getNombreZona());
+        assertEquals(30.75, norte.getIngresos(), 0.001);
+        assertEquals(2, norte.getNumPedidos());
+        assertEquals(2, norte.getNumClientes());
+        assertEquals(15.375, norte.getTicketMedio(), 0.001);
+
+        VentasZona sur = ventas.get(1);
+        assertEquals("Sur", sur.getNombreZona());
+        assertEquals(5.0, sur.getIngresos(), 0.001);
+        assertEquals(1, sur.getNumPedidos());
+        assertEquals(2, sur.getNumClientes());
+    }
+
+    @Test
+    @DisplayName("Test: getVentasPorZona incluye las zonas sin clientes ni pedidos")
+    void testZonaSinVentas() throws SQLException {
+        VentasZona islas = reportDAO.getVentasPorZona().get(2);
+
+        assertEquals(3, islas.getIdZona());
+        assertEquals(0.0, islas.getIngresos());
+        assertEquals(0, islas.getNumPedidos());
+        assertEquals(0, islas.getNumClientes());
+        assertEquals(0.0, islas.getTicketMedio());
+    }
+
+    @Test
+    @DisplayName("Test: getVentasPorZona entre fechas solo suma los pedidos del periodo")
+    void testVentasPorZonaEntreFechas() throws SQLException {
+        long marzo = Date.valueOf(LocalDate.of(2024, 3, 1)).getTime();
+        database.execute("INSERT INTO Pedidos VALUES (4, " + marzo + ", 7.25, 4), (5, " + marzo + ", 2.75, 2)");
+
+        List<VentasZona> ventas = reportDAO.getVentasPorZona(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 12, 31));
+
+        assertEquals(List.of("Sur", "Norte", "Islas"), ventas.stream().map(VentasZona::getNombreZona).toList());
+        assertEquals(7.25, ventas.get(0).getIngresos(), 0.001);
+        assertEquals(1, ventas.get(0).getNumPedidos());
+        assertEquals(2, ventas.get(0).getNumClientes());
+        assertEquals(2.75, ventas.get(1).getIngresos(), 0.001);
+        assertEquals(0, ventas.get(2).getNumPedidos());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,191 @@
+package com.emilio.orders.dao.report;
+
+import com.emilio.orders.config.TestDatabase;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests para la clase VentasDiarias y los triggers que anotan los cambios en Ventas_Diarias_Cambios.
+ * Usa una base de datos SQLite temporal con clientes en dos zonas y pedidos en dos días.
+ */
+class VentasDiariasTest {
+    private static final LocalDate DIA_1 = LocalDate.of(2024, 1, 31);
+    private static final LocalDate DIA_2 = LocalDate.of(2024, 2, 1);
+    private static final int HILOS = 4;
+    private static final int PEDIDOS_POR_HILO = 25;
+
+    @TempDir
+    Path tempDir;
+
+    private TestDatabase database;
+    private Connection conn;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        database = TestDatabase.create(tempDir);
+        database.execute(
+                "INSERT INTO Zonas_Envio (id_zona, nombre_zona, tarifa_envio) VALUES (1, 'Norte', 5.00), (2, 'Sur', 7.50)",
+                "INSERT INTO Clientes (id_cliente, nombre, email, telefono, id_zona) VALUES "
+                        + "(1, 'Ana', 'ana@example.com', NULL, 1), (2, 'Carlos', 'carlos@example.com', NULL, 1), "
+                        + "(3, 'Beatriz', 'beatriz@example.com', NULL, 2)",
+                "INSERT INTO Pedidos (id_pedido, fecha, importe_total, id_cliente) VALUES "
+                        + "(1, " + millis(DIA_1) + ", 10.50, 1), (2, " + millis(DIA_1) + ", 20.25, 2), "
+                        + "(3, " + millis(DIA_2) + ", 5.00, 3)");
+        conn = database.connect();
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        conn.close();
+        database.close();
+    }
+
+    @Test
+    @DisplayName("Test: refresh agrega los pedidos existentes y después no queda nada pendiente")
+    void testRelleno() throws SQLException {
+        assertTrue(VentasDiarias.refresh(conn) > 0);
+        assertEquals(0, VentasDiarias.refresh(conn));
+
+        List<VentasPeriodo> serie = VentasDiarias.getSerie(conn, DIA_1, DIA_2);
+        assertEquals(2, serie.size());
+        assertVentas(serie.get(0), DIA_1, 1, 30.75, 2);
+        assertVentas(serie.get(1), DIA_2, 2, 5.0, 1);
+        assertEquals(1, VentasDiarias.getSerie(conn, DIA_2, DIA_2).size());
+    }
+
+    @Test
+    @DisplayName("Test: refresh agrega los pedidos nuevos y aplica los cambios de los ya agregados")
+    void testActualizacionIncremental() throws SQLException {
+        VentasDiarias.refresh(conn);
+        try (Statement stmt = conn.createStatement()) {
+            // Pedido nuevo, modificado antes de agregarse: solo cuenta su valor final
+            stmt.execute("INSERT INTO Pedidos VALUES (4, " + millis(DIA_2) + ", 1.00, 1)");
+            stmt.execute("UPDATE Pedidos SET importe_total = 2.00 WHERE id_pedido = 4");
+            // Pedidos ya agregados: cambio de día y eliminación
+            stmt.execute("UPDATE Pedidos SET fecha = " + millis(DIA_2) + " WHERE id_pedido = 1");
+            stmt.execute("DELETE FROM Pedidos WHERE id_pedido = 3");
+        }
+        assertTrue(VentasDiarias.refresh(conn) > 0);
+        assertCoincideConPedidos();
+
+        List<VentasPeriodo> serie = VentasDiarias.getSerie(conn, DIA_1, DIA_2);
+        assertEquals(2, serie.size());
+        assertVentas(serie.get(0), DIA_1, 1, 20.25, 1);
+        assertVentas(serie.get(1), DIA_2, 1, 12.5, 2);
+    }
+
+    @Test
+    @DisplayName("Test: los cambios de zona y los borrados de clientes mueven o restan sus ventas")
+    void testCambiosDeClientes() throws SQLException {
+        VentasDiarias.refresh(conn);
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("UPDATE Clientes SET id_zona = 2 WHERE id_cliente = 1");
+            VentasDiarias.refresh(conn);
+            assertCoincideConPedidos();
+
+            // El borrado se propaga en cascada a los pedidos, cuando ya no se sabe su zona
+            stmt.execute("DELETE FROM Clientes WHERE id_cliente = 3");
+            VentasDiarias.refresh(conn);
+            assertCoincideConPedidos();
+        }
+        List<VentasPeriodo> serie = VentasDiarias.getSerie(conn, DIA_1, DIA_2);
+        assertEquals(2, serie.size());
+        assertVentas(serie.get(0), DIA_1, 1, 20.25, 1);
+        assertVentas(serie.get(1), DIA_1, 2, 10.5, 1);
+    }
+
+    @Test
+    @DisplayName("Test: varias conexiones pueden insertar pedidos y actualizar a la vez sin SQLITE_BUSY")
+    void testActualizacionesSimultaneas() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(HILOS);
+        try {
+            List<Future<?>> tareas = new ArrayList<>();
+            for (int hilo = 0; hilo < HILOS; hilo++) {
+                int primerPedido = 100 + hilo * PEDIDOS_POR_HILO;
+                tareas.add(executor.submit(() -> {
+                    try (Connection otra = database.connect();
+                         PreparedStatement insert = otra.prepareStatement("INSERT INTO Pedidos "
+                                 + "(id_pedido, fecha, importe_total, id_cliente) VALUES (?, ?, 1.00, 3)")) {
+                        for (int i = 0; i < PEDIDOS_POR_HILO; i++) {
+                            insert.setInt(1, primerPedido + i);
+                            insert.setLong(2, millis(DIA_2));
+                            insert.executeUpdate();
+                            VentasDiarias.refresh(otra);
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> tarea : tareas) {
+                tarea.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(0, VentasDiarias.refresh(conn));
+        assertCoincideConPedidos();
+        assertVentas(VentasDiarias.getSerie(conn, DIA_2, DIA_2).get(0), DIA_2, 2,
+                5.0 + HILOS * PEDIDOS_POR_HILO, 1 + HILOS * PEDIDOS_POR_HILO);
+    }
+
+    @Test
+    @DisplayName("Test: porMes suma las ventas de cada zona por meses")
+    void testPorMes() {
+        List<VentasPeriodo> meses = VentasDiarias.porMes(List.of(
+                new VentasPeriodo(DIA_1.minusDays(1), 1, 1.10, 1),
+                new VentasPeriodo(DIA_1, 2, 3.00, 2),
+                new VentasPeriodo(DIA_1, 1, 2.20, 1),
+                new VentasPeriodo(DIA_2, 1, 4.00, 3)));
+
+        assertEquals(3, meses.size());
+        assertVentas(meses.get(0), LocalDate.of(2024, 1, 1), 1, 3.3, 2);
+        assertVentas(meses.get(1), LocalDate.of(2024, 1, 1), 2, 3.0, 2);
+        assertVentas(meses.get(2), LocalDate.of(2024, 2, 1), 1, 4.0, 3);
+    }
+
+    private static long millis(LocalDate fecha) {
+        return Date.valueOf(fecha).getTime();
+    }
+
+    private static void assertVentas(VentasPeriodo ventas, LocalDate inicio, int idZona, double ingresos,
+                                     long numPedidos) {
+        assertEquals(inicio, ventas.getInicio());
+        assertEquals(idZona, ventas.getIdZona());
+        assertEquals(ingresos, ventas.getIngresos(), 1e-9);
+        assertEquals(numPedidos, ventas.getNumPedidos());
+    }
+
+    private void assertCoincideConPedidos() throws SQLException {
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM (SELECT p.fecha, c.id_zona, "
+                     + "ROUND(SUM(p.importe_total), 2) AS ingresos, COUNT(*) AS n FROM Pedidos p "
+                     + "JOIN Clientes c ON c.id_cliente = p.id_cliente GROUP BY p.fecha, c.id_zona) p "
+                     + "FULL JOIN Ventas_Diarias v ON v.fecha = p.fecha AND v.id_zona = p.id_zona "
+                     + "WHERE p.n IS NULL OR v.num_pedidos IS NULL OR p.n <> v.num_pedidos "
+                     + "OR p.ingresos <> v.ingresos")) {
+            rs.next();
+            assertEquals(0, rs.getInt(1));
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,88 @@
+package com.emilio.orders.dao.search;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests para la generación de consultas de búsqueda de pedidos.
+ */
+class PedidoSearchQueriesTest {
+
+    @Test
+    @DisplayName("Test: solo se incluyen las condiciones de los filtros activos")
+    void testCondicionesMinimas() {
+        PedidoSearch criteria = new PedidoSearch.Builder()
+                .idCliente(3)
+                .fechaDesde(LocalDate.of(2024, 1, 1))
+                .build();
+
+        String sql = PedidoSearchQueries.sql(criteria);
+
+        assertEquals("SELECT p.* FROM Pedidos p WHERE p.id_cliente = ? AND p.fecha >= ?"
+                + " ORDER BY p.id_pedido LIMIT ? OFFSET ?", sql);
+        assertEquals(List.of(3, LocalDate.of(2024, 1, 1)), PedidoSearchQueries.parameters(criteria));
+    }
+
+    @Test
+    @DisplayName("Test: el JOIN con clientes solo aparece al filtrar por zona o nombre")
+    void testJoinClientes() {
+        PedidoSearch sinJoin = new PedidoSearch.Builder().importeMin(10).build();
+        PedidoSearch conJoin = new PedidoSearch.Builder().idZona(2).build();
+
+        assertFalse(PedidoSearchQueries.sql(sinJoin).contains("JOIN"));
+        assertTrue(PedidoSearchQueries.sql(conJoin).contains("JOIN Clientes c"));
+        assertTrue(PedidoSearchQueries.hql(conJoin).contains("c.idZona = ?1"));
+    }
+
+    @Test
+    @DisplayName("Test: criterios con la misma forma reutilizan la misma consulta")
+    void testReutilizacionPorForma() {
+        PedidoSearch a = new PedidoSearch.Builder().idCliente(1).importeMax(50).build();
+        PedidoSearch b = new PedidoSearch.Builder().idCliente(9).importeMax(500).build();
+
+        assertSame(PedidoSearchQueries.sql(a), PedidoSearchQueries.sql(b));
+        assertSame(PedidoSearchQueries.hql(a), PedidoSearchQueries.hql(b));
+    }
+
+    @Test
+    @DisplayName("Test: el orden forma parte de la consulta cacheada")
+    void testOrden() {
+        PedidoSearch criteria = new PedidoSearch.Builder().idCliente(4).build();
+
+        String porId = PedidoSearchQueries.sql(criteria);
+        String porImporte = PedidoSearchQueries.sql(criteria, Orden.IMPORTE_DESC);
+
+        assertNotEquals(porId, porImporte);
+        assertTrue(porImporte.endsWith("ORDER BY p.importe_total DESC, p.id_pedido DESC LIMIT ? OFFSET ?"));
+        assertTrue(PedidoSearchQueries.hql(criteria, Orden.FECHA_DESC).endsWith("ORDER BY p.fecha DESC, p.idPedido DESC"));
+    }
+
+    @Test
+    @DisplayName("Test: los comodines del nombre se escapan")
+    void testEscapeNombre() {
+        PedidoSearch criteria = new PedidoSearch.Builder().nombreCliente(" 50%_a ").build();
+
+        assertEquals(List.of("%50\\%\\_a%"), PedidoSearchQueries.parameters(criteria));
+    }
+
+    @Test
+    @DisplayName("Test: un rango de importes invertido no es válido")
+    void testRangoInvalido() {
+        PedidoSearch.Builder builder = new PedidoSearch.Builder().importeMin(100).importeMax(10);
+
+        assertThrows(IllegalStateException.class, builder::build);
+    }
+
+    @Test
+    @DisplayName("Test: una página cuyo desplazamiento no cabe en un int no es válida")
+    void testDesbordamientoPagina() {
+        assertEquals(Integer.MAX_VALUE - 1, Page.of((Integer.MAX_VALUE - 1) / 2, 2).getOffset());
+        assertThrows(IllegalArgumentException.class, () -> Page.of(Integer.MAX_VALUE / 2 + 1, 2));
+        assertThrows(IllegalArgumentException.class, () -> Page.of(Integer.MAX_VALUE / 2, 2).next());
+    }
+}
\ No newline at end of file
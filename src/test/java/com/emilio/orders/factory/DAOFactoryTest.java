@@ -5,6 +5,7 @@ import com.emilio.orders.config.DatabaseType;
 import com.emilio.orders.dao.interfaces.ClienteDAO;
 import com.emilio.orders.dao.interfaces.PedidoDAO;
 import com.emilio.orders.dao.interfaces.ZonaEnvioDAO;
+import com.emilio.orders.util.ParallelQueryExecutor;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
 import org.mockito.Mockito;
@@ -120,4 +121,21 @@ class DAOFactoryTest {
         ZonaEnvioDAO zonaEnvioDAO = factory.createZonaEnvioDAO();
         assertNotNull(zonaEnvioDAO);
     }
+
+    @Test
+    @DisplayName("Test: los informes de una factoría comparten un ejecutor que se detiene al cerrarla")
+    void testEjecutorCompartido() {
+        DatabaseConfig config = Mockito.mock(DatabaseConfig.class);
+        Mockito.when(config.getMaxPoolSize()).thenReturn(4);
+        DAOFactory factory = DAOFactory.getDAOFactory(DatabaseType.SQLITE, config);
+        CachingDAOFactory cachingFactory = new CachingDAOFactory(factory);
+
+        assertNotNull(cachingFactory.createReportDAO());
+        assertNotNull(factory.createReportDAO());
+        ParallelQueryExecutor executor = factory.getQueryExecutor();
+        assertSame(executor, factory.getQueryExecutor());
+
+        cachingFactory.close();
+        assertTrue(executor.isClosed());
+    }
 }
@@ -0,0 +1,60 @@
+package com.emilio.orders.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests para la clase BloomFilter.
+ */
+class BloomFilterTest {
+
+    @Test
+    @DisplayName("Test: las claves añadidas siempre se encuentran")
+    void testSinFalsosNegativos() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (int id = 1; id <= 10_000; id++) {
+            filter.put(id);
+        }
+
+        for (int id = 1; id <= 10_000; id++) {
+            assertTrue(filter.mightContain(id), "Falta la clave " + id);
+        }
+    }
+
+    @Test
+    @DisplayName("Test: la tasa de falsos positivos se ajusta a la pedida")
+    void testTasaFalsosPositivos() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (int id = 1; id <= 10_000; id++) {
+            filter.put(id);
+        }
+
+        int falsosPositivos = 0;
+        for (int id = 10_001; id <= 110_000; id++) {
+            if (filter.mightContain(id)) {
+                falsosPositivos++;
+            }
+        }
+        assertTrue(falsosPositivos < 2_000, "Demasiados falsos positivos: " + falsosPositivos);
+    }
+
+    @Test
+    @DisplayName("Test: un filtro vacío no contiene ninguna clave")
+    void testFiltroVacio() {
+        BloomFilter filter = new BloomFilter(100, 0.01);
+
+        assertFalse(filter.mightContain(0));
+        assertFalse(filter.mightContain(-5));
+        assertFalse(filter.mightContain(Integer.MAX_VALUE));
+    }
+
+    @Test
+    @DisplayName("Test: parámetros no válidos")
+    void testParametrosNoValidos() {
+        assertThrows(IllegalArgumentException.class, () -> new BloomFilter(0, 0.01));
+        assertThrows(IllegalArgumentException.class, () -> new BloomFilter(100, 0));
+        assertThrows(IllegalArgumentException.class, () -> new BloomFilter(100, 1));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,110 @@
+package com.emilio.orders.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests para la clase ChunkedList.
+ * Usa una "tabla" en memoria con claves no consecutivas y cuenta las lecturas de bloques.
+ */
+class ChunkedListTest {
+
+    /**
+     * Cargador en memoria que simula la consulta "id &gt; ? ORDER BY id LIMIT ?".
+     */
+    private static class TablaEnMemoria implements ChunkedList.ChunkLoader<Integer> {
+        final List<Integer> ids;
+        int lecturas;
+
+        TablaEnMemoria(int filas) {
+            // Claves con huecos, como tras borrar filas
+            this.ids = IntStream.rangeClosed(1, filas).map(i -> i * 3).boxed()
+                    .collect(Collectors.toCollection(ArrayList::new));
+        }
+
+        @Override
+        public List<Integer> load(int afterKey, int limit) {
+            lecturas++;
+            return ids.stream().filter(id -> id > afterKey).limit(limit).collect(Collectors.toList());
+        }
+    }
+
+    private static ChunkedList<Integer> lista(TablaEnMemoria tabla, int chunkSize, int maxChunks) {
+        return new ChunkedList<>(tabla.ids.size(), chunkSize, maxChunks, tabla, Integer::intValue);
+    }
+
+    @Test
+    @DisplayName("Test: recorrer la lista devuelve todos los elementos leyendo un bloque cada vez")
+    void testRecorridoCompleto() {
+        TablaEnMemoria tabla = new TablaEnMemoria(25);
+        ChunkedList<Integer> lista = lista(tabla, 10, 2);
+
+        assertEquals(25, lista.size());
+        assertEquals(tabla.ids, new ArrayList<>(lista));
+        assertEquals(3, tabla.lecturas);
+    }
+
+    @Test
+    @DisplayName("Test: solo se mantiene en memoria el número de bloques indicado")
+    void testVentanaAcotada() {
+        TablaEnMemoria tabla = new TablaEnMemoria(30);
+        ChunkedList<Integer> lista = lista(tabla, 10, 2);
+
+        lista.get(0);
+        lista.get(15);
+        lista.get(5);
+        assertEquals(2, tabla.lecturas);
+
+        lista.get(25); // Expulsa el bloque 1, el menos usado
+        lista.get(0);
+        assertEquals(3, tabla.lecturas);
+        lista.get(15);
+        assertEquals(4, tabla.lecturas);
+    }
+
+    @Test
+    @DisplayName("Test: acceder a un bloque lejano lee los anteriores solo la primera vez")
+    void testAccesoDirecto() {
+        TablaEnMemoria tabla = new TablaEnMemoria(50);
+        ChunkedList<Integer> lista = lista(tabla, 10, 1);
+
+        assertEquals(141, lista.get(46));
+        assertEquals(5, tabla.lecturas);
+
+        assertEquals(3, lista.get(0));
+        assertEquals(99, lista.get(32));
+        assertEquals(7, tabla.lecturas);
+    }
+
+    @Test
+    @DisplayName("Test: los errores de lectura se lanzan como DatabaseException")
+    void testErrorDeLectura() {
+        ChunkedList<Integer> lista = new ChunkedList<>(5, 2, 1, (afterKey, limit) -> {
+            throw new SQLException("fallo");
+        }, Integer::intValue);
+
+        DatabaseException e = assertThrows(DatabaseException.class, () -> lista.get(0));
+        assertInstanceOf(SQLException.class, e.getCause());
+    }
+
+    @Test
+    @DisplayName("Test: si la tabla pierde filas se detecta al acceder a ellas")
+    void testTablaModificada() {
+        TablaEnMemoria tabla = new TablaEnMemoria(10);
+        ChunkedList<Integer> lista = lista(tabla, 4, 1);
+        tabla.ids.remove(tabla.ids.size() - 1);
+
+        assertEquals(21, lista.get(6));
+        assertThrows(ConcurrentModificationException.class, () -> lista.get(9));
+        assertThrows(IndexOutOfBoundsException.class, () -> lista.get(10));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,153 @@
+package com.emilio.orders.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests para la clase CursorPublisher.
+ * Usa un cursor en memoria y un ejecutor síncrono para verificar la demanda y la cancelación.
+ */
+class CursorPublisherTest {
+
+    private static final Executor SYNC = Runnable::run;
+
+    /**
+     * Cursor en memoria que registra cuántas filas se han leído y si se ha cerrado.
+     */
+    private static class ListCursor implements RowCursor<Integer> {
+        private final List<Integer> rows;
+        private int position = -1;
+        private int reads;
+        private boolean closed;
+
+        ListCursor(List<Integer> rows) {
+            this.rows = rows;
+        }
+
+        @Override
+        public boolean next() {
+            reads++;
+            return ++position < rows.size();
+        }
+
+        @Override
+        public Integer current() {
+            return rows.get(position);
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+
+    /**
+     * Suscriptor que almacena las señales recibidas.
+     */
+    private static class RecordingSubscriber implements Flow.Subscriber<Integer> {
+        final List<Integer> items = new ArrayList<>();
+        Flow.Subscription subscription;
+        Throwable error;
+        boolean completed;
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+        }
+
+        @Override
+        public void onNext(Integer item) {
+            items.add(item);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            error = throwable;
+        }
+
+        @Override
+        public void onComplete() {
+            completed = true;
+        }
+    }
+
+    @Test
+    @DisplayName("Test: solo se leen del cursor las filas solicitadas")
+    void testBackpressure() {
+        ListCursor cursor = new ListCursor(List.of(1, 2, 3, 4, 5));
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+        new CursorPublisher<>(() -> cursor, SYNC).subscribe(subscriber);
+
+        subscriber.subscription.request(2);
+
+        assertEquals(List.of(1, 2), subscriber.items);
+        assertEquals(2, cursor.reads);
+        assertFalse(subscriber.completed);
+        assertFalse(cursor.closed);
+    }
+
+    @Test
+    @DisplayName("Test: el cursor no se abre hasta que hay demanda")
+    void testAperturaPerezosa() {
+        int[] aperturas = {0};
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+        new CursorPublisher<>(() -> {
+            aperturas[0]++;
+            return new ListCursor(List.of(1));
+        }, SYNC).subscribe(subscriber);
+
+        assertEquals(0, aperturas[0]);
+        subscriber.subscription.request(1);
+        assertEquals(1, aperturas[0]);
+    }
+
+    @Test
+    @DisplayName("Test: al agotar el cursor se completa y se cierra")
+    void testCompletado() {
+        ListCursor cursor = new ListCursor(List.of(1, 2, 3));
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+        new CursorPublisher<>(() -> cursor, SYNC).subscribe(subscriber);
+
+        subscriber.subscription.request(Long.MAX_VALUE);
+
+        assertEquals(List.of(1, 2, 3), subscriber.items);
+        assertTrue(subscriber.completed);
+        assertTrue(cursor.closed);
+    }
+
+    @Test
+    @DisplayName("Test: cancelar cierra el cursor y detiene la emisión")
+    void testCancelacion() {
+        ListCursor cursor = new ListCursor(List.of(1, 2, 3));
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+        new CursorPublisher<>(() -> cursor, SYNC).subscribe(subscriber);
+
+        subscriber.subscription.request(1);
+        subscriber.subscription.cancel();
+        subscriber.subscription.request(5);
+
+        assertEquals(List.of(1), subscriber.items);
+        assertTrue(cursor.closed);
+        assertFalse(subscriber.completed);
+    }
+
+    @Test
+    @DisplayName("Test: una demanda no positiva termina con error")
+    void testDemandaInvalida() {
+        ListCursor cursor = new ListCursor(List.of(1));
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+        new CursorPublisher<>(() -> cursor, SYNC).subscribe(subscriber);
+
+        subscriber.subscription.request(0);
+
+        assertTrue(subscriber.error instanceof IllegalArgumentException);
+        assertTrue(subscriber.items.isEmpty());
+    }
+}
@@ -0,0 +1,116 @@
+package com.emilio.orders.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests para la clase KllSketch. Los cuantiles estimados se comparan por rango con los exactos.
+ */
+class KllSketchTest {
+    private static final double ERROR_RANGO = 0.02;
+
+    @Test
+    @DisplayName("Test: los cuantiles estimados quedan cerca de los exactos")
+    void testPrecision() {
+        Random random = new Random(42);
+        double[] valores = new double[200_000];
+        KllSketch sketch = new KllSketch();
+        for (int i = 0; i < valores.length; i++) {
+            valores[i] = Math.exp(random.nextGaussian()) * 50; // Importes con cola larga
+            sketch.update(valores[i]);
+        }
+        Arrays.sort(valores);
+
+        assertEquals(valores.length, sketch.getN());
+        assertEquals(valores[0], sketch.getMin());
+        assertEquals(valores[valores.length - 1], sketch.getMax());
+        assertTrue(sketch.getRetained() < 1_000, "Resumen demasiado grande: " + sketch.getRetained());
+        for (double q : new double[] {0.01, 0.1, 0.25, 0.5, 0.75, 0.9, 0.99}) {
+            assertRango(valores, q, sketch.getQuantile(q));
+            assertEquals(q, sketch.getRank(valores[(int) (q * valores.length)]), ERROR_RANGO);
+        }
+    }
+
+    @Test
+    @DisplayName("Test: fusionar equivale a alimentar un solo resumen con todos los valores")
+    void testMerge() {
+        Random random = new Random(7);
+        double[] valores = new double[100_000];
+        KllSketch[] partes = {new KllSketch(), new KllSketch(), new KllSketch()};
+        for (int i = 0; i < valores.length; i++) {
+            valores[i] = random.nextDouble() * 1_000 + (i % 3) * 500; // Cada parte en su rango
+            partes[i % 3].update(valores[i]);
+        }
+        Arrays.sort(valores);
+
+        KllSketch total = new KllSketch();
+        for (KllSketch parte : partes) {
+            total.merge(parte);
+        }
+
+        assertEquals(valores.length, total.getN());
+        assertEquals(33_334, partes[0].getN());
+        for (double q : new double[] {0.05, 0.5, 0.95}) {
+            assertRango(valores, q, total.getQuantile(q));
+        }
+        long[] tramos = total.getHistogram(500, 1_000);
+        assertEquals(valores.length, Arrays.stream(tramos).sum());
+        assertEquals(valores.length / 6.0, tramos[0], valores.length * ERROR_RANGO);
+    }
+
+    @Test
+    @DisplayName("Test: un resumen serializado se reconstruye igual")
+    void testSerializacion() {
+        KllSketch sketch = new KllSketch(50);
+        for (int i = 1; i <= 10_000; i++) {
+            sketch.update(i);
+        }
+
+        KllSketch copia = KllSketch.fromByteArray(sketch.toByteArray());
+
+        assertEquals(sketch.getN(), copia.getN());
+        assertEquals(sketch.getRetained(), copia.getRetained());
+        for (double q : new double[] {0, 0.3, 0.5, 0.9, 1}) {
+            assertEquals(sketch.getQuantile(q), copia.getQuantile(q));
+        }
+        copia.update(20_000);
+        assertEquals(10_001, copia.getN());
+        assertThrows(IllegalArgumentException.class, () -> KllSketch.fromByteArray(new byte[] {9}));
+    }
+
+    @Test
+    @DisplayName("Test: un resumen vacío o con pocos valores responde con exactitud")
+    void testPocosValores() {
+        KllSketch sketch = new KllSketch();
+        assertTrue(Double.isNaN(sketch.getQuantile(0.5)));
+        assertEquals(0, sketch.getRank(10));
+
+        sketch.update(30);
+        sketch.update(10);
+        sketch.update(20);
+        sketch.update(Double.NaN);
+
+        assertEquals(3, sketch.getN());
+        assertEquals(20, sketch.getQuantile(0.5));
+        assertEquals(10, sketch.getQuantile(0.2));
+        assertEquals(2.0 / 3, sketch.getRank(25), 1e-9);
+        assertArrayEquals(new long[] {1, 2}, sketch.getHistogram(15));
+    }
+
+    /**
+     * Comprueba que el valor estimado ocupa en los valores ordenados una posición cercana a la pedida.
+     */
+    private static void assertRango(double[] ordenados, double q, double estimado) {
+        int posicion = Arrays.binarySearch(ordenados, estimado);
+        if (posicion < 0) {
+            posicion = -posicion - 1;
+        }
+        double rango = (double) posicion / ordenados.length;
+        assertEquals(q, rango, ERROR_RANGO, "Cuantil " + q + " estimado con el rango " + rango);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,136 @@
+package com.emilio.orders.util;
+
+import com.emilio.orders.config.TestDatabase;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests para la clase ParallelQueryExecutor, sobre una base de datos SQLite temporal con 200.000 pedidos
+ * cuyos IDs tienen huecos.
+ */
+class ParallelQueryExecutorTest {
+    private static final String SUMA = "SELECT COUNT(*), COALESCE(SUM(importe_total), 0) FROM Pedidos "
+            + "WHERE id_pedido BETWEEN ? AND ?";
+
+    @TempDir
+    static Path tempDir;
+
+    private static TestDatabase database;
+    private ParallelQueryExecutor executor;
+
+    /**
+     * Los tests solo leen, así que los pedidos se insertan una vez para toda la clase.
+     */
+    @BeforeAll
+    static void setUpDatabase() throws SQLException {
+        database = TestDatabase.create(tempDir);
+        database.execute(
+                "INSERT INTO Zonas_Envio (id_zona, nombre_zona, tarifa_envio) VALUES (1, 'Norte', 5.00)",
+                "INSERT INTO Clientes (id_cliente, nombre, email, telefono, id_zona) VALUES "
+                        + "(1, 'Ana', 'ana@example.com', NULL, 1)",
+                "CREATE TABLE Vacia (id INTEGER PRIMARY KEY)",
+                // IDs del 1 al 300.000 sin los múltiplos de 3: 200.000 pedidos
+                "WITH RECURSIVE n(i) AS (SELECT 1 UNION ALL SELECT i + 1 FROM n WHERE i < 300000) "
+                        + "INSERT INTO Pedidos (id_pedido, fecha, importe_total, id_cliente) "
+                        + "SELECT i, 0, i % 1000, 1 FROM n WHERE i % 3 <> 0");
+    }
+
+    @AfterAll
+    static void tearDownDatabase() {
+        database.close();
+    }
+
+    @BeforeEach
+    void setUp() {
+        executor = new ParallelQueryExecutor(database.getConfig(), 4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.close();
+    }
+
+    @Test
+    @DisplayName("Test: las particiones cubren la tabla entera sin solaparse")
+    void testParticiones() throws SQLException {
+        List<long[]> rangos = executor.execute("Pedidos", (conn, desde, hasta) -> {
+            List<long[]> rango = new ArrayList<>();
+            rango.add(new long[] {desde, hasta});
+            return rango;
+        }, (a, b) -> {
+            a.addAll(b);
+            return a;
+        });
+
+        assertEquals(14, rangos.size()); // 299.999 rowids entre 20.000 por partición
+        assertEquals(1, rangos.get(0)[0]);
+        assertEquals(299_999, rangos.get(rangos.size() - 1)[1]);
+        for (int i = 1; i < rangos.size(); i++) {
+            assertEquals(rangos.get(i - 1)[1] + 1, rangos.get(i)[0], "Las particiones deben ser consecutivas");
+        }
+    }
+
+    @Test
+    @DisplayName("Test: el resultado combinado coincide con una sola consulta")
+    void testAgregacion() throws SQLException {
+        long[] total = executor.execute("Pedidos", ParallelQueryExecutorTest::sumar,
+                (a, b) -> new long[] {a[0] + b[0], a[1] + b[1]});
+
+        long[] esperado;
+        try (Connection conn = database.connect()) {
+            esperado = sumar(conn, Long.MIN_VALUE, Long.MAX_VALUE);
+        }
+        assertArrayEquals(esperado, total);
+        assertEquals(200_000, total[0]);
+    }
+
+    @Test
+    @DisplayName("Test: una tabla vacía se consulta una vez con un rango vacío")
+    void testTablaVacia() throws SQLException {
+        long[] rango = executor.execute("Vacia", (conn, desde, hasta) -> new long[] {desde, hasta}, (a, b) -> a);
+
+        assertTrue(rango[0] > rango[1]);
+    }
+
+    @Test
+    @DisplayName("Test: el error de una partición se lanza como SQLException")
+    void testErrorEnParticion() {
+        SQLException e = assertThrows(SQLException.class, () -> executor.execute("Pedidos", (conn, desde, hasta) -> {
+            if (desde > 150_000) {
+                throw new SQLException("fallo en la partición " + desde);
+            }
+            return 0;
+        }, Integer::sum));
+
+        assertTrue(e.getMessage().startsWith("fallo en la partición"));
+        assertThrows(IllegalArgumentException.class,
+                () -> executor.execute("Pedidos; DROP TABLE Pedidos", (conn, desde, hasta) -> 0, Integer::sum));
+    }
+
+    private static long[] sumar(Connection conn, long desde, long hasta) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(SUMA)) {
+            stmt.setLong(1, desde);
+            stmt.setLong(2, hasta);
+            try (ResultSet rs = stmt.executeQuery()) {
+                rs.next();
+                return new long[] {rs.getLong(1), rs.getLong(2)};
+            }
+        }
+    }
+}
\ No newline at end of file